@@ -0,0 +1,46 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.autoconfigure.health;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.health.BackgroundHealthIndicator;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for {@link BackgroundHealthIndicator background health
+ * indicators}.
+ *
+ * @since 2.1.0
+ */
+@ConfigurationProperties(prefix = "management.health.background")
+public class BackgroundHealthIndicatorProperties {
+
+	/**
+	 * Mapping of health indicator names to the interval at which they should be
+	 * refreshed in the background. Health indicators that are not listed are invoked on
+	 * each request.
+	 */
+	private final Map<String, Duration> refreshInterval = new LinkedHashMap<>();
+
+	public Map<String, Duration> getRefreshInterval() {
+		return this.refreshInterval;
+	}
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.autoconfigure.health;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.actuate.health.BackgroundHealthIndicator;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.HealthIndicatorReactiveAdapter;
+import org.springframework.boot.actuate.health.HealthIndicatorRegistry;
+import org.springframework.boot.actuate.health.ReactiveHealthIndicator;
+import org.springframework.boot.actuate.health.ReactiveHealthIndicatorRegistry;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Replaces {@link HealthIndicator HealthIndicators} in a {@link HealthIndicatorRegistry}
+ * and, when available, the matching indicators in a
+ * {@link ReactiveHealthIndicatorRegistry} with
+ * {@link BackgroundHealthIndicator BackgroundHealthIndicators} that are refreshed on a
+ * schedule.
+ */
+class BackgroundHealthIndicatorRegistrar
+		implements SmartInitializingSingleton, DisposableBean {
+
+	private static final Log logger = LogFactory
+			.getLog(BackgroundHealthIndicatorRegistrar.class);
+
+	private final HealthIndicatorRegistry registry;
+
+	private final ReactiveHealthIndicatorRegistry reactiveRegistry;
+
+	private final Map<String, Duration> refreshIntervals;
+
+	private ThreadPoolTaskScheduler scheduler;
+
+	BackgroundHealthIndicatorRegistrar(HealthIndicatorRegistry registry,
+			ReactiveHealthIndicatorRegistry reactiveRegistry,
+			Map<String, Duration> refreshIntervals) {
+		this.registry = registry;
+		this.reactiveRegistry = reactiveRegistry;
+		this.refreshIntervals = refreshIntervals;
+	}
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		if (this.refreshIntervals.isEmpty()) {
+			return;
+		}
+		this.scheduler = createScheduler(this.refreshIntervals.size());
+		this.refreshIntervals.forEach(this::register);
+	}
+
+	private ThreadPoolTaskScheduler createScheduler(int poolSize) {
+		ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+		scheduler.setPoolSize(poolSize);
+		scheduler.setDaemon(true);
+		scheduler.setThreadNamePrefix("health-refresh-");
+		scheduler.initialize();
+		return scheduler;
+	}
+
+	private void register(String name, Duration refreshInterval) {
+		HealthIndicator indicator = this.registry.unregister(name);
+		ReactiveHealthIndicator reactiveIndicator = (this.reactiveRegistry != null
+				? this.reactiveRegistry.unregister(name) : null);
+		if (indicator == null && reactiveIndicator != null) {
+			indicator = () -> reactiveIndicator.health().block();
+		}
+		if (indicator == null) {
+			logger.warn("Unable to refresh unknown health indicator '" + name
+					+ "' in the background");
+			return;
+		}
+		BackgroundHealthIndicator backgroundIndicator = new BackgroundHealthIndicator(
+				indicator);
+		this.registry.register(name, backgroundIndicator);
+		if (reactiveIndicator != null) {
+			this.reactiveRegistry.register(name,
+					new HealthIndicatorReactiveAdapter(backgroundIndicator));
+		}
+		this.scheduler.scheduleWithFixedDelay(backgroundIndicator::refresh,
+				refreshInterval.toMillis());
+	}
+
+	@Override
+	public void destroy() {
+		if (this.scheduler != null) {
+			this.scheduler.shutdown();
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2017 the original author or authors.
+ * Copyright 2012-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -33,7 +33,7 @@ import org.springframework.context.annotation.Import;
  */
 @Configuration
 @EnableConfigurationProperties({ HealthEndpointProperties.class,
-		HealthIndicatorProperties.class })
+		HealthIndicatorProperties.class, ParallelHealthIndicatorProperties.class })
 @AutoConfigureAfter(HealthIndicatorAutoConfiguration.class)
 @Import({ HealthEndpointConfiguration.class,
 		HealthEndpointWebExtensionConfiguration.class })
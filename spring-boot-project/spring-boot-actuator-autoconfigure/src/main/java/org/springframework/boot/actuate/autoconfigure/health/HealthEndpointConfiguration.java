@@ -16,15 +16,22 @@
 
 package org.springframework.boot.actuate.autoconfigure.health;
 
+import java.util.concurrent.Executor;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnEnabledEndpoint;
 import org.springframework.boot.actuate.health.CompositeHealthIndicator;
 import org.springframework.boot.actuate.health.HealthAggregator;
 import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.boot.actuate.health.HealthIndicatorRegistry;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnSingleCandidate;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 /**
  * Configuration for {@link HealthEndpoint}.
@@ -39,9 +46,64 @@ class HealthEndpointConfiguration {
 	@ConditionalOnMissingBean
 	@ConditionalOnEnabledEndpoint
 	public HealthEndpoint healthEndpoint(HealthAggregator healthAggregator,
-			HealthIndicatorRegistry registry) {
-		return new HealthEndpoint(
-				new CompositeHealthIndicator(healthAggregator, registry));
+			HealthIndicatorRegistry registry,
+			ParallelHealthIndicatorProperties parallelProperties,
+			@Qualifier("healthIndicatorExecutor") ObjectProvider<Executor> executor,
+			ObjectProvider<ParallelHealthIndicatorExecutor> parallelExecutor) {
+		CompositeHealthIndicator healthIndicator = new CompositeHealthIndicator(
+				healthAggregator, registry);
+		if (parallelProperties.isEnabled()) {
+			healthIndicator.parallelStrategy(
+					executor.getIfAvailable(
+							() -> parallelExecutor.getObject().getExecutor()),
+					parallelProperties.getTimeout().toMillis(), null);
+		}
+		return new HealthEndpoint(healthIndicator);
+	}
+
+	/**
+	 * Configures the executor used to invoke health indicators in parallel.
+	 */
+	@Configuration
+	@ConditionalOnProperty(prefix = "management.health.parallel", name = "enabled")
+	static class ParallelHealthIndicatorConfiguration {
+
+		@Bean
+		@ConditionalOnMissingBean(name = "healthIndicatorExecutor")
+		public ParallelHealthIndicatorExecutor parallelHealthIndicatorExecutor(
+				ParallelHealthIndicatorProperties properties) {
+			return new ParallelHealthIndicatorExecutor(properties);
+		}
+
+	}
+
+	/**
+	 * Holds the bounded executor that is used to invoke health indicators in parallel.
+	 * The executor is not exposed as an {@link Executor} bean so that it is not picked
+	 * up by unrelated lookups, such as the one performed by {@code @EnableAsync}.
+	 */
+	static class ParallelHealthIndicatorExecutor implements DisposableBean {
+
+		private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+		ParallelHealthIndicatorExecutor(ParallelHealthIndicatorProperties properties) {
+			this.executor.setCorePoolSize(properties.getPoolSize());
+			this.executor.setMaxPoolSize(properties.getPoolSize());
+			this.executor.setQueueCapacity(properties.getQueueCapacity());
+			this.executor.setDaemon(true);
+			this.executor.setThreadNamePrefix("health-");
+			this.executor.initialize();
+		}
+
+		Executor getExecutor() {
+			return this.executor;
+		}
+
+		@Override
+		public void destroy() {
+			this.executor.shutdown();
+		}
+
 	}
 
 }
@@ -74,10 +74,16 @@ class HealthEndpointWebExtensionConfiguration {
 		private final ReactiveHealthIndicator reactiveHealthIndicator;
 
 		ReactiveWebHealthConfiguration(ObjectProvider<HealthAggregator> healthAggregator,
-				ReactiveHealthIndicatorRegistry registry) {
-			this.reactiveHealthIndicator = new CompositeReactiveHealthIndicator(
+				ReactiveHealthIndicatorRegistry registry,
+				ParallelHealthIndicatorProperties parallelProperties) {
+			CompositeReactiveHealthIndicator reactiveHealthIndicator = new CompositeReactiveHealthIndicator(
 					healthAggregator.getIfAvailable(OrderedHealthAggregator::new),
 					registry);
+			if (parallelProperties.isEnabled()) {
+				reactiveHealthIndicator.timeoutStrategy(
+						parallelProperties.getTimeout().toMillis(), null);
+			}
+			this.reactiveHealthIndicator = reactiveHealthIndicator;
 		}
 
 		@Bean
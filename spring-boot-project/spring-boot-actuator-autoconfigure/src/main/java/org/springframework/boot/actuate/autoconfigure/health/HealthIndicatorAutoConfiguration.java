@@ -33,6 +33,7 @@ import org.springframework.boot.actuate.health.ReactiveHealthIndicatorRegistryFa
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnSingleCandidate;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
@@ -48,7 +49,8 @@ import org.springframework.context.annotation.Configuration;
  * @since 2.0.0
  */
 @Configuration
-@EnableConfigurationProperties({ HealthIndicatorProperties.class })
+@EnableConfigurationProperties({ HealthIndicatorProperties.class,
+		BackgroundHealthIndicatorProperties.class })
 public class HealthIndicatorAutoConfiguration {
 
 	private final HealthIndicatorProperties properties;
@@ -80,6 +82,17 @@ public class HealthIndicatorAutoConfiguration {
 		return HealthIndicatorRegistryBeans.get(applicationContext);
 	}
 
+	@Bean
+	@ConditionalOnSingleCandidate(HealthIndicatorRegistry.class)
+	public BackgroundHealthIndicatorRegistrar backgroundHealthIndicatorRegistrar(
+			HealthIndicatorRegistry healthIndicatorRegistry,
+			ObjectProvider<ReactiveHealthIndicatorRegistry> reactiveHealthIndicatorRegistry,
+			BackgroundHealthIndicatorProperties properties) {
+		return new BackgroundHealthIndicatorRegistrar(healthIndicatorRegistry,
+				reactiveHealthIndicatorRegistry.getIfUnique(),
+				properties.getRefreshInterval());
+	}
+
 	@Configuration
 	@ConditionalOnClass(Flux.class)
 	static class ReactiveHealthIndicatorConfiguration {
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.autoconfigure.health;
+
+import java.time.Duration;
+
+import org.springframework.boot.actuate.health.CompositeHealthIndicator;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the parallel evaluation of health indicators by the
+ * {@link CompositeHealthIndicator}.
+ *
+ * @since 2.1.0
+ */
+@ConfigurationProperties(prefix = "management.health.parallel")
+public class ParallelHealthIndicatorProperties {
+
+	/**
+	 * Whether to invoke health indicators in parallel rather than one after another.
+	 */
+	private boolean enabled;
+
+	/**
+	 * Maximum number of threads used to invoke health indicators.
+	 */
+	private int poolSize = 4;
+
+	/**
+	 * Maximum number of health indicator invocations that can wait for a thread. An
+	 * invocation that cannot be queued is reported with an UNKNOWN status.
+	 */
+	private int queueCapacity = 100;
+
+	/**
+	 * Maximum time to wait for a health indicator to respond before reporting it with
+	 * an UNKNOWN status.
+	 */
+	private Duration timeout = Duration.ofSeconds(10);
+
+	public boolean isEnabled() {
+		return this.enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public int getPoolSize() {
+		return this.poolSize;
+	}
+
+	public void setPoolSize(int poolSize) {
+		this.poolSize = poolSize;
+	}
+
+	public int getQueueCapacity() {
+		return this.queueCapacity;
+	}
+
+	public void setQueueCapacity(int queueCapacity) {
+		this.queueCapacity = queueCapacity;
+	}
+
+	public Duration getTimeout() {
+		return this.timeout;
+	}
+
+	public void setTimeout(Duration timeout) {
+		this.timeout = timeout;
+	}
+
+}
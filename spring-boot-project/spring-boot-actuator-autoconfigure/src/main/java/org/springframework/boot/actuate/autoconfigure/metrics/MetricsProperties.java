@@ -143,6 +143,14 @@ public class MetricsProperties {
 			 */
 			private String requestsMetricName = "http.server.requests";
 
+			/**
+			 * Whether an embedded Jetty, Undertow or Reactor Netty server should record
+			 * connection statistics, such as the number of open connections and the
+			 * bytes that have been received and sent. Recording them adds work to every
+			 * connection.
+			 */
+			private boolean connectionStatistics;
+
 			public boolean isAutoTimeRequests() {
 				return this.autoTimeRequests;
 			}
@@ -159,6 +167,14 @@ public class MetricsProperties {
 				this.requestsMetricName = requestsMetricName;
 			}
 
+			public boolean isConnectionStatistics() {
+				return this.connectionStatistics;
+			}
+
+			public void setConnectionStatistics(boolean connectionStatistics) {
+				this.connectionStatistics = connectionStatistics;
+			}
+
 		}
 
 	}
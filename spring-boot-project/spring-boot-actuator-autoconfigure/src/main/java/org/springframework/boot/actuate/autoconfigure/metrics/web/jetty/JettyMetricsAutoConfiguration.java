@@ -0,0 +1,98 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.autoconfigure.metrics.web.jetty;
+
+import java.util.Collections;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.eclipse.jetty.io.ConnectionStatistics;
+import org.eclipse.jetty.server.Server;
+
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.actuate.metrics.web.jetty.JettyServerMetrics;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.boot.web.embedded.jetty.ConfigurableJettyWebServerFactory;
+import org.springframework.boot.web.embedded.jetty.JettyWebServer;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * {@link EnableAutoConfiguration Auto-configuration} for {@link JettyServerMetrics}.
+ *
+ * @since 2.1.0
+ */
+@Configuration
+@AutoConfigureAfter({ MetricsAutoConfiguration.class,
+		SimpleMetricsExportAutoConfiguration.class })
+@ConditionalOnWebApplication
+@ConditionalOnClass({ Server.class, ConnectionStatistics.class })
+@ConditionalOnBean(MeterRegistry.class)
+public class JettyMetricsAutoConfiguration {
+
+	@Bean
+	@ConditionalOnProperty(prefix = "management.metrics.web.server", name = "connection-statistics", havingValue = "true")
+	public WebServerFactoryCustomizer<ConfigurableJettyWebServerFactory> jettyConnectionStatisticsCustomizer() {
+		return (factory) -> factory
+				.addServerCustomizers(JettyServerMetrics::enableConnectionStatistics);
+	}
+
+	@Bean
+	public JettyServerMetricsBinder jettyServerMetricsBinder(MeterRegistry meterRegistry,
+			ApplicationContext applicationContext) {
+		return new JettyServerMetricsBinder(meterRegistry, applicationContext);
+	}
+
+	/**
+	 * Binds {@link JettyServerMetrics} once the context's Jetty server has been
+	 * initialized.
+	 */
+	static class JettyServerMetricsBinder
+			implements ApplicationListener<WebServerInitializedEvent> {
+
+		private final MeterRegistry meterRegistry;
+
+		private final ApplicationContext applicationContext;
+
+		JettyServerMetricsBinder(MeterRegistry meterRegistry,
+				ApplicationContext applicationContext) {
+			this.meterRegistry = meterRegistry;
+			this.applicationContext = applicationContext;
+		}
+
+		@Override
+		public void onApplicationEvent(WebServerInitializedEvent event) {
+			if (event.getApplicationContext() == this.applicationContext
+					&& event.getWebServer() instanceof JettyWebServer) {
+				Server server = ((JettyWebServer) event.getWebServer()).getServer();
+				new JettyServerMetrics(server, Collections.emptyList())
+						.bindTo(this.meterRegistry);
+			}
+		}
+
+	}
+
+}
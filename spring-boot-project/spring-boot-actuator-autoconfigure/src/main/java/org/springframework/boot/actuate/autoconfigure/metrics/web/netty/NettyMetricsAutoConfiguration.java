@@ -0,0 +1,111 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.autoconfigure.metrics.web.netty;
+
+import java.util.Collections;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.netty.channel.EventLoopGroup;
+import reactor.ipc.netty.http.server.HttpServer;
+
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.actuate.metrics.web.netty.NettyEventLoopMetrics;
+import org.springframework.boot.actuate.metrics.web.netty.NettyServerMetrics;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.embedded.netty.NettyWebServer;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * {@link EnableAutoConfiguration Auto-configuration} for {@link NettyServerMetrics} and
+ * {@link NettyEventLoopMetrics}.
+ *
+ * @since 2.1.0
+ */
+@Configuration
+@AutoConfigureAfter({ MetricsAutoConfiguration.class,
+		SimpleMetricsExportAutoConfiguration.class })
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+@ConditionalOnClass({ MeterBinder.class, HttpServer.class })
+@ConditionalOnBean(MeterRegistry.class)
+public class NettyMetricsAutoConfiguration {
+
+	@Bean
+	@ConditionalOnMissingBean
+	@ConditionalOnProperty(prefix = "management.metrics.web.server", name = "connection-statistics", havingValue = "true")
+	public NettyServerMetrics nettyServerMetrics() {
+		return new NettyServerMetrics(Collections.emptyList());
+	}
+
+	@Bean
+	@ConditionalOnProperty(prefix = "management.metrics.web.server", name = "connection-statistics", havingValue = "true")
+	public WebServerFactoryCustomizer<NettyReactiveWebServerFactory> nettyServerMetricsCustomizer(
+			NettyServerMetrics nettyServerMetrics) {
+		return (factory) -> factory.addChannelInitializer(nettyServerMetrics::instrument);
+	}
+
+	@Bean
+	public NettyEventLoopMetricsBinder nettyEventLoopMetricsBinder(
+			MeterRegistry meterRegistry, ApplicationContext applicationContext) {
+		return new NettyEventLoopMetricsBinder(meterRegistry, applicationContext);
+	}
+
+	/**
+	 * Binds {@link NettyEventLoopMetrics} once the context's Netty server has been
+	 * initialized.
+	 */
+	static class NettyEventLoopMetricsBinder
+			implements ApplicationListener<WebServerInitializedEvent> {
+
+		private final MeterRegistry meterRegistry;
+
+		private final ApplicationContext applicationContext;
+
+		NettyEventLoopMetricsBinder(MeterRegistry meterRegistry,
+				ApplicationContext applicationContext) {
+			this.meterRegistry = meterRegistry;
+			this.applicationContext = applicationContext;
+		}
+
+		@Override
+		public void onApplicationEvent(WebServerInitializedEvent event) {
+			if (event.getApplicationContext() == this.applicationContext
+					&& event.getWebServer() instanceof NettyWebServer) {
+				EventLoopGroup eventLoopGroup = ((NettyWebServer) event.getWebServer())
+						.getEventLoopGroup();
+				new NettyEventLoopMetrics(eventLoopGroup, Collections.emptyList())
+						.bindTo(this.meterRegistry);
+			}
+		}
+
+	}
+
+}
@@ -26,6 +26,7 @@ import org.springframework.boot.actuate.autoconfigure.metrics.MetricsProperties.
 import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
 import org.springframework.boot.actuate.metrics.web.servlet.DefaultWebMvcTagsProvider;
 import org.springframework.boot.actuate.metrics.web.servlet.WebMvcMetricsFilter;
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcMetricsHandlerInterceptor;
 import org.springframework.boot.actuate.metrics.web.servlet.WebMvcTagsProvider;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
@@ -39,6 +40,8 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.context.WebApplicationContext;
 import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 /**
  * {@link EnableAutoConfiguration Auto-configuration} for instrumentation of Spring Web
@@ -76,4 +79,35 @@ public class WebMvcMetricsAutoConfiguration {
 		return registration;
 	}
 
+	@Bean
+	public MetricsWebMvcConfigurer metricsWebMvcConfigurer(MeterRegistry registry,
+			WebMvcTagsProvider tagsProvider) {
+		return new MetricsWebMvcConfigurer(registry, tagsProvider);
+	}
+
+	/**
+	 * {@link WebMvcConfigurer} that registers the {@link WebMvcMetricsHandlerInterceptor}
+	 * so that the handler resolved by the {@link DispatcherServlet} is reused when
+	 * recording metrics.
+	 */
+	static class MetricsWebMvcConfigurer implements WebMvcConfigurer {
+
+		private final MeterRegistry registry;
+
+		private final WebMvcTagsProvider tagsProvider;
+
+		MetricsWebMvcConfigurer(MeterRegistry registry,
+				WebMvcTagsProvider tagsProvider) {
+			this.registry = registry;
+			this.tagsProvider = tagsProvider;
+		}
+
+		@Override
+		public void addInterceptors(InterceptorRegistry registry) {
+			registry.addInterceptor(
+					new WebMvcMetricsHandlerInterceptor(this.registry, this.tagsProvider));
+		}
+
+	}
+
 }
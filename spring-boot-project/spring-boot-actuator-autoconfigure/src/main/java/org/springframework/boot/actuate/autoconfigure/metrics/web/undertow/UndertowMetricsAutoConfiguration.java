@@ -0,0 +1,112 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.autoconfigure.metrics.web.undertow;
+
+import java.util.Collections;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.undertow.Undertow;
+import io.undertow.UndertowOptions;
+
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.actuate.metrics.web.undertow.UndertowServerMetrics;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.boot.web.embedded.undertow.ConfigurableUndertowWebServerFactory;
+import org.springframework.boot.web.embedded.undertow.UndertowServletWebServer;
+import org.springframework.boot.web.embedded.undertow.UndertowWebServer;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * {@link EnableAutoConfiguration Auto-configuration} for {@link UndertowServerMetrics}.
+ *
+ * @since 2.1.0
+ */
+@Configuration
+@AutoConfigureAfter({ MetricsAutoConfiguration.class,
+		SimpleMetricsExportAutoConfiguration.class })
+@ConditionalOnWebApplication
+@ConditionalOnClass(Undertow.class)
+@ConditionalOnBean(MeterRegistry.class)
+public class UndertowMetricsAutoConfiguration {
+
+	@Bean
+	@ConditionalOnProperty(prefix = "management.metrics.web.server", name = "connection-statistics", havingValue = "true")
+	public WebServerFactoryCustomizer<ConfigurableUndertowWebServerFactory> undertowStatisticsCustomizer() {
+		return (factory) -> factory.addBuilderCustomizers((builder) -> builder
+				.setServerOption(UndertowOptions.ENABLE_STATISTICS, true));
+	}
+
+	@Bean
+	public UndertowServerMetricsBinder undertowServerMetricsBinder(
+			MeterRegistry meterRegistry, ApplicationContext applicationContext) {
+		return new UndertowServerMetricsBinder(meterRegistry, applicationContext);
+	}
+
+	/**
+	 * Binds {@link UndertowServerMetrics} once the context's Undertow server has been
+	 * started.
+	 */
+	static class UndertowServerMetricsBinder
+			implements ApplicationListener<WebServerInitializedEvent> {
+
+		private final MeterRegistry meterRegistry;
+
+		private final ApplicationContext applicationContext;
+
+		UndertowServerMetricsBinder(MeterRegistry meterRegistry,
+				ApplicationContext applicationContext) {
+			this.meterRegistry = meterRegistry;
+			this.applicationContext = applicationContext;
+		}
+
+		@Override
+		public void onApplicationEvent(WebServerInitializedEvent event) {
+			if (event.getApplicationContext() != this.applicationContext) {
+				return;
+			}
+			Undertow undertow = getUndertow(event.getWebServer());
+			if (undertow != null) {
+				new UndertowServerMetrics(undertow, Collections.emptyList())
+						.bindTo(this.meterRegistry);
+			}
+		}
+
+		private Undertow getUndertow(WebServer webServer) {
+			if (webServer instanceof UndertowServletWebServer) {
+				return ((UndertowServletWebServer) webServer).getUndertow();
+			}
+			if (webServer instanceof UndertowWebServer) {
+				return ((UndertowWebServer) webServer).getUndertow();
+			}
+			return null;
+		}
+
+	}
+
+}
@@ -16,8 +16,10 @@
 
 package org.springframework.boot.actuate.autoconfigure.trace.http;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.actuate.trace.http.HttpExchangeTracer;
 import org.springframework.boot.actuate.trace.http.HttpTraceRepository;
+import org.springframework.boot.actuate.trace.http.HttpTraceSampler;
 import org.springframework.boot.actuate.trace.http.InMemoryHttpTraceRepository;
 import org.springframework.boot.actuate.web.trace.reactive.HttpTraceWebFilter;
 import org.springframework.boot.actuate.web.trace.servlet.HttpTraceFilter;
@@ -50,8 +52,25 @@ public class HttpTraceAutoConfiguration {
 
 	@Bean
 	@ConditionalOnMissingBean
-	public HttpExchangeTracer httpExchangeTracer(HttpTraceProperties traceProperties) {
-		return new HttpExchangeTracer(traceProperties.getInclude());
+	public HttpExchangeTracer httpExchangeTracer(HttpTraceProperties traceProperties,
+			ObjectProvider<HttpTraceSampler> sampler) {
+		return new HttpExchangeTracer(traceProperties.getInclude(), sampler
+				.getIfAvailable(() -> createSampler(traceProperties.getSampling())));
+	}
+
+	private HttpTraceSampler createSampler(HttpTraceProperties.Sampling properties) {
+		HttpTraceSampler sampler = HttpTraceSampler.all();
+		if (properties.getSlowThreshold() != null) {
+			sampler = HttpTraceSampler.slowOrFailed(properties.getSlowThreshold());
+		}
+		if (properties.getPercentage() < 100) {
+			sampler = sampler
+					.and(HttpTraceSampler.percentage(properties.getPercentage()));
+		}
+		if (properties.getRate() != null) {
+			sampler = sampler.and(HttpTraceSampler.rateLimited(properties.getRate()));
+		}
+		return sampler;
 	}
 
 	@ConditionalOnWebApplication(type = Type.SERVLET)
@@ -16,6 +16,7 @@
 
 package org.springframework.boot.actuate.autoconfigure.trace.http;
 
+import java.time.Duration;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -42,6 +43,8 @@ public class HttpTraceProperties {
 	 */
 	private Set<Include> include = new HashSet<>(Include.defaultIncludes());
 
+	private final Sampling sampling = new Sampling();
+
 	public Set<Include> getInclude() {
 		return this.include;
 	}
@@ -50,4 +53,57 @@ public class HttpTraceProperties {
 		this.include = include;
 	}
 
+	public Sampling getSampling() {
+		return this.sampling;
+	}
+
+	/**
+	 * Sampling properties.
+	 */
+	public static class Sampling {
+
+		/**
+		 * Percentage of exchanges to trace, between 0 and 100, decided when the request
+		 * is received.
+		 */
+		private double percentage = 100;
+
+		/**
+		 * Maximum number of exchanges to trace each second, decided when the request is
+		 * received. When not set, the number of traced exchanges is not limited.
+		 */
+		private Integer rate;
+
+		/**
+		 * Minimum time taken for an exchange to be traced. When set, only exchanges that
+		 * are at least this slow or that fail with a server error are traced.
+		 */
+		private Duration slowThreshold;
+
+		public double getPercentage() {
+			return this.percentage;
+		}
+
+		public void setPercentage(double percentage) {
+			this.percentage = percentage;
+		}
+
+		public Integer getRate() {
+			return this.rate;
+		}
+
+		public void setRate(Integer rate) {
+			this.rate = rate;
+		}
+
+		public Duration getSlowThreshold() {
+			return this.slowThreshold;
+		}
+
+		public void setSlowThreshold(Duration slowThreshold) {
+			this.slowThreshold = slowThreshold;
+		}
+
+	}
+
 }
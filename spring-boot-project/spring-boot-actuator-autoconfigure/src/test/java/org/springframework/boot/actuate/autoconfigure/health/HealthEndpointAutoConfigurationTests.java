@@ -16,9 +16,12 @@
 
 package org.springframework.boot.actuate.autoconfigure.health;
 
+import java.util.concurrent.Executor;
+
 import org.junit.Test;
 import reactor.core.publisher.Mono;
 
+import org.springframework.boot.actuate.autoconfigure.health.HealthEndpointConfiguration.ParallelHealthIndicatorExecutor;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.boot.actuate.health.HealthIndicator;
@@ -28,6 +31,7 @@ import org.springframework.boot.autoconfigure.AutoConfigurations;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
@@ -102,6 +106,37 @@ public class HealthEndpointAutoConfigurationTests {
 				});
 	}
 
+	@Test
+	public void healthEndpointSequentialByDefault() {
+		this.contextRunner.withUserConfiguration(HealthIndicatorConfiguration.class)
+				.run((context) -> assertThat(context)
+						.doesNotHaveBean(ParallelHealthIndicatorExecutor.class));
+	}
+
+	@Test
+	public void healthEndpointWithParallelStrategy() {
+		this.contextRunner
+				.withPropertyValues("management.endpoint.health.show-details=always",
+						"management.health.parallel.enabled=true",
+						"management.health.parallel.pool-size=2",
+						"management.health.parallel.queue-capacity=10")
+				.withUserConfiguration(HealthIndicatorConfiguration.class,
+						ReactiveHealthIndicatorConfiguration.class)
+				.run((context) -> {
+					assertThat(context).doesNotHaveBean(Executor.class);
+					ThreadPoolTaskExecutor executor = (ThreadPoolTaskExecutor) context
+							.getBean(ParallelHealthIndicatorExecutor.class)
+							.getExecutor();
+					assertThat(executor.getMaxPoolSize()).isEqualTo(2);
+					assertThat(executor.getThreadPoolExecutor().getQueue()
+							.remainingCapacity()).isEqualTo(10);
+					Health health = context.getBean(HealthEndpoint.class).health();
+					assertThat(health.getStatus()).isEqualTo(Status.UP);
+					assertThat(health.getDetails()).containsOnlyKeys("simple",
+							"reactive");
+				});
+	}
+
 	@Configuration
 	static class HealthIndicatorConfiguration {
 
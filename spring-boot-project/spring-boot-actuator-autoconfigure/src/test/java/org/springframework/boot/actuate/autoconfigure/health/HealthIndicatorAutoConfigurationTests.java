@@ -22,10 +22,13 @@ import java.util.Map;
 import org.junit.Test;
 
 import org.springframework.boot.actuate.health.ApplicationHealthIndicator;
+import org.springframework.boot.actuate.health.BackgroundHealthIndicator;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthAggregator;
 import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.HealthIndicatorRegistry;
 import org.springframework.boot.actuate.health.OrderedHealthAggregator;
+import org.springframework.boot.actuate.health.ReactiveHealthIndicatorRegistry;
 import org.springframework.boot.actuate.health.Status;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
@@ -108,6 +111,43 @@ public class HealthIndicatorAutoConfigurationTests {
 						.isNotInstanceOf(OrderedHealthAggregator.class));
 	}
 
+	@Test
+	public void runWhenHasRefreshIntervalShouldRegisterBackgroundHealthIndicator() {
+		this.contextRunner.withUserConfiguration(CustomHealthIndicatorConfiguration.class)
+				.withPropertyValues("management.health.background.refresh-interval.custom=1h")
+				.run((context) -> {
+					HealthIndicator indicator = context
+							.getBean(HealthIndicatorRegistry.class).get("custom");
+					assertThat(indicator).isInstanceOf(BackgroundHealthIndicator.class);
+					assertThat(((BackgroundHealthIndicator) indicator).getDelegate())
+							.isInstanceOf(CustomHealthIndicator.class);
+				});
+	}
+
+	@Test
+	public void runWhenHasRefreshIntervalShouldRegisterBackgroundHealthIndicatorInReactiveRegistry() {
+		this.contextRunner.withUserConfiguration(CustomHealthIndicatorConfiguration.class)
+				.withPropertyValues("management.health.background.refresh-interval.custom=1h")
+				.run((context) -> {
+					BackgroundHealthIndicator indicator = (BackgroundHealthIndicator) context
+							.getBean(HealthIndicatorRegistry.class).get("custom");
+					indicator.refresh();
+					Health health = context
+							.getBean(ReactiveHealthIndicatorRegistry.class)
+							.get("custom").health().block();
+					assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+					assertThat(health.getDetails()).containsKey("age");
+				});
+	}
+
+	@Test
+	public void runWhenHasNoRefreshIntervalShouldNotRegisterBackgroundHealthIndicator() {
+		this.contextRunner.withUserConfiguration(CustomHealthIndicatorConfiguration.class)
+				.run((context) -> assertThat(
+						context.getBean(HealthIndicatorRegistry.class).get("custom"))
+								.isInstanceOf(CustomHealthIndicator.class));
+	}
+
 	@Configuration
 	static class CustomHealthIndicatorConfiguration {
 
@@ -17,6 +17,7 @@
 package org.springframework.boot.actuate.autoconfigure.health;
 
 import java.security.Principal;
+import java.time.Duration;
 
 import org.junit.Test;
 import reactor.core.publisher.Mono;
@@ -29,6 +30,7 @@ import org.springframework.boot.actuate.health.HealthWebEndpointResponseMapper;
 import org.springframework.boot.actuate.health.ReactiveHealthEndpointWebExtension;
 import org.springframework.boot.actuate.health.ReactiveHealthIndicator;
 import org.springframework.boot.actuate.health.ReactiveHealthIndicatorRegistry;
+import org.springframework.boot.actuate.health.Status;
 import org.springframework.boot.test.context.runner.ReactiveWebApplicationContextRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -235,6 +237,22 @@ public class ReactiveHealthEndpointWebExtensionTests {
 				});
 	}
 
+	@Test
+	public void parallelTimeoutIsAppliedToReactiveHealthIndicators() {
+		this.contextRunner.withUserConfiguration(HangingHealthIndicatorConfiguration.class)
+				.withPropertyValues("management.endpoint.health.show-details=always",
+						"management.health.parallel.enabled=true",
+						"management.health.parallel.timeout=100ms")
+				.run((context) -> {
+					ReactiveHealthEndpointWebExtension extension = context
+							.getBean(ReactiveHealthEndpointWebExtension.class);
+					Health health = extension.health(null).block(Duration.ofSeconds(10))
+							.getBody();
+					assertThat(((Health) health.getDetails().get("hanging")).getStatus())
+							.isEqualTo(Status.UNKNOWN);
+				});
+	}
+
 	@Configuration
 	static class HealthIndicatorsConfiguration {
 
@@ -250,4 +268,14 @@ public class ReactiveHealthEndpointWebExtensionTests {
 
 	}
 
+	@Configuration
+	static class HangingHealthIndicatorConfiguration {
+
+		@Bean
+		public ReactiveHealthIndicator hangingHealthIndicator() {
+			return () -> Mono.never();
+		}
+
+	}
+
 }
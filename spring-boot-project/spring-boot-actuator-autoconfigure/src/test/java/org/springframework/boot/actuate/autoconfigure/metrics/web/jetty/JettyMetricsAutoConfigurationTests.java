@@ -0,0 +1,108 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.autoconfigure.metrics.web.jetty;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+import org.springframework.boot.web.embedded.jetty.JettyServletWebServerFactory;
+import org.springframework.boot.web.servlet.context.AnnotationConfigServletWebServerApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link JettyMetricsAutoConfiguration}.
+ */
+public class JettyMetricsAutoConfigurationTests {
+
+	@Test
+	public void autoConfiguresJettyMetricsWithEmbeddedServletJetty() {
+		new WebApplicationContextRunner(
+				AnnotationConfigServletWebServerApplicationContext::new)
+						.withConfiguration(AutoConfigurations.of(
+								JettyMetricsAutoConfiguration.class,
+								ServletWebServerFactoryAutoConfiguration.class))
+						.withUserConfiguration(ServletWebServerConfiguration.class,
+								MeterRegistryConfiguration.class)
+						.run((context) -> {
+							MeterRegistry registry = context
+									.getBean(MeterRegistry.class);
+							assertThat(registry.find("jetty.threads.busy").meter())
+									.isNotNull();
+							assertThat(registry.find("jetty.connections.current")
+									.meter()).isNull();
+						});
+	}
+
+	@Test
+	public void autoConfiguresConnectionMetricsWhenConnectionStatisticsAreEnabled() {
+		new WebApplicationContextRunner(
+				AnnotationConfigServletWebServerApplicationContext::new)
+						.withConfiguration(AutoConfigurations.of(
+								JettyMetricsAutoConfiguration.class,
+								ServletWebServerFactoryAutoConfiguration.class))
+						.withUserConfiguration(ServletWebServerConfiguration.class,
+								MeterRegistryConfiguration.class)
+						.withPropertyValues(
+								"management.metrics.web.server.connection-statistics=true")
+						.run((context) -> {
+							MeterRegistry registry = context
+									.getBean(MeterRegistry.class);
+							assertThat(registry.find("jetty.connections.current")
+									.meter()).isNotNull();
+						});
+	}
+
+	@Test
+	public void backsOffWithoutMeterRegistry() {
+		new WebApplicationContextRunner(
+				AnnotationConfigServletWebServerApplicationContext::new)
+						.withConfiguration(AutoConfigurations.of(
+								JettyMetricsAutoConfiguration.class,
+								ServletWebServerFactoryAutoConfiguration.class))
+						.withUserConfiguration(ServletWebServerConfiguration.class)
+						.run((context) -> assertThat(context)
+								.doesNotHaveBean(JettyMetricsAutoConfiguration.class));
+	}
+
+	@Configuration
+	static class ServletWebServerConfiguration {
+
+		@Bean
+		public JettyServletWebServerFactory jettyFactory() {
+			return new JettyServletWebServerFactory(0);
+		}
+
+	}
+
+	@Configuration
+	static class MeterRegistryConfiguration {
+
+		@Bean
+		public SimpleMeterRegistry meterRegistry() {
+			return new SimpleMeterRegistry();
+		}
+
+	}
+
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.autoconfigure.metrics.web.netty;
+
+import java.util.Collections;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+
+import org.springframework.boot.actuate.metrics.web.netty.NettyServerMetrics;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.web.reactive.ReactiveWebServerFactoryAutoConfiguration;
+import org.springframework.boot.test.context.runner.ReactiveWebApplicationContextRunner;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.reactive.context.AnnotationConfigReactiveWebServerApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.reactive.HttpHandler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link NettyMetricsAutoConfiguration}.
+ */
+public class NettyMetricsAutoConfigurationTests {
+
+	@Test
+	public void autoConfiguresNettyMetricsWithEmbeddedReactiveNetty() {
+		new ReactiveWebApplicationContextRunner(
+				AnnotationConfigReactiveWebServerApplicationContext::new)
+						.withConfiguration(AutoConfigurations.of(
+								NettyMetricsAutoConfiguration.class,
+								ReactiveWebServerFactoryAutoConfiguration.class))
+						.withUserConfiguration(ReactiveWebServerConfiguration.class,
+								MeterRegistryConfiguration.class)
+						.withPropertyValues(
+								"management.metrics.web.server.connection-statistics=true")
+						.run((context) -> {
+							assertThat(context).hasSingleBean(NettyServerMetrics.class);
+							assertThat(context
+									.getBean(NettyReactiveWebServerFactory.class)
+									.getChannelInitializers()).hasSize(1);
+							SimpleMeterRegistry registry = new SimpleMeterRegistry();
+							context.getBean(NettyServerMetrics.class).bindTo(registry);
+							assertThat(registry.find("netty.connections.current")
+									.meter()).isNotNull();
+						});
+	}
+
+	@Test
+	public void doesNotInstrumentChannelsByDefault() {
+		new ReactiveWebApplicationContextRunner(
+				AnnotationConfigReactiveWebServerApplicationContext::new)
+						.withConfiguration(AutoConfigurations.of(
+								NettyMetricsAutoConfiguration.class,
+								ReactiveWebServerFactoryAutoConfiguration.class))
+						.withUserConfiguration(ReactiveWebServerConfiguration.class,
+								MeterRegistryConfiguration.class)
+						.run((context) -> {
+							assertThat(context)
+									.doesNotHaveBean(NettyServerMetrics.class);
+							assertThat(context
+									.getBean(NettyReactiveWebServerFactory.class)
+									.getChannelInitializers()).isEmpty();
+						});
+	}
+
+	@Test
+	public void backsOffWithoutMeterRegistry() {
+		new ReactiveWebApplicationContextRunner()
+				.withConfiguration(
+						AutoConfigurations.of(NettyMetricsAutoConfiguration.class))
+				.withPropertyValues(
+						"management.metrics.web.server.connection-statistics=true")
+				.run((context) -> assertThat(context)
+						.doesNotHaveBean(NettyMetricsAutoConfiguration.class));
+	}
+
+	@Test
+	public void bindsEventLoopMetricsOnceNettyHasBeenInitialized() {
+		new ReactiveWebApplicationContextRunner(
+				AnnotationConfigReactiveWebServerApplicationContext::new)
+						.withConfiguration(AutoConfigurations.of(
+								NettyMetricsAutoConfiguration.class,
+								ReactiveWebServerFactoryAutoConfiguration.class))
+						.withUserConfiguration(ReactiveWebServerConfiguration.class,
+								MeterRegistryConfiguration.class)
+						.run((context) -> {
+							MeterRegistry registry = context
+									.getBean(MeterRegistry.class);
+							assertThat(registry.get("netty.eventloop.threads").gauge()
+									.value()).isGreaterThan(0);
+							assertThat(registry.find("netty.eventloop.tasks.pending")
+									.meter()).isNotNull();
+						});
+	}
+
+	@Test
+	public void backsOffInServletApplication() {
+		new WebApplicationContextRunner()
+				.withConfiguration(
+						AutoConfigurations.of(NettyMetricsAutoConfiguration.class))
+				.run((context) -> assertThat(context)
+						.doesNotHaveBean(NettyServerMetrics.class));
+	}
+
+	@Test
+	public void allowsCustomNettyServerMetricsToBeUsed() {
+		new ReactiveWebApplicationContextRunner()
+				.withConfiguration(
+						AutoConfigurations.of(NettyMetricsAutoConfiguration.class))
+				.withUserConfiguration(CustomNettyServerMetrics.class,
+						MeterRegistryConfiguration.class)
+				.withPropertyValues(
+						"management.metrics.web.server.connection-statistics=true")
+				.run((context) -> assertThat(context)
+						.hasSingleBean(NettyServerMetrics.class)
+						.hasBean("customNettyServerMetrics"));
+	}
+
+	@Configuration
+	static class ReactiveWebServerConfiguration {
+
+		@Bean
+		public NettyReactiveWebServerFactory nettyFactory() {
+			return new NettyReactiveWebServerFactory(0);
+		}
+
+		@Bean
+		public HttpHandler httpHandler() {
+			return mock(HttpHandler.class);
+		}
+
+	}
+
+	@Configuration
+	static class MeterRegistryConfiguration {
+
+		@Bean
+		public SimpleMeterRegistry meterRegistry() {
+			return new SimpleMeterRegistry();
+		}
+
+	}
+
+	@Configuration
+	static class CustomNettyServerMetrics {
+
+		@Bean
+		public NettyServerMetrics customNettyServerMetrics() {
+			return new NettyServerMetrics(Collections.emptyList());
+		}
+
+	}
+
+}
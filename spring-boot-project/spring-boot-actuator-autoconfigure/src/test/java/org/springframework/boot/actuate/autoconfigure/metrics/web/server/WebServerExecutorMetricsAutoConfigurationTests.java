@@ -0,0 +1,62 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.autoconfigure.metrics.web.server;
+
+import org.junit.Test;
+
+import org.springframework.boot.actuate.metrics.web.server.WebServerExecutorMetrics;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+import org.springframework.boot.web.server.WebServerExecutor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link WebServerExecutorMetricsAutoConfiguration}.
+ */
+public class WebServerExecutorMetricsAutoConfigurationTests {
+
+	private final WebApplicationContextRunner contextRunner = new WebApplicationContextRunner()
+			.withConfiguration(
+					AutoConfigurations.of(WebServerExecutorMetricsAutoConfiguration.class));
+
+	@Test
+	public void autoConfiguresMetricsWhenExecutorIsAvailable() {
+		this.contextRunner.withUserConfiguration(WebServerExecutorConfiguration.class)
+				.run((context) -> assertThat(context)
+						.hasSingleBean(WebServerExecutorMetrics.class));
+	}
+
+	@Test
+	public void backsOffWithoutExecutor() {
+		this.contextRunner.run((context) -> assertThat(context)
+				.doesNotHaveBean(WebServerExecutorMetrics.class));
+	}
+
+	@Configuration
+	static class WebServerExecutorConfiguration {
+
+		@Bean
+		public WebServerExecutor webServerExecutor() {
+			return WebServerExecutor.bounded("test-", 1, 1);
+		}
+
+	}
+
+}
@@ -26,17 +26,23 @@ import org.springframework.boot.actuate.autoconfigure.trace.http.HttpTraceProper
 import org.springframework.boot.actuate.trace.http.HttpExchangeTracer;
 import org.springframework.boot.actuate.trace.http.HttpTrace;
 import org.springframework.boot.actuate.trace.http.HttpTraceRepository;
+import org.springframework.boot.actuate.trace.http.HttpTraceSampler;
 import org.springframework.boot.actuate.trace.http.InMemoryHttpTraceRepository;
 import org.springframework.boot.actuate.trace.http.Include;
+import org.springframework.boot.actuate.trace.http.TraceableRequest;
+import org.springframework.boot.actuate.trace.http.TraceableResponse;
 import org.springframework.boot.actuate.web.trace.reactive.HttpTraceWebFilter;
 import org.springframework.boot.actuate.web.trace.servlet.HttpTraceFilter;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
 import org.springframework.boot.test.context.runner.ReactiveWebApplicationContextRunner;
 import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
 
 /**
  * Tests for {@link HttpTraceAutoConfiguration}.
@@ -88,6 +94,41 @@ public class HttpTraceAutoConfigurationTests {
 				});
 	}
 
+	@Test
+	public void configuresTracerSamplingFromProperties() {
+		new WebApplicationContextRunner()
+				.withConfiguration(
+						AutoConfigurations.of(HttpTraceAutoConfiguration.class))
+				.withPropertyValues("management.trace.http.sampling.percentage=0")
+				.run((context) -> assertThat(isSampled(context)).isFalse());
+	}
+
+	@Test
+	public void configuresTracerSlowThresholdFromProperties() {
+		new WebApplicationContextRunner()
+				.withConfiguration(
+						AutoConfigurations.of(HttpTraceAutoConfiguration.class))
+				.withPropertyValues("management.trace.http.sampling.slow-threshold=1m")
+				.run((context) -> assertThat(isSampled(context)).isFalse());
+	}
+
+	@Test
+	public void configuresTracerThatSamplesAllExchangesByDefault() {
+		new WebApplicationContextRunner()
+				.withConfiguration(
+						AutoConfigurations.of(HttpTraceAutoConfiguration.class))
+				.run((context) -> assertThat(isSampled(context)).isTrue());
+	}
+
+	@Test
+	public void usesUserProvidedSampler() {
+		new WebApplicationContextRunner()
+				.withConfiguration(
+						AutoConfigurations.of(HttpTraceAutoConfiguration.class))
+				.withUserConfiguration(CustomSamplerConfiguration.class)
+				.run((context) -> assertThat(isSampled(context)).isFalse());
+	}
+
 	@Test
 	public void configuresWebFilter() {
 		new ReactiveWebApplicationContextRunner()
@@ -143,6 +184,16 @@ public class HttpTraceAutoConfigurationTests {
 						.doesNotHaveBean(HttpTraceFilter.class));
 	}
 
+	private boolean isSampled(ApplicationContext context) {
+		HttpExchangeTracer tracer = context.getBean(HttpExchangeTracer.class);
+		TraceableRequest request = mock(TraceableRequest.class);
+		TraceableResponse response = mock(TraceableResponse.class);
+		given(response.getStatus()).willReturn(200);
+		HttpTrace trace = tracer.receivedRequest(request);
+		return tracer.sendingResponseIfSampled(trace, response, () -> null,
+				() -> null);
+	}
+
 	private static class CustomHttpTraceRepository implements HttpTraceRepository {
 
 		@Override
@@ -185,6 +236,16 @@ public class HttpTraceAutoConfigurationTests {
 
 	}
 
+	@Configuration
+	static class CustomSamplerConfiguration {
+
+		@Bean
+		public HttpTraceSampler customSampler() {
+			return (request, status, timeTaken) -> false;
+		}
+
+	}
+
 	private static final class CustomHttpTraceWebFilter extends HttpTraceWebFilter {
 
 		private CustomHttpTraceWebFilter(HttpTraceRepository repository,
@@ -17,13 +17,23 @@
 package org.springframework.boot.actuate.audit;
 
 import java.time.Instant;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.springframework.util.Assert;
 
 /**
- * In-memory {@link AuditEventRepository} implementation.
+ * In-memory {@link AuditEventRepository} implementation. Events are held in a
+ * fixed-size ring buffer that is indexed by principal and by type so that queries only
+ * visit matching events and never block writers.
  *
  * @author Dave Syer
  * @author Phillip Webb
@@ -33,21 +43,14 @@ public class InMemoryAuditEventRepository implements AuditEventRepository {
 
 	private static final int DEFAULT_CAPACITY = 1000;
 
-	private final Object monitor = new Object();
-
-	/**
-	 * Circular buffer of the event with tail pointing to the last element.
-	 */
-	private AuditEvent[] events;
-
-	private volatile int tail = -1;
+	private volatile Events events;
 
 	public InMemoryAuditEventRepository() {
 		this(DEFAULT_CAPACITY);
 	}
 
 	public InMemoryAuditEventRepository(int capacity) {
-		this.events = new AuditEvent[capacity];
+		this.events = new Events(capacity);
 	}
 
 	/**
@@ -55,46 +58,299 @@ public class InMemoryAuditEventRepository implements AuditEventRepository {
 	 * @param capacity the capacity
 	 */
 	public void setCapacity(int capacity) {
-		synchronized (this.monitor) {
-			this.events = new AuditEvent[capacity];
-		}
+		this.events = new Events(capacity);
 	}
 
 	@Override
 	public void add(AuditEvent event) {
 		Assert.notNull(event, "AuditEvent must not be null");
-		synchronized (this.monitor) {
-			this.tail = (this.tail + 1) % this.events.length;
-			this.events[this.tail] = event;
-		}
+		this.events.add(event);
 	}
 
 	@Override
 	public List<AuditEvent> find(String principal, Instant after, String type) {
-		LinkedList<AuditEvent> events = new LinkedList<>();
-		synchronized (this.monitor) {
-			for (int i = 0; i < this.events.length; i++) {
-				AuditEvent event = resolveTailEvent(i);
-				if (event != null && isMatch(principal, after, type, event)) {
-					events.addFirst(event);
+		return find(principal, after, type, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Find audit events of specified type relating to the specified principal that
+	 * occurred {@link Instant#isAfter(Instant) after} the time provided, returning at
+	 * most {@code limit} events. Events are returned in the order in which they were
+	 * added. Use {@link #findPage(String, Instant, String, long, int)} to page through
+	 * the repository.
+	 * @param principal the principal name to search for (or {@code null} if unrestricted)
+	 * @param after time after which an event must have occurred (or {@code null} if
+	 * unrestricted)
+	 * @param type the event type to search for (or {@code null} if unrestricted)
+	 * @param limit the maximum number of events to return
+	 * @return audit events of specified type relating to the principal
+	 * @since 2.1.0
+	 */
+	public List<AuditEvent> find(String principal, Instant after, String type,
+			int limit) {
+		return findPage(principal, after, type, 0, limit).getEvents();
+	}
+
+	/**
+	 * Find a page of audit events of specified type relating to the specified principal
+	 * that occurred {@link Instant#isAfter(Instant) after} the time provided. Events are
+	 * returned in the order in which they were added, starting from the given cursor.
+	 * The {@link Page#getNextCursor() next cursor} of the returned page can be used to
+	 * retrieve the following page. Unlike a timestamp, the cursor does not skip events
+	 * that were added at the same instant.
+	 * @param principal the principal name to search for (or {@code null} if unrestricted)
+	 * @param after time after which an event must have occurred (or {@code null} if
+	 * unrestricted)
+	 * @param type the event type to search for (or {@code null} if unrestricted)
+	 * @param cursor the cursor from which to start, {@code 0} for the first page
+	 * @param limit the maximum number of events to return
+	 * @return the page of audit events
+	 * @since 2.1.0
+	 */
+	public Page findPage(String principal, Instant after, String type, long cursor,
+			int limit) {
+		Assert.isTrue(cursor >= 0, "Cursor must not be negative");
+		Assert.isTrue(limit > 0, "Limit must be greater than 0");
+		return this.events.find(principal, after, type, cursor, limit);
+	}
+
+	/**
+	 * A page of audit events.
+	 *
+	 * @since 2.1.0
+	 */
+	public static final class Page {
+
+		private final List<AuditEvent> events;
+
+		private final long nextCursor;
+
+		Page(List<AuditEvent> events, long nextCursor) {
+			this.events = Collections.unmodifiableList(events);
+			this.nextCursor = nextCursor;
+		}
+
+		/**
+		 * Return the events in the page.
+		 * @return the events
+		 */
+		public List<AuditEvent> getEvents() {
+			return this.events;
+		}
+
+		/**
+		 * Return the cursor from which the next page starts.
+		 * @return the next cursor
+		 */
+		public long getNextCursor() {
+			return this.nextCursor;
+		}
+
+	}
+
+	/**
+	 * Circular buffer of events along with principal and type indexes. Writers claim a
+	 * slot by incrementing a sequence and only replace an event with an older sequence.
+	 */
+	private static final class Events {
+
+		private final AtomicReferenceArray<Slot> slots;
+
+		private final AtomicLong sequence = new AtomicLong();
+
+		private final ConcurrentMap<String, IndexedSlots> principals = new ConcurrentHashMap<>();
+
+		private final ConcurrentMap<String, IndexedSlots> types = new ConcurrentHashMap<>();
+
+		Events(int capacity) {
+			Assert.isTrue(capacity > 0, "Capacity must be greater than 0");
+			this.slots = new AtomicReferenceArray<>(capacity);
+		}
+
+		void add(AuditEvent event) {
+			long sequence = this.sequence.getAndIncrement();
+			Slot slot = new Slot(sequence, event);
+			addToIndex(this.principals, event.getPrincipal(), slot);
+			addToIndex(this.types, event.getType(), slot);
+			Slot evicted = publish(slot);
+			if (evicted != null) {
+				removeFromIndex(this.principals, evicted.event.getPrincipal(), evicted);
+				removeFromIndex(this.types, evicted.event.getType(), evicted);
+			}
+		}
+
+		/**
+		 * Publish the given slot unless a writer with a later sequence has already
+		 * claimed the same index, in which case the slot itself is evicted.
+		 * @param slot the slot to publish
+		 * @return the slot that was evicted, if any
+		 */
+		private Slot publish(Slot slot) {
+			int index = index(slot.sequence);
+			while (true) {
+				Slot current = this.slots.get(index);
+				if (current != null && current.sequence > slot.sequence) {
+					return slot;
+				}
+				if (this.slots.compareAndSet(index, current, slot)) {
+					return current;
 				}
 			}
 		}
-		return events;
+
+		/**
+		 * Add the given slot to the index. The slot is added to the key's existing
+		 * queue without locking. Only when there is no queue, or when the queue has
+		 * been retired by a concurrent {@link #pruneEmpty prune}, is the slot added
+		 * while holding the index's lock for the key.
+		 * @param index the index
+		 * @param key the key of the slot
+		 * @param slot the slot to add
+		 */
+		private void addToIndex(ConcurrentMap<String, IndexedSlots> index, String key,
+				Slot slot) {
+			IndexedSlots slots = index.get(key);
+			if (slots != null && !slots.retired) {
+				slots.add(slot);
+				if (!slots.retired) {
+					return;
+				}
+				slots.remove(slot);
+			}
+			index.compute(key, (k, current) -> {
+				current = (current != null && !current.retired ? current
+						: new IndexedSlots());
+				current.add(slot);
+				return current;
+			});
+		}
+
+		/**
+		 * Remove the given slot from the index. A key's queue is left in place when it
+		 * becomes empty so that it can be reused without locking. Empty queues are
+		 * pruned once the index holds twice as many keys as the buffer holds events.
+		 * @param index the index
+		 * @param key the key of the slot
+		 * @param slot the slot to remove
+		 */
+		private void removeFromIndex(ConcurrentMap<String, IndexedSlots> index,
+				String key, Slot slot) {
+			IndexedSlots slots = index.get(key);
+			if (slots != null) {
+				slots.remove(slot);
+			}
+			if (index.size() > 2 * this.slots.length()) {
+				pruneEmpty(index);
+			}
+		}
+
+		/**
+		 * Remove the empty queues from the given index. A queue is retired before it is
+		 * checked so that a writer that adds to it concurrently notices and adds its
+		 * slot again, and it is only removed if it is still empty.
+		 * @param index the index to prune
+		 */
+		private void pruneEmpty(ConcurrentMap<String, IndexedSlots> index) {
+			for (String key : index.keySet()) {
+				index.computeIfPresent(key, (k, slots) -> {
+					slots.retired = true;
+					if (slots.isEmpty()) {
+						return null;
+					}
+					slots.retired = false;
+					return slots;
+				});
+			}
+		}
+
+		Page find(String principal, Instant after, String type, long cursor,
+				int limit) {
+			List<Slot> matches = new ArrayList<>();
+			for (Slot slot : getCandidates(principal, type)) {
+				if (slot.sequence >= cursor && isLive(slot)
+						&& slot.isMatch(principal, after, type)) {
+					matches.add(slot);
+				}
+			}
+			matches.sort(Comparator.comparingLong((slot) -> slot.sequence));
+			List<AuditEvent> events = new ArrayList<>(Math.min(matches.size(), limit));
+			long nextCursor = cursor;
+			for (int i = 0; i < matches.size() && events.size() < limit; i++) {
+				events.add(matches.get(i).event);
+				nextCursor = matches.get(i).sequence + 1;
+			}
+			return new Page(events, nextCursor);
+		}
+
+		private Iterable<Slot> getCandidates(String principal, String type) {
+			if (principal != null) {
+				return getCandidates(this.principals, principal);
+			}
+			if (type != null) {
+				return getCandidates(this.types, type);
+			}
+			long end = this.sequence.get();
+			long start = Math.max(0, end - this.slots.length());
+			List<Slot> slots = new ArrayList<>((int) (end - start));
+			for (long sequence = start; sequence < end; sequence++) {
+				Slot slot = this.slots.get(index(sequence));
+				if (slot != null) {
+					slots.add(slot);
+				}
+			}
+			return slots;
+		}
+
+		private Iterable<Slot> getCandidates(ConcurrentMap<String, IndexedSlots> index,
+				String key) {
+			Queue<Slot> slots = index.get(key);
+			return (slots != null ? slots : Collections.emptyList());
+		}
+
+		private boolean isLive(Slot slot) {
+			return this.slots.get(index(slot.sequence)) == slot;
+		}
+
+		private int index(long sequence) {
+			return (int) (sequence % this.slots.length());
+		}
+
 	}
 
-	private boolean isMatch(String principal, Instant after, String type,
-			AuditEvent event) {
-		boolean match = true;
-		match = match && (principal == null || event.getPrincipal().equals(principal));
-		match = match && (after == null || event.getTimestamp().isAfter(after));
-		match = match && (type == null || event.getType().equals(type));
-		return match;
+	/**
+	 * The slots of an index key. A queue that has been retired is about to be removed
+	 * from the index and must not be added to.
+	 */
+	private static final class IndexedSlots extends ConcurrentLinkedQueue<Slot> {
+
+		private volatile boolean retired;
+
 	}
 
-	private AuditEvent resolveTailEvent(int offset) {
-		int index = ((this.tail + this.events.length - offset) % this.events.length);
-		return this.events[index];
+	/**
+	 * An event and the sequence under which it was added.
+	 */
+	private static final class Slot {
+
+		private final long sequence;
+
+		private final AuditEvent event;
+
+		Slot(long sequence, AuditEvent event) {
+			this.sequence = sequence;
+			this.event = event;
+		}
+
+		boolean isMatch(String principal, Instant after, String type) {
+			boolean match = true;
+			match = match && (principal == null
+					|| this.event.getPrincipal().equals(principal));
+			match = match
+					&& (after == null || this.event.getTimestamp().isAfter(after));
+			match = match && (type == null || this.event.getType().equals(type));
+			return match;
+		}
+
 	}
 
 }
@@ -16,8 +16,15 @@
 
 package org.springframework.boot.actuate.endpoint.invoker.cache;
 
+import java.security.Principal;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.springframework.boot.actuate.endpoint.InvocationContext;
 import org.springframework.boot.actuate.endpoint.invoke.OperationInvoker;
@@ -26,18 +33,28 @@ import org.springframework.util.ObjectUtils;
 
 /**
  * An {@link OperationInvoker} that caches the response of an operation with a
- * configurable time to live.
+ * configurable time to live. Responses are cached per principal and per combination of
+ * arguments. Responses to authenticated invocations of operations that depend on the
+ * roles of the user can be excluded from the cache. Concurrent invocations for the same
+ * key share a single invocation of the target, and once a response is stale it is
+ * returned to other callers while a single caller computes its replacement.
  *
  * @author Stephane Nicoll
  * @since 2.0.0
  */
 public class CachingOperationInvoker implements OperationInvoker {
 
+	private static final int DEFAULT_MAX_SIZE = 100;
+
 	private final OperationInvoker invoker;
 
 	private final long timeToLive;
 
-	private volatile CachedResponse cachedResponse;
+	private final int maxSize;
+
+	private final boolean cacheAuthenticated;
+
+	private final ConcurrentMap<CacheKey, CachedResponse> cachedResponses = new ConcurrentHashMap<>();
 
 	/**
 	 * Create a new instance with the target {@link OperationInvoker} to use to compute
@@ -46,9 +63,41 @@ public class CachingOperationInvoker implements OperationInvoker {
 	 * @param timeToLive the maximum time in milliseconds that a response can be cached
 	 */
 	CachingOperationInvoker(OperationInvoker invoker, long timeToLive) {
+		this(invoker, timeToLive, true);
+	}
+
+	/**
+	 * Create a new instance with the target {@link OperationInvoker} to use to compute
+	 * the response, the time to live for the cache and whether responses to
+	 * authenticated invocations should be cached.
+	 * @param invoker the {@link OperationInvoker} this instance wraps
+	 * @param timeToLive the maximum time in milliseconds that a response can be cached
+	 * @param cacheAuthenticated whether responses to invocations with a principal should
+	 * be cached
+	 */
+	CachingOperationInvoker(OperationInvoker invoker, long timeToLive,
+			boolean cacheAuthenticated) {
+		this(invoker, timeToLive, DEFAULT_MAX_SIZE, cacheAuthenticated);
+	}
+
+	/**
+	 * Create a new instance with the target {@link OperationInvoker} to use to compute
+	 * the response, the time to live for the cache, the maximum number of responses to
+	 * cache and whether responses to authenticated invocations should be cached.
+	 * @param invoker the {@link OperationInvoker} this instance wraps
+	 * @param timeToLive the maximum time in milliseconds that a response can be cached
+	 * @param maxSize the maximum number of responses to cache
+	 * @param cacheAuthenticated whether responses to invocations with a principal should
+	 * be cached
+	 */
+	CachingOperationInvoker(OperationInvoker invoker, long timeToLive, int maxSize,
+			boolean cacheAuthenticated) {
 		Assert.isTrue(timeToLive > 0, "TimeToLive must be strictly positive");
+		Assert.isTrue(maxSize > 0, "MaxSize must be strictly positive");
 		this.invoker = invoker;
 		this.timeToLive = timeToLive;
+		this.maxSize = maxSize;
+		this.cacheAuthenticated = cacheAuthenticated;
 	}
 
 	/**
@@ -61,28 +110,62 @@ public class CachingOperationInvoker implements OperationInvoker {
 
 	@Override
 	public Object invoke(InvocationContext context) {
-		if (hasInput(context)) {
+		if (!this.cacheAuthenticated
+				&& context.getSecurityContext().getPrincipal() != null) {
 			return this.invoker.invoke(context);
 		}
+		CacheKey key = new CacheKey(context);
+		CachedResponse cached = this.cachedResponses.get(key);
+		if (cached == null) {
+			if (!hasCapacity()) {
+				return this.invoker.invoke(context);
+			}
+			CachedResponse loading = new CachedResponse();
+			cached = this.cachedResponses.putIfAbsent(key, loading);
+			if (cached == null) {
+				return load(key, loading, context);
+			}
+		}
 		long accessTime = System.currentTimeMillis();
-		CachedResponse cached = this.cachedResponse;
-		if (cached == null || cached.isStale(accessTime, this.timeToLive)) {
-			Object response = this.invoker.invoke(context);
-			this.cachedResponse = new CachedResponse(response, accessTime);
-			return response;
+		if (cached.isStale(accessTime, this.timeToLive) && cached.startRefresh()) {
+			return refresh(cached, context);
 		}
 		return cached.getResponse();
 	}
 
-	private boolean hasInput(InvocationContext context) {
-		if (context.getSecurityContext().getPrincipal() != null) {
+	private boolean hasCapacity() {
+		if (this.cachedResponses.size() < this.maxSize) {
 			return true;
 		}
-		Map<String, Object> arguments = context.getArguments();
-		if (!ObjectUtils.isEmpty(arguments)) {
-			return arguments.values().stream().anyMatch(Objects::nonNull);
+		long accessTime = System.currentTimeMillis();
+		this.cachedResponses.values()
+				.removeIf((cached) -> cached.isStale(accessTime, this.timeToLive));
+		return this.cachedResponses.size() < this.maxSize;
+	}
+
+	private Object load(CacheKey key, CachedResponse loading,
+			InvocationContext context) {
+		try {
+			Object response = this.invoker.invoke(context);
+			loading.complete(response, System.currentTimeMillis());
+			return response;
+		}
+		catch (RuntimeException | Error ex) {
+			this.cachedResponses.remove(key, loading);
+			loading.fail(ex);
+			throw ex;
+		}
+	}
+
+	private Object refresh(CachedResponse cached, InvocationContext context) {
+		try {
+			Object response = this.invoker.invoke(context);
+			cached.complete(response, System.currentTimeMillis());
+			return response;
+		}
+		finally {
+			cached.endRefresh();
 		}
-		return false;
 	}
 
 	/**
@@ -99,27 +182,123 @@ public class CachingOperationInvoker implements OperationInvoker {
 		return invoker;
 	}
 
+	/**
+	 * The key under which a response is cached, composed of the name of the principal
+	 * and of the non-null arguments of the invocation.
+	 */
+	static final class CacheKey {
+
+		private final String principal;
+
+		private final Map<String, Object> arguments;
+
+		CacheKey(InvocationContext context) {
+			Principal principal = context.getSecurityContext().getPrincipal();
+			this.principal = (principal != null ? principal.getName() : null);
+			this.arguments = getArguments(context.getArguments());
+		}
+
+		private static Map<String, Object> getArguments(Map<String, Object> arguments) {
+			if (ObjectUtils.isEmpty(arguments)
+					|| arguments.values().stream().allMatch(Objects::isNull)) {
+				return Collections.emptyMap();
+			}
+			return arguments;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj == null || getClass() != obj.getClass()) {
+				return false;
+			}
+			CacheKey other = (CacheKey) obj;
+			if (!ObjectUtils.nullSafeEquals(this.principal, other.principal)
+					|| this.arguments.size() != other.arguments.size()) {
+				return false;
+			}
+			for (Map.Entry<String, Object> entry : this.arguments.entrySet()) {
+				if (!other.arguments.containsKey(entry.getKey())
+						|| !ObjectUtils.nullSafeEquals(entry.getValue(),
+								other.arguments.get(entry.getKey()))) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public int hashCode() {
+			int result = ObjectUtils.nullSafeHashCode(this.principal);
+			for (Map.Entry<String, Object> entry : this.arguments.entrySet()) {
+				result += entry.getKey().hashCode()
+						^ ObjectUtils.nullSafeHashCode(entry.getValue());
+			}
+			return result;
+		}
+
+	}
+
 	/**
 	 * A cached response that encapsulates the response itself and the time at which it
-	 * was created.
+	 * was created. Callers that access a response that is still being loaded wait for it
+	 * to complete.
 	 */
 	static class CachedResponse {
 
-		private final Object response;
+		private final CompletableFuture<Object> loaded = new CompletableFuture<>();
+
+		private final AtomicBoolean refreshing = new AtomicBoolean();
 
-		private final long creationTime;
+		private volatile Object response;
 
-		CachedResponse(Object response, long creationTime) {
+		private volatile long creationTime;
+
+		void complete(Object response, long creationTime) {
 			this.response = response;
 			this.creationTime = creationTime;
+			this.loaded.complete(response);
+		}
+
+		void fail(Throwable ex) {
+			this.loaded.completeExceptionally(ex);
+		}
+
+		boolean startRefresh() {
+			return this.refreshing.compareAndSet(false, true);
+		}
+
+		void endRefresh() {
+			this.refreshing.set(false);
 		}
 
 		public boolean isStale(long accessTime, long timeToLive) {
-			return (accessTime - this.creationTime) >= timeToLive;
+			return this.loaded.isDone()
+					&& (accessTime - this.creationTime) >= timeToLive;
 		}
 
 		public Object getResponse() {
-			return this.response;
+			try {
+				this.loaded.get();
+				return this.response;
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(
+						"Interrupted while waiting for cached response", ex);
+			}
+			catch (ExecutionException ex) {
+				Throwable cause = ex.getCause();
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				throw new IllegalStateException(cause);
+			}
 		}
 
 	}
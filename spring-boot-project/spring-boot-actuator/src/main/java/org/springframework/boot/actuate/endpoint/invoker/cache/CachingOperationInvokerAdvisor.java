@@ -26,7 +26,10 @@ import org.springframework.boot.actuate.endpoint.invoke.OperationParameter;
 import org.springframework.boot.actuate.endpoint.invoke.OperationParameters;
 
 /**
- * {@link OperationInvokerAdvisor} to optionally provide result caching support.
+ * {@link OperationInvokerAdvisor} to optionally provide result caching support for read
+ * operations without mandatory parameters. Responses of operations that have access to
+ * the {@link SecurityContext} may depend on the roles of the user and are only cached
+ * for unauthenticated invocations.
  *
  * @author Stephane Nicoll
  * @since 2.0.0
@@ -45,7 +48,8 @@ public class CachingOperationInvokerAdvisor implements OperationInvokerAdvisor {
 		if (operationType == OperationType.READ && !hasMandatoryParameter(parameters)) {
 			Long timeToLive = this.endpointIdTimeToLive.apply(endpointId);
 			if (timeToLive != null && timeToLive > 0) {
-				return new CachingOperationInvoker(invoker, timeToLive);
+				return new CachingOperationInvoker(invoker, timeToLive,
+						!hasSecurityContextParameter(parameters));
 			}
 		}
 		return invoker;
@@ -61,4 +65,13 @@ public class CachingOperationInvokerAdvisor implements OperationInvokerAdvisor {
 		return false;
 	}
 
+	private boolean hasSecurityContextParameter(OperationParameters parameters) {
+		for (OperationParameter parameter : parameters) {
+			if (SecurityContext.class.isAssignableFrom(parameter.getType())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 }
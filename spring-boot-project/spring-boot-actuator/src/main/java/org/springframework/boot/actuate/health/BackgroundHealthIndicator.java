@@ -0,0 +1,107 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.health;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.util.Assert;
+
+/**
+ * {@link HealthIndicator} that returns the last {@link Health} computed by a delegate.
+ * The delegate is only invoked when this indicator is {@link #refresh() refreshed},
+ * typically on a schedule, so that {@link #health()} is a memory lookup. The age of the
+ * returned health is available in an {@code age} detail. {@link Status#UNKNOWN} is
+ * returned until the first refresh has completed.
+ *
+ * @author Local Agent
+ * @since 2.1.0
+ */
+public class BackgroundHealthIndicator implements HealthIndicator {
+
+	private final HealthIndicator delegate;
+
+	private final Clock clock;
+
+	private volatile CachedHealth cachedHealth;
+
+	/**
+	 * Create a new {@link BackgroundHealthIndicator} instance.
+	 * @param delegate the health indicator to refresh
+	 */
+	public BackgroundHealthIndicator(HealthIndicator delegate) {
+		this(delegate, Clock.systemUTC());
+	}
+
+	BackgroundHealthIndicator(HealthIndicator delegate, Clock clock) {
+		Assert.notNull(delegate, "Delegate must not be null");
+		this.delegate = delegate;
+		this.clock = clock;
+	}
+
+	/**
+	 * Return the {@link HealthIndicator} that is refreshed by this instance.
+	 * @return the delegate
+	 */
+	public HealthIndicator getDelegate() {
+		return this.delegate;
+	}
+
+	/**
+	 * Invoke the delegate and cache the resulting {@link Health}.
+	 */
+	public void refresh() {
+		Health health;
+		try {
+			health = this.delegate.health();
+		}
+		catch (Exception ex) {
+			health = Health.down(ex).build();
+		}
+		this.cachedHealth = new CachedHealth(health, this.clock.instant());
+	}
+
+	@Override
+	public Health health() {
+		CachedHealth cachedHealth = this.cachedHealth;
+		if (cachedHealth == null) {
+			return Health.unknown().build();
+		}
+		Duration age = Duration.between(cachedHealth.timestamp, this.clock.instant());
+		return new Health.Builder(cachedHealth.health.getStatus(),
+				cachedHealth.health.getDetails()).withDetail("age", age.toString())
+						.build();
+	}
+
+	/**
+	 * A {@link Health} and the time at which it was computed.
+	 */
+	private static final class CachedHealth {
+
+		private final Health health;
+
+		private final Instant timestamp;
+
+		CachedHealth(Health health, Instant timestamp) {
+			this.health = health;
+			this.timestamp = timestamp;
+		}
+
+	}
+
+}
@@ -18,9 +18,19 @@ package org.springframework.boot.actuate.health;
 
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.util.Assert;
 
 /**
  * {@link HealthIndicator} that returns health indications from all registered delegates.
+ * Delegates are invoked sequentially unless a {@link #parallelStrategy parallel strategy}
+ * has been configured.
  *
  * @author Tyler J. Frederick
  * @author Phillip Webb
@@ -33,6 +43,12 @@ public class CompositeHealthIndicator implements HealthIndicator {
 
 	private final HealthAggregator aggregator;
 
+	private Executor executor;
+
+	private long timeout;
+
+	private Health timeoutHealth;
+
 	/**
 	 * Create a new {@link CompositeHealthIndicator}.
 	 * @param healthAggregator the health aggregator
@@ -90,8 +106,36 @@ public class CompositeHealthIndicator implements HealthIndicator {
 		return this.registry;
 	}
 
+	/**
+	 * Invoke the delegates in parallel using the given {@code executor}. Provides an
+	 * alternative timeout {@link Health} for a {@link HealthIndicator} that failed to
+	 * reply after the specified {@code timeout}. A delegate that reaches the
+	 * {@code timeout} is interrupted. A delegate that the executor rejects is reported
+	 * with the {@code timeoutHealth}.
+	 * @param executor the executor used to invoke the delegates
+	 * @param timeout number of milliseconds, measured from the start of the invocation
+	 * of this indicator, to wait before using the {@code timeoutHealth}
+	 * @param timeoutHealth the {@link Health} to use if an health indicator reached the
+	 * {@code timeout}
+	 * @return this instance
+	 * @since 2.1.0
+	 */
+	public CompositeHealthIndicator parallelStrategy(Executor executor, long timeout,
+			Health timeoutHealth) {
+		Assert.notNull(executor, "Executor must not be null");
+		Assert.isTrue(timeout > 0, "Timeout must be greater than 0");
+		this.executor = executor;
+		this.timeout = timeout;
+		this.timeoutHealth = (timeoutHealth != null ? timeoutHealth
+				: Health.unknown().build());
+		return this;
+	}
+
 	@Override
 	public Health health() {
+		if (this.executor != null) {
+			return this.aggregator.aggregate(getHealthsInParallel());
+		}
 		Map<String, Health> healths = new LinkedHashMap<>();
 		for (Map.Entry<String, HealthIndicator> entry : this.registry.getAll()
 				.entrySet()) {
@@ -100,4 +144,44 @@ public class CompositeHealthIndicator implements HealthIndicator {
 		return this.aggregator.aggregate(healths);
 	}
 
+	private Map<String, Health> getHealthsInParallel() {
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.timeout);
+		Map<String, FutureTask<Health>> futures = new LinkedHashMap<>();
+		this.registry.getAll().forEach(
+				(name, indicator) -> futures.put(name, submit(indicator)));
+		Map<String, Health> healths = new LinkedHashMap<>();
+		futures.forEach((name, future) -> healths.put(name, (future != null
+				? getHealth(future, deadline - System.nanoTime()) : this.timeoutHealth)));
+		return healths;
+	}
+
+	private FutureTask<Health> submit(HealthIndicator indicator) {
+		FutureTask<Health> future = new FutureTask<>(indicator::health);
+		try {
+			this.executor.execute(future);
+			return future;
+		}
+		catch (RejectedExecutionException ex) {
+			return null;
+		}
+	}
+
+	private Health getHealth(FutureTask<Health> future, long timeout) {
+		try {
+			return future.get(timeout, TimeUnit.NANOSECONDS);
+		}
+		catch (TimeoutException ex) {
+			future.cancel(true);
+			return this.timeoutHealth;
+		}
+		catch (ExecutionException ex) {
+			return Health.down().withException(ex.getCause()).build();
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			future.cancel(true);
+			return this.timeoutHealth;
+		}
+	}
+
 }
@@ -16,16 +16,24 @@
 
 package org.springframework.boot.actuate.metrics.export.prometheus;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 
 import io.prometheus.client.CollectorRegistry;
 import io.prometheus.client.exporter.common.TextFormat;
 
 import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
 import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
 import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
 
 /**
  * {@link Endpoint} that outputs metrics in a format that can be scraped by the Prometheus
@@ -37,13 +45,20 @@ import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
 @WebEndpoint(id = "prometheus")
 public class PrometheusScrapeEndpoint {
 
+	private static final int INITIAL_SCRAPE_SIZE = 8 * 1024;
+
 	private final CollectorRegistry collectorRegistry;
 
+	private volatile int nextScrapeSize = INITIAL_SCRAPE_SIZE;
+
 	public PrometheusScrapeEndpoint(CollectorRegistry collectorRegistry) {
 		this.collectorRegistry = collectorRegistry;
 	}
 
-	@ReadOperation(produces = TextFormat.CONTENT_TYPE_004)
+	/**
+	 * Return the metrics in the Prometheus text format.
+	 * @return the scraped metrics
+	 */
 	public String scrape() {
 		try {
 			Writer writer = new StringWriter();
@@ -57,4 +72,72 @@ public class PrometheusScrapeEndpoint {
 		}
 	}
 
+	/**
+	 * Return the metrics in the Prometheus text format as a {@link Resource}. Metrics are
+	 * written as UTF-8 bytes directly into a buffer that is sized using the previous
+	 * scrape and that is then exposed without being copied.
+	 * @return the scraped metrics
+	 * @since 2.1.0
+	 */
+	@ReadOperation(produces = TextFormat.CONTENT_TYPE_004)
+	public WebEndpointResponse<Resource> scrapeResource() {
+		try {
+			ScrapeBuffer buffer = new ScrapeBuffer(this.nextScrapeSize);
+			Writer writer = new OutputStreamWriter(buffer, StandardCharsets.UTF_8);
+			TextFormat.write004(writer, this.collectorRegistry.metricFamilySamples());
+			writer.flush();
+			int scrapeSize = buffer.size();
+			this.nextScrapeSize = scrapeSize + (scrapeSize >> 3);
+			return new WebEndpointResponse<>(new ScrapeResource(buffer));
+		}
+		catch (IOException ex) {
+			// This actually never happens since ByteArrayOutputStream::write() doesn't
+			// throw any IOException
+			throw new RuntimeException("Writing metrics failed", ex);
+		}
+	}
+
+	/**
+	 * {@link ByteArrayOutputStream} that provides read access to its buffer.
+	 */
+	private static final class ScrapeBuffer extends ByteArrayOutputStream {
+
+		private ScrapeBuffer(int size) {
+			super(size);
+		}
+
+		private InputStream getInputStream() {
+			return new ByteArrayInputStream(this.buf, 0, this.count);
+		}
+
+	}
+
+	/**
+	 * {@link Resource} backed by a {@link ScrapeBuffer}.
+	 */
+	private static final class ScrapeResource extends AbstractResource {
+
+		private final ScrapeBuffer buffer;
+
+		private ScrapeResource(ScrapeBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		@Override
+		public InputStream getInputStream() {
+			return this.buffer.getInputStream();
+		}
+
+		@Override
+		public long contentLength() {
+			return this.buffer.size();
+		}
+
+		@Override
+		public String getDescription() {
+			return "Prometheus scrape";
+		}
+
+	}
+
 }
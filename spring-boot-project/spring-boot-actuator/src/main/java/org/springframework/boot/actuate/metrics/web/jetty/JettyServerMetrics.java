@@ -0,0 +1,160 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.web.jetty;
+
+import java.util.function.ToLongFunction;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.eclipse.jetty.io.ConnectionStatistics;
+import org.eclipse.jetty.server.Connector;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.eclipse.jetty.util.thread.ThreadPool;
+
+import org.springframework.util.Assert;
+
+/**
+ * A {@link MeterBinder} for a Jetty {@link Server}. Binds the state of the server's
+ * thread pool and, for connectors with {@link ConnectionStatistics} (see
+ * {@link #enableConnectionStatistics(Server)}), their connections.
+ *
+ * @author Local Agent
+ * @since 2.1.0
+ */
+public class JettyServerMetrics implements MeterBinder {
+
+	private final Server server;
+
+	private final Iterable<Tag> tags;
+
+	public JettyServerMetrics(Server server, Iterable<Tag> tags) {
+		Assert.notNull(server, "Server must not be null");
+		this.server = server;
+		this.tags = tags;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		bindThreadPool(registry, this.server.getThreadPool());
+		if (hasConnectionStatistics()) {
+			bindConnections(registry);
+		}
+	}
+
+	private void bindThreadPool(MeterRegistry registry, ThreadPool threadPool) {
+		Gauge.builder("jetty.threads.current", threadPool, ThreadPool::getThreads)
+				.tags(this.tags).description("The current number of threads")
+				.register(registry);
+		Gauge.builder("jetty.threads.idle", threadPool, ThreadPool::getIdleThreads)
+				.tags(this.tags).description("The number of idle threads")
+				.register(registry);
+		if (threadPool instanceof QueuedThreadPool) {
+			QueuedThreadPool queuedThreadPool = (QueuedThreadPool) threadPool;
+			Gauge.builder("jetty.threads.busy", queuedThreadPool,
+					QueuedThreadPool::getBusyThreads).tags(this.tags)
+					.description("The number of busy threads").register(registry);
+			Gauge.builder("jetty.threads.jobs", queuedThreadPool,
+					QueuedThreadPool::getQueueSize).tags(this.tags)
+					.description("The number of jobs that are waiting for a thread")
+					.register(registry);
+			Gauge.builder("jetty.threads.config.min", queuedThreadPool,
+					QueuedThreadPool::getMinThreads).tags(this.tags)
+					.description("The minimum number of threads").register(registry);
+			Gauge.builder("jetty.threads.config.max", queuedThreadPool,
+					QueuedThreadPool::getMaxThreads).tags(this.tags)
+					.description("The maximum number of threads").register(registry);
+		}
+	}
+
+	private void bindConnections(MeterRegistry registry) {
+		Gauge.builder("jetty.connections.current", this,
+				(metrics) -> metrics.sum(ConnectionStatistics::getConnections))
+				.tags(this.tags).description("The number of open connections")
+				.register(registry);
+		Gauge.builder("jetty.connections.max", this,
+				(metrics) -> metrics.sum(ConnectionStatistics::getConnectionsMax))
+				.tags(this.tags)
+				.description("The maximum number of concurrently open connections")
+				.register(registry);
+		FunctionCounter.builder("jetty.connections.bytes.in", this,
+				(metrics) -> metrics.sum(ConnectionStatistics::getReceivedBytes))
+				.tags(this.tags).baseUnit("bytes")
+				.description("The number of bytes received by closed connections")
+				.register(registry);
+		FunctionCounter.builder("jetty.connections.bytes.out", this,
+				(metrics) -> metrics.sum(ConnectionStatistics::getSentBytes))
+				.tags(this.tags).baseUnit("bytes")
+				.description("The number of bytes sent by closed connections")
+				.register(registry);
+		Gauge.builder("jetty.connections.accept.queue.config", this,
+				JettyServerMetrics::getAcceptQueueSize).tags(this.tags)
+				.description("The configured size of the accept queue, 0 if the "
+						+ "operating system's default is used")
+				.register(registry);
+	}
+
+	private boolean hasConnectionStatistics() {
+		for (Connector connector : this.server.getConnectors()) {
+			if (connector.getBean(ConnectionStatistics.class) != null) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private long sum(ToLongFunction<ConnectionStatistics> statistic) {
+		long sum = 0;
+		for (Connector connector : this.server.getConnectors()) {
+			ConnectionStatistics statistics = connector
+					.getBean(ConnectionStatistics.class);
+			if (statistics != null) {
+				sum += statistic.applyAsLong(statistics);
+			}
+		}
+		return sum;
+	}
+
+	private int getAcceptQueueSize() {
+		int acceptQueueSize = 0;
+		for (Connector connector : this.server.getConnectors()) {
+			if (connector instanceof ServerConnector) {
+				acceptQueueSize += ((ServerConnector) connector).getAcceptQueueSize();
+			}
+		}
+		return acceptQueueSize;
+	}
+
+	/**
+	 * Add {@link ConnectionStatistics} to each of the server's connectors that does not
+	 * already have them so that their connections are bound. Must be called before the
+	 * server is started.
+	 * @param server the server
+	 */
+	public static void enableConnectionStatistics(Server server) {
+		for (Connector connector : server.getConnectors()) {
+			if (connector.getBean(ConnectionStatistics.class) == null) {
+				connector.addBean(new ConnectionStatistics());
+			}
+		}
+	}
+
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.web.netty;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.SingleThreadEventExecutor;
+
+import org.springframework.util.Assert;
+
+/**
+ * A {@link MeterBinder} for the {@link EventLoopGroup} that processes the connections of
+ * a Reactor Netty server. Binds the number of event loop threads and the number of tasks
+ * that are waiting to be processed.
+ * <p>
+ * Netty's NIO and epoll event loops block a caller outside of the event loop until they
+ * have counted their pending tasks. To avoid holding up the meter registry, each event
+ * loop is asked to count its pending tasks asynchronously and the counts from the
+ * previous request are reported.
+ *
+ * @author Local Agent
+ * @since 2.1.0
+ */
+public class NettyEventLoopMetrics implements MeterBinder {
+
+	private final EventLoopGroup eventLoopGroup;
+
+	private final Iterable<Tag> tags;
+
+	private final Map<EventExecutor, Integer> pendingTasks = new ConcurrentHashMap<>();
+
+	public NettyEventLoopMetrics(EventLoopGroup eventLoopGroup, Iterable<Tag> tags) {
+		Assert.notNull(eventLoopGroup, "EventLoopGroup must not be null");
+		this.eventLoopGroup = eventLoopGroup;
+		this.tags = tags;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		Gauge.builder("netty.eventloop.threads", this.eventLoopGroup,
+				NettyEventLoopMetrics::getThreads).tags(this.tags)
+				.description("The number of event loop threads").register(registry);
+		Gauge.builder("netty.eventloop.tasks.pending", this,
+				NettyEventLoopMetrics::getPendingTasks).tags(this.tags)
+				.description("The number of tasks that are waiting to be processed "
+						+ "by the event loop")
+				.register(registry);
+	}
+
+	private static int getThreads(EventLoopGroup eventLoopGroup) {
+		int threads = 0;
+		for (EventExecutor ignored : eventLoopGroup) {
+			threads++;
+		}
+		return threads;
+	}
+
+	private int getPendingTasks() {
+		int pendingTasks = 0;
+		for (Integer count : this.pendingTasks.values()) {
+			pendingTasks += count;
+		}
+		for (EventExecutor executor : this.eventLoopGroup) {
+			if (executor instanceof SingleThreadEventExecutor
+					&& !executor.isShuttingDown()) {
+				requestPendingTasks((SingleThreadEventExecutor) executor);
+			}
+		}
+		return pendingTasks;
+	}
+
+	private void requestPendingTasks(SingleThreadEventExecutor eventLoop) {
+		try {
+			eventLoop.execute(
+					() -> this.pendingTasks.put(eventLoop, eventLoop.pendingTasks()));
+		}
+		catch (RejectedExecutionException ex) {
+			this.pendingTasks.remove(eventLoop);
+		}
+	}
+
+}
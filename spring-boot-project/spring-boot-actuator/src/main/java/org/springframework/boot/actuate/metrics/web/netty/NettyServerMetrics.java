@@ -0,0 +1,119 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.web.netty;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufHolder;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandler.Sharable;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+
+/**
+ * A {@link MeterBinder} for a Reactor Netty server. Netty does not keep statistics so
+ * each channel that is accepted by the server has to be {@link #instrument(Channel)
+ * instrumented}, typically using a channel initializer of the
+ * {@code NettyReactiveWebServerFactory}. Binds the number of open connections and the
+ * bytes that have been received and sent. The state of the server's event loop is bound
+ * by {@link NettyEventLoopMetrics}.
+ *
+ * @author Local Agent
+ * @since 2.1.0
+ */
+public class NettyServerMetrics implements MeterBinder {
+
+	private final AtomicInteger connections = new AtomicInteger();
+
+	private final LongAdder bytesReceived = new LongAdder();
+
+	private final LongAdder bytesSent = new LongAdder();
+
+	private final ByteCountingHandler byteCountingHandler = new ByteCountingHandler();
+
+	private final Iterable<Tag> tags;
+
+	public NettyServerMetrics(Iterable<Tag> tags) {
+		this.tags = tags;
+	}
+
+	/**
+	 * Instrument the given channel that has been accepted by the server.
+	 * @param channel the channel
+	 */
+	public void instrument(Channel channel) {
+		this.connections.incrementAndGet();
+		channel.closeFuture()
+				.addListener((future) -> this.connections.decrementAndGet());
+		channel.pipeline().addFirst(this.byteCountingHandler);
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		Gauge.builder("netty.connections.current", this.connections,
+				AtomicInteger::get).tags(this.tags)
+				.description("The number of open connections").register(registry);
+		FunctionCounter.builder("netty.connections.bytes.in", this.bytesReceived,
+				LongAdder::sum).tags(this.tags).baseUnit("bytes")
+				.description("The number of bytes received").register(registry);
+		FunctionCounter.builder("netty.connections.bytes.out", this.bytesSent,
+				LongAdder::sum).tags(this.tags).baseUnit("bytes")
+				.description("The number of bytes sent").register(registry);
+	}
+
+	private static int readableBytes(Object message) {
+		if (message instanceof ByteBuf) {
+			return ((ByteBuf) message).readableBytes();
+		}
+		if (message instanceof ByteBufHolder) {
+			return ((ByteBufHolder) message).content().readableBytes();
+		}
+		return 0;
+	}
+
+	/**
+	 * Handler, added first to each pipeline, that counts the bytes that are read from
+	 * and written to the socket.
+	 */
+	@Sharable
+	private class ByteCountingHandler extends ChannelDuplexHandler {
+
+		@Override
+		public void channelRead(ChannelHandlerContext context, Object message)
+				throws Exception {
+			NettyServerMetrics.this.bytesReceived.add(readableBytes(message));
+			super.channelRead(context, message);
+		}
+
+		@Override
+		public void write(ChannelHandlerContext context, Object message,
+				ChannelPromise promise) throws Exception {
+			NettyServerMetrics.this.bytesSent.add(readableBytes(message));
+			super.write(context, message, promise);
+		}
+
+	}
+
+}
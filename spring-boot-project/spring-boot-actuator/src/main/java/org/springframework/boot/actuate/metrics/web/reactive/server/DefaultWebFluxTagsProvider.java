@@ -16,14 +16,22 @@
 
 package org.springframework.boot.actuate.metrics.web.reactive.server;
 
-import java.util.Arrays;
+import java.util.Map;
 
 import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
 
+import org.springframework.http.HttpStatus;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ObjectUtils;
+import org.springframework.web.reactive.HandlerMapping;
 import org.springframework.web.server.ServerWebExchange;
 
 /**
- * Default implementation of {@link WebFluxTagsProvider}.
+ * Default implementation of {@link WebFluxTagsProvider}. Tags for exchanges that were
+ * matched to a {@link HandlerMapping#BEST_MATCHING_PATTERN_ATTRIBUTE pattern} are cached
+ * so that the same {@link Tags} instance is returned for every exchange with the same
+ * method, pattern, status and exception.
  *
  * @author Jon Schneider
  * @author Andy Wilkinson
@@ -31,11 +39,81 @@ import org.springframework.web.server.ServerWebExchange;
  */
 public class DefaultWebFluxTagsProvider implements WebFluxTagsProvider {
 
+	private static final int MAX_CACHE_SIZE = 1024;
+
+	private final Map<TagsKey, Tags> cache = new ConcurrentReferenceHashMap<>();
+
 	@Override
 	public Iterable<Tag> httpRequestTags(ServerWebExchange exchange,
 			Throwable exception) {
-		return Arrays.asList(WebFluxTags.method(exchange), WebFluxTags.uri(exchange),
+		Object pattern = exchange
+				.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		if (pattern == null) {
+			return createTags(exchange, exception);
+		}
+		TagsKey key = new TagsKey(exchange.getRequest().getMethodValue(), pattern,
+				exchange.getResponse().getStatusCode(),
+				(exception != null ? exception.getClass() : null));
+		Tags tags = this.cache.get(key);
+		if (tags == null) {
+			tags = createTags(exchange, exception);
+			if (this.cache.size() < MAX_CACHE_SIZE) {
+				this.cache.put(key, tags);
+			}
+		}
+		return tags;
+	}
+
+	private Tags createTags(ServerWebExchange exchange, Throwable exception) {
+		return Tags.of(WebFluxTags.method(exchange), WebFluxTags.uri(exchange),
 				WebFluxTags.exception(exception), WebFluxTags.status(exchange));
 	}
 
+	/**
+	 * Key used to cache the tags of an exchange.
+	 */
+	private static final class TagsKey {
+
+		private final String method;
+
+		private final Object pattern;
+
+		private final HttpStatus status;
+
+		private final Class<?> exceptionType;
+
+		TagsKey(String method, Object pattern, HttpStatus status,
+				Class<?> exceptionType) {
+			this.method = method;
+			this.pattern = pattern;
+			this.status = status;
+			this.exceptionType = exceptionType;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj == null || getClass() != obj.getClass()) {
+				return false;
+			}
+			TagsKey other = (TagsKey) obj;
+			return this.status == other.status
+					&& ObjectUtils.nullSafeEquals(this.method, other.method)
+					&& ObjectUtils.nullSafeEquals(this.pattern, other.pattern)
+					&& this.exceptionType == other.exceptionType;
+		}
+
+		@Override
+		public int hashCode() {
+			int result = ObjectUtils.nullSafeHashCode(this.method);
+			result = 31 * result + ObjectUtils.nullSafeHashCode(this.pattern);
+			result = 31 * result + ObjectUtils.nullSafeHashCode(this.status);
+			result = 31 * result + ObjectUtils.nullSafeHashCode(this.exceptionType);
+			return result;
+		}
+
+	}
+
 }
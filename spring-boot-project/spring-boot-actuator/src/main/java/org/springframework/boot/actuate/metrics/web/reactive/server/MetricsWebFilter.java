@@ -16,16 +16,21 @@
 
 package org.springframework.boot.actuate.metrics.web.reactive.server;
 
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
+import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Mono;
 
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
@@ -40,6 +45,10 @@ import org.springframework.web.server.WebFilterChain;
 @Order(Ordered.HIGHEST_PRECEDENCE + 1)
 public class MetricsWebFilter implements WebFilter {
 
+	private static final int MAX_CACHED_TIMERS = 1024;
+
+	private final Map<Tags, Timer> timers = new ConcurrentReferenceHashMap<>();
+
 	private final MeterRegistry registry;
 
 	private final WebFluxTagsProvider tagsProvider;
@@ -51,6 +60,7 @@ public class MetricsWebFilter implements WebFilter {
 		this.registry = registry;
 		this.tagsProvider = tagsProvider;
 		this.metricName = metricName;
+		registry.config().onMeterAdded(this::meterAdded);
 	}
 
 	@Override
@@ -76,14 +86,42 @@ public class MetricsWebFilter implements WebFilter {
 
 	private void success(ServerWebExchange exchange, long start) {
 		Iterable<Tag> tags = this.tagsProvider.httpRequestTags(exchange, null);
-		this.registry.timer(this.metricName, tags).record(System.nanoTime() - start,
-				TimeUnit.NANOSECONDS);
+		getTimer(tags).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
 	}
 
 	private void error(ServerWebExchange exchange, long start, Throwable cause) {
 		Iterable<Tag> tags = this.tagsProvider.httpRequestTags(exchange, cause);
-		this.registry.timer(this.metricName, tags).record(System.nanoTime() - start,
-				TimeUnit.NANOSECONDS);
+		getTimer(tags).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Return the request {@link Timer} with the given tags. Timers are cached when the
+	 * tags are an immutable {@link Tags} instance, as returned by
+	 * {@link DefaultWebFluxTagsProvider}, so that most exchanges do not need to look up
+	 * the timer in the registry.
+	 * @param tags the tags of the timer
+	 * @return the timer
+	 */
+	private Timer getTimer(Iterable<Tag> tags) {
+		Timer timer = (tags instanceof Tags ? this.timers.get(tags) : null);
+		if (timer == null) {
+			timer = this.registry.timer(this.metricName, tags);
+			if (tags instanceof Tags && this.timers.size() < MAX_CACHED_TIMERS) {
+				this.timers.put((Tags) tags, timer);
+			}
+		}
+		return timer;
+	}
+
+	/**
+	 * Clear the cached timers when the registry adds a request timer so that a meter
+	 * that has replaced a previously registered one is used from then on.
+	 * @param meter the meter that was added
+	 */
+	private void meterAdded(Meter meter) {
+		if (this.metricName.equals(meter.getId().getName())) {
+			this.timers.clear();
+		}
 	}
 
 }
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.web.server;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import org.springframework.boot.web.server.WebServerExecutor;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link MeterBinder} for a {@link WebServerExecutor}.
+ *
+ * @author Local Agent
+ * @since 2.1.0
+ */
+public class WebServerExecutorMetrics implements MeterBinder {
+
+	private final WebServerExecutor executor;
+
+	private final Iterable<Tag> tags;
+
+	public WebServerExecutorMetrics(WebServerExecutor executor, Iterable<Tag> tags) {
+		Assert.notNull(executor, "Executor must not be null");
+		this.executor = executor;
+		this.tags = Tags.concat(tags, "type",
+				(executor.isVirtual() ? "virtual" : "bounded"));
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		Gauge.builder("webserver.executor.active", this.executor,
+				WebServerExecutor::getActiveCount).tags(this.tags)
+				.description("The number of requests that are being processed")
+				.register(registry);
+		Gauge.builder("webserver.executor.pool.size", this.executor,
+				WebServerExecutor::getPoolSize).tags(this.tags)
+				.description("The current number of threads").register(registry);
+		if (!this.executor.isVirtual()) {
+			Gauge.builder("webserver.executor.pool.max", this.executor,
+					WebServerExecutor::getMaxThreads).tags(this.tags)
+					.description("The maximum number of threads").register(registry);
+		}
+		Gauge.builder("webserver.executor.queued", this.executor,
+				WebServerExecutor::getQueueSize).tags(this.tags)
+				.description("The number of requests that are waiting for a thread")
+				.register(registry);
+		FunctionCounter.builder("webserver.executor.completed", this.executor,
+				WebServerExecutor::getCompletedCount).tags(this.tags)
+				.description("The number of requests that have been processed")
+				.register(registry);
+		FunctionCounter.builder("webserver.executor.rejected", this.executor,
+				WebServerExecutor::getRejectedCount).tags(this.tags)
+				.description("The number of requests that have been rejected")
+				.register(registry);
+	}
+
+}
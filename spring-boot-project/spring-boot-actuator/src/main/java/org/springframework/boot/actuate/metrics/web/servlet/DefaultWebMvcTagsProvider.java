@@ -16,23 +16,56 @@
 
 package org.springframework.boot.actuate.metrics.web.servlet;
 
+import java.util.Map;
+
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.Tags;
 
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ObjectUtils;
+import org.springframework.web.servlet.HandlerMapping;
+
 /**
- * Default implementation of {@link WebMvcTagsProvider}.
+ * Default implementation of {@link WebMvcTagsProvider}. Tags for requests that were
+ * matched to a {@link HandlerMapping#BEST_MATCHING_PATTERN_ATTRIBUTE pattern} are cached
+ * so that the same {@link Tags} instance is returned for every request with the same
+ * method, pattern, status and exception.
  *
  * @author Jon Schneider
  * @since 2.0.0
  */
 public class DefaultWebMvcTagsProvider implements WebMvcTagsProvider {
 
+	private static final int MAX_CACHE_SIZE = 1024;
+
+	private final Map<TagsKey, Tags> cache = new ConcurrentReferenceHashMap<>();
+
 	@Override
 	public Iterable<Tag> getTags(HttpServletRequest request, HttpServletResponse response,
 			Object handler, Throwable exception) {
+		Object pattern = (request != null
+				? request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE)
+				: null);
+		if (pattern == null || response == null) {
+			return createTags(request, response, exception);
+		}
+		TagsKey key = new TagsKey(request.getMethod(), pattern, response.getStatus(),
+				(exception != null ? exception.getClass() : null));
+		Tags tags = this.cache.get(key);
+		if (tags == null) {
+			tags = createTags(request, response, exception);
+			if (this.cache.size() < MAX_CACHE_SIZE) {
+				this.cache.put(key, tags);
+			}
+		}
+		return tags;
+	}
+
+	private Tags createTags(HttpServletRequest request, HttpServletResponse response,
+			Throwable exception) {
 		return Tags.of(WebMvcTags.method(request), WebMvcTags.uri(request, response),
 				WebMvcTags.exception(exception), WebMvcTags.status(response));
 	}
@@ -42,4 +75,50 @@ public class DefaultWebMvcTagsProvider implements WebMvcTagsProvider {
 		return Tags.of(WebMvcTags.method(request), WebMvcTags.uri(request, null));
 	}
 
+	/**
+	 * Key used to cache the tags of a request.
+	 */
+	private static final class TagsKey {
+
+		private final String method;
+
+		private final Object pattern;
+
+		private final int status;
+
+		private final Class<?> exceptionType;
+
+		TagsKey(String method, Object pattern, int status, Class<?> exceptionType) {
+			this.method = method;
+			this.pattern = pattern;
+			this.status = status;
+			this.exceptionType = exceptionType;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj == null || getClass() != obj.getClass()) {
+				return false;
+			}
+			TagsKey other = (TagsKey) obj;
+			return this.status == other.status
+					&& ObjectUtils.nullSafeEquals(this.method, other.method)
+					&& ObjectUtils.nullSafeEquals(this.pattern, other.pattern)
+					&& this.exceptionType == other.exceptionType;
+		}
+
+		@Override
+		public int hashCode() {
+			int result = ObjectUtils.nullSafeHashCode(this.method);
+			result = 31 * result + ObjectUtils.nullSafeHashCode(this.pattern);
+			result = 31 * result + this.status;
+			result = 31 * result + ObjectUtils.nullSafeHashCode(this.exceptionType);
+			return result;
+		}
+
+	}
+
 }
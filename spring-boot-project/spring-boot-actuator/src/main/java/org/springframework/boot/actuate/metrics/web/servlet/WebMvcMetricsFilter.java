@@ -17,11 +17,7 @@
 package org.springframework.boot.actuate.metrics.web.servlet;
 
 import java.io.IOException;
-import java.lang.reflect.AnnotatedElement;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Supplier;
 
@@ -33,21 +29,22 @@ import javax.servlet.http.HttpServletResponse;
 
 import io.micrometer.core.annotation.Timed;
 import io.micrometer.core.instrument.LongTaskTimer;
+import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
 import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.Timer.Builder;
-import io.micrometer.core.instrument.Timer.Sample;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcMetricsHandlerInterceptor.HandlerContext;
 import org.springframework.context.ApplicationContext;
 import org.springframework.core.Ordered;
-import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpStatus;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.web.filter.OncePerRequestFilter;
-import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.DispatcherServlet;
 import org.springframework.web.servlet.HandlerExecutionChain;
 import org.springframework.web.servlet.HandlerMapping;
@@ -57,11 +54,17 @@ import org.springframework.web.util.NestedServletException;
 
 /**
  * Intercepts incoming HTTP requests and records metrics about Spring MVC execution time
- * and results.
+ * and results. The handler used to tag the metrics, and any {@link Timed @Timed}
+ * annotations, are those captured by a {@link WebMvcMetricsHandlerInterceptor} when the
+ * request was dispatched. When the interceptor did not run, for example because the
+ * handler mapping does not apply it or because an earlier interceptor rejected the
+ * request, the handler is looked up once the request has been handled. Long task
+ * timers are only started by the interceptor.
  *
  * @author Jon Schneider
  * @author Phillip Webb
  * @since 2.0.0
+ * @see WebMvcMetricsHandlerInterceptor
  */
 @Order(Ordered.HIGHEST_PRECEDENCE + 1)
 public class WebMvcMetricsFilter extends OncePerRequestFilter {
@@ -69,6 +72,10 @@ public class WebMvcMetricsFilter extends OncePerRequestFilter {
 	private static final Logger logger = LoggerFactory
 			.getLogger(WebMvcMetricsFilter.class);
 
+	private static final int MAX_CACHED_TIMERS = 1024;
+
+	private final Map<Tags, Timer> timers = new ConcurrentReferenceHashMap<>();
+
 	private final ApplicationContext context;
 
 	private final MeterRegistry registry;
@@ -97,6 +104,7 @@ public class WebMvcMetricsFilter extends OncePerRequestFilter {
 		this.tagsProvider = tagsProvider;
 		this.metricName = metricName;
 		this.autoTimeRequests = autoTimeRequests;
+		registry.config().onMeterAdded(this::meterAdded);
 	}
 
 	@Override
@@ -108,51 +116,9 @@ public class WebMvcMetricsFilter extends OncePerRequestFilter {
 	protected void doFilterInternal(HttpServletRequest request,
 			HttpServletResponse response, FilterChain filterChain)
 			throws ServletException, IOException {
-		filterAndRecordMetrics(request, response, filterChain);
-	}
-
-	private void filterAndRecordMetrics(HttpServletRequest request,
-			HttpServletResponse response, FilterChain filterChain)
-			throws IOException, ServletException {
-		Object handler;
-		try {
-			handler = getHandler(request);
-		}
-		catch (Exception ex) {
-			logger.debug("Unable to time request", ex);
-			filterChain.doFilter(request, response);
-			return;
-		}
-		filterAndRecordMetrics(request, response, filterChain, handler);
-	}
-
-	private Object getHandler(HttpServletRequest request) throws Exception {
-		HttpServletRequest wrapper = new UnmodifiableAttributesRequestWrapper(request);
-		for (HandlerMapping mapping : getMappingIntrospector().getHandlerMappings()) {
-			HandlerExecutionChain chain = mapping.getHandler(wrapper);
-			if (chain != null) {
-				if (mapping instanceof MatchableHandlerMapping) {
-					return chain.getHandler();
-				}
-				return null;
-			}
-		}
-		return null;
-	}
-
-	private HandlerMappingIntrospector getMappingIntrospector() {
-		if (this.introspector == null) {
-			this.introspector = this.context.getBean(HandlerMappingIntrospector.class);
-		}
-		return this.introspector;
-	}
-
-	private void filterAndRecordMetrics(HttpServletRequest request,
-			HttpServletResponse response, FilterChain filterChain, Object handler)
-			throws IOException, ServletException {
 		TimingContext timingContext = TimingContext.get(request);
 		if (timingContext == null) {
-			timingContext = startAndAttachTimingContext(request, handler);
+			timingContext = startAndAttachTimingContext(request);
 		}
 		try {
 			filterChain.doFilter(request, response);
@@ -163,78 +129,107 @@ public class WebMvcMetricsFilter extends OncePerRequestFilter {
 				// TimingContext that was attached to the first)
 				Throwable exception = (Throwable) request
 						.getAttribute(DispatcherServlet.EXCEPTION_ATTRIBUTE);
-				record(timingContext, response, request, handler, exception);
+				record(timingContext, response, request, exception);
 			}
 		}
 		catch (NestedServletException ex) {
 			response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
-			record(timingContext, response, request, handler, ex.getCause());
+			record(timingContext, response, request, ex.getCause());
 			throw ex;
 		}
 	}
 
-	private TimingContext startAndAttachTimingContext(HttpServletRequest request,
-			Object handler) {
-		Set<Timed> annotations = getTimedAnnotations(handler);
-		Timer.Sample timerSample = Timer.start(this.registry);
-		Collection<LongTaskTimer.Sample> longTaskTimerSamples = getLongTaskTimerSamples(
-				request, handler, annotations);
-		TimingContext timingContext = new TimingContext(annotations, timerSample,
-				longTaskTimerSamples);
+	private TimingContext startAndAttachTimingContext(HttpServletRequest request) {
+		TimingContext timingContext = new TimingContext(Timer.start(this.registry));
 		timingContext.attachTo(request);
 		return timingContext;
 	}
 
-	private Set<Timed> getTimedAnnotations(Object handler) {
-		if (!(handler instanceof HandlerMethod)) {
-			return Collections.emptySet();
+	private void record(TimingContext timingContext, HttpServletResponse response,
+			HttpServletRequest request, Throwable exception) {
+		HandlerContext handlerContext = HandlerContext.get(request);
+		Object handler = (handlerContext != null ? handlerContext.getHandler()
+				: getHandler(request));
+		Set<Timed> annotations = (handlerContext != null
+				? handlerContext.getAnnotations()
+				: WebMvcMetricsHandlerInterceptor.getTimedAnnotations(handler));
+		Timer.Sample timerSample = timingContext.getTimerSample();
+		Supplier<Iterable<Tag>> tags = () -> this.tagsProvider.getTags(request, response,
+				handler, exception);
+		for (Timed annotation : annotations) {
+			stop(timerSample, tags, Timer.builder(annotation, this.metricName));
+		}
+		if (annotations.isEmpty() && this.autoTimeRequests) {
+			timerSample.stop(getTimer(tags.get()));
+		}
+		if (handlerContext != null) {
+			for (LongTaskTimer.Sample sample : handlerContext.getLongTaskTimerSamples()) {
+				sample.stop();
+			}
 		}
-		return getTimedAnnotations((HandlerMethod) handler);
 	}
 
-	private Set<Timed> getTimedAnnotations(HandlerMethod handler) {
-		Set<Timed> timed = findTimedAnnotations(handler.getMethod());
-		if (timed.isEmpty()) {
-			return findTimedAnnotations(handler.getBeanType());
+	private Object getHandler(HttpServletRequest request) {
+		try {
+			HttpServletRequest wrapper = new UnmodifiableAttributesRequestWrapper(
+					request);
+			for (HandlerMapping mapping : getMappingIntrospector()
+					.getHandlerMappings()) {
+				HandlerExecutionChain chain = mapping.getHandler(wrapper);
+				if (chain != null) {
+					if (mapping instanceof MatchableHandlerMapping) {
+						return chain.getHandler();
+					}
+					return null;
+				}
+			}
+		}
+		catch (Exception ex) {
+			logger.debug("Unable to determine the handler of the request", ex);
 		}
-		return timed;
+		return null;
 	}
 
-	private Set<Timed> findTimedAnnotations(AnnotatedElement element) {
-		return AnnotationUtils.getDeclaredRepeatableAnnotations(element, Timed.class);
+	private HandlerMappingIntrospector getMappingIntrospector() {
+		if (this.introspector == null) {
+			this.introspector = this.context.getBean(HandlerMappingIntrospector.class);
+		}
+		return this.introspector;
 	}
 
-	private Collection<LongTaskTimer.Sample> getLongTaskTimerSamples(
-			HttpServletRequest request, Object handler, Set<Timed> annotations) {
-		List<LongTaskTimer.Sample> samples = new ArrayList<>();
-		annotations.stream().filter(Timed::longTask).forEach((annotation) -> {
-			Iterable<Tag> tags = this.tagsProvider.getLongRequestTags(request, handler);
-			LongTaskTimer.Builder builder = LongTaskTimer.builder(annotation).tags(tags);
-			LongTaskTimer timer = builder.register(this.registry);
-			samples.add(timer.start());
-		});
-		return samples;
+	private void stop(Timer.Sample timerSample, Supplier<Iterable<Tag>> tags,
+			Builder builder) {
+		timerSample.stop(builder.tags(tags.get()).register(this.registry));
 	}
 
-	private void record(TimingContext timingContext, HttpServletResponse response,
-			HttpServletRequest request, Object handlerObject, Throwable exception) {
-		Timer.Sample timerSample = timingContext.getTimerSample();
-		Supplier<Iterable<Tag>> tags = () -> this.tagsProvider.getTags(request, response,
-				handlerObject, exception);
-		for (Timed annotation : timingContext.getAnnotations()) {
-			stop(timerSample, tags, Timer.builder(annotation, this.metricName));
-		}
-		if (timingContext.getAnnotations().isEmpty() && this.autoTimeRequests) {
-			stop(timerSample, tags, Timer.builder(this.metricName));
-		}
-		for (LongTaskTimer.Sample sample : timingContext.getLongTaskTimerSamples()) {
-			sample.stop();
+	/**
+	 * Return the auto-timed request {@link Timer} with the given tags. Timers are cached
+	 * when the tags are an immutable {@link Tags} instance, as returned by
+	 * {@link DefaultWebMvcTagsProvider}, so that most requests do not need to look up
+	 * the timer in the registry.
+	 * @param tags the tags of the timer
+	 * @return the timer
+	 */
+	private Timer getTimer(Iterable<Tag> tags) {
+		Timer timer = (tags instanceof Tags ? this.timers.get(tags) : null);
+		if (timer == null) {
+			timer = Timer.builder(this.metricName).tags(tags).register(this.registry);
+			if (tags instanceof Tags && this.timers.size() < MAX_CACHED_TIMERS) {
+				this.timers.put((Tags) tags, timer);
+			}
 		}
+		return timer;
 	}
 
-	private void stop(Timer.Sample timerSample, Supplier<Iterable<Tag>> tags,
-			Builder builder) {
-		timerSample.stop(builder.tags(tags.get()).register(this.registry));
+	/**
+	 * Clear the cached timers when the registry adds a request timer so that a meter
+	 * that has replaced a previously registered one is used from then on.
+	 * @param meter the meter that was added
+	 */
+	private void meterAdded(Meter meter) {
+		if (this.metricName.equals(meter.getId().getName())) {
+			this.timers.clear();
+		}
 	}
 
 	/**
@@ -245,31 +240,16 @@ public class WebMvcMetricsFilter extends OncePerRequestFilter {
 
 		private static final String ATTRIBUTE = TimingContext.class.getName();
 
-		private final Set<Timed> annotations;
-
 		private final Timer.Sample timerSample;
 
-		private final Collection<LongTaskTimer.Sample> longTaskTimerSamples;
-
-		TimingContext(Set<Timed> annotations, Sample timerSample,
-				Collection<io.micrometer.core.instrument.LongTaskTimer.Sample> longTaskTimerSamples) {
-			this.annotations = annotations;
+		TimingContext(Timer.Sample timerSample) {
 			this.timerSample = timerSample;
-			this.longTaskTimerSamples = longTaskTimerSamples;
-		}
-
-		public Set<Timed> getAnnotations() {
-			return this.annotations;
 		}
 
 		public Timer.Sample getTimerSample() {
 			return this.timerSample;
 		}
 
-		public Collection<LongTaskTimer.Sample> getLongTaskTimerSamples() {
-			return this.longTaskTimerSamples;
-		}
-
 		public void attachTo(HttpServletRequest request) {
 			request.setAttribute(ATTRIBUTE, this);
 		}
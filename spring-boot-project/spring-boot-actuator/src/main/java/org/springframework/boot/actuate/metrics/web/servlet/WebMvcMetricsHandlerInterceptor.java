@@ -0,0 +1,157 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.web.servlet;
+
+import java.lang.reflect.AnnotatedElement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.LongTaskTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * {@link HandlerInterceptor} that captures the handler that {@link DispatcherServlet}
+ * resolved for a request so that the {@link WebMvcMetricsFilter} can use it once the
+ * request has been handled, rather than resolving the handler a second time. Also
+ * starts the long task timers of any {@link Timed @Timed} handler.
+ *
+ * @author Local Agent
+ * @since 2.1.0
+ */
+public class WebMvcMetricsHandlerInterceptor implements HandlerInterceptor {
+
+	private final MeterRegistry registry;
+
+	private final WebMvcTagsProvider tagsProvider;
+
+	/**
+	 * Create a new {@link WebMvcMetricsHandlerInterceptor} instance.
+	 * @param registry the meter registry
+	 * @param tagsProvider the tags provider
+	 */
+	public WebMvcMetricsHandlerInterceptor(MeterRegistry registry,
+			WebMvcTagsProvider tagsProvider) {
+		this.registry = registry;
+		this.tagsProvider = tagsProvider;
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response,
+			Object handler) throws Exception {
+		if (HandlerContext.get(request) == null) {
+			Set<Timed> annotations = getTimedAnnotations(handler);
+			new HandlerContext(handler, annotations,
+					getLongTaskTimerSamples(request, handler, annotations))
+							.attachTo(request);
+		}
+		return true;
+	}
+
+	/**
+	 * Return the {@link Timed @Timed} annotations of the given handler, declared either
+	 * on the handler method or on its class.
+	 * @param handler the handler
+	 * @return the annotations
+	 */
+	static Set<Timed> getTimedAnnotations(Object handler) {
+		if (!(handler instanceof HandlerMethod)) {
+			return Collections.emptySet();
+		}
+		return getTimedAnnotations((HandlerMethod) handler);
+	}
+
+	private static Set<Timed> getTimedAnnotations(HandlerMethod handler) {
+		Set<Timed> timed = findTimedAnnotations(handler.getMethod());
+		if (timed.isEmpty()) {
+			return findTimedAnnotations(handler.getBeanType());
+		}
+		return timed;
+	}
+
+	private static Set<Timed> findTimedAnnotations(AnnotatedElement element) {
+		return AnnotationUtils.getDeclaredRepeatableAnnotations(element, Timed.class);
+	}
+
+	private Collection<LongTaskTimer.Sample> getLongTaskTimerSamples(
+			HttpServletRequest request, Object handler, Set<Timed> annotations) {
+		List<LongTaskTimer.Sample> samples = new ArrayList<>();
+		annotations.stream().filter(Timed::longTask).forEach((annotation) -> {
+			Iterable<Tag> tags = this.tagsProvider.getLongRequestTags(request, handler);
+			LongTaskTimer.Builder builder = LongTaskTimer.builder(annotation).tags(tags);
+			LongTaskTimer timer = builder.register(this.registry);
+			samples.add(timer.start());
+		});
+		return samples;
+	}
+
+	/**
+	 * Context object attached to a request to retain the handler, its {@link Timed}
+	 * annotations and its long task timer samples until the request has been handled.
+	 */
+	static final class HandlerContext {
+
+		private static final String ATTRIBUTE = HandlerContext.class.getName();
+
+		private final Object handler;
+
+		private final Set<Timed> annotations;
+
+		private final Collection<LongTaskTimer.Sample> longTaskTimerSamples;
+
+		private HandlerContext(Object handler, Set<Timed> annotations,
+				Collection<LongTaskTimer.Sample> longTaskTimerSamples) {
+			this.handler = handler;
+			this.annotations = annotations;
+			this.longTaskTimerSamples = longTaskTimerSamples;
+		}
+
+		public Object getHandler() {
+			return this.handler;
+		}
+
+		public Set<Timed> getAnnotations() {
+			return this.annotations;
+		}
+
+		public Collection<LongTaskTimer.Sample> getLongTaskTimerSamples() {
+			return this.longTaskTimerSamples;
+		}
+
+		private void attachTo(HttpServletRequest request) {
+			request.setAttribute(ATTRIBUTE, this);
+		}
+
+		public static HandlerContext get(HttpServletRequest request) {
+			return (HandlerContext) request.getAttribute(ATTRIBUTE);
+		}
+
+	}
+
+}
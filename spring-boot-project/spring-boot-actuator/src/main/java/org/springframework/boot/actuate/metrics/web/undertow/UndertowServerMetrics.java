@@ -0,0 +1,159 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.web.undertow;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+import javax.management.JMX;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.undertow.Undertow;
+import io.undertow.Undertow.ListenerInfo;
+import io.undertow.UndertowOptions;
+import io.undertow.server.ConnectorStatistics;
+import org.xnio.XnioWorker;
+import org.xnio.management.XnioWorkerMXBean;
+
+import org.springframework.util.Assert;
+
+/**
+ * A {@link MeterBinder} for an {@link Undertow} server. Binds the state of the server's
+ * I/O and worker threads, as reported by the {@link XnioWorkerMXBean} of its worker,
+ * and, when {@link UndertowOptions#ENABLE_STATISTICS statistics} are enabled, the
+ * connections of its listeners. The server must have been started.
+ *
+ * @author Local Agent
+ * @since 2.1.0
+ */
+public class UndertowServerMetrics implements MeterBinder {
+
+	private final Undertow undertow;
+
+	private final Iterable<Tag> tags;
+
+	public UndertowServerMetrics(Undertow undertow, Iterable<Tag> tags) {
+		Assert.notNull(undertow, "Undertow must not be null");
+		this.undertow = undertow;
+		this.tags = tags;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		XnioWorker worker = this.undertow.getWorker();
+		if (worker != null) {
+			bindWorker(registry, worker);
+		}
+		List<ConnectorStatistics> statistics = getConnectorStatistics();
+		if (!statistics.isEmpty()) {
+			bindConnections(registry, statistics);
+		}
+	}
+
+	private void bindWorker(MeterRegistry registry, XnioWorker worker) {
+		Gauge.builder("undertow.threads.io", worker, XnioWorker::getIoThreadCount)
+				.tags(this.tags).description("The number of I/O threads")
+				.register(registry);
+		XnioWorkerMXBean workerMXBean = getWorkerMXBean(worker);
+		if (workerMXBean == null) {
+			return;
+		}
+		Gauge.builder("undertow.threads.worker.config.core", workerMXBean,
+				XnioWorkerMXBean::getCoreWorkerPoolSize).tags(this.tags)
+				.description("The core number of worker threads").register(registry);
+		Gauge.builder("undertow.threads.worker.config.max", workerMXBean,
+				XnioWorkerMXBean::getMaxWorkerPoolSize).tags(this.tags)
+				.description("The maximum number of worker threads")
+				.register(registry);
+		Gauge.builder("undertow.threads.worker.queued", workerMXBean,
+				XnioWorkerMXBean::getWorkerQueueSize).tags(this.tags)
+				.description("The number of tasks that are waiting for a worker thread")
+				.register(registry);
+	}
+
+	/**
+	 * Return the {@link XnioWorkerMXBean} that XNIO registers with the platform MBean
+	 * server for the given worker.
+	 * @param worker the worker
+	 * @return the MXBean or {@code null} if it is not registered
+	 */
+	private XnioWorkerMXBean getWorkerMXBean(XnioWorker worker) {
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName("org.xnio:type=Xnio,provider="
+					+ ObjectName.quote(worker.getXnio().getName()) + ",worker="
+					+ ObjectName.quote(worker.getName()));
+			if (!server.isRegistered(name)) {
+				return null;
+			}
+			return JMX.newMXBeanProxy(server, name, XnioWorkerMXBean.class);
+		}
+		catch (MalformedObjectNameException ex) {
+			return null;
+		}
+	}
+
+	private void bindConnections(MeterRegistry registry,
+			List<ConnectorStatistics> statistics) {
+		Gauge.builder("undertow.connections.current", statistics,
+				(connectors) -> sum(connectors,
+						ConnectorStatistics::getActiveConnections))
+				.tags(this.tags).description("The number of open connections")
+				.register(registry);
+		Gauge.builder("undertow.requests.active", statistics,
+				(connectors) -> sum(connectors,
+						ConnectorStatistics::getActiveRequests))
+				.tags(this.tags)
+				.description("The number of requests that are being processed")
+				.register(registry);
+		FunctionCounter.builder("undertow.connections.bytes.in", statistics,
+				(connectors) -> sum(connectors,
+						ConnectorStatistics::getBytesReceived))
+				.tags(this.tags).baseUnit("bytes")
+				.description("The number of bytes received").register(registry);
+		FunctionCounter.builder("undertow.connections.bytes.out", statistics,
+				(connectors) -> sum(connectors,
+						ConnectorStatistics::getBytesSent))
+				.tags(this.tags).baseUnit("bytes")
+				.description("The number of bytes sent").register(registry);
+	}
+
+	private List<ConnectorStatistics> getConnectorStatistics() {
+		List<ConnectorStatistics> statistics = new ArrayList<>();
+		for (ListenerInfo listener : this.undertow.getListenerInfo()) {
+			if (listener.getConnectorStatistics() != null) {
+				statistics.add(listener.getConnectorStatistics());
+			}
+		}
+		return statistics;
+	}
+
+	private static long sum(List<ConnectorStatistics> statistics,
+			ToLongFunction<ConnectorStatistics> statistic) {
+		return statistics.stream().mapToLong(statistic).sum();
+	}
+
+}
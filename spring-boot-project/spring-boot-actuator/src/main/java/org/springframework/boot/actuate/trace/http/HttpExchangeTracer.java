@@ -28,6 +28,7 @@ import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 import org.springframework.http.HttpHeaders;
+import org.springframework.util.Assert;
 
 /**
  * Traces an HTTP request-response exchange.
@@ -39,38 +40,93 @@ public class HttpExchangeTracer {
 
 	private final Set<Include> includes;
 
+	private final HttpTraceSampler sampler;
+
 	/**
 	 * Creates a new {@code HttpExchangeTracer} that will use the given {@code includes}
 	 * to determine the contents of its traces.
 	 * @param includes the includes
 	 */
 	public HttpExchangeTracer(Set<Include> includes) {
+		this(includes, HttpTraceSampler.all());
+	}
+
+	/**
+	 * Creates a new {@code HttpExchangeTracer} that will use the given {@code includes}
+	 * to determine the contents of its traces and the given {@code sampler} to decide
+	 * which exchanges are traced.
+	 * @param includes the includes
+	 * @param sampler the sampler
+	 * @since 2.1.0
+	 */
+	public HttpExchangeTracer(Set<Include> includes, HttpTraceSampler sampler) {
+		Assert.notNull(sampler, "Sampler must not be null");
 		this.includes = includes;
+		this.sampler = sampler;
 	}
 
 	/**
 	 * Begins the tracing of the exchange that was initiated by the given {@code request}
-	 * being received.
+	 * being received. The request headers and remote address are only captured if the
+	 * sampler {@link HttpTraceSampler#isSampled(TraceableRequest) samples} the request.
 	 * @param request the received request
 	 * @return the HTTP trace for the
 	 */
 	public final HttpTrace receivedRequest(TraceableRequest request) {
+		if (!this.sampler.isSampled(request)) {
+			return new HttpTrace(request, false);
+		}
 		return new HttpTrace(new FilteredTraceableRequest(request));
 	}
 
 	/**
 	 * Ends the tracing of the exchange that is being concluded by sending the given
-	 * {@code response}.
+	 * {@code response}. The exchange is traced regardless of the sampler, although the
+	 * request headers of an exchange whose request was not sampled are not available.
 	 * @param trace the trace for the exchange
 	 * @param response the response that concludes the exchange
 	 * @param principal a supplier for the exchange's principal
 	 * @param sessionId a supplier for the id of the exchange's session
+	 * @see #sendingResponseIfSampled(HttpTrace, TraceableResponse, Supplier, Supplier)
 	 */
 	public final void sendingResponse(HttpTrace trace, TraceableResponse response,
 			Supplier<Principal> principal, Supplier<String> sessionId) {
-		setIfIncluded(Include.TIME_TAKEN,
-				() -> System.currentTimeMillis() - trace.getTimestamp().toEpochMilli(),
-				trace::setTimeTaken);
+		sendingResponse(trace, response, principal, sessionId,
+				System.currentTimeMillis() - trace.getTimestamp().toEpochMilli());
+	}
+
+	/**
+	 * Ends the tracing of the exchange that is being concluded by sending the given
+	 * {@code response} if the exchange is sampled. The response, principal and session
+	 * are only captured if the exchange is sampled. An exchange whose request was not
+	 * sampled when it was received is never sampled.
+	 * @param trace the trace for the exchange
+	 * @param response the response that concludes the exchange
+	 * @param principal a supplier for the exchange's principal
+	 * @param sessionId a supplier for the id of the exchange's session
+	 * @return {@code true} if the exchange was sampled and the trace should be added to
+	 * a repository, otherwise {@code false}
+	 * @since 2.1.0
+	 */
+	public final boolean sendingResponseIfSampled(HttpTrace trace,
+			TraceableResponse response, Supplier<Principal> principal,
+			Supplier<String> sessionId) {
+		if (!trace.isSampled()) {
+			return false;
+		}
+		long timeTaken = System.currentTimeMillis()
+				- trace.getTimestamp().toEpochMilli();
+		if (!this.sampler.isSampled(trace.getRequest(), response.getStatus(),
+				timeTaken)) {
+			return false;
+		}
+		sendingResponse(trace, response, principal, sessionId, timeTaken);
+		return true;
+	}
+
+	private void sendingResponse(HttpTrace trace, TraceableResponse response,
+			Supplier<Principal> principal, Supplier<String> sessionId, long timeTaken) {
+		setIfIncluded(Include.TIME_TAKEN, () -> timeTaken, trace::setTimeTaken);
 		setIfIncluded(Include.SESSION_ID, sessionId, trace::setSessionId);
 		setIfIncluded(Include.PRINCIPAL, principal, trace::setPrincipal);
 		trace.setResponse(
@@ -18,6 +18,7 @@ package org.springframework.boot.actuate.trace.http;
 
 import java.net.URI;
 import java.time.Instant;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -45,8 +46,15 @@ public final class HttpTrace {
 
 	private volatile Long timeTaken;
 
+	private final boolean sampled;
+
 	HttpTrace(TraceableRequest request) {
-		this.request = new Request(request);
+		this(request, true);
+	}
+
+	HttpTrace(TraceableRequest request, boolean sampled) {
+		this.request = new Request(request, sampled);
+		this.sampled = sampled;
 	}
 
 	public Instant getTimestamp() {
@@ -93,8 +101,13 @@ public final class HttpTrace {
 		this.timeTaken = timeTaken;
 	}
 
+	boolean isSampled() {
+		return this.sampled;
+	}
+
 	/**
-	 * Trace of an HTTP request.
+	 * Trace of an HTTP request. The headers and remote address of a request that was
+	 * not sampled when it was received are not captured.
 	 */
 	public static final class Request {
 
@@ -106,11 +119,11 @@ public final class HttpTrace {
 
 		private final String remoteAddress;
 
-		private Request(TraceableRequest request) {
+		private Request(TraceableRequest request, boolean sampled) {
 			this.method = request.getMethod();
 			this.uri = request.getUri();
-			this.headers = request.getHeaders();
-			this.remoteAddress = request.getRemoteAddress();
+			this.headers = (sampled ? request.getHeaders() : Collections.emptyMap());
+			this.remoteAddress = (sampled ? request.getRemoteAddress() : null);
 		}
 
 		public String getMethod() {
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.trace.http;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import org.springframework.util.Assert;
+
+/**
+ * Strategy used by an {@link HttpExchangeTracer} to decide whether an exchange should be
+ * traced. A sampler can reject an exchange as soon as its request has been received,
+ * in which case none of its headers are captured, or once the response is being sent.
+ * Headers, principal and session details are only captured for exchanges that are
+ * sampled.
+ *
+ * @author Local Agent
+ * @since 2.1.0
+ */
+@FunctionalInterface
+public interface HttpTraceSampler {
+
+	/**
+	 * Return whether the exchange should be traced.
+	 * @param request the trace of the request
+	 * @param status the status of the response
+	 * @param timeTaken the time, in milliseconds, taken to handle the exchange
+	 * @return {@code true} if the exchange should be traced
+	 */
+	boolean isSampled(HttpTrace.Request request, int status, long timeTaken);
+
+	/**
+	 * Return whether the exchange that was initiated by the given {@code request} being
+	 * received may be traced. Called before any of the request's headers are captured.
+	 * By default, every request is sampled and the decision is made once the response
+	 * is being sent.
+	 * @param request the received request
+	 * @return {@code true} if the exchange may be traced
+	 */
+	default boolean isSampled(TraceableRequest request) {
+		return true;
+	}
+
+	/**
+	 * Return a sampler that only samples exchanges that are sampled by both this
+	 * sampler and the given {@code other} sampler.
+	 * @param other the other sampler
+	 * @return the combined sampler
+	 */
+	default HttpTraceSampler and(HttpTraceSampler other) {
+		Assert.notNull(other, "Other must not be null");
+		HttpTraceSampler sampler = this;
+		return new HttpTraceSampler() {
+
+			@Override
+			public boolean isSampled(TraceableRequest request) {
+				return sampler.isSampled(request) && other.isSampled(request);
+			}
+
+			@Override
+			public boolean isSampled(HttpTrace.Request request, int status,
+					long timeTaken) {
+				return sampler.isSampled(request, status, timeTaken)
+						&& other.isSampled(request, status, timeTaken);
+			}
+
+		};
+	}
+
+	/**
+	 * Return a sampler that samples every exchange.
+	 * @return the sampler
+	 */
+	static HttpTraceSampler all() {
+		return (request, status, timeTaken) -> true;
+	}
+
+	/**
+	 * Return a sampler that randomly samples the given percentage of exchanges. The
+	 * decision is made when the request is received.
+	 * @param percentage the percentage of exchanges to sample, between 0 and 100
+	 * @return the sampler
+	 */
+	static HttpTraceSampler percentage(double percentage) {
+		Assert.isTrue(percentage >= 0 && percentage <= 100,
+				"Percentage must be between 0 and 100");
+		double probability = percentage / 100;
+		return onRequest((request) -> ThreadLocalRandom.current()
+				.nextDouble() < probability);
+	}
+
+	/**
+	 * Return a sampler that samples at most the given number of exchanges each second.
+	 * The decision is made when the request is received.
+	 * @param tracesPerSecond the maximum number of exchanges to sample each second
+	 * @return the sampler
+	 */
+	static HttpTraceSampler rateLimited(int tracesPerSecond) {
+		Assert.isTrue(tracesPerSecond >= 0, "TracesPerSecond must not be negative");
+		AtomicLong window = new AtomicLong(-1);
+		AtomicInteger count = new AtomicInteger();
+		return onRequest((request) -> {
+			long second = System.currentTimeMillis() / 1000;
+			long current = window.get();
+			if (current != second && window.compareAndSet(current, second)) {
+				count.set(0);
+			}
+			return count.incrementAndGet() <= tracesPerSecond;
+		});
+	}
+
+	/**
+	 * Return a sampler that decides whether to sample an exchange when its request is
+	 * received, using the given {@code predicate}.
+	 * @param predicate the predicate applied to each received request
+	 * @return the sampler
+	 */
+	static HttpTraceSampler onRequest(Predicate<TraceableRequest> predicate) {
+		Assert.notNull(predicate, "Predicate must not be null");
+		return new HttpTraceSampler() {
+
+			@Override
+			public boolean isSampled(TraceableRequest request) {
+				return predicate.test(request);
+			}
+
+			@Override
+			public boolean isSampled(HttpTrace.Request request, int status,
+					long timeTaken) {
+				return true;
+			}
+
+		};
+	}
+
+	/**
+	 * Return a sampler that only samples exchanges that took at least the given
+	 * {@code threshold} or that failed with a server error.
+	 * @param threshold the minimum time taken for an exchange to be sampled
+	 * @return the sampler
+	 */
+	static HttpTraceSampler slowOrFailed(Duration threshold) {
+		Assert.notNull(threshold, "Threshold must not be null");
+		long thresholdMillis = threshold.toMillis();
+		return (request, status, timeTaken) -> timeTaken >= thresholdMillis
+				|| status >= 500;
+	}
+
+}
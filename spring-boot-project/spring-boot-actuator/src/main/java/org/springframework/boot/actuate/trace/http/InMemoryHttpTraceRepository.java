@@ -18,11 +18,16 @@ package org.springframework.boot.actuate.trace.http;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.springframework.util.Assert;
 
 /**
- * In-memory implementation of {@link HttpTraceRepository}.
+ * In-memory implementation of {@link HttpTraceRepository}. Traces are stored in a
+ * preallocated ring buffer so that {@link #add(HttpTrace) adding} a trace is a constant
+ * time operation that does not require a lock.
  *
  * @author Dave Syer
  * @author Olivier Bourgain
@@ -30,52 +35,155 @@ import java.util.List;
  */
 public class InMemoryHttpTraceRepository implements HttpTraceRepository {
 
-	private int capacity = 100;
-
-	private boolean reverse = true;
+	private volatile boolean reverse = true;
 
-	private final List<HttpTrace> traces = new LinkedList<>();
+	private volatile RingBuffer traces = new RingBuffer(100);
 
 	/**
 	 * Flag to say that the repository lists traces in reverse order.
 	 * @param reverse flag value (default true)
 	 */
 	public void setReverse(boolean reverse) {
-		synchronized (this.traces) {
-			this.reverse = reverse;
-		}
+		this.reverse = reverse;
 	}
 
 	/**
-	 * Set the capacity of the in-memory repository.
+	 * Set the capacity of the in-memory repository. Traces that have already been
+	 * added are retained, up to the new capacity.
 	 * @param capacity the capacity
 	 */
 	public void setCapacity(int capacity) {
-		synchronized (this.traces) {
-			this.capacity = capacity;
-		}
+		Assert.isTrue(capacity > 0, "Capacity must be greater than 0");
+		RingBuffer previous = this.traces;
+		RingBuffer traces = new RingBuffer(capacity,
+				Math.min(previous.capacity(), capacity));
+		this.traces = traces;
+		traces.migrate(previous.snapshot());
 	}
 
 	@Override
 	public List<HttpTrace> findAll() {
-		synchronized (this.traces) {
-			return Collections.unmodifiableList(new ArrayList<>(this.traces));
+		List<HttpTrace> traces = this.traces.snapshot();
+		if (this.reverse) {
+			Collections.reverse(traces);
 		}
+		return Collections.unmodifiableList(traces);
 	}
 
 	@Override
 	public void add(HttpTrace trace) {
-		synchronized (this.traces) {
-			while (this.traces.size() >= this.capacity) {
-				this.traces.remove(this.reverse ? this.capacity - 1 : 0);
+		this.traces.add(trace);
+	}
+
+	/**
+	 * Fixed-size ring buffer where writers claim a slot by incrementing a sequence and
+	 * only replace a trace with an older sequence. A number of sequences can be reserved
+	 * ahead of the first claimed one so that traces migrated from a previous buffer are
+	 * ordered before traces that are added concurrently with the migration.
+	 */
+	static final class RingBuffer {
+
+		private final AtomicReferenceArray<Slot> slots;
+
+		private final int reserved;
+
+		private final AtomicLong sequence;
+
+		RingBuffer(int capacity) {
+			this(capacity, 0);
+		}
+
+		RingBuffer(int capacity, int reserved) {
+			this.slots = new AtomicReferenceArray<>(capacity);
+			this.reserved = reserved;
+			this.sequence = new AtomicLong(reserved);
+		}
+
+		int capacity() {
+			return this.slots.length();
+		}
+
+		void add(HttpTrace trace) {
+			publish(claim(), trace);
+		}
+
+		long claim() {
+			return this.sequence.getAndIncrement();
+		}
+
+		/**
+		 * Publish the given trace under a previously claimed sequence unless a writer
+		 * with a later sequence has already published to the same index.
+		 * @param sequence the claimed sequence
+		 * @param trace the trace to publish
+		 */
+		void publish(long sequence, HttpTrace trace) {
+			int index = index(sequence);
+			Slot slot = new Slot(sequence, trace);
+			while (true) {
+				Slot current = this.slots.get(index);
+				if (current != null && current.sequence > sequence) {
+					return;
+				}
+				if (this.slots.compareAndSet(index, current, slot)) {
+					return;
+				}
 			}
-			if (this.reverse) {
-				this.traces.add(0, trace);
+		}
+
+		/**
+		 * Publish the most recent of the given traces, oldest first, under the
+		 * sequences that were reserved when the buffer was created.
+		 * @param traces the traces to migrate
+		 */
+		void migrate(List<HttpTrace> traces) {
+			int count = Math.min(traces.size(), this.reserved);
+			long sequence = this.reserved - count;
+			for (HttpTrace trace : traces.subList(traces.size() - count, traces.size())) {
+				publish(sequence, trace);
+				sequence++;
 			}
-			else {
-				this.traces.add(trace);
+		}
+
+		/**
+		 * Return the traces currently held in the buffer, oldest first. Slots that have
+		 * been claimed but not yet written, or that have been overwritten by a newer
+		 * trace since the snapshot started, are skipped.
+		 * @return a mutable list of traces
+		 */
+		List<HttpTrace> snapshot() {
+			long end = this.sequence.get();
+			long start = Math.max(0, end - this.slots.length());
+			List<HttpTrace> traces = new ArrayList<>((int) (end - start));
+			for (long sequence = start; sequence < end; sequence++) {
+				Slot slot = this.slots.get(index(sequence));
+				if (slot != null && slot.sequence == sequence) {
+					traces.add(slot.trace);
+				}
 			}
+			return traces;
 		}
+
+		private int index(long sequence) {
+			return (int) (sequence % this.slots.length());
+		}
+
+	}
+
+	/**
+	 * A trace and the sequence under which it was written.
+	 */
+	private static final class Slot {
+
+		private final long sequence;
+
+		private final HttpTrace trace;
+
+		Slot(long sequence, HttpTrace trace) {
+			this.sequence = sequence;
+			this.trace = trace;
+		}
+
 	}
 
 }
@@ -100,9 +100,10 @@ public class HttpTraceWebFilter implements WebFilter, Ordered {
 			TraceableServerHttpResponse response = new TraceableServerHttpResponse(
 					(ex != null ? new CustomStatusResponseDecorator(ex,
 							exchange.getResponse()) : exchange.getResponse()));
-			this.tracer.sendingResponse(trace, response, () -> principal,
-					() -> getStartedSessionId(session));
-			this.repository.add(trace);
+			if (this.tracer.sendingResponseIfSampled(trace, response,
+					() -> principal, () -> getStartedSessionId(session))) {
+				this.repository.add(trace);
+			}
 		});
 	}
 
@@ -89,9 +89,10 @@ public class HttpTraceFilter extends OncePerRequestFilter implements Ordered {
 					status != response.getStatus()
 							? new CustomStatusResponseWrapper(response, status)
 							: response);
-			this.tracer.sendingResponse(trace, traceableResponse,
-					request::getUserPrincipal, () -> getSessionId(request));
-			this.repository.add(trace);
+			if (this.tracer.sendingResponseIfSampled(trace, traceableResponse,
+					request::getUserPrincipal, () -> getSessionId(request))) {
+				this.repository.add(trace);
+			}
 		}
 	}
 
@@ -21,11 +21,18 @@ import java.time.temporal.ChronoUnit;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import org.springframework.boot.actuate.audit.InMemoryAuditEventRepository.Page;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
@@ -119,4 +126,101 @@ public class InMemoryAuditEventRepositoryTests {
 		assertThat(events.get(0).getType()).isEqualTo("c");
 	}
 
+	@Test
+	public void findByPrincipalAfterEviction() {
+		InMemoryAuditEventRepository repository = new InMemoryAuditEventRepository(2);
+		repository.add(new AuditEvent("dave", "a"));
+		repository.add(new AuditEvent("phil", "b"));
+		repository.add(new AuditEvent("phil", "c"));
+		assertThat(repository.find("dave", null, null)).isEmpty();
+		assertThat(repository.find(null, null, "a")).isEmpty();
+		List<AuditEvent> events = repository.find("phil", null, null);
+		assertThat(events).extracting(AuditEvent::getType).containsExactly("b", "c");
+	}
+
+	@Test
+	public void findWithLimit() {
+		Instant instant = Instant.now();
+		Map<String, Object> data = new HashMap<>();
+		InMemoryAuditEventRepository repository = new InMemoryAuditEventRepository();
+		for (int i = 0; i < 5; i++) {
+			repository.add(new AuditEvent(instant.plus(i, ChronoUnit.DAYS), "dave",
+					String.valueOf(i), data));
+		}
+		List<AuditEvent> events = repository.find("dave", instant, null, 2);
+		assertThat(events).extracting(AuditEvent::getType).containsExactly("1", "2");
+	}
+
+	@Test
+	public void findPageWithEventsThatShareATimestamp() {
+		Instant instant = Instant.now();
+		Map<String, Object> data = new HashMap<>();
+		InMemoryAuditEventRepository repository = new InMemoryAuditEventRepository();
+		for (int i = 0; i < 5; i++) {
+			repository.add(new AuditEvent(instant, "dave", String.valueOf(i), data));
+		}
+		repository.add(new AuditEvent(instant, "phil", "x", data));
+		Page page = repository.findPage("dave", null, null, 0, 2);
+		assertThat(page.getEvents()).extracting(AuditEvent::getType)
+				.containsExactly("0", "1");
+		page = repository.findPage("dave", null, null, page.getNextCursor(), 2);
+		assertThat(page.getEvents()).extracting(AuditEvent::getType)
+				.containsExactly("2", "3");
+		page = repository.findPage("dave", null, null, page.getNextCursor(), 2);
+		assertThat(page.getEvents()).extracting(AuditEvent::getType)
+				.containsExactly("4");
+		long cursor = page.getNextCursor();
+		page = repository.findPage("dave", null, null, cursor, 2);
+		assertThat(page.getEvents()).isEmpty();
+		assertThat(page.getNextCursor()).isEqualTo(cursor);
+	}
+
+	@Test
+	public void findPageAfterEviction() {
+		InMemoryAuditEventRepository repository = new InMemoryAuditEventRepository(2);
+		for (int i = 0; i < 5; i++) {
+			repository.add(new AuditEvent("dave", String.valueOf(i)));
+		}
+		Page page = repository.findPage(null, null, null, 0, 10);
+		assertThat(page.getEvents()).extracting(AuditEvent::getType)
+				.containsExactly("3", "4");
+		assertThat(page.getNextCursor()).isEqualTo(5);
+	}
+
+	@Test
+	public void findByPrincipalAfterConcurrentAddsThatPruneTheIndex() throws Exception {
+		InMemoryAuditEventRepository repository = new InMemoryAuditEventRepository(4);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		CountDownLatch latch = new CountDownLatch(1);
+		try {
+			for (int i = 0; i < 8; i++) {
+				executor.execute(() -> {
+					try {
+						latch.await();
+					}
+					catch (InterruptedException ex) {
+						Thread.currentThread().interrupt();
+					}
+					for (int j = 0; j < 2000; j++) {
+						repository.add(new AuditEvent("user" + (j % 12), "a"));
+					}
+				});
+			}
+			latch.countDown();
+		}
+		finally {
+			executor.shutdown();
+		}
+		assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+		List<AuditEvent> all = repository.find(null, null, null);
+		assertThat(all).hasSize(4);
+		for (int i = 0; i < 12; i++) {
+			String principal = "user" + i;
+			assertThat(repository.find(principal, null, null))
+					.containsExactlyElementsOf(all.stream()
+							.filter((event) -> event.getPrincipal().equals(principal))
+							.collect(Collectors.toList()));
+		}
+	}
+
 }
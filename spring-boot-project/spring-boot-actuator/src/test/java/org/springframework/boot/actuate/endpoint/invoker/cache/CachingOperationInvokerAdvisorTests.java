@@ -117,16 +117,19 @@ public class CachingOperationInvokerAdvisorTests {
 		OperationParameters parameters = getParameters("getWithSecurityContext",
 				SecurityContext.class, String.class);
 		given(this.timeToLive.apply(any())).willReturn(100L);
-		assertAdviseIsApplied(parameters);
+		OperationInvoker advised = assertAdviseIsApplied(parameters);
+		assertThat(ReflectionTestUtils.getField(advised, "cacheAuthenticated"))
+				.isEqualTo(false);
 	}
 
-	private void assertAdviseIsApplied(OperationParameters parameters) {
+	private OperationInvoker assertAdviseIsApplied(OperationParameters parameters) {
 		OperationInvoker advised = this.advisor.apply("foo", OperationType.READ,
 				parameters, this.invoker);
 		assertThat(advised).isInstanceOf(CachingOperationInvoker.class);
 		assertThat(ReflectionTestUtils.getField(advised, "invoker"))
 				.isEqualTo(this.invoker);
 		assertThat(ReflectionTestUtils.getField(advised, "timeToLive")).isEqualTo(100L);
+		return advised;
 	}
 
 	private OperationParameters getParameters(String methodName,
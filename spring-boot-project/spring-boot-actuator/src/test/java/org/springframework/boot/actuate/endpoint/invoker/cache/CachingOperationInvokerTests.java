@@ -17,9 +17,16 @@
 package org.springframework.boot.actuate.endpoint.invoker.cache;
 
 import java.security.Principal;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Rule;
 import org.junit.Test;
@@ -30,6 +37,7 @@ import org.springframework.boot.actuate.endpoint.SecurityContext;
 import org.springframework.boot.actuate.endpoint.invoke.OperationInvoker;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -82,36 +90,205 @@ public class CachingOperationInvokerTests {
 	}
 
 	@Test
-	public void targetAlwaysInvokedWithParameters() {
-		OperationInvoker target = mock(OperationInvoker.class);
+	public void cacheInTtlWithParameters() {
 		Map<String, Object> parameters = new HashMap<>();
 		parameters.put("test", "value");
 		parameters.put("something", null);
-		InvocationContext context = new InvocationContext(mock(SecurityContext.class),
-				parameters);
+		assertCacheIsUsed(parameters);
+	}
+
+	@Test
+	public void cacheInTtlWithArrayParameter() {
+		OperationInvoker target = mock(OperationInvoker.class);
+		given(target.invoke(any())).willReturn(new Object());
+		CachingOperationInvoker invoker = new CachingOperationInvoker(target, 500L);
+		invoker.invoke(new InvocationContext(mock(SecurityContext.class),
+				Collections.singletonMap("tags", new String[] { "a", "b" })));
+		invoker.invoke(new InvocationContext(mock(SecurityContext.class),
+				Collections.singletonMap("tags", new String[] { "a", "b" })));
+		verify(target, times(1)).invoke(any());
+	}
+
+	@Test
+	public void targetInvokedForEachDistinctParameters() {
+		OperationInvoker target = mock(OperationInvoker.class);
+		InvocationContext first = new InvocationContext(mock(SecurityContext.class),
+				Collections.singletonMap("test", "one"));
+		InvocationContext second = new InvocationContext(mock(SecurityContext.class),
+				Collections.singletonMap("test", "two"));
+		given(target.invoke(first)).willReturn("one");
+		given(target.invoke(second)).willReturn("two");
+		CachingOperationInvoker invoker = new CachingOperationInvoker(target, 500L);
+		assertThat(invoker.invoke(first)).isEqualTo("one");
+		assertThat(invoker.invoke(second)).isEqualTo("two");
+		assertThat(invoker.invoke(first)).isEqualTo("one");
+		assertThat(invoker.invoke(second)).isEqualTo("two");
+		verify(target, times(1)).invoke(first);
+		verify(target, times(1)).invoke(second);
+	}
+
+	@Test
+	public void cacheInTtlWithPrincipal() {
+		OperationInvoker target = mock(OperationInvoker.class);
+		InvocationContext context = createContextWithPrincipal("alice");
 		given(target.invoke(context)).willReturn(new Object());
 		CachingOperationInvoker invoker = new CachingOperationInvoker(target, 500L);
 		invoker.invoke(context);
 		invoker.invoke(context);
 		invoker.invoke(context);
-		verify(target, times(3)).invoke(context);
+		verify(target, times(1)).invoke(context);
 	}
 
 	@Test
-	public void targetAlwaysInvokedWithPrincipal() {
+	public void targetAlwaysInvokedWithPrincipalWhenAuthenticatedResponsesAreNotCached() {
 		OperationInvoker target = mock(OperationInvoker.class);
-		Map<String, Object> parameters = new HashMap<>();
-		SecurityContext securityContext = mock(SecurityContext.class);
-		given(securityContext.getPrincipal()).willReturn(mock(Principal.class));
-		InvocationContext context = new InvocationContext(securityContext, parameters);
+		InvocationContext context = createContextWithPrincipal("alice");
 		given(target.invoke(context)).willReturn(new Object());
-		CachingOperationInvoker invoker = new CachingOperationInvoker(target, 500L);
+		CachingOperationInvoker invoker = new CachingOperationInvoker(target, 500L,
+				false);
 		invoker.invoke(context);
 		invoker.invoke(context);
 		invoker.invoke(context);
 		verify(target, times(3)).invoke(context);
 	}
 
+	@Test
+	public void cacheInTtlWithoutPrincipalWhenAuthenticatedResponsesAreNotCached() {
+		OperationInvoker target = mock(OperationInvoker.class);
+		InvocationContext context = new InvocationContext(mock(SecurityContext.class),
+				Collections.emptyMap());
+		given(target.invoke(context)).willReturn(new Object());
+		CachingOperationInvoker invoker = new CachingOperationInvoker(target, 500L,
+				false);
+		invoker.invoke(context);
+		invoker.invoke(context);
+		verify(target, times(1)).invoke(context);
+	}
+
+	@Test
+	public void targetInvokedForEachDistinctPrincipal() {
+		OperationInvoker target = mock(OperationInvoker.class);
+		InvocationContext alice = createContextWithPrincipal("alice");
+		InvocationContext bob = createContextWithPrincipal("bob");
+		given(target.invoke(alice)).willReturn("alice");
+		given(target.invoke(bob)).willReturn("bob");
+		CachingOperationInvoker invoker = new CachingOperationInvoker(target, 500L);
+		assertThat(invoker.invoke(alice)).isEqualTo("alice");
+		assertThat(invoker.invoke(bob)).isEqualTo("bob");
+		assertThat(invoker.invoke(new InvocationContext(mock(SecurityContext.class),
+				Collections.emptyMap()))).isNull();
+		verify(target, times(3)).invoke(any());
+	}
+
+	@Test
+	public void concurrentInvocationsShareSingleInvocation() throws Exception {
+		CountDownLatch invoked = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger invocations = new AtomicInteger();
+		OperationInvoker target = (context) -> {
+			invocations.incrementAndGet();
+			invoked.countDown();
+			try {
+				release.await();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			return "response";
+		};
+		CachingOperationInvoker invoker = new CachingOperationInvoker(target, 5000L);
+		InvocationContext context = new InvocationContext(mock(SecurityContext.class),
+				Collections.emptyMap());
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<Object>> responses = new ArrayList<>();
+			responses.add(executor.submit(() -> invoker.invoke(context)));
+			invoked.await();
+			for (int i = 0; i < 3; i++) {
+				responses.add(executor.submit(() -> invoker.invoke(context)));
+			}
+			release.countDown();
+			for (Future<Object> response : responses) {
+				assertThat(response.get()).isEqualTo("response");
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		assertThat(invocations).hasValue(1);
+	}
+
+	@Test
+	public void staleResponseReturnedWhileRefreshing() throws Exception {
+		CountDownLatch refreshing = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger invocations = new AtomicInteger();
+		OperationInvoker target = (context) -> {
+			int invocation = invocations.incrementAndGet();
+			if (invocation > 1) {
+				refreshing.countDown();
+				try {
+					release.await();
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			return invocation;
+		};
+		CachingOperationInvoker invoker = new CachingOperationInvoker(target, 50L);
+		InvocationContext context = new InvocationContext(mock(SecurityContext.class),
+				Collections.emptyMap());
+		assertThat(invoker.invoke(context)).isEqualTo(1);
+		Thread.sleep(55);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<Object> refreshed = executor.submit(() -> invoker.invoke(context));
+			refreshing.await();
+			assertThat(invoker.invoke(context)).isEqualTo(1);
+			release.countDown();
+			assertThat(refreshed.get()).isEqualTo(2);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		assertThat(invoker.invoke(context)).isEqualTo(2);
+	}
+
+	@Test
+	public void failedInvocationIsNotCached() {
+		OperationInvoker target = mock(OperationInvoker.class);
+		InvocationContext context = new InvocationContext(mock(SecurityContext.class),
+				Collections.emptyMap());
+		given(target.invoke(context)).willThrow(new IllegalStateException("test"))
+				.willReturn("response");
+		CachingOperationInvoker invoker = new CachingOperationInvoker(target, 500L);
+		this.thrown.expect(IllegalStateException.class);
+		try {
+			invoker.invoke(context);
+		}
+		finally {
+			assertThat(invoker.invoke(context)).isEqualTo("response");
+		}
+	}
+
+	@Test
+	public void targetInvokedWhenCacheIsFull() {
+		OperationInvoker target = mock(OperationInvoker.class);
+		InvocationContext first = new InvocationContext(mock(SecurityContext.class),
+				Collections.singletonMap("test", "one"));
+		InvocationContext second = new InvocationContext(mock(SecurityContext.class),
+				Collections.singletonMap("test", "two"));
+		CachingOperationInvoker invoker = new CachingOperationInvoker(target, 500L, 1,
+				true);
+		invoker.invoke(first);
+		invoker.invoke(first);
+		invoker.invoke(second);
+		invoker.invoke(second);
+		verify(target, times(1)).invoke(first);
+		verify(target, times(2)).invoke(second);
+	}
+
 	@Test
 	public void targetInvokedWhenCacheExpires() throws InterruptedException {
 		OperationInvoker target = mock(OperationInvoker.class);
@@ -126,4 +303,12 @@ public class CachingOperationInvokerTests {
 		verify(target, times(2)).invoke(context);
 	}
 
+	private InvocationContext createContextWithPrincipal(String name) {
+		SecurityContext securityContext = mock(SecurityContext.class);
+		Principal principal = mock(Principal.class);
+		given(principal.getName()).willReturn(name);
+		given(securityContext.getPrincipal()).willReturn(principal);
+		return new InvocationContext(securityContext, Collections.emptyMap());
+	}
+
 }
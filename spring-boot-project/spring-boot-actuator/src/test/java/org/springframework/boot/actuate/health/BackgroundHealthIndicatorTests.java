@@ -0,0 +1,74 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.health;
+
+import java.time.Clock;
+import java.time.Instant;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link BackgroundHealthIndicator}.
+ */
+public class BackgroundHealthIndicatorTests {
+
+	private final HealthIndicator delegate = mock(HealthIndicator.class);
+
+	private final Clock clock = mock(Clock.class);
+
+	private final BackgroundHealthIndicator indicator = new BackgroundHealthIndicator(
+			this.delegate, this.clock);
+
+	@Test
+	public void healthIsUnknownBeforeFirstRefresh() {
+		assertThat(this.indicator.health().getStatus()).isEqualTo(Status.UNKNOWN);
+		verify(this.delegate, never()).health();
+	}
+
+	@Test
+	public void healthReturnsCachedHealthWithAge() {
+		Instant now = Instant.now();
+		given(this.clock.instant()).willReturn(now, now.plusSeconds(5));
+		given(this.delegate.health())
+				.willReturn(Health.up().withDetail("version", "1.0").build());
+		this.indicator.refresh();
+		Health health = this.indicator.health();
+		assertThat(health.getStatus()).isEqualTo(Status.UP);
+		assertThat(health.getDetails()).containsEntry("version", "1.0")
+				.containsEntry("age", "PT5S");
+		verify(this.delegate, times(1)).health();
+	}
+
+	@Test
+	public void refreshWhenDelegateFailsCachesDownHealth() {
+		given(this.clock.instant()).willReturn(Instant.now());
+		given(this.delegate.health()).willThrow(new IllegalStateException("failed"));
+		this.indicator.refresh();
+		Health health = this.indicator.health();
+		assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+		assertThat(health.getDetails()).containsEntry("error",
+				"java.lang.IllegalStateException: failed");
+	}
+
+}
@@ -18,9 +18,16 @@ package org.springframework.boot.actuate.health;
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
@@ -28,6 +35,8 @@ import org.mockito.MockitoAnnotations;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 /**
  * Tests for {@link CompositeHealthIndicator}
@@ -38,6 +47,8 @@ import static org.mockito.BDDMockito.given;
  */
 public class CompositeHealthIndicatorTests {
 
+	private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
 	private HealthAggregator healthAggregator;
 
 	@Mock
@@ -57,6 +68,11 @@ public class CompositeHealthIndicatorTests {
 		this.healthAggregator = new OrderedHealthAggregator();
 	}
 
+	@After
+	public void shutdown() {
+		this.executor.shutdownNow();
+	}
+
 	@Test
 	public void createWithIndicators() {
 		Map<String, HealthIndicator> indicators = new HashMap<>();
@@ -90,4 +106,111 @@ public class CompositeHealthIndicatorTests {
 						+ ":{\"2\":\"2\"}}}}}}");
 	}
 
+	@Test
+	public void parallelStrategy() throws Exception {
+		CountDownLatch latch = new CountDownLatch(2);
+		Map<String, HealthIndicator> indicators = new LinkedHashMap<>();
+		indicators.put("one", () -> awaitLatch(latch, this.one));
+		indicators.put("two", () -> awaitLatch(latch, this.two));
+		CompositeHealthIndicator composite = new CompositeHealthIndicator(
+				this.healthAggregator, indicators).parallelStrategy(this.executor,
+						10000, null);
+		Health result = composite.health();
+		assertThat(result.getDetails()).containsOnlyKeys("one", "two");
+		assertThat(result.getDetails()).containsEntry("one",
+				new Health.Builder().unknown().withDetail("1", "1").build());
+		assertThat(result.getDetails()).containsEntry("two",
+				new Health.Builder().unknown().withDetail("2", "2").build());
+	}
+
+	@Test
+	public void parallelStrategyWithTimeout() {
+		CountDownLatch latch = new CountDownLatch(1);
+		Map<String, HealthIndicator> indicators = new LinkedHashMap<>();
+		indicators.put("one", this.one);
+		indicators.put("slow", () -> {
+			try {
+				latch.await();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			return this.two.health();
+		});
+		Health timeoutHealth = Health.down().withDetail("error", "timeout").build();
+		CompositeHealthIndicator composite = new CompositeHealthIndicator(
+				this.healthAggregator, indicators).parallelStrategy(this.executor, 100,
+						timeoutHealth);
+		try {
+			Health result = composite.health();
+			assertThat(result.getStatus()).isEqualTo(Status.DOWN);
+			assertThat(result.getDetails()).containsEntry("slow", timeoutHealth);
+		}
+		finally {
+			latch.countDown();
+		}
+	}
+
+	@Test
+	public void parallelStrategyInterruptsIndicatorThatTimesOut() throws Exception {
+		CountDownLatch interrupted = new CountDownLatch(1);
+		Map<String, HealthIndicator> indicators = new LinkedHashMap<>();
+		indicators.put("slow", () -> {
+			try {
+				Thread.sleep(10000);
+			}
+			catch (InterruptedException ex) {
+				interrupted.countDown();
+			}
+			return this.one.health();
+		});
+		CompositeHealthIndicator composite = new CompositeHealthIndicator(
+				this.healthAggregator, indicators).parallelStrategy(this.executor, 100,
+						null);
+		Health result = composite.health();
+		assertThat(result.getDetails()).containsEntry("slow",
+				Health.unknown().build());
+		assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+	}
+
+	@Test
+	public void parallelStrategyWithRejectedIndicator() {
+		Map<String, HealthIndicator> indicators = new LinkedHashMap<>();
+		indicators.put("one", this.one);
+		Health timeoutHealth = Health.down().withDetail("error", "timeout").build();
+		CompositeHealthIndicator composite = new CompositeHealthIndicator(
+				this.healthAggregator, indicators).parallelStrategy((task) -> {
+					throw new RejectedExecutionException();
+				}, 100, timeoutHealth);
+		Health result = composite.health();
+		assertThat(result.getDetails()).containsEntry("one", timeoutHealth);
+		verify(this.one, never()).health();
+	}
+
+	@Test
+	public void parallelStrategyWithFailure() {
+		Map<String, HealthIndicator> indicators = new LinkedHashMap<>();
+		indicators.put("one", () -> {
+			throw new IllegalStateException("failed");
+		});
+		CompositeHealthIndicator composite = new CompositeHealthIndicator(
+				this.healthAggregator, indicators).parallelStrategy(this.executor,
+						10000, null);
+		Health result = composite.health();
+		assertThat(result.getStatus()).isEqualTo(Status.DOWN);
+		assertThat(((Health) result.getDetails().get("one")).getDetails())
+				.containsEntry("error", "java.lang.IllegalStateException: failed");
+	}
+
+	private Health awaitLatch(CountDownLatch latch, HealthIndicator indicator) {
+		latch.countDown();
+		try {
+			latch.await();
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+		return indicator.health();
+	}
+
 }
@@ -30,6 +30,8 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 /**
  * Tests for {@link PrometheusScrapeEndpoint}.
  *
@@ -47,6 +49,32 @@ public class PrometheusScrapeEndpointIntegrationTests {
 				.contentType(MediaType.parseMediaType(TextFormat.CONTENT_TYPE_004));
 	}
 
+	@Test
+	public void scrapeHasMetrics() {
+		String body = client.get().uri("/actuator/prometheus").exchange()
+				.expectStatus().isOk().expectBody(String.class).returnResult()
+				.getResponseBody();
+		assertThat(body).contains("counter1_total 1.0")
+				.contains("counter2_total 2.0");
+	}
+
+	@Test
+	public void scrapeHasContentLength() {
+		byte[] body = client.get().uri("/actuator/prometheus").exchange()
+				.expectStatus().isOk().expectBody().returnResult().getResponseBody();
+		client.get().uri("/actuator/prometheus").exchange().expectHeader()
+				.contentLength(body.length);
+	}
+
+	@Test
+	public void scrapeAsString() {
+		CollectorRegistry registry = new CollectorRegistry(true);
+		new PrometheusMeterRegistry((k) -> null, registry, Clock.SYSTEM)
+				.counter("counter1").increment();
+		assertThat(new PrometheusScrapeEndpoint(registry).scrape())
+				.contains("counter1_total 1.0");
+	}
+
 	@Configuration
 	static class TestConfiguration {
 
@@ -63,7 +91,11 @@ public class PrometheusScrapeEndpointIntegrationTests {
 
 		@Bean
 		public MeterRegistry registry(CollectorRegistry registry) {
-			return new PrometheusMeterRegistry((k) -> null, registry, Clock.SYSTEM);
+			PrometheusMeterRegistry meterRegistry = new PrometheusMeterRegistry(
+					(k) -> null, registry, Clock.SYSTEM);
+			meterRegistry.counter("counter1").increment();
+			meterRegistry.counter("counter2").increment(2);
+			return meterRegistry;
 		}
 
 	}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.web.jetty;
+
+import java.util.Collections;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eclipse.jetty.io.ConnectionStatistics;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link JettyServerMetrics}.
+ */
+public class JettyServerMetricsTests {
+
+	private final Server server = new Server();
+
+	@After
+	public void stopServer() throws Exception {
+		this.server.stop();
+	}
+
+	@Test
+	public void threadPoolIsInstrumented() throws Exception {
+		this.server.addConnector(new ServerConnector(this.server));
+		this.server.start();
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		new JettyServerMetrics(this.server, Tags.of("env", "prod")).bindTo(registry);
+		assertThat(registry.get("jetty.threads.current").tags("env", "prod").gauge()
+				.value()).isGreaterThan(0);
+		assertThat(registry.get("jetty.threads.busy").gauge().value())
+				.isGreaterThan(0);
+		assertThat(registry.get("jetty.threads.config.max").gauge().value())
+				.isEqualTo(200);
+		registry.get("jetty.threads.idle").gauge();
+		registry.get("jetty.threads.jobs").gauge();
+		assertThat(registry.find("jetty.connections.current").meter()).isNull();
+	}
+
+	@Test
+	public void connectionsAreInstrumentedWhenStatisticsAreEnabled() throws Exception {
+		ServerConnector connector = new ServerConnector(this.server);
+		connector.setAcceptQueueSize(50);
+		this.server.addConnector(connector);
+		JettyServerMetrics.enableConnectionStatistics(this.server);
+		this.server.start();
+		assertThat(connector.getBean(ConnectionStatistics.class)).isNotNull();
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		new JettyServerMetrics(this.server, Collections.emptyList()).bindTo(registry);
+		assertThat(registry.get("jetty.connections.current").gauge().value())
+				.isEqualTo(0);
+		assertThat(registry.get("jetty.connections.accept.queue.config").gauge()
+				.value()).isEqualTo(50);
+		registry.get("jetty.connections.max").gauge();
+		registry.get("jetty.connections.bytes.in").functionCounter();
+		registry.get("jetty.connections.bytes.out").functionCounter();
+	}
+
+	@Test
+	public void connectionStatisticsAreOnlyAddedOnce() {
+		ServerConnector connector = new ServerConnector(this.server);
+		this.server.addConnector(connector);
+		JettyServerMetrics.enableConnectionStatistics(this.server);
+		JettyServerMetrics.enableConnectionStatistics(this.server);
+		assertThat(connector.getBeans(ConnectionStatistics.class)).hasSize(1);
+	}
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.web.netty;
+
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Future;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link NettyEventLoopMetrics}.
+ */
+public class NettyEventLoopMetricsTests {
+
+	private final EventLoopGroup eventLoopGroup = new NioEventLoopGroup(2);
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	@After
+	public void shutdown() {
+		this.eventLoopGroup.shutdownGracefully(0, 0, TimeUnit.SECONDS);
+	}
+
+	@Test
+	public void eventLoopThreadsAreInstrumented() {
+		new NettyEventLoopMetrics(this.eventLoopGroup, Tags.of("env", "prod"))
+				.bindTo(this.registry);
+		assertThat(this.registry.get("netty.eventloop.threads").tags("env", "prod")
+				.gauge().value()).isEqualTo(2);
+	}
+
+	@Test
+	public void pendingTasksAreCountedWithoutWaitingForTheEventLoop() throws Exception {
+		new NettyEventLoopMetrics(this.eventLoopGroup, Collections.emptyList())
+				.bindTo(this.registry);
+		EventExecutor eventLoop = this.eventLoopGroup.next();
+		CountDownLatch running = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		eventLoop.execute(() -> {
+			running.countDown();
+			await(release);
+		});
+		assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(pendingTasks()).isEqualTo(0);
+		assertThat(release.getCount()).isEqualTo(1);
+		eventLoop.execute(() -> {
+		});
+		eventLoop.execute(() -> {
+		});
+		Future<?> processed = eventLoop.submit(() -> {
+		});
+		release.countDown();
+		assertThat(processed.await(5, TimeUnit.SECONDS)).isTrue();
+		// Counted before the three tasks ran, by the request made while blocked
+		assertThat(pendingTasks()).isEqualTo(3);
+	}
+
+	private double pendingTasks() {
+		return this.registry.get("netty.eventloop.tasks.pending").gauge().value();
+	}
+
+	private void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
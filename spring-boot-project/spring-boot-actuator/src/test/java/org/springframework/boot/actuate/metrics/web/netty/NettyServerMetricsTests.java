@@ -0,0 +1,73 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.web.netty;
+
+import java.util.Collections;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link NettyServerMetrics}.
+ */
+public class NettyServerMetricsTests {
+
+	private final NettyServerMetrics metrics = new NettyServerMetrics(
+			Collections.emptyList());
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	@Test
+	public void openConnectionsAreCounted() {
+		this.metrics.bindTo(this.registry);
+		EmbeddedChannel first = instrumentedChannel();
+		EmbeddedChannel second = instrumentedChannel();
+		assertThat(gauge("netty.connections.current")).isEqualTo(2);
+		first.close();
+		assertThat(gauge("netty.connections.current")).isEqualTo(1);
+		second.close();
+		assertThat(gauge("netty.connections.current")).isEqualTo(0);
+	}
+
+	@Test
+	public void bytesReceivedAndSentAreCounted() {
+		this.metrics.bindTo(this.registry);
+		EmbeddedChannel channel = instrumentedChannel();
+		channel.writeInbound(Unpooled.wrappedBuffer(new byte[10]));
+		channel.writeOutbound(Unpooled.wrappedBuffer(new byte[25]));
+		assertThat(this.registry.get("netty.connections.bytes.in").functionCounter()
+				.count()).isEqualTo(10);
+		assertThat(this.registry.get("netty.connections.bytes.out").functionCounter()
+				.count()).isEqualTo(25);
+		channel.finishAndReleaseAll();
+	}
+
+	private EmbeddedChannel instrumentedChannel() {
+		EmbeddedChannel channel = new EmbeddedChannel();
+		this.metrics.instrument(channel);
+		return channel;
+	}
+
+	private double gauge(String name) {
+		return this.registry.get(name).gauge().value();
+	}
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.web.reactive.server;
+
+import io.micrometer.core.instrument.Tag;
+import org.junit.Test;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link DefaultWebFluxTagsProvider}.
+ */
+public class DefaultWebFluxTagsProviderTests {
+
+	private final DefaultWebFluxTagsProvider tagsProvider = new DefaultWebFluxTagsProvider();
+
+	@Test
+	public void tagsForMatchedExchangeAreCached() {
+		Iterable<Tag> tags = this.tagsProvider.httpRequestTags(
+				createExchange("/projects/spring-boot", "/projects/{project}"), null);
+		assertThat(tags).containsExactlyInAnyOrder(Tag.of("method", "GET"),
+				Tag.of("uri", "/projects/{project}"), Tag.of("exception", "None"),
+				Tag.of("status", "200"));
+		assertThat(this.tagsProvider.httpRequestTags(
+				createExchange("/projects/spring-framework", "/projects/{project}"),
+				null)).isSameAs(tags);
+	}
+
+	@Test
+	public void tagsForMatchedExchangeWithDifferentStatusAreNotShared() {
+		Iterable<Tag> tags = this.tagsProvider.httpRequestTags(
+				createExchange("/projects/spring-boot", "/projects/{project}"), null);
+		MockServerWebExchange exchange = createExchange("/projects/spring-boot",
+				"/projects/{project}");
+		exchange.getResponse().setStatusCode(HttpStatus.INTERNAL_SERVER_ERROR);
+		Iterable<Tag> errorTags = this.tagsProvider.httpRequestTags(exchange,
+				new IllegalStateException());
+		assertThat(errorTags).isNotSameAs(tags).contains(Tag.of("status", "500"),
+				Tag.of("exception", "IllegalStateException"));
+	}
+
+	@Test
+	public void tagsForUnmatchedExchangeUsePath() {
+		Iterable<Tag> tags = this.tagsProvider.httpRequestTags(
+				createExchange("/projects/spring-boot", null), null);
+		assertThat(tags).contains(Tag.of("uri", "/projects/spring-boot"));
+		assertThat(this.tagsProvider.httpRequestTags(
+				createExchange("/projects/spring-framework", null), null))
+						.contains(Tag.of("uri", "/projects/spring-framework"));
+	}
+
+	private MockServerWebExchange createExchange(String path, String pathPattern) {
+		MockServerWebExchange exchange = MockServerWebExchange
+				.from(MockServerHttpRequest.get(path).build());
+		if (pathPattern != null) {
+			exchange.getAttributes().put(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE,
+					new PathPatternParser().parse(pathPattern));
+		}
+		return exchange;
+	}
+
+}
@@ -92,6 +92,20 @@ public class MetricsWebFilterTests {
 		assertMetricsContainsTag("status", "500");
 	}
 
+	@Test
+	public void filterRecordsRepeatedExchangesWithSameTimer() {
+		for (int i = 0; i < 2; i++) {
+			MockServerWebExchange exchange = createExchange("/projects/spring-boot",
+					"/projects/{project}");
+			this.webFilter.filter(exchange,
+					(serverWebExchange) -> exchange.getResponse().setComplete()).block();
+		}
+		assertThat(this.registry.get(REQUEST_METRICS_NAME)
+				.tag("uri", "/projects/{project}").timers()).hasSize(1);
+		assertThat(this.registry.get(REQUEST_METRICS_NAME)
+				.tag("uri", "/projects/{project}").timer().count()).isEqualTo(2);
+	}
+
 	private MockServerWebExchange createExchange(String path, String pathPattern) {
 		PathPatternParser parser = new PathPatternParser();
 		MockServerWebExchange exchange = MockServerWebExchange
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.web.server;
+
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Test;
+
+import org.springframework.boot.web.server.WebServerExecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link WebServerExecutorMetrics}.
+ */
+public class WebServerExecutorMetricsTests {
+
+	private final WebServerExecutor executor = WebServerExecutor.bounded("test-", 4, 10);
+
+	@After
+	public void shutdown() {
+		this.executor.shutdown();
+	}
+
+	@Test
+	public void executorMetricsAreBound() throws Exception {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		new WebServerExecutorMetrics(this.executor, Collections.emptyList())
+				.bindTo(registry);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		this.executor.execute(() -> {
+			started.countDown();
+			try {
+				release.await(5, TimeUnit.SECONDS);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(registry.get("webserver.executor.active").tag("type", "bounded")
+				.gauge().value()).isEqualTo(1);
+		assertThat(registry.get("webserver.executor.pool.max").gauge().value())
+				.isEqualTo(4);
+		assertThat(registry.get("webserver.executor.pool.size").gauge().value())
+				.isEqualTo(1);
+		assertThat(registry.get("webserver.executor.queued").gauge().value())
+				.isEqualTo(0);
+		assertThat(registry.get("webserver.executor.rejected").functionCounter()
+				.count()).isEqualTo(0);
+		release.countDown();
+		assertThat(registry.get("webserver.executor.completed").functionCounter())
+				.isNotNull();
+	}
+
+}
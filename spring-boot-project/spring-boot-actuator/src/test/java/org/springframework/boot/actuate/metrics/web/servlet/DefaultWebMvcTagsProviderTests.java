@@ -0,0 +1,83 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.web.servlet;
+
+import io.micrometer.core.instrument.Tag;
+import org.junit.Test;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link DefaultWebMvcTagsProvider}.
+ */
+public class DefaultWebMvcTagsProviderTests {
+
+	private final DefaultWebMvcTagsProvider tagsProvider = new DefaultWebMvcTagsProvider();
+
+	@Test
+	public void tagsForMatchedRequestAreCached() {
+		Iterable<Tag> tags = this.tagsProvider.getTags(
+				createRequest("/projects/spring-boot", "/projects/{project}"),
+				new MockHttpServletResponse(), null, null);
+		assertThat(tags).containsExactlyInAnyOrder(Tag.of("method", "GET"),
+				Tag.of("uri", "/projects/{project}"), Tag.of("exception", "None"),
+				Tag.of("status", "200"));
+		assertThat(this.tagsProvider.getTags(
+				createRequest("/projects/spring-framework", "/projects/{project}"),
+				new MockHttpServletResponse(), null, null)).isSameAs(tags);
+	}
+
+	@Test
+	public void tagsForMatchedRequestWithDifferentStatusAreNotShared() {
+		Iterable<Tag> tags = this.tagsProvider.getTags(
+				createRequest("/projects/spring-boot", "/projects/{project}"),
+				new MockHttpServletResponse(), null, null);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		response.setStatus(500);
+		Iterable<Tag> errorTags = this.tagsProvider.getTags(
+				createRequest("/projects/spring-boot", "/projects/{project}"), response,
+				null, new IllegalStateException());
+		assertThat(errorTags).isNotSameAs(tags).contains(Tag.of("status", "500"),
+				Tag.of("exception", "IllegalStateException"));
+	}
+
+	@Test
+	public void tagsForUnmatchedRequestUsePathInfo() {
+		Iterable<Tag> tags = this.tagsProvider.getTags(
+				createRequest("/projects/spring-boot", null),
+				new MockHttpServletResponse(), null, null);
+		assertThat(tags).contains(Tag.of("uri", "/projects/spring-boot"));
+		assertThat(this.tagsProvider.getTags(
+				createRequest("/projects/spring-framework", null),
+				new MockHttpServletResponse(), null, null))
+						.contains(Tag.of("uri", "/projects/spring-framework"));
+	}
+
+	private MockHttpServletRequest createRequest(String path, String pattern) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+		request.setPathInfo(path);
+		if (pattern != null) {
+			request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+		}
+		return request;
+	}
+
+}
@@ -39,6 +39,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.context.WebApplicationContext;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -99,6 +101,19 @@ public class WebMvcMetricsFilterAutoTimedTests {
 					new DefaultWebMvcTagsProvider(), "http.server.requests", true);
 		}
 
+		@Bean
+		public WebMvcConfigurer metricsWebMvcConfigurer(MeterRegistry registry) {
+			return new WebMvcConfigurer() {
+
+				@Override
+				public void addInterceptors(InterceptorRegistry interceptors) {
+					interceptors.addInterceptor(new WebMvcMetricsHandlerInterceptor(
+							registry, new DefaultWebMvcTagsProvider()));
+				}
+
+			};
+		}
+
 	}
 
 	@RestController
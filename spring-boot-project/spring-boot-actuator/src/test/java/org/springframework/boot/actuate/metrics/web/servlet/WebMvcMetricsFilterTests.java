@@ -28,6 +28,7 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import javax.servlet.FilterChain;
@@ -60,6 +61,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
 import org.springframework.http.HttpStatus;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.context.web.WebAppConfiguration;
@@ -74,8 +76,13 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.context.WebApplicationContext;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.servlet.ModelAndView;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.web.util.NestedServletException;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -108,6 +115,9 @@ public class WebMvcMetricsFilterTests {
 	@Autowired
 	private WebMvcMetricsFilter filter;
 
+	@Autowired
+	private CountingHandlerMapping countingHandlerMapping;
+
 	private MockMvc mvc;
 
 	@Autowired
@@ -132,6 +142,22 @@ public class WebMvcMetricsFilterTests {
 				.count()).isEqualTo(1);
 	}
 
+	@Test
+	public void handlerIsOnlyResolvedOnce() throws Exception {
+		this.countingHandlerMapping.count.set(0);
+		this.mvc.perform(get("/api/c1/untimed/10")).andExpect(status().isOk());
+		assertThat(this.countingHandlerMapping.count.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void timedMethodWhenEarlierInterceptorRejectsRequest() throws Exception {
+		this.mvc.perform(get("/api/c1/10").header("X-Reject", "true"))
+				.andExpect(status().isForbidden());
+		assertThat(this.registry.get("http.server.requests")
+				.tags("status", "403", "uri", "/api/c1/{id}", "public", "true").timer()
+				.count()).isEqualTo(1);
+	}
+
 	@Test
 	public void subclassedTimedMethod() throws Exception {
 		this.mvc.perform(get("/api/c1/metaTimed/10")).andExpect(status().isOk());
@@ -350,6 +376,16 @@ public class WebMvcMetricsFilterTests {
 			return new RedirectAndNotFoundFilter();
 		}
 
+		@Bean
+		RejectingWebMvcConfigurer rejectingWebMvcConfigurer() {
+			return new RejectingWebMvcConfigurer();
+		}
+
+		@Bean
+		CountingHandlerMapping countingHandlerMapping() {
+			return new CountingHandlerMapping();
+		}
+
 		@Bean(name = "callableBarrier")
 		CyclicBarrier callableBarrier() {
 			return new CyclicBarrier(2);
@@ -367,6 +403,19 @@ public class WebMvcMetricsFilterTests {
 					"http.server.requests", true);
 		}
 
+		@Bean
+		public WebMvcConfigurer metricsWebMvcConfigurer(MeterRegistry registry) {
+			return new WebMvcConfigurer() {
+
+				@Override
+				public void addInterceptors(InterceptorRegistry interceptors) {
+					interceptors.addInterceptor(new WebMvcMetricsHandlerInterceptor(
+							registry, new DefaultWebMvcTagsProvider()));
+				}
+
+			};
+		}
+
 	}
 
 	@RestController
@@ -490,6 +539,49 @@ public class WebMvcMetricsFilterTests {
 
 	}
 
+	static class CountingHandlerMapping implements HandlerMapping, Ordered {
+
+		private final AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public HandlerExecutionChain getHandler(HttpServletRequest request) {
+			this.count.incrementAndGet();
+			return null;
+		}
+
+		@Override
+		public int getOrder() {
+			return Ordered.HIGHEST_PRECEDENCE;
+		}
+
+	}
+
+	static class RejectingWebMvcConfigurer implements WebMvcConfigurer, Ordered {
+
+		@Override
+		public void addInterceptors(InterceptorRegistry registry) {
+			registry.addInterceptor(new HandlerInterceptor() {
+
+				@Override
+				public boolean preHandle(HttpServletRequest request,
+						HttpServletResponse response, Object handler) {
+					if (request.getHeader("X-Reject") != null) {
+						response.setStatus(HttpStatus.FORBIDDEN.value());
+						return false;
+					}
+					return true;
+				}
+
+			});
+		}
+
+		@Override
+		public int getOrder() {
+			return Ordered.HIGHEST_PRECEDENCE;
+		}
+
+	}
+
 	static class RedirectAndNotFoundFilter extends OncePerRequestFilter {
 
 		static final String TEST_MISBEHAVE_HEADER = "x-test-misbehave-status";
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.web.undertow;
+
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.Collections;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.undertow.Undertow;
+import io.undertow.UndertowOptions;
+import org.junit.After;
+import org.junit.Test;
+
+import org.springframework.util.StreamUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link UndertowServerMetrics}.
+ */
+public class UndertowServerMetricsTests {
+
+	private Undertow undertow;
+
+	@After
+	public void stopServer() {
+		if (this.undertow != null) {
+			this.undertow.stop();
+		}
+	}
+
+	@Test
+	public void workerIsInstrumented() {
+		this.undertow = start(Undertow.builder().setWorkerThreads(8));
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		new UndertowServerMetrics(this.undertow, Tags.of("env", "prod"))
+				.bindTo(registry);
+		assertThat(registry.get("undertow.threads.io").tags("env", "prod").gauge()
+				.value()).isGreaterThan(0);
+		assertThat(registry.get("undertow.threads.worker.config.max").gauge().value())
+				.isEqualTo(8);
+		assertThat(registry.get("undertow.threads.worker.config.core").gauge().value())
+				.isEqualTo(8);
+		assertThat(registry.get("undertow.threads.worker.queued").gauge().value())
+				.isEqualTo(0);
+		assertThat(registry.find("undertow.connections.current").meter()).isNull();
+	}
+
+	@Test
+	public void connectionsAreInstrumentedWhenStatisticsAreEnabled() throws Exception {
+		this.undertow = start(Undertow.builder()
+				.setServerOption(UndertowOptions.ENABLE_STATISTICS, true));
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		new UndertowServerMetrics(this.undertow, Collections.emptyList())
+				.bindTo(registry);
+		int port = ((InetSocketAddress) this.undertow.getListenerInfo().get(0)
+				.getAddress()).getPort();
+		try (InputStream stream = new URL("http://localhost:" + port + "/")
+				.openStream()) {
+			assertThat(StreamUtils.copyToByteArray(stream)).isEqualTo("Hello".getBytes());
+		}
+		assertThat(registry.get("undertow.connections.bytes.in").functionCounter()
+				.count()).isGreaterThan(0);
+		assertThat(registry.get("undertow.connections.bytes.out").functionCounter()
+				.count()).isGreaterThan(0);
+		registry.get("undertow.connections.current").gauge();
+		registry.get("undertow.requests.active").gauge();
+	}
+
+	private Undertow start(Undertow.Builder builder) {
+		Undertow undertow = builder.addHttpListener(0, "localhost")
+				.setHandler((exchange) -> exchange.getResponseSender().send("Hello"))
+				.build();
+		undertow.start();
+		return undertow;
+	}
+
+}
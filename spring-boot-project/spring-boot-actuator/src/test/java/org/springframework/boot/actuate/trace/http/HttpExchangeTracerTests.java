@@ -22,8 +22,10 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 import org.junit.Test;
 
@@ -31,8 +33,12 @@ import org.springframework.boot.actuate.trace.http.HttpTrace.Request;
 import org.springframework.http.HttpHeaders;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 
 /**
  * Tests for {@link HttpExchangeTracer}.
@@ -291,6 +297,88 @@ public class HttpExchangeTracerTests {
 		assertThat(trace.getTimeTaken()).isNotNull();
 	}
 
+	@Test
+	public void sendingResponseWhenSampledReturnsTrue() {
+		HttpTrace trace = new HttpTrace(createRequest());
+		boolean sampled = new HttpExchangeTracer(EnumSet.of(Include.TIME_TAKEN),
+				(request, status, timeTaken) -> status == 204)
+						.sendingResponseIfSampled(trace, createResponse(), null, null);
+		assertThat(sampled).isTrue();
+		assertThat(trace.getResponse()).isNotNull();
+		assertThat(trace.getTimeTaken()).isNotNull();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void sendingResponseWhenNotSampledDoesNotCaptureExchange() {
+		TraceableRequest request = createRequest();
+		TraceableResponse response = createResponse();
+		Supplier<Principal> principal = mock(Supplier.class);
+		HttpExchangeTracer tracer = new HttpExchangeTracer(EnumSet.allOf(Include.class),
+				(sampledRequest, status, timeTaken) -> false);
+		HttpTrace trace = tracer.receivedRequest(request);
+		boolean sampled = tracer.sendingResponseIfSampled(trace, response, principal,
+				null);
+		assertThat(sampled).isFalse();
+		assertThat(trace.getResponse()).isNull();
+		assertThat(trace.getTimeTaken()).isNull();
+		verify(response, never()).getHeaders();
+		verifyZeroInteractions(principal);
+	}
+
+	@Test
+	public void requestNotSampledWhenReceivedIsNotCaptured() {
+		TraceableRequest request = createRequest();
+		TraceableResponse response = createResponse();
+		HttpExchangeTracer tracer = new HttpExchangeTracer(EnumSet.allOf(Include.class),
+				HttpTraceSampler.percentage(0));
+		HttpTrace trace = tracer.receivedRequest(request);
+		boolean sampled = tracer.sendingResponseIfSampled(trace, response, null, null);
+		assertThat(sampled).isFalse();
+		assertThat(trace.getRequest().getHeaders()).isEmpty();
+		assertThat(trace.getResponse()).isNull();
+		verify(request, never()).getHeaders();
+		verify(request, never()).getRemoteAddress();
+		verify(response, never()).getHeaders();
+	}
+
+	@Test
+	public void sendingResponseTracesExchangeRegardlessOfSampler() {
+		HttpTrace trace = new HttpTrace(createRequest());
+		new HttpExchangeTracer(EnumSet.of(Include.TIME_TAKEN),
+				(request, status, timeTaken) -> false).sendingResponse(trace,
+						createResponse(), null, null);
+		assertThat(trace.getResponse()).isNotNull();
+		assertThat(trace.getTimeTaken()).isNotNull();
+	}
+
+	@Test
+	public void requestHeadersAreCapturedWhenRequestIsReceived() {
+		TraceableRequest request = createRequest();
+		HttpExchangeTracer tracer = new HttpExchangeTracer(
+				EnumSet.of(Include.REQUEST_HEADERS));
+		HttpTrace trace = tracer.receivedRequest(request);
+		verify(request).getHeaders();
+		tracer.sendingResponse(trace, createResponse(), null, null);
+		assertThat(trace.getRequest().getHeaders()).containsOnlyKeys(HttpHeaders.ACCEPT);
+		assertThat(trace.getRequest().getHeaders().get(HttpHeaders.ACCEPT))
+				.containsExactly("application/json");
+		verify(request).getHeaders();
+	}
+
+	@Test
+	public void multiValuedAndEmptyHeadersAreRetained() {
+		Map<String, List<String>> headers = new LinkedHashMap<>();
+		headers.put(HttpHeaders.ACCEPT, Arrays.asList("text/plain", "text/html"));
+		headers.put("X-Empty", Collections.emptyList());
+		HttpTrace trace = new HttpTrace(createRequest());
+		new HttpExchangeTracer(EnumSet.of(Include.RESPONSE_HEADERS)).sendingResponse(
+				trace, createResponse(headers), null, null);
+		assertThat(trace.getResponse().getHeaders()).containsExactly(
+				entry(HttpHeaders.ACCEPT, Arrays.asList("text/plain", "text/html")),
+				entry("X-Empty", Collections.emptyList()));
+	}
+
 	private TraceableRequest createRequest() {
 		return createRequest(Collections.singletonMap(HttpHeaders.ACCEPT,
 				Arrays.asList("application/json")));
@@ -313,7 +401,7 @@ public class HttpExchangeTracerTests {
 	private TraceableResponse createResponse(Map<String, List<String>> headers) {
 		TraceableResponse response = mock(TraceableResponse.class);
 		given(response.getStatus()).willReturn(204);
-		given(response.getHeaders()).willReturn(new HashMap<>(headers));
+		given(response.getHeaders()).willReturn(new LinkedHashMap<>(headers));
 		return response;
 	}
 
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.trace.http;
+
+import java.time.Duration;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link HttpTraceSampler}.
+ */
+public class HttpTraceSamplerTests {
+
+	@Test
+	public void allSamplesEveryExchange() {
+		assertThat(HttpTraceSampler.all().isSampled(null, 200, 0)).isTrue();
+	}
+
+	@Test
+	public void percentageWhenZeroSamplesNoExchanges() {
+		HttpTraceSampler sampler = HttpTraceSampler.percentage(0);
+		for (int i = 0; i < 100; i++) {
+			assertThat(sampler.isSampled(mock(TraceableRequest.class))).isFalse();
+		}
+	}
+
+	@Test
+	public void percentageWhenOneHundredSamplesAllExchanges() {
+		HttpTraceSampler sampler = HttpTraceSampler.percentage(100);
+		for (int i = 0; i < 100; i++) {
+			assertThat(sampler.isSampled(mock(TraceableRequest.class))).isTrue();
+		}
+	}
+
+	@Test
+	public void percentageWhenOutOfRangeThrowsException() {
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> HttpTraceSampler.percentage(101))
+				.withMessage("Percentage must be between 0 and 100");
+	}
+
+	@Test
+	public void rateLimitedSamplesUpToRate() {
+		HttpTraceSampler sampler = HttpTraceSampler.rateLimited(3);
+		int sampled = 0;
+		for (int i = 0; i < 5; i++) {
+			sampled += (sampler.isSampled(mock(TraceableRequest.class)) ? 1 : 0);
+		}
+		assertThat(sampled).isBetween(3, 5);
+	}
+
+	@Test
+	public void rateLimitedWhenZeroSamplesNoExchanges() {
+		HttpTraceSampler sampler = HttpTraceSampler.rateLimited(0);
+		assertThat(sampler.isSampled(mock(TraceableRequest.class))).isFalse();
+	}
+
+	@Test
+	public void slowOrFailedSamplesSlowExchanges() {
+		HttpTraceSampler sampler = HttpTraceSampler
+				.slowOrFailed(Duration.ofMillis(100));
+		assertThat(sampler.isSampled(null, 200, 99)).isFalse();
+		assertThat(sampler.isSampled(null, 200, 100)).isTrue();
+	}
+
+	@Test
+	public void slowOrFailedSamplesServerErrors() {
+		HttpTraceSampler sampler = HttpTraceSampler
+				.slowOrFailed(Duration.ofMillis(100));
+		assertThat(sampler.isSampled(null, 404, 0)).isFalse();
+		assertThat(sampler.isSampled(null, 503, 0)).isTrue();
+	}
+
+	@Test
+	public void andRequiresBothSamplers() {
+		HttpTraceSampler sampler = HttpTraceSampler.slowOrFailed(Duration.ofMillis(100))
+				.and(HttpTraceSampler.percentage(0));
+		assertThat(sampler.isSampled(mock(TraceableRequest.class))).isFalse();
+		assertThat(sampler.isSampled(null, 200, 0)).isFalse();
+	}
+
+	@Test
+	public void percentageDoesNotRejectExchangesWhenResponseIsSent() {
+		HttpTraceSampler sampler = HttpTraceSampler.percentage(0);
+		assertThat(sampler.isSampled(null, 200, 0)).isTrue();
+	}
+
+	@Test
+	public void slowOrFailedDoesNotRejectReceivedRequests() {
+		HttpTraceSampler sampler = HttpTraceSampler
+				.slowOrFailed(Duration.ofMillis(100));
+		assertThat(sampler.isSampled(mock(TraceableRequest.class))).isTrue();
+	}
+
+}
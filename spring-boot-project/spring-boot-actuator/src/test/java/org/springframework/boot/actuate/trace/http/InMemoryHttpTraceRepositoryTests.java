@@ -16,7 +16,12 @@
 
 package org.springframework.boot.actuate.trace.http;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Test;
 
@@ -59,6 +64,113 @@ public class InMemoryHttpTraceRepositoryTests {
 		assertThat(traces.get(1).getRequest().getMethod()).isEqualTo("DELETE");
 	}
 
+	@Test
+	public void reducingCapacityRetainsMostRecentTraces() {
+		this.repository.add(new HttpTrace(createRequest("GET")));
+		this.repository.add(new HttpTrace(createRequest("POST")));
+		this.repository.add(new HttpTrace(createRequest("DELETE")));
+		this.repository.setCapacity(2);
+		List<HttpTrace> traces = this.repository.findAll();
+		assertThat(traces).hasSize(2);
+		assertThat(traces.get(0).getRequest().getMethod()).isEqualTo("DELETE");
+		assertThat(traces.get(1).getRequest().getMethod()).isEqualTo("POST");
+	}
+
+	@Test
+	public void concurrentAddsAreLimitedByCapacity() throws Exception {
+		this.repository.setCapacity(10);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		CountDownLatch latch = new CountDownLatch(1);
+		try {
+			for (int i = 0; i < 8; i++) {
+				executor.execute(() -> {
+					try {
+						latch.await();
+					}
+					catch (InterruptedException ex) {
+						Thread.currentThread().interrupt();
+					}
+					for (int j = 0; j < 1000; j++) {
+						this.repository.add(new HttpTrace(createRequest("GET")));
+					}
+				});
+			}
+			latch.countDown();
+		}
+		finally {
+			executor.shutdown();
+		}
+		assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+		assertThat(this.repository.findAll()).hasSize(10);
+	}
+
+	@Test
+	public void stalledWriterDoesNotOverwriteNewerTrace() {
+		InMemoryHttpTraceRepository.RingBuffer buffer = new InMemoryHttpTraceRepository.RingBuffer(
+				2);
+		HttpTrace stalled = new HttpTrace(createRequest("GET"));
+		HttpTrace post = new HttpTrace(createRequest("POST"));
+		HttpTrace delete = new HttpTrace(createRequest("DELETE"));
+		long sequence = buffer.claim();
+		buffer.add(post);
+		buffer.add(delete);
+		buffer.publish(sequence, stalled);
+		assertThat(buffer.snapshot()).containsExactly(post, delete);
+	}
+
+	@Test
+	public void interleavedStalledWritersRetainMostRecentTraces() throws Exception {
+		InMemoryHttpTraceRepository.RingBuffer buffer = new InMemoryHttpTraceRepository.RingBuffer(
+				10);
+		int writers = 8;
+		int tracesPerWriter = 1000;
+		HttpTrace[] traces = new HttpTrace[writers * tracesPerWriter];
+		for (int i = 0; i < traces.length; i++) {
+			traces[i] = new HttpTrace(createRequest("GET"));
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(writers);
+		CountDownLatch latch = new CountDownLatch(1);
+		try {
+			for (int i = 0; i < writers; i++) {
+				executor.execute(() -> {
+					try {
+						latch.await();
+					}
+					catch (InterruptedException ex) {
+						Thread.currentThread().interrupt();
+					}
+					for (int j = 0; j < tracesPerWriter; j++) {
+						long sequence = buffer.claim();
+						if (j % 10 == 0) {
+							Thread.yield();
+						}
+						buffer.publish(sequence, traces[(int) sequence]);
+					}
+				});
+			}
+			latch.countDown();
+		}
+		finally {
+			executor.shutdown();
+		}
+		assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+		assertThat(buffer.snapshot()).containsExactly(
+				Arrays.copyOfRange(traces, traces.length - 10, traces.length));
+	}
+
+	@Test
+	public void tracesAddedWhileCapacityIsChangedAreRetained() {
+		this.repository.setReverse(false);
+		this.repository.add(new HttpTrace(createRequest("GET")));
+		this.repository.add(new HttpTrace(createRequest("POST")));
+		this.repository.setCapacity(3);
+		this.repository.add(new HttpTrace(createRequest("DELETE")));
+		this.repository.add(new HttpTrace(createRequest("PUT")));
+		List<HttpTrace> traces = this.repository.findAll();
+		assertThat(traces).extracting((trace) -> trace.getRequest().getMethod())
+				.containsExactly("POST", "DELETE", "PUT");
+	}
+
 	private TraceableRequest createRequest(String method) {
 		TraceableRequest request = mock(TraceableRequest.class);
 		given(request.getMethod()).willReturn(method);
@@ -72,6 +72,27 @@ public class HttpTraceWebFilterTests {
 		assertThat(this.repository.findAll()).hasSize(1);
 	}
 
+	@Test
+	public void filterDoesNotTraceExchangeThatIsNotSampled()
+			throws ServletException, IOException {
+		HttpTraceWebFilter filter = new HttpTraceWebFilter(this.repository,
+				new HttpExchangeTracer(EnumSet.allOf(Include.class),
+						(request, status, timeTaken) -> status >= 500),
+				EnumSet.allOf(Include.class));
+		filter.filter(
+				MockServerWebExchange
+						.from(MockServerHttpRequest.get("https://api.example.com")),
+				new WebFilterChain() {
+
+					@Override
+					public Mono<Void> filter(ServerWebExchange exchange) {
+						return Mono.empty();
+					}
+
+				}).block();
+		assertThat(this.repository.findAll()).isEmpty();
+	}
+
 	@Test
 	public void filterCapturesSessionIdWhenSessionIsUsed()
 			throws ServletException, IOException {
@@ -69,6 +69,17 @@ public class HttpTraceFilterTests {
 		assertThat(this.repository.findAll()).hasSize(1);
 	}
 
+	@Test
+	public void filterDoesNotTraceExchangeThatIsNotSampled()
+			throws ServletException, IOException {
+		HttpTraceFilter filter = new HttpTraceFilter(this.repository,
+				new HttpExchangeTracer(EnumSet.allOf(Include.class),
+						(request, status, timeTaken) -> status >= 500));
+		filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(),
+				new MockFilterChain());
+		assertThat(this.repository.findAll()).isEmpty();
+	}
+
 	@Test
 	public void filterCapturesSessionId() throws ServletException, IOException {
 		this.filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(),
@@ -0,0 +1,301 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.util.DigestUtils;
+import org.springframework.util.ResourceUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Internal utility used to store the outcome of {@link AutoConfigurationImportFilter
+ * filtering} in a file so that it can be reused by subsequent starts of an application
+ * with the same classpath. Cached outcomes are only used if the fingerprint of the
+ * classpath, the candidate configurations and the filters is unchanged. Archives are
+ * fingerprinted using their size and modification time and directories using the names
+ * of the files that they contain.
+ *
+ * @see AutoConfigurationImportSelector
+ */
+final class AutoConfigurationImportFilterCache {
+
+	private static final Log logger = LogFactory
+			.getLog(AutoConfigurationImportFilterCache.class);
+
+	private static final String FINGERPRINT = "fingerprint";
+
+	private static final String SKIPPED = "skipped";
+
+	private static final String TIME_TAKEN = "time-taken";
+
+	private static final String OUTCOME_PREFIX = "outcome.";
+
+	private final File file;
+
+	private final String fingerprint;
+
+	AutoConfigurationImportFilterCache(File file, ClassLoader classLoader,
+			List<String> candidates, List<?> filters) {
+		this.file = file;
+		this.fingerprint = getFingerprint(classLoader, candidates, filters);
+	}
+
+	private String getFingerprint(ClassLoader classLoader, List<String> candidates,
+			List<?> filters) {
+		StringBuilder content = new StringBuilder();
+		for (String entry : getClassPath(classLoader)) {
+			content.append(entry);
+			File file = getFile(entry);
+			if (file != null && file.isDirectory()) {
+				appendDirectoryContent(content, file.toPath());
+			}
+			else if (file != null) {
+				content.append(':').append(file.length()).append(':')
+						.append(file.lastModified());
+			}
+			content.append('\n');
+		}
+		candidates.forEach((candidate) -> content.append(candidate).append('\n'));
+		filters.forEach((filter) -> content.append(filter.getClass().getName())
+				.append('\n'));
+		return DigestUtils
+				.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Append the names of the files in the given directory. The modification time of a
+	 * directory does not change when a file is added to or removed from one of its
+	 * sub-directories, whereas the outcome of the filters depends on the presence of
+	 * classes in any of them.
+	 * @param content the content to append to
+	 * @param directory the class path directory
+	 */
+	private void appendDirectoryContent(StringBuilder content, Path directory) {
+		try (Stream<Path> paths = Files.walk(directory)) {
+			paths.filter(Files::isRegularFile).map(directory::relativize)
+					.map(Path::toString).sorted()
+					.forEach((path) -> content.append(':').append(path));
+		}
+		catch (IOException | UncheckedIOException ex) {
+			// Never match so that the filters are always evaluated
+			content.append(':').append(System.nanoTime());
+		}
+	}
+
+	private Set<String> getClassPath(ClassLoader classLoader) {
+		Set<String> classPath = new LinkedHashSet<>();
+		while (classLoader != null) {
+			if (classLoader instanceof URLClassLoader) {
+				for (URL url : ((URLClassLoader) classLoader).getURLs()) {
+					classPath.add(url.toString());
+				}
+			}
+			classLoader = classLoader.getParent();
+		}
+		String javaClassPath = System.getProperty("java.class.path");
+		if (javaClassPath != null) {
+			Collections.addAll(classPath,
+					StringUtils.delimitedListToStringArray(javaClassPath,
+							File.pathSeparator));
+		}
+		return classPath;
+	}
+
+	private File getFile(String entry) {
+		try {
+			URL url = (entry.contains(":/") ? new URL(entry) : null);
+			File file = (url != null ? getFile(url) : new File(entry));
+			return (file != null && file.exists() ? file : null);
+		}
+		catch (Exception ex) {
+			return null;
+		}
+	}
+
+	private File getFile(URL url) throws Exception {
+		if (ResourceUtils.isJarURL(url)) {
+			url = ResourceUtils.extractArchiveURL(url);
+		}
+		return (ResourceUtils.isFileURL(url) ? ResourceUtils.getFile(url) : null);
+	}
+
+	/**
+	 * Load the cached outcome if it is present and matches the current fingerprint.
+	 * @return the cached outcome or {@code null}
+	 */
+	public CachedOutcome load() {
+		if (!this.file.isFile()) {
+			return null;
+		}
+		Properties properties = new Properties();
+		try (InputStream inputStream = Files.newInputStream(this.file.toPath())) {
+			properties.load(inputStream);
+		}
+		catch (IOException ex) {
+			logger.debug("Unable to read auto-configuration filter cache from "
+					+ this.file, ex);
+			return null;
+		}
+		if (!this.fingerprint.equals(properties.getProperty(FINGERPRINT))) {
+			return null;
+		}
+		Set<String> skipped = StringUtils.commaDelimitedListToSet(
+				properties.getProperty(SKIPPED, ""));
+		List<FilterOutcome> outcomes = new ArrayList<>();
+		for (int i = 0; properties
+				.containsKey(OUTCOME_PREFIX + i + ".source"); i++) {
+			String prefix = OUTCOME_PREFIX + i + ".";
+			outcomes.add(new FilterOutcome(properties.getProperty(prefix + "source"),
+					properties.getProperty(prefix + "filter"),
+					properties.getProperty(prefix + "message")));
+		}
+		long timeTaken = Long.parseLong(properties.getProperty(TIME_TAKEN, "0"));
+		return new CachedOutcome(skipped, outcomes, timeTaken);
+	}
+
+	/**
+	 * Save the given outcome so that it can be {@link #load() loaded} later. Failures
+	 * are logged rather than thrown since the cache is only an optimization.
+	 * @param outcome the outcome to save
+	 */
+	public void save(CachedOutcome outcome) {
+		Properties properties = new Properties();
+		properties.setProperty(FINGERPRINT, this.fingerprint);
+		properties.setProperty(SKIPPED,
+				StringUtils.collectionToCommaDelimitedString(outcome.getSkipped()));
+		properties.setProperty(TIME_TAKEN, Long.toString(outcome.getTimeTaken()));
+		int i = 0;
+		for (FilterOutcome filterOutcome : outcome.getOutcomes()) {
+			String prefix = OUTCOME_PREFIX + (i++) + ".";
+			properties.setProperty(prefix + "source", filterOutcome.getSource());
+			properties.setProperty(prefix + "filter", filterOutcome.getFilter());
+			properties.setProperty(prefix + "message", filterOutcome.getMessage());
+		}
+		try {
+			File directory = this.file.getAbsoluteFile().getParentFile();
+			directory.mkdirs();
+			File temp = File.createTempFile(this.file.getName(), ".tmp", directory);
+			try (OutputStream outputStream = Files.newOutputStream(temp.toPath())) {
+				properties.store(outputStream, "Auto-configuration filter cache");
+			}
+			Files.move(temp.toPath(), this.file.toPath(),
+					StandardCopyOption.REPLACE_EXISTING);
+		}
+		catch (IOException ex) {
+			logger.debug("Unable to write auto-configuration filter cache to "
+					+ this.file, ex);
+		}
+	}
+
+	/**
+	 * The outcome of filtering a set of candidate configurations.
+	 */
+	static final class CachedOutcome {
+
+		private final Set<String> skipped;
+
+		private final List<FilterOutcome> outcomes;
+
+		private final long timeTaken;
+
+		CachedOutcome(Collection<String> skipped, List<FilterOutcome> outcomes,
+				long timeTaken) {
+			this.skipped = new LinkedHashSet<>(skipped);
+			this.outcomes = outcomes;
+			this.timeTaken = timeTaken;
+		}
+
+		/**
+		 * Return the names of the configurations that were filtered out.
+		 * @return the skipped configurations
+		 */
+		public Set<String> getSkipped() {
+			return this.skipped;
+		}
+
+		/**
+		 * Return the outcomes recorded by the filters for skipped configurations.
+		 * @return the filter outcomes
+		 */
+		public List<FilterOutcome> getOutcomes() {
+			return this.outcomes;
+		}
+
+		/**
+		 * Return the time taken, in nanoseconds, to filter the configurations.
+		 * @return the time taken
+		 */
+		public long getTimeTaken() {
+			return this.timeTaken;
+		}
+
+	}
+
+	/**
+	 * A no-match outcome recorded by a filter for a configuration.
+	 */
+	static final class FilterOutcome {
+
+		private final String source;
+
+		private final String filter;
+
+		private final String message;
+
+		FilterOutcome(String source, String filter, String message) {
+			this.source = source;
+			this.filter = filter;
+			this.message = (message != null ? message : "");
+		}
+
+		public String getSource() {
+			return this.source;
+		}
+
+		public String getFilter() {
+			return this.filter;
+		}
+
+		public String getMessage() {
+			return this.message;
+		}
+
+	}
+
+}
@@ -16,6 +16,7 @@
 
 package org.springframework.boot.autoconfigure;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -37,9 +38,16 @@ import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.autoconfigure.AutoConfigurationImportFilterCache.CachedOutcome;
+import org.springframework.boot.autoconfigure.AutoConfigurationImportFilterCache.FilterOutcome;
+import org.springframework.boot.autoconfigure.condition.ConditionEvaluationReport;
+import org.springframework.boot.autoconfigure.condition.ConditionEvaluationReport.ConditionAndOutcome;
+import org.springframework.boot.autoconfigure.condition.ConditionEvaluationReport.ConditionAndOutcomes;
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
 import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.context.EnvironmentAware;
 import org.springframework.context.ResourceLoaderAware;
+import org.springframework.context.annotation.Condition;
 import org.springframework.context.annotation.DeferredImportSelector;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.AnnotationAttributes;
@@ -77,6 +85,8 @@ public class AutoConfigurationImportSelector
 
 	private static final String PROPERTY_NAME_AUTOCONFIGURE_EXCLUDE = "spring.autoconfigure.exclude";
 
+	private static final String PROPERTY_NAME_AUTOCONFIGURE_FILTER_CACHE = "spring.autoconfigure.filter-cache";
+
 	private ConfigurableListableBeanFactory beanFactory;
 
 	private Environment environment;
@@ -231,10 +241,17 @@ public class AutoConfigurationImportSelector
 	private List<String> filter(List<String> configurations,
 			AutoConfigurationMetadata autoConfigurationMetadata) {
 		long startTime = System.nanoTime();
+		List<AutoConfigurationImportFilter> filters = getAutoConfigurationImportFilters();
+		AutoConfigurationImportFilterCache cache = getFilterCache(configurations,
+				filters);
+		CachedOutcome cachedOutcome = (cache != null ? cache.load() : null);
+		if (cachedOutcome != null) {
+			return filter(configurations, filters, cachedOutcome, startTime);
+		}
 		String[] candidates = StringUtils.toStringArray(configurations);
 		boolean[] skip = new boolean[candidates.length];
 		boolean skipped = false;
-		for (AutoConfigurationImportFilter filter : getAutoConfigurationImportFilters()) {
+		for (AutoConfigurationImportFilter filter : filters) {
 			invokeAwareMethods(filter);
 			boolean[] match = filter.match(candidates, autoConfigurationMetadata);
 			for (int i = 0; i < match.length; i++) {
@@ -244,6 +261,10 @@ public class AutoConfigurationImportSelector
 				}
 			}
 		}
+		if (cache != null) {
+			cache.save(getCachedOutcome(candidates, skip, filters,
+					System.nanoTime() - startTime));
+		}
 		if (!skipped) {
 			return configurations;
 		}
@@ -262,6 +283,96 @@ public class AutoConfigurationImportSelector
 		return new ArrayList<>(result);
 	}
 
+	private AutoConfigurationImportFilterCache getFilterCache(
+			List<String> configurations, List<AutoConfigurationImportFilter> filters) {
+		String location = (getEnvironment() != null ? getEnvironment()
+				.getProperty(PROPERTY_NAME_AUTOCONFIGURE_FILTER_CACHE) : null);
+		if (!StringUtils.hasText(location)) {
+			return null;
+		}
+		return new AutoConfigurationImportFilterCache(new File(location),
+				this.beanClassLoader, configurations, filters);
+	}
+
+	private List<String> filter(List<String> configurations,
+			List<AutoConfigurationImportFilter> filters, CachedOutcome cachedOutcome,
+			long startTime) {
+		ConditionEvaluationReport report = getConditionEvaluationReport();
+		if (report != null) {
+			for (FilterOutcome filterOutcome : cachedOutcome.getOutcomes()) {
+				Condition condition = getCondition(filters, filterOutcome.getFilter());
+				if (condition != null) {
+					report.recordConditionEvaluation(filterOutcome.getSource(),
+							condition,
+							ConditionOutcome.noMatch(filterOutcome.getMessage()));
+				}
+			}
+		}
+		List<String> result = new ArrayList<>(configurations);
+		result.removeAll(cachedOutcome.getSkipped());
+		if (logger.isDebugEnabled()) {
+			long timeTaken = System.nanoTime() - startTime;
+			logger.debug("Filtered " + (configurations.size() - result.size())
+					+ " auto configuration class using cached outcomes in "
+					+ TimeUnit.NANOSECONDS.toMillis(timeTaken) + " ms (saved "
+					+ TimeUnit.NANOSECONDS.toMillis(
+							Math.max(0, cachedOutcome.getTimeTaken() - timeTaken))
+					+ " ms)");
+		}
+		return result;
+	}
+
+	private Condition getCondition(List<AutoConfigurationImportFilter> filters,
+			String filterClassName) {
+		for (AutoConfigurationImportFilter filter : filters) {
+			if (filter instanceof Condition
+					&& filter.getClass().getName().equals(filterClassName)) {
+				return (Condition) filter;
+			}
+		}
+		return null;
+	}
+
+	private CachedOutcome getCachedOutcome(String[] candidates, boolean[] skip,
+			List<AutoConfigurationImportFilter> filters, long timeTaken) {
+		Set<String> skipped = new LinkedHashSet<>();
+		for (int i = 0; i < candidates.length; i++) {
+			if (skip[i]) {
+				skipped.add(candidates[i]);
+			}
+		}
+		List<FilterOutcome> outcomes = new ArrayList<>();
+		ConditionEvaluationReport report = getConditionEvaluationReport();
+		if (report != null && !skipped.isEmpty()) {
+			Set<String> filterClassNames = filters.stream()
+					.map((filter) -> filter.getClass().getName())
+					.collect(Collectors.toSet());
+			Map<String, ConditionAndOutcomes> outcomesBySource = report
+					.getConditionAndOutcomesBySource();
+			for (String source : skipped) {
+				ConditionAndOutcomes sourceOutcomes = outcomesBySource.get(source);
+				if (sourceOutcomes != null) {
+					for (ConditionAndOutcome conditionAndOutcome : sourceOutcomes) {
+						String filterClassName = conditionAndOutcome.getCondition()
+								.getClass().getName();
+						ConditionOutcome outcome = conditionAndOutcome.getOutcome();
+						if (filterClassNames.contains(filterClassName)
+								&& !outcome.isMatch()) {
+							outcomes.add(new FilterOutcome(source, filterClassName,
+									outcome.getMessage()));
+						}
+					}
+				}
+			}
+		}
+		return new CachedOutcome(skipped, outcomes, timeTaken);
+	}
+
+	private ConditionEvaluationReport getConditionEvaluationReport() {
+		return (this.beanFactory != null
+				? ConditionEvaluationReport.get(this.beanFactory) : null);
+	}
+
 	protected List<AutoConfigurationImportFilter> getAutoConfigurationImportFilters() {
 		return SpringFactoriesLoader.loadFactories(AutoConfigurationImportFilter.class,
 				this.beanClassLoader);
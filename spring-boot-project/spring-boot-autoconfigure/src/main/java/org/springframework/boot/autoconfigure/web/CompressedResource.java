@@ -0,0 +1,217 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.web;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.StringUtils;
+
+/**
+ * A pre-compressed variant of a {@link Resource}: a sibling of the resource with a
+ * {@code .br} (Brotli) or {@code .gz} (gzip) extension. Shared by the resource
+ * resolvers that serve pre-compressed resources with Spring MVC and Spring WebFlux.
+ *
+ * @since 2.1.0
+ */
+public abstract class CompressedResource extends AbstractResource {
+
+	private static final Map<String, String> EXTENSIONS;
+
+	static {
+		Map<String, String> extensions = new LinkedHashMap<>();
+		extensions.put("br", ".br");
+		extensions.put("gzip", ".gz");
+		EXTENSIONS = Collections.unmodifiableMap(extensions);
+	}
+
+	private final Resource original;
+
+	private final Resource compressed;
+
+	private final String encoding;
+
+	/**
+	 * Create a new {@link CompressedResource} instance.
+	 * @param original the original resource
+	 * @param encoding the encoding, as returned by
+	 * {@link #getAcceptedEncodings(String)}
+	 * @throws IOException if the compressed variant cannot be created
+	 */
+	protected CompressedResource(Resource original, String encoding)
+			throws IOException {
+		this.original = original;
+		this.compressed = original
+				.createRelative(original.getFilename() + EXTENSIONS.get(encoding));
+		this.encoding = encoding;
+	}
+
+	/**
+	 * Return the original resource.
+	 * @return the original resource
+	 */
+	protected final Resource getOriginal() {
+		return this.original;
+	}
+
+	/**
+	 * Return the headers to add to the response that serves this resource.
+	 * @param originalHeaders the headers of the original resource or {@code null}
+	 * @return the response headers
+	 */
+	protected final HttpHeaders getResponseHeaders(HttpHeaders originalHeaders) {
+		HttpHeaders headers = new HttpHeaders();
+		if (originalHeaders != null) {
+			headers.putAll(originalHeaders);
+		}
+		headers.add(HttpHeaders.CONTENT_ENCODING, this.encoding);
+		headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+		return headers;
+	}
+
+	@Override
+	public InputStream getInputStream() throws IOException {
+		return this.compressed.getInputStream();
+	}
+
+	@Override
+	public boolean exists() {
+		return this.compressed.exists();
+	}
+
+	@Override
+	public boolean isReadable() {
+		return this.compressed.isReadable();
+	}
+
+	@Override
+	public boolean isOpen() {
+		return this.compressed.isOpen();
+	}
+
+	@Override
+	public boolean isFile() {
+		return this.compressed.isFile();
+	}
+
+	@Override
+	public URL getURL() throws IOException {
+		return this.compressed.getURL();
+	}
+
+	@Override
+	public URI getURI() throws IOException {
+		return this.compressed.getURI();
+	}
+
+	@Override
+	public File getFile() throws IOException {
+		return this.compressed.getFile();
+	}
+
+	@Override
+	public long contentLength() throws IOException {
+		return this.compressed.contentLength();
+	}
+
+	@Override
+	public long lastModified() throws IOException {
+		return this.compressed.lastModified();
+	}
+
+	@Override
+	public Resource createRelative(String relativePath) throws IOException {
+		return this.compressed.createRelative(relativePath);
+	}
+
+	@Override
+	public String getFilename() {
+		return this.original.getFilename();
+	}
+
+	@Override
+	public String getDescription() {
+		return this.compressed.getDescription();
+	}
+
+	/**
+	 * Return the supported encodings that are accepted by the given
+	 * {@code Accept-Encoding} header, in order of preference.
+	 * @param acceptEncoding the value of the header or {@code null}
+	 * @return the accepted encodings
+	 */
+	public static List<String> getAcceptedEncodings(String acceptEncoding) {
+		if (!StringUtils.hasText(acceptEncoding)) {
+			return Collections.emptyList();
+		}
+		List<String> accepted = new ArrayList<>();
+		boolean wildcard = false;
+		for (String token : StringUtils.commaDelimitedListToStringArray(acceptEncoding)) {
+			String[] parts = StringUtils.tokenizeToStringArray(token, ";");
+			if (parts.length > 0 && !isRejected(parts)) {
+				accepted.add(parts[0].toLowerCase());
+				wildcard = wildcard || "*".equals(parts[0]);
+			}
+		}
+		List<String> encodings = new ArrayList<>();
+		for (String encoding : EXTENSIONS.keySet()) {
+			if (wildcard || accepted.contains(encoding)) {
+				encodings.add(encoding);
+			}
+		}
+		return encodings;
+	}
+
+	private static boolean isRejected(String[] parts) {
+		for (int i = 1; i < parts.length; i++) {
+			String parameter = parts[i].replace(" ", "");
+			if (parameter.startsWith("q=")) {
+				try {
+					return Double.parseDouble(parameter.substring(2)) <= 0;
+				}
+				catch (NumberFormatException ex) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Return a resource cache key that includes the given accepted encodings so that a
+	 * compressed variant is only served to clients that accept it.
+	 * @param key the key of the resource
+	 * @param encodings the accepted encodings
+	 * @return the key
+	 */
+	public static String getCacheKey(String key, List<String> encodings) {
+		return (encodings.isEmpty() ? key : key + "+encoding="
+				+ StringUtils.collectionToCommaDelimitedString(encodings));
+	}
+
+}
@@ -21,6 +21,7 @@ import java.time.temporal.ChronoUnit;
 import java.util.concurrent.TimeUnit;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.DeprecatedConfigurationProperty;
 import org.springframework.boot.context.properties.PropertyMapper;
 import org.springframework.boot.convert.DurationUnit;
 import org.springframework.http.CacheControl;
@@ -112,10 +113,10 @@ public class ResourceProperties {
 		private boolean htmlApplicationCache = false;
 
 		/**
-		 * Whether to enable resolution of already gzipped resources. Checks for a
-		 * resource name variant with the "*.gz" extension.
+		 * Whether to enable resolution of already compressed resources (Brotli, gzip).
+		 * Checks for a resource name variant with the "*.br" or "*.gz" extension.
 		 */
-		private boolean gzipped = false;
+		private boolean compressed = false;
 
 		private final Strategy strategy = new Strategy();
 
@@ -154,12 +155,23 @@ public class ResourceProperties {
 			this.htmlApplicationCache = htmlApplicationCache;
 		}
 
+		public boolean isCompressed() {
+			return this.compressed;
+		}
+
+		public void setCompressed(boolean compressed) {
+			this.compressed = compressed;
+		}
+
+		@Deprecated
+		@DeprecatedConfigurationProperty(reason = "Superseded by support for Brotli compressed resources", replacement = "spring.resources.chain.compressed")
 		public boolean isGzipped() {
-			return this.gzipped;
+			return this.compressed;
 		}
 
+		@Deprecated
 		public void setGzipped(boolean gzipped) {
-			this.gzipped = gzipped;
+			this.compressed = gzipped;
 		}
 
 		static Boolean getEnabled(boolean fixedEnabled, boolean contentEnabled,
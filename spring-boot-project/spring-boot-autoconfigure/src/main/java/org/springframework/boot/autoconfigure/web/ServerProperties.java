@@ -34,6 +34,7 @@ import org.springframework.boot.convert.DurationUnit;
 import org.springframework.boot.web.server.Compression;
 import org.springframework.boot.web.server.Http2;
 import org.springframework.boot.web.server.Ssl;
+import org.springframework.boot.web.server.WebServerAccessLog;
 import org.springframework.boot.web.servlet.server.Jsp;
 import org.springframework.boot.web.servlet.server.Session;
 import org.springframework.util.StringUtils;
@@ -108,6 +109,10 @@ public class ServerProperties {
 
 	private final Undertow undertow = new Undertow();
 
+	private final Netty netty = new Netty();
+
+	private final AccessLog accessLog = new AccessLog();
+
 	public Integer getPort() {
 		return this.port;
 	}
@@ -192,6 +197,14 @@ public class ServerProperties {
 		return this.undertow;
 	}
 
+	public Netty getNetty() {
+		return this.netty;
+	}
+
+	public AccessLog getAccessLog() {
+		return this.accessLog;
+	}
+
 	/**
 	 * Servlet properties.
 	 */
@@ -218,6 +231,8 @@ public class ServerProperties {
 		@NestedConfigurationProperty
 		private final Session session = new Session();
 
+		private final Executor executor = new Executor();
+
 		public String getContextPath() {
 			return this.contextPath;
 		}
@@ -253,6 +268,90 @@ public class ServerProperties {
 			return this.session;
 		}
 
+		public Executor getExecutor() {
+			return this.executor;
+		}
+
+		/**
+		 * Executor properties.
+		 */
+		public static class Executor {
+
+			/**
+			 * Type of executor used to process requests in place of the server's own
+			 * worker thread pool. When not set, the server's own thread pool is used.
+			 */
+			private ExecutorType type;
+
+			/**
+			 * Maximum number of threads of a bounded executor. Also used when virtual
+			 * threads are requested but not supported by the JVM.
+			 */
+			private int maxThreads = 200;
+
+			/**
+			 * Maximum number of requests that a bounded executor queues while all of its
+			 * threads are busy. Requests that cannot be queued are rejected.
+			 */
+			private int queueCapacity = 100;
+
+			/**
+			 * Prefix of the names of the executor's threads.
+			 */
+			private String threadNamePrefix = "http-exec-";
+
+			public ExecutorType getType() {
+				return this.type;
+			}
+
+			public void setType(ExecutorType type) {
+				this.type = type;
+			}
+
+			public int getMaxThreads() {
+				return this.maxThreads;
+			}
+
+			public void setMaxThreads(int maxThreads) {
+				this.maxThreads = maxThreads;
+			}
+
+			public int getQueueCapacity() {
+				return this.queueCapacity;
+			}
+
+			public void setQueueCapacity(int queueCapacity) {
+				this.queueCapacity = queueCapacity;
+			}
+
+			public String getThreadNamePrefix() {
+				return this.threadNamePrefix;
+			}
+
+			public void setThreadNamePrefix(String threadNamePrefix) {
+				this.threadNamePrefix = threadNamePrefix;
+			}
+
+		}
+
+		/**
+		 * Types of request executor.
+		 */
+		public enum ExecutorType {
+
+			/**
+			 * Use a bounded pool of platform threads.
+			 */
+			BOUNDED,
+
+			/**
+			 * Use a new virtual thread per request, falling back to a bounded pool when
+			 * the JVM does not support virtual threads.
+			 */
+			VIRTUAL
+
+		}
+
 	}
 
 	/**
@@ -1071,4 +1170,140 @@ public class ServerProperties {
 
 	}
 
+	/**
+	 * Netty properties.
+	 */
+	public static class Netty {
+
+		/**
+		 * Number of I/O threads to create for the event loop. Defaults to the number of
+		 * available processors (with a minimum of 4).
+		 */
+		private Integer ioThreads;
+
+		/**
+		 * Whether to use the native transport (epoll) when it is available.
+		 */
+		private Boolean nativeTransport;
+
+		/**
+		 * Whether to allocate pooled buffers outside the Java heap.
+		 */
+		private Boolean directBuffers;
+
+		/**
+		 * Maximum length, in bytes, of the initial line of an HTTP request.
+		 */
+		private int maxInitialLineLength = 0; // bytes
+
+		/**
+		 * Maximum size, in bytes, of each chunk of HTTP content.
+		 */
+		private int maxChunkSize = 0; // bytes
+
+		public Integer getIoThreads() {
+			return this.ioThreads;
+		}
+
+		public void setIoThreads(Integer ioThreads) {
+			this.ioThreads = ioThreads;
+		}
+
+		public Boolean getNativeTransport() {
+			return this.nativeTransport;
+		}
+
+		public void setNativeTransport(Boolean nativeTransport) {
+			this.nativeTransport = nativeTransport;
+		}
+
+		public Boolean getDirectBuffers() {
+			return this.directBuffers;
+		}
+
+		public void setDirectBuffers(Boolean directBuffers) {
+			this.directBuffers = directBuffers;
+		}
+
+		public int getMaxInitialLineLength() {
+			return this.maxInitialLineLength;
+		}
+
+		public void setMaxInitialLineLength(int maxInitialLineLength) {
+			this.maxInitialLineLength = maxInitialLineLength;
+		}
+
+		public int getMaxChunkSize() {
+			return this.maxChunkSize;
+		}
+
+		public void setMaxChunkSize(int maxChunkSize) {
+			this.maxChunkSize = maxChunkSize;
+		}
+
+	}
+
+	/**
+	 * Container-neutral access log properties.
+	 */
+	public static class AccessLog {
+
+		/**
+		 * Whether to enable the asynchronous access log. Entries are written by a
+		 * background thread, independently of any container-specific access log.
+		 */
+		private boolean enabled = false;
+
+		/**
+		 * Access log file. Can be an absolute location or relative to the current
+		 * directory.
+		 */
+		private String file = "logs/access.log";
+
+		/**
+		 * Format of the access log entries.
+		 */
+		private WebServerAccessLog.Format format = WebServerAccessLog.Format.COMBINED;
+
+		/**
+		 * Maximum number of entries that can be waiting to be written, up to 1048576.
+		 * Entries are dropped, and counted, rather than delaying requests when the
+		 * buffer is full.
+		 */
+		private int bufferSize = 8192;
+
+		public boolean isEnabled() {
+			return this.enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public String getFile() {
+			return this.file;
+		}
+
+		public void setFile(String file) {
+			this.file = file;
+		}
+
+		public WebServerAccessLog.Format getFormat() {
+			return this.format;
+		}
+
+		public void setFormat(WebServerAccessLog.Format format) {
+			this.format = format;
+		}
+
+		public int getBufferSize() {
+			return this.bufferSize;
+		}
+
+		public void setBufferSize(int bufferSize) {
+			this.bufferSize = bufferSize;
+		}
+
+	}
+
 }
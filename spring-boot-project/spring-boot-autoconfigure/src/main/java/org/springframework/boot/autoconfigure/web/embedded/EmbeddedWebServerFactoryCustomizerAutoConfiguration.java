@@ -16,6 +16,8 @@
 
 package org.springframework.boot.autoconfigure.web.embedded;
 
+import java.io.File;
+
 import io.undertow.Undertow;
 import org.apache.catalina.startup.Tomcat;
 import org.apache.coyote.UpgradeProtocol;
@@ -23,11 +25,18 @@ import org.eclipse.jetty.server.Server;
 import org.eclipse.jetty.util.Loader;
 import org.eclipse.jetty.webapp.WebAppContext;
 import org.xnio.SslClientAuthMode;
+import reactor.ipc.netty.http.server.HttpServer;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.web.ServerProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.server.ConfigurableWebServerFactory;
+import org.springframework.boot.web.server.WebServerAccessLog;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
@@ -43,6 +52,12 @@ import org.springframework.core.env.Environment;
 @EnableConfigurationProperties(ServerProperties.class)
 public class EmbeddedWebServerFactoryCustomizerAutoConfiguration {
 
+	@Bean
+	public WebServerFactoryCustomizer<ConfigurableWebServerFactory> webServerAccessLogCustomizer(
+			ObjectProvider<WebServerAccessLog> webServerAccessLog) {
+		return (factory) -> webServerAccessLog.ifAvailable(factory::setWebServerAccessLog);
+	}
+
 	@ConditionalOnClass({ Tomcat.class, UpgradeProtocol.class })
 	public static class TomcatWebServerFactoryCustomizerConfiguration {
 
@@ -84,4 +99,36 @@ public class EmbeddedWebServerFactoryCustomizerAutoConfiguration {
 
 	}
 
+	/**
+	 * Nested configuration if Netty is being used.
+	 */
+	@Configuration
+	@ConditionalOnClass(HttpServer.class)
+	public static class NettyWebServerFactoryCustomizerConfiguration {
+
+		@Bean
+		public NettyWebServerFactoryCustomizer nettyWebServerFactoryCustomizer(
+				ServerProperties serverProperties) {
+			return new NettyWebServerFactoryCustomizer(serverProperties);
+		}
+
+	}
+
+	/**
+	 * Configures a {@link WebServerAccessLog} when the access log has been enabled.
+	 */
+	@Configuration
+	@ConditionalOnProperty(prefix = "server.access-log", name = "enabled", havingValue = "true")
+	static class WebServerAccessLogConfiguration {
+
+		@Bean
+		@ConditionalOnMissingBean
+		public WebServerAccessLog webServerAccessLog(ServerProperties serverProperties) {
+			ServerProperties.AccessLog properties = serverProperties.getAccessLog();
+			return WebServerAccessLog.toFile(new File(properties.getFile()),
+					properties.getFormat(), properties.getBufferSize());
+		}
+
+	}
+
 }
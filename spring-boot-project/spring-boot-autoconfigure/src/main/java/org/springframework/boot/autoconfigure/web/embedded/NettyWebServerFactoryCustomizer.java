@@ -0,0 +1,106 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.web.embedded;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.timeout.IdleStateEvent;
+import io.netty.handler.timeout.IdleStateHandler;
+
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.context.properties.PropertyMapper;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.core.Ordered;
+
+/**
+ * Customization for Netty-specific features.
+ *
+ * @since 2.1.0
+ */
+public class NettyWebServerFactoryCustomizer
+		implements WebServerFactoryCustomizer<NettyReactiveWebServerFactory>, Ordered {
+
+	private final ServerProperties serverProperties;
+
+	public NettyWebServerFactoryCustomizer(ServerProperties serverProperties) {
+		this.serverProperties = serverProperties;
+	}
+
+	@Override
+	public int getOrder() {
+		return 0;
+	}
+
+	@Override
+	public void customize(NettyReactiveWebServerFactory factory) {
+		ServerProperties properties = this.serverProperties;
+		ServerProperties.Netty nettyProperties = properties.getNetty();
+		PropertyMapper propertyMapper = PropertyMapper.get().alwaysApplyingWhenNonNull();
+		propertyMapper.from(nettyProperties::getIoThreads).to(factory::setIoThreads);
+		propertyMapper.from(nettyProperties::getNativeTransport)
+				.to(factory::setUseNativeTransport);
+		propertyMapper.from(nettyProperties::getDirectBuffers)
+				.to(factory::setUseDirectBuffers);
+		propertyMapper.from(properties::getMaxHttpHeaderSize).when(this::isPositive)
+				.to((maxHttpHeaderSize) -> factory.addServerCustomizers(
+						(options) -> options.maxHeaderSize(maxHttpHeaderSize)));
+		propertyMapper.from(nettyProperties::getMaxInitialLineLength)
+				.when(this::isPositive)
+				.to((maxInitialLineLength) -> factory.addServerCustomizers(
+						(options) -> options.maxInitialLineLength(maxInitialLineLength)));
+		propertyMapper.from(nettyProperties::getMaxChunkSize).when(this::isPositive)
+				.to((maxChunkSize) -> factory.addServerCustomizers(
+						(options) -> options.maxChunkSize(maxChunkSize)));
+		propertyMapper.from(properties::getConnectionTimeout)
+				.to((connectionTimeout) -> customizeConnectionTimeout(factory,
+						connectionTimeout));
+	}
+
+	private boolean isPositive(Number value) {
+		return value.longValue() > 0;
+	}
+
+	private void customizeConnectionTimeout(NettyReactiveWebServerFactory factory,
+			Duration connectionTimeout) {
+		long timeout = connectionTimeout.toMillis();
+		if (timeout > 0) {
+			factory.addChannelInitializer((channel) -> channel.pipeline()
+					.addFirst(new IdleConnectionHandler(timeout)));
+		}
+	}
+
+	/**
+	 * {@link IdleStateHandler} that closes a connection once it has been idle for longer
+	 * than the connection timeout.
+	 */
+	private static class IdleConnectionHandler extends IdleStateHandler {
+
+		IdleConnectionHandler(long timeout) {
+			super(0, 0, timeout, TimeUnit.MILLISECONDS);
+		}
+
+		@Override
+		protected void channelIdle(ChannelHandlerContext context, IdleStateEvent event) {
+			context.close();
+		}
+
+	}
+
+}
@@ -39,8 +39,11 @@ import org.springframework.boot.autoconfigure.validation.ValidatorAdapter;
 import org.springframework.boot.autoconfigure.web.ConditionalOnEnabledResourceChain;
 import org.springframework.boot.autoconfigure.web.ResourceProperties;
 import org.springframework.boot.autoconfigure.web.format.WebConversionService;
+import org.springframework.boot.autoconfigure.web.reactive.CompressedResourceResolver.EncodingAwareCachingResourceResolver;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
@@ -64,7 +67,7 @@ import org.springframework.web.reactive.config.ViewResolverRegistry;
 import org.springframework.web.reactive.config.WebFluxConfigurationSupport;
 import org.springframework.web.reactive.config.WebFluxConfigurer;
 import org.springframework.web.reactive.resource.AppCacheManifestTransformer;
-import org.springframework.web.reactive.resource.GzipResourceResolver;
+import org.springframework.web.reactive.resource.CachingResourceTransformer;
 import org.springframework.web.reactive.resource.ResourceResolver;
 import org.springframework.web.reactive.resource.VersionResourceResolver;
 import org.springframework.web.reactive.result.method.HandlerMethodArgumentResolver;
@@ -262,6 +265,8 @@ public class WebFluxAutoConfiguration {
 	private static class ResourceChainResourceHandlerRegistrationCustomizer
 			implements ResourceHandlerRegistrationCustomizer {
 
+		private static final String RESOURCE_CHAIN_CACHE_NAME = "spring-resource-chain-cache";
+
 		@Autowired
 		private ResourceProperties resourceProperties = new ResourceProperties();
 
@@ -269,7 +274,19 @@ public class WebFluxAutoConfiguration {
 		public void customize(ResourceHandlerRegistration registration) {
 			ResourceProperties.Chain properties = this.resourceProperties.getChain();
 			configureResourceChain(properties,
-					registration.resourceChain(properties.isCache()));
+					getResourceChain(properties, registration));
+		}
+
+		private ResourceChainRegistration getResourceChain(
+				ResourceProperties.Chain properties,
+				ResourceHandlerRegistration registration) {
+			if (!properties.isCache() || !properties.isCompressed()) {
+				return registration.resourceChain(properties.isCache());
+			}
+			Cache cache = new ConcurrentMapCache(RESOURCE_CHAIN_CACHE_NAME);
+			return registration.resourceChain(false)
+					.addResolver(new EncodingAwareCachingResourceResolver(cache))
+					.addTransformer(new CachingResourceTransformer(cache));
 		}
 
 		private void configureResourceChain(ResourceProperties.Chain properties,
@@ -278,8 +295,8 @@ public class WebFluxAutoConfiguration {
 			if (strategy.getFixed().isEnabled() || strategy.getContent().isEnabled()) {
 				chain.addResolver(getVersionResourceResolver(strategy));
 			}
-			if (properties.isGzipped()) {
-				chain.addResolver(new GzipResourceResolver());
+			if (properties.isCompressed()) {
+				chain.addResolver(new CompressedResourceResolver());
 			}
 			if (properties.isHtmlApplicationCache()) {
 				chain.addTransformer(new AppCacheManifestTransformer());
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.web.servlet;
+
+import java.io.IOException;
+import java.util.List;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.boot.autoconfigure.web.CompressedResource;
+import org.springframework.cache.Cache;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.resource.AbstractResourceResolver;
+import org.springframework.web.servlet.resource.CachingResourceResolver;
+import org.springframework.web.servlet.resource.HttpResource;
+import org.springframework.web.servlet.resource.ResourceResolver;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+
+/**
+ * {@link ResourceResolver} that resolves pre-compressed variants of a resource. When the
+ * request accepts the encoding, a sibling of the resource with a {@code .br} (Brotli) or
+ * {@code .gz} (gzip) extension is served in its place, with Brotli preferred.
+ */
+class CompressedResourceResolver extends AbstractResourceResolver {
+
+	@Override
+	protected Resource resolveResourceInternal(HttpServletRequest request,
+			String requestPath, List<? extends Resource> locations,
+			ResourceResolverChain chain) {
+		Resource resource = chain.resolveResource(request, requestPath, locations);
+		if (resource == null || request == null) {
+			return resource;
+		}
+		for (String encoding : getAcceptedEncodings(request)) {
+			try {
+				Resource compressed = new CompressedHttpResource(resource, encoding);
+				if (compressed.exists()) {
+					return compressed;
+				}
+			}
+			catch (IOException ex) {
+				this.logger.trace("No " + encoding + " resource for ["
+						+ resource.getFilename() + "]", ex);
+			}
+		}
+		return resource;
+	}
+
+	@Override
+	protected String resolveUrlPathInternal(String resourceUrlPath,
+			List<? extends Resource> locations, ResourceResolverChain chain) {
+		return chain.resolveUrlPath(resourceUrlPath, locations);
+	}
+
+	private static List<String> getAcceptedEncodings(HttpServletRequest request) {
+		return CompressedResource
+				.getAcceptedEncodings(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+	}
+
+	/**
+	 * {@link CachingResourceResolver} that includes the accepted encodings in its cache
+	 * key so that a compressed variant is only served to clients that accept it.
+	 */
+	static class EncodingAwareCachingResourceResolver extends CachingResourceResolver {
+
+		EncodingAwareCachingResourceResolver(Cache cache) {
+			super(cache);
+		}
+
+		@Override
+		protected String computeKey(HttpServletRequest request, String requestPath) {
+			String key = RESOLVED_RESOURCE_CACHE_KEY_PREFIX + requestPath;
+			if (request == null) {
+				return key;
+			}
+			return CompressedResource.getCacheKey(key, getAcceptedEncodings(request));
+		}
+
+	}
+
+	/**
+	 * A {@link CompressedResource} that is an {@link HttpResource}.
+	 */
+	private static final class CompressedHttpResource extends CompressedResource
+			implements HttpResource {
+
+		CompressedHttpResource(Resource original, String encoding) throws IOException {
+			super(original, encoding);
+		}
+
+		@Override
+		public HttpHeaders getResponseHeaders() {
+			Resource original = getOriginal();
+			return getResponseHeaders((original instanceof HttpResource)
+					? ((HttpResource) original).getResponseHeaders() : null);
+		}
+
+	}
+
+}
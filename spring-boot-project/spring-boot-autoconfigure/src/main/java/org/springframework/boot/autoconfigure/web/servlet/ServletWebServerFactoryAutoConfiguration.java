@@ -18,21 +18,30 @@ package org.springframework.boot.autoconfigure.web.servlet;
 
 import javax.servlet.ServletRequest;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.springframework.beans.factory.support.RootBeanDefinition;
 import org.springframework.boot.autoconfigure.AutoConfigureOrder;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
 import org.springframework.boot.autoconfigure.web.ServerProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.server.ErrorPageRegistrarBeanPostProcessor;
+import org.springframework.boot.web.server.WebServerExecutor;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
 import org.springframework.boot.web.server.WebServerFactoryCustomizerBeanPostProcessor;
+import org.springframework.boot.web.servlet.server.ConfigurableServletWebServerFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
@@ -74,6 +83,40 @@ public class ServletWebServerFactoryAutoConfiguration {
 		return new TomcatServletWebServerFactoryCustomizer(serverProperties);
 	}
 
+	@Bean
+	public WebServerFactoryCustomizer<ConfigurableServletWebServerFactory> webServerExecutorCustomizer(
+			ObjectProvider<WebServerExecutor> webServerExecutor) {
+		return (factory) -> webServerExecutor.ifAvailable(factory::setWebServerExecutor);
+	}
+
+	/**
+	 * Configures a {@link WebServerExecutor} when an executor type has been set.
+	 */
+	@Configuration
+	@ConditionalOnProperty(prefix = "server.servlet.executor", name = "type")
+	static class WebServerExecutorConfiguration {
+
+		private static final Log logger = LogFactory
+				.getLog(WebServerExecutorConfiguration.class);
+
+		@Bean
+		@ConditionalOnMissingBean
+		public WebServerExecutor webServerExecutor(ServerProperties serverProperties) {
+			ServerProperties.Servlet.Executor properties = serverProperties.getServlet()
+					.getExecutor();
+			if (properties.getType() == ServerProperties.Servlet.ExecutorType.VIRTUAL) {
+				if (WebServerExecutor.isVirtualThreadsSupported()) {
+					return WebServerExecutor.virtual(properties.getThreadNamePrefix());
+				}
+				logger.warn("Virtual threads are not supported by this JVM, "
+						+ "falling back to a bounded executor");
+			}
+			return WebServerExecutor.bounded(properties.getThreadNamePrefix(),
+					properties.getMaxThreads(), properties.getQueueCapacity());
+		}
+
+	}
+
 	/**
 	 * Registers a {@link WebServerFactoryCustomizerBeanPostProcessor}. Registered via
 	 * {@link ImportBeanDefinitionRegistrar} for early registration.
@@ -53,10 +53,13 @@ import org.springframework.boot.autoconfigure.web.ConditionalOnEnabledResourceCh
 import org.springframework.boot.autoconfigure.web.ResourceProperties;
 import org.springframework.boot.autoconfigure.web.ResourceProperties.Strategy;
 import org.springframework.boot.autoconfigure.web.format.WebConversionService;
+import org.springframework.boot.autoconfigure.web.servlet.CompressedResourceResolver.EncodingAwareCachingResourceResolver;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.servlet.filter.OrderedHiddenHttpMethodFilter;
 import org.springframework.boot.web.servlet.filter.OrderedHttpPutFormContentFilter;
 import org.springframework.boot.web.servlet.filter.OrderedRequestContextFilter;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ResourceLoaderAware;
 import org.springframework.context.annotation.Bean;
@@ -115,7 +118,7 @@ import org.springframework.web.servlet.mvc.method.annotation.ExceptionHandlerExc
 import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
 import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
 import org.springframework.web.servlet.resource.AppCacheManifestTransformer;
-import org.springframework.web.servlet.resource.GzipResourceResolver;
+import org.springframework.web.servlet.resource.CachingResourceTransformer;
 import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
 import org.springframework.web.servlet.resource.ResourceResolver;
 import org.springframework.web.servlet.resource.VersionResourceResolver;
@@ -589,6 +592,8 @@ public class WebMvcAutoConfiguration {
 	private static class ResourceChainResourceHandlerRegistrationCustomizer
 			implements ResourceHandlerRegistrationCustomizer {
 
+		private static final String RESOURCE_CHAIN_CACHE_NAME = "spring-resource-chain-cache";
+
 		@Autowired
 		private ResourceProperties resourceProperties = new ResourceProperties();
 
@@ -596,7 +601,19 @@ public class WebMvcAutoConfiguration {
 		public void customize(ResourceHandlerRegistration registration) {
 			ResourceProperties.Chain properties = this.resourceProperties.getChain();
 			configureResourceChain(properties,
-					registration.resourceChain(properties.isCache()));
+					getResourceChain(properties, registration));
+		}
+
+		private ResourceChainRegistration getResourceChain(
+				ResourceProperties.Chain properties,
+				ResourceHandlerRegistration registration) {
+			if (!properties.isCache() || !properties.isCompressed()) {
+				return registration.resourceChain(properties.isCache());
+			}
+			Cache cache = new ConcurrentMapCache(RESOURCE_CHAIN_CACHE_NAME);
+			return registration.resourceChain(false)
+					.addResolver(new EncodingAwareCachingResourceResolver(cache))
+					.addTransformer(new CachingResourceTransformer(cache));
 		}
 
 		private void configureResourceChain(ResourceProperties.Chain properties,
@@ -605,8 +622,8 @@ public class WebMvcAutoConfiguration {
 			if (strategy.getFixed().isEnabled() || strategy.getContent().isEnabled()) {
 				chain.addResolver(getVersionResourceResolver(strategy));
 			}
-			if (properties.isGzipped()) {
-				chain.addResolver(new GzipResourceResolver());
+			if (properties.isCompressed()) {
+				chain.addResolver(new CompressedResourceResolver());
 			}
 			if (properties.isHtmlApplicationCache()) {
 				chain.addTransformer(new AppCacheManifestTransformer());
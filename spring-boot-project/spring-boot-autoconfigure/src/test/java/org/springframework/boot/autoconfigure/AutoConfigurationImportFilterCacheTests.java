@@ -0,0 +1,106 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.springframework.boot.autoconfigure.AutoConfigurationImportFilterCache.CachedOutcome;
+import org.springframework.boot.autoconfigure.AutoConfigurationImportFilterCache.FilterOutcome;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link AutoConfigurationImportFilterCache}.
+ */
+public class AutoConfigurationImportFilterCacheTests {
+
+	private static final List<String> CANDIDATES = Collections
+			.singletonList("com.example.ExampleAutoConfiguration");
+
+	@Rule
+	public final TemporaryFolder temp = new TemporaryFolder();
+
+	private File file;
+
+	private File classes;
+
+	private URLClassLoader classLoader;
+
+	@Before
+	public void setup() throws IOException {
+		this.file = new File(this.temp.getRoot(), "filter-cache.properties");
+		this.classes = this.temp.newFolder("classes");
+		new File(this.classes, "com/example").mkdirs();
+		new File(this.classes, "com/example/Example.class").createNewFile();
+		this.classLoader = new URLClassLoader(
+				new URL[] { this.classes.toURI().toURL() }, null);
+	}
+
+	@After
+	public void close() throws IOException {
+		this.classLoader.close();
+	}
+
+	@Test
+	public void loadWhenClassPathIsUnchangedReturnsSavedOutcome() {
+		createCache().save(createOutcome());
+		CachedOutcome outcome = createCache().load();
+		assertThat(outcome).isNotNull();
+		assertThat(outcome.getSkipped()).containsExactlyElementsOf(CANDIDATES);
+		assertThat(outcome.getOutcomes()).hasSize(1);
+		assertThat(outcome.getOutcomes().get(0).getMessage()).isEqualTo("Filtered");
+	}
+
+	@Test
+	public void loadWhenClassIsAddedToNestedDirectoryReturnsNull() throws IOException {
+		File directory = new File(this.classes, "com/example");
+		long lastModified = directory.lastModified();
+		createCache().save(createOutcome());
+		new File(directory, "Other.class").createNewFile();
+		directory.setLastModified(lastModified);
+		assertThat(createCache().load()).isNull();
+	}
+
+	@Test
+	public void loadWhenClassIsRemovedFromNestedDirectoryReturnsNull() {
+		createCache().save(createOutcome());
+		new File(this.classes, "com/example/Example.class").delete();
+		assertThat(createCache().load()).isNull();
+	}
+
+	private AutoConfigurationImportFilterCache createCache() {
+		return new AutoConfigurationImportFilterCache(this.file, this.classLoader,
+				CANDIDATES, Collections.emptyList());
+	}
+
+	private CachedOutcome createOutcome() {
+		return new CachedOutcome(CANDIDATES, Collections.singletonList(
+				new FilterOutcome(CANDIDATES.get(0), "TestFilter", "Filtered")), 1);
+	}
+
+}
@@ -16,6 +16,7 @@
 
 package org.springframework.boot.autoconfigure;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
@@ -26,6 +27,7 @@ import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.MockitoAnnotations;
 
 import org.springframework.beans.BeansException;
@@ -33,12 +35,18 @@ import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionEvaluationReport;
+import org.springframework.boot.autoconfigure.condition.ConditionEvaluationReport.ConditionAndOutcome;
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
 import org.springframework.boot.autoconfigure.freemarker.FreeMarkerAutoConfiguration;
 import org.springframework.boot.autoconfigure.mustache.MustacheAutoConfiguration;
 import org.springframework.boot.autoconfigure.thymeleaf.ThymeleafAutoConfiguration;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.core.io.support.SpringFactoriesLoader;
+import org.springframework.core.type.AnnotatedTypeMetadata;
 import org.springframework.core.type.StandardAnnotationMetadata;
 import org.springframework.mock.env.MockEnvironment;
 
@@ -64,6 +72,9 @@ public class AutoConfigurationImportSelectorTests {
 	@Rule
 	public ExpectedException expected = ExpectedException.none();
 
+	@Rule
+	public TemporaryFolder temp = new TemporaryFolder();
+
 	@Before
 	public void setup() {
 		MockitoAnnotations.initMocks(this);
@@ -223,6 +234,57 @@ public class AutoConfigurationImportSelectorTests {
 		assertThat(filter.getBeanFactory()).isEqualTo(this.beanFactory);
 	}
 
+	@Test
+	public void filterWhenCacheIsConfiguredShouldReuseCachedOutcome() {
+		File cache = new File(this.temp.getRoot(), "filter-cache.properties");
+		this.environment.setProperty("spring.autoconfigure.filter-cache",
+				cache.getAbsolutePath());
+		String[] defaultImports = selectImports(BasicEnableAutoConfiguration.class);
+		TestAutoConfigurationImportFilter filter = new TestAutoConfigurationImportFilter(
+				defaultImports, 1, 2);
+		this.filters.add(filter);
+		String[] filtered = selectImports(BasicEnableAutoConfiguration.class);
+		assertThat(cache).exists();
+		assertThat(filter.getMatchCount()).isEqualTo(1);
+		String[] cached = selectImports(BasicEnableAutoConfiguration.class);
+		assertThat(filter.getMatchCount()).isEqualTo(1);
+		assertThat(cached).containsExactly(filtered);
+		assertThat(cached).doesNotContain(defaultImports[1], defaultImports[2]);
+	}
+
+	@Test
+	public void filterWhenFiltersChangeShouldNotReuseCachedOutcome() {
+		File cache = new File(this.temp.getRoot(), "filter-cache.properties");
+		this.environment.setProperty("spring.autoconfigure.filter-cache",
+				cache.getAbsolutePath());
+		String[] defaultImports = selectImports(BasicEnableAutoConfiguration.class);
+		TestAutoConfigurationImportFilter filter = new TestAutoConfigurationImportFilter(
+				defaultImports, 1);
+		this.filters.add(filter);
+		selectImports(BasicEnableAutoConfiguration.class);
+		this.filters.add(new ConditionAutoConfigurationImportFilter(defaultImports, 2));
+		String[] filtered = selectImports(BasicEnableAutoConfiguration.class);
+		assertThat(filter.getMatchCount()).isEqualTo(2);
+		assertThat(filtered).doesNotContain(defaultImports[1], defaultImports[2]);
+	}
+
+	@Test
+	public void filterWhenCachedOutcomeIsUsedShouldRecordConditionEvaluation() {
+		File cache = new File(this.temp.getRoot(), "filter-cache.properties");
+		this.environment.setProperty("spring.autoconfigure.filter-cache",
+				cache.getAbsolutePath());
+		String[] defaultImports = selectImports(BasicEnableAutoConfiguration.class);
+		this.filters.add(new ConditionAutoConfigurationImportFilter(defaultImports, 1));
+		selectImports(BasicEnableAutoConfiguration.class);
+		ConfigurableListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		this.importSelector.setBeanFactory(beanFactory);
+		selectImports(BasicEnableAutoConfiguration.class);
+		ConditionEvaluationReport report = ConditionEvaluationReport.get(beanFactory);
+		assertThat(report.getConditionAndOutcomesBySource().get(defaultImports[1]))
+				.extracting(ConditionAndOutcome::getOutcome)
+				.extracting(ConditionOutcome::getMessage).containsExactly("Filtered");
+	}
+
 	private String[] selectImports(Class<?> source) {
 		return this.importSelector.selectImports(new StandardAnnotationMetadata(source));
 	}
@@ -260,6 +322,8 @@ public class AutoConfigurationImportSelectorTests {
 
 		private BeanFactory beanFactory;
 
+		private int matchCount;
+
 		TestAutoConfigurationImportFilter(String[] configurations, int... nonMatching) {
 			for (int i : nonMatching) {
 				this.nonMatching.add(configurations[i]);
@@ -269,13 +333,20 @@ public class AutoConfigurationImportSelectorTests {
 		@Override
 		public boolean[] match(String[] autoConfigurationClasses,
 				AutoConfigurationMetadata autoConfigurationMetadata) {
+			this.matchCount++;
 			boolean[] result = new boolean[autoConfigurationClasses.length];
 			for (int i = 0; i < result.length; i++) {
 				result[i] = !this.nonMatching.contains(autoConfigurationClasses[i]);
+				if (!result[i]) {
+					onNoMatch(autoConfigurationClasses[i]);
+				}
 			}
 			return result;
 		}
 
+		protected void onNoMatch(String autoConfigurationClass) {
+		}
+
 		@Override
 		public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
 			this.beanFactory = beanFactory;
@@ -285,6 +356,34 @@ public class AutoConfigurationImportSelectorTests {
 			return this.beanFactory;
 		}
 
+		public int getMatchCount() {
+			return this.matchCount;
+		}
+
+	}
+
+	private static class ConditionAutoConfigurationImportFilter
+			extends TestAutoConfigurationImportFilter implements Condition {
+
+		ConditionAutoConfigurationImportFilter(String[] configurations,
+				int... nonMatching) {
+			super(configurations, nonMatching);
+		}
+
+		@Override
+		protected void onNoMatch(String autoConfigurationClass) {
+			ConditionEvaluationReport
+					.get((ConfigurableListableBeanFactory) getBeanFactory())
+					.recordConditionEvaluation(autoConfigurationClass, this,
+							ConditionOutcome.noMatch("Filtered"));
+		}
+
+		@Override
+		public boolean matches(ConditionContext context,
+				AnnotatedTypeMetadata metadata) {
+			return true;
+		}
+
 	}
 
 	@Configuration
@@ -25,12 +25,14 @@ import java.util.Map;
 
 import org.junit.Test;
 
+import org.springframework.boot.context.properties.bind.BindException;
 import org.springframework.boot.context.properties.bind.Bindable;
 import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.boot.context.properties.source.ConfigurationPropertySource;
 import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 /**
  * Tests for {@link ServerProperties}.
@@ -168,6 +170,19 @@ public class ServerPropertiesTests {
 		assertThat(jetty.getAccesslog().isAppend()).isTrue();
 	}
 
+	@Test
+	public void testCustomizeCompressionLevel() {
+		bind("server.compression.level", "9");
+		assertThat(this.properties.getCompression().getLevel()).isEqualTo(9);
+	}
+
+	@Test
+	public void testCompressionLevelOutOfRangeFailsToBind() {
+		assertThatExceptionOfType(BindException.class)
+				.isThrownBy(() -> bind("server.compression.level", "10"))
+				.withRootCauseInstanceOf(IllegalArgumentException.class);
+	}
+
 	private void bind(String name, String value) {
 		bind(Collections.singletonMap(name, value));
 	}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.web.embedded;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.web.server.ConfigurableWebServerFactory;
+import org.springframework.boot.web.server.WebServerAccessLog;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link EmbeddedWebServerFactoryCustomizerAutoConfiguration}.
+ */
+public class EmbeddedWebServerFactoryCustomizerAutoConfigurationTests {
+
+	@Rule
+	public final TemporaryFolder temp = new TemporaryFolder();
+
+	private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+			.withConfiguration(AutoConfigurations
+					.of(EmbeddedWebServerFactoryCustomizerAutoConfiguration.class));
+
+	@Test
+	public void webServerAccessLogIsNotConfiguredByDefault() {
+		this.contextRunner.run((context) -> {
+			assertThat(context).doesNotHaveBean(WebServerAccessLog.class);
+			ConfigurableWebServerFactory factory = customize(context.getBean(
+					"webServerAccessLogCustomizer", WebServerFactoryCustomizer.class));
+			verify(factory, never()).setWebServerAccessLog(any());
+		});
+	}
+
+	@Test
+	public void webServerAccessLogIsAppliedToFactoryWhenEnabled() throws Exception {
+		File file = new File(this.temp.getRoot(), "logs/access.log");
+		this.contextRunner
+				.withPropertyValues("server.access-log.enabled=true",
+						"server.access-log.file=" + file.getAbsolutePath(),
+						"server.access-log.format=json",
+						"server.access-log.buffer-size=64")
+				.run((context) -> {
+					assertThat(context).hasSingleBean(WebServerAccessLog.class);
+					WebServerAccessLog accessLog = context
+							.getBean(WebServerAccessLog.class);
+					ConfigurableWebServerFactory factory = customize(
+							context.getBean("webServerAccessLogCustomizer",
+									WebServerFactoryCustomizer.class));
+					verify(factory).setWebServerAccessLog(accessLog);
+					accessLog.log("/test", (uri, entry) -> entry.setUri(uri));
+				});
+		List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+		assertThat(lines).hasSize(1);
+		assertThat(lines.get(0)).startsWith("{\"timestamp\"")
+				.contains("\"uri\":\"/test\"");
+	}
+
+	@SuppressWarnings("unchecked")
+	private ConfigurableWebServerFactory customize(
+			WebServerFactoryCustomizer<?> customizer) {
+		ConfigurableWebServerFactory factory = mock(ConfigurableWebServerFactory.class);
+		((WebServerFactoryCustomizer<ConfigurableWebServerFactory>) customizer)
+				.customize(factory);
+		return factory;
+	}
+
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.web.embedded;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.timeout.IdleStateHandler;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.ipc.netty.http.server.HttpServerOptions;
+
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.context.support.TestPropertySourceUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link NettyWebServerFactoryCustomizer}.
+ */
+public class NettyWebServerFactoryCustomizerTests {
+
+	private MockEnvironment environment;
+
+	private ServerProperties serverProperties;
+
+	private NettyWebServerFactoryCustomizer customizer;
+
+	@Before
+	public void setup() {
+		this.environment = new MockEnvironment();
+		this.serverProperties = new ServerProperties();
+		ConfigurationPropertySources.attach(this.environment);
+		this.customizer = new NettyWebServerFactoryCustomizer(this.serverProperties);
+	}
+
+	@Test
+	public void customizeEventLoop() {
+		bind("server.netty.io-threads=2", "server.netty.native-transport=false",
+				"server.netty.direct-buffers=true");
+		NettyReactiveWebServerFactory factory = mock(
+				NettyReactiveWebServerFactory.class);
+		this.customizer.customize(factory);
+		verify(factory).setIoThreads(2);
+		verify(factory).setUseNativeTransport(false);
+		verify(factory).setUseDirectBuffers(true);
+	}
+
+	@Test
+	public void defaultsAreNotCustomized() {
+		NettyReactiveWebServerFactory factory = mock(
+				NettyReactiveWebServerFactory.class);
+		this.customizer.customize(factory);
+		verify(factory, never()).setIoThreads(any());
+		verify(factory, never()).setUseNativeTransport(any());
+		verify(factory, never()).setUseDirectBuffers(any());
+		verify(factory, never()).addServerCustomizers(any());
+		verify(factory, never()).addChannelInitializer(any());
+	}
+
+	@Test
+	public void customizeHttpCodec() {
+		bind("server.max-http-header-size=16384",
+				"server.netty.max-initial-line-length=8192",
+				"server.netty.max-chunk-size=4096");
+		HttpServerOptions options = customizeOptions();
+		assertThat(options.httpCodecMaxHeaderSize()).isEqualTo(16384);
+		assertThat(options.httpCodecMaxInitialLineLength()).isEqualTo(8192);
+		assertThat(options.httpCodecMaxChunkSize()).isEqualTo(4096);
+	}
+
+	@Test
+	public void customizeConnectionTimeout() {
+		bind("server.connection-timeout=30s");
+		NettyReactiveWebServerFactory factory = new NettyReactiveWebServerFactory();
+		this.customizer.customize(factory);
+		assertThat(factory.getChannelInitializers()).hasSize(1);
+		EmbeddedChannel channel = new EmbeddedChannel();
+		factory.getChannelInitializers()
+				.forEach((initializer) -> initializer.accept(channel));
+		assertThat(channel.pipeline().first()).isInstanceOf(IdleStateHandler.class);
+		assertThat(((IdleStateHandler) channel.pipeline().first())
+				.getAllIdleTimeInMillis()).isEqualTo(30000);
+	}
+
+	@Test
+	public void infiniteConnectionTimeoutIsNotCustomized() {
+		bind("server.connection-timeout=-1");
+		NettyReactiveWebServerFactory factory = new NettyReactiveWebServerFactory();
+		this.customizer.customize(factory);
+		assertThat(factory.getChannelInitializers()).isEmpty();
+	}
+
+	private HttpServerOptions customizeOptions() {
+		NettyReactiveWebServerFactory factory = new NettyReactiveWebServerFactory();
+		this.customizer.customize(factory);
+		HttpServerOptions.Builder builder = HttpServerOptions.builder();
+		factory.getServerCustomizers()
+				.forEach((customizer) -> customizer.customize(builder));
+		return builder.build();
+	}
+
+	private void bind(String... inlinedProperties) {
+		TestPropertySourceUtils.addInlinedPropertiesToEnvironment(this.environment,
+				inlinedProperties);
+		new Binder(ConfigurationPropertySources.get(this.environment)).bind("server",
+				Bindable.ofInstance(this.serverProperties));
+	}
+
+}
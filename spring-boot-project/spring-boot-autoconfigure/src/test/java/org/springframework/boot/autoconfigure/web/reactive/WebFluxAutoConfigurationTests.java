@@ -28,6 +28,7 @@ import org.springframework.beans.DirectFieldAccessor;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
 import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
 import org.springframework.boot.autoconfigure.validation.ValidatorAdapter;
+import org.springframework.boot.autoconfigure.web.reactive.CompressedResourceResolver.EncodingAwareCachingResourceResolver;
 import org.springframework.boot.test.context.runner.ReactiveWebApplicationContextRunner;
 import org.springframework.boot.web.codec.CodecCustomizer;
 import org.springframework.context.annotation.Bean;
@@ -187,6 +188,27 @@ public class WebFluxAutoConfigurationTests {
 				});
 	}
 
+	@Test
+	public void resourceHandlerChainCompressed() {
+		this.contextRunner
+				.withPropertyValues("spring.resources.chain.enabled:true",
+						"spring.resources.chain.compressed:true")
+				.run((context) -> {
+					SimpleUrlHandlerMapping hm = context.getBean("resourceHandlerMapping",
+							SimpleUrlHandlerMapping.class);
+					ResourceWebHandler staticHandler = (ResourceWebHandler) hm.getUrlMap()
+							.get("/**");
+					assertThat(staticHandler.getResourceResolvers())
+							.extractingResultOf("getClass")
+							.containsExactly(EncodingAwareCachingResourceResolver.class,
+									CompressedResourceResolver.class,
+									PathResourceResolver.class);
+					assertThat(staticHandler.getResourceTransformers())
+							.extractingResultOf("getClass")
+							.containsOnly(CachingResourceTransformer.class);
+				});
+	}
+
 	@Test
 	public void shouldRegisterViewResolvers() {
 		this.contextRunner.withUserConfiguration(ViewResolvers.class).run((context) -> {
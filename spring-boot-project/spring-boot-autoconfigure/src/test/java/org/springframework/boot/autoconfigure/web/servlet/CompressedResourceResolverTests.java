@@ -0,0 +1,161 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.web.servlet;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.springframework.boot.autoconfigure.web.servlet.CompressedResourceResolver.EncodingAwareCachingResourceResolver;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.FileCopyUtils;
+import org.springframework.web.servlet.resource.HttpResource;
+import org.springframework.web.servlet.resource.PathResourceResolver;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link CompressedResourceResolver}.
+ */
+public class CompressedResourceResolverTests {
+
+	@Rule
+	public TemporaryFolder temp = new TemporaryFolder();
+
+	private List<Resource> locations;
+
+	private final CompressedResourceResolver resolver = new CompressedResourceResolver();
+
+	@Before
+	public void setup() throws IOException {
+		File folder = this.temp.newFolder();
+		write(new File(folder, "app.js"), "app");
+		write(new File(folder, "app.js.br"), "br");
+		write(new File(folder, "app.js.gz"), "gz");
+		write(new File(folder, "style.css"), "style");
+		write(new File(folder, "style.css.gz"), "gz");
+		this.locations = Collections
+				.singletonList(new FileSystemResource(folder.getPath() + "/"));
+	}
+
+	@Test
+	public void brotliIsPreferred() throws IOException {
+		Resource resource = resolve("app.js", "gzip, deflate, br");
+		assertThat(content(resource)).isEqualTo("br");
+		assertThat(resource.getFilename()).isEqualTo("app.js");
+		HttpHeaders headers = ((HttpResource) resource).getResponseHeaders();
+		assertThat(headers.getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("br");
+		assertThat(headers.getFirst(HttpHeaders.VARY))
+				.isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+	}
+
+	@Test
+	public void gzipIsUsedWhenBrotliIsNotAccepted() throws IOException {
+		Resource resource = resolve("app.js", "gzip, deflate");
+		assertThat(content(resource)).isEqualTo("gz");
+		assertThat(((HttpResource) resource).getResponseHeaders()
+				.getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+	}
+
+	@Test
+	public void gzipIsUsedWhenBrotliVariantDoesNotExist() throws IOException {
+		Resource resource = resolve("style.css", "br, gzip");
+		assertThat(content(resource)).isEqualTo("gz");
+	}
+
+	@Test
+	public void originalIsUsedWhenNoEncodingIsAccepted() throws IOException {
+		assertThat(content(resolve("app.js", null))).isEqualTo("app");
+		assertThat(content(resolve("app.js", "deflate"))).isEqualTo("app");
+	}
+
+	@Test
+	public void encodingWithQualityOfZeroIsNotUsed() throws IOException {
+		assertThat(content(resolve("app.js", "br;q=0, gzip;q=0.5"))).isEqualTo("gz");
+	}
+
+	@Test
+	public void wildcardAcceptsAllEncodings() throws IOException {
+		assertThat(content(resolve("app.js", "*"))).isEqualTo("br");
+	}
+
+	@Test
+	public void cacheKeyIncludesAcceptedEncodings() {
+		EncodingAwareCachingResourceResolver resolver = new EncodingAwareCachingResourceResolver(
+				new ConcurrentMapCache("test"));
+		String brotliAndGzip = resolver.computeKey(request("br, gzip"), "app.js");
+		String gzip = resolver.computeKey(request("gzip"), "app.js");
+		String none = resolver.computeKey(request(null), "app.js");
+		assertThat(brotliAndGzip).isNotEqualTo(gzip).isNotEqualTo(none);
+		assertThat(gzip).isNotEqualTo(none);
+		assertThat(resolver.computeKey(request("gzip, br"), "app.js"))
+				.isEqualTo(brotliAndGzip);
+	}
+
+	private Resource resolve(String path, String acceptEncoding) {
+		return this.resolver.resolveResource(request(acceptEncoding), path,
+				this.locations, new PathResourceResolverChain());
+	}
+
+	private MockHttpServletRequest request(String acceptEncoding) {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		if (acceptEncoding != null) {
+			request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+		}
+		return request;
+	}
+
+	private void write(File file, String content) throws IOException {
+		FileCopyUtils.copy(content.getBytes(), file);
+	}
+
+	private String content(Resource resource) throws IOException {
+		return new String(FileCopyUtils.copyToByteArray(resource.getInputStream()));
+	}
+
+	private static class PathResourceResolverChain implements ResourceResolverChain {
+
+		private final PathResourceResolver resolver = new PathResourceResolver();
+
+		@Override
+		public Resource resolveResource(HttpServletRequest request, String requestPath,
+				List<? extends Resource> locations) {
+			return this.resolver.resolveResource(request, requestPath, locations, this);
+		}
+
+		@Override
+		public String resolveUrlPath(String resourcePath,
+				List<? extends Resource> locations) {
+			return this.resolver.resolveUrlPath(resourcePath, locations, this);
+		}
+
+	}
+
+}
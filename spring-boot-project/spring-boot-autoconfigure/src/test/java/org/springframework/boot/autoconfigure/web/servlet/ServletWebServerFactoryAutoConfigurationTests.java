@@ -27,6 +27,7 @@ import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.boot.web.server.WebServerExecutor;
 import org.springframework.boot.web.server.WebServerFactoryCustomizer;
 import org.springframework.boot.web.servlet.ServletRegistrationBean;
 import org.springframework.boot.web.servlet.context.AnnotationConfigServletWebServerApplicationContext;
@@ -133,6 +134,40 @@ public class ServletWebServerFactoryAutoConfigurationTests {
 		assertThat(servletContext.getInitParameter("b")).isEqualTo("bravo");
 	}
 
+	@Test
+	public void webServerExecutorIsNotConfiguredByDefault() {
+		this.context = new AnnotationConfigServletWebServerApplicationContext(
+				BaseConfiguration.class);
+		assertThat(this.context.getBeansOfType(WebServerExecutor.class)).isEmpty();
+		assertThat(getWebServerFactory().getWebServerExecutor()).isNull();
+	}
+
+	@Test
+	public void boundedWebServerExecutorIsAppliedToFactory() {
+		this.context = new AnnotationConfigServletWebServerApplicationContext();
+		TestPropertyValues.of("server.servlet.executor.type:bounded",
+				"server.servlet.executor.max-threads:50").applyTo(this.context);
+		this.context.register(BaseConfiguration.class);
+		this.context.refresh();
+		WebServerExecutor executor = this.context.getBean(WebServerExecutor.class);
+		assertThat(executor.isVirtual()).isFalse();
+		assertThat(executor.getMaxThreads()).isEqualTo(50);
+		assertThat(getWebServerFactory().getWebServerExecutor()).isSameAs(executor);
+	}
+
+	@Test
+	public void virtualWebServerExecutorFallsBackToBoundedWhenNotSupported() {
+		this.context = new AnnotationConfigServletWebServerApplicationContext();
+		TestPropertyValues.of("server.servlet.executor.type:virtual")
+				.applyTo(this.context);
+		this.context.register(BaseConfiguration.class);
+		this.context.refresh();
+		WebServerExecutor executor = this.context.getBean(WebServerExecutor.class);
+		assertThat(executor.isVirtual())
+				.isEqualTo(WebServerExecutor.isVirtualThreadsSupported());
+		assertThat(getWebServerFactory().getWebServerExecutor()).isSameAs(executor);
+	}
+
 	private void verifyContext() {
 		MockServletWebServerFactory factory = getWebServerFactory();
 		Servlet servlet = this.context.getBean(
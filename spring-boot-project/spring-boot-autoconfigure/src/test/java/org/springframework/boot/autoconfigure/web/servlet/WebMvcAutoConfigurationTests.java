@@ -38,6 +38,8 @@ import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
 import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
 import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
 import org.springframework.boot.autoconfigure.validation.ValidatorAdapter;
+import org.springframework.boot.autoconfigure.web.ResourceProperties;
+import org.springframework.boot.autoconfigure.web.servlet.CompressedResourceResolver.EncodingAwareCachingResourceResolver;
 import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration.WebMvcAutoConfigurationAdapter;
 import org.springframework.boot.test.context.assertj.AssertableWebApplicationContext;
 import org.springframework.boot.test.context.runner.ContextConsumer;
@@ -91,7 +93,6 @@ import org.springframework.web.servlet.resource.CachingResourceTransformer;
 import org.springframework.web.servlet.resource.ContentVersionStrategy;
 import org.springframework.web.servlet.resource.CssLinkResourceTransformer;
 import org.springframework.web.servlet.resource.FixedVersionStrategy;
-import org.springframework.web.servlet.resource.GzipResourceResolver;
 import org.springframework.web.servlet.resource.PathResourceResolver;
 import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
 import org.springframework.web.servlet.resource.ResourceResolver;
@@ -276,14 +277,14 @@ public class WebMvcAutoConfigurationTests {
 				"spring.resources.chain.strategy.fixed.version:test",
 				"spring.resources.chain.strategy.fixed.paths:/**/*.js",
 				"spring.resources.chain.html-application-cache:true",
-				"spring.resources.chain.gzipped:true").run((context) -> {
+				"spring.resources.chain.compressed:true").run((context) -> {
 					assertThat(getResourceResolvers(context, "/webjars/**")).hasSize(3);
 					assertThat(getResourceTransformers(context, "/webjars/**"))
 							.hasSize(2);
 					assertThat(getResourceResolvers(context, "/**"))
 							.extractingResultOf("getClass")
 							.containsOnly(VersionResourceResolver.class,
-									GzipResourceResolver.class,
+									CompressedResourceResolver.class,
 									PathResourceResolver.class);
 					assertThat(getResourceTransformers(context, "/**"))
 							.extractingResultOf("getClass")
@@ -299,6 +300,34 @@ public class WebMvcAutoConfigurationTests {
 				});
 	}
 
+	@Test
+	public void resourceHandlerChainCompressedWithCache() {
+		this.contextRunner.withPropertyValues("spring.resources.chain.enabled:true",
+				"spring.resources.chain.compressed:true").run((context) -> {
+					assertThat(getResourceResolvers(context, "/**"))
+							.extractingResultOf("getClass")
+							.containsExactly(EncodingAwareCachingResourceResolver.class,
+									CompressedResourceResolver.class,
+									PathResourceResolver.class);
+					assertThat(getResourceTransformers(context, "/**"))
+							.extractingResultOf("getClass")
+							.containsExactly(CachingResourceTransformer.class);
+				});
+	}
+
+	@Test
+	@Deprecated
+	public void resourceHandlerChainGzippedIsCompressed() {
+		this.contextRunner.withPropertyValues("spring.resources.chain.enabled:true",
+				"spring.resources.chain.gzipped:true").run((context) -> {
+					assertThat(context.getBean(ResourceProperties.class).getChain()
+							.isCompressed()).isTrue();
+					assertThat(getResourceResolvers(context, "/**"))
+							.extractingResultOf("getClass")
+							.contains(CompressedResourceResolver.class);
+				});
+	}
+
 	@Test
 	public void noLocaleResolver() {
 		this.contextRunner.run(
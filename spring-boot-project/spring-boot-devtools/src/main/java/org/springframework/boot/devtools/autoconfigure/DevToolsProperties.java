@@ -89,6 +89,12 @@ public class DevToolsProperties {
 		 */
 		private Duration quietPeriod = Duration.ofMillis(400);
 
+		/**
+		 * Whether to use the file system's native change notifications, when available,
+		 * rather than polling for classpath changes.
+		 */
+		private boolean useWatchService = true;
+
 		/**
 		 * Name of a specific file that, when changed, triggers the restart check. If not
 		 * specified, any classpath file change triggers the restart.
@@ -157,6 +163,14 @@ public class DevToolsProperties {
 			this.quietPeriod = quietPeriod;
 		}
 
+		public boolean isUseWatchService() {
+			return this.useWatchService;
+		}
+
+		public void setUseWatchService(boolean useWatchService) {
+			this.useWatchService = useWatchService;
+		}
+
 		public String getTriggerFile() {
 			return this.triggerFile;
 		}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2017 the original author or authors.
+ * Copyright 2012-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 
 package org.springframework.boot.devtools.classpath;
 
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 import org.springframework.boot.devtools.filewatch.ChangedFile;
@@ -75,14 +76,20 @@ class ClassPathFileChangeListener implements FileChangeListener {
 		if (AgentReloader.isActive()) {
 			return false;
 		}
+		Set<ChangedFiles> restartChangeSet = new LinkedHashSet<>();
 		for (ChangedFiles changedFiles : changeSet) {
+			Set<ChangedFile> files = new LinkedHashSet<>();
 			for (ChangedFile changedFile : changedFiles) {
 				if (this.restartStrategy.isRestartRequired(changedFile)) {
-					return true;
+					files.add(changedFile);
 				}
 			}
+			if (!files.isEmpty()) {
+				restartChangeSet.add(
+						new ChangedFiles(changedFiles.getSourceFolder(), files));
+			}
 		}
-		return false;
+		return !restartChangeSet.isEmpty() && !AgentReloader.reload(restartChangeSet);
 	}
 
 }
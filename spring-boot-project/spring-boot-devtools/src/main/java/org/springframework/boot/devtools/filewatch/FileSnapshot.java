@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2017 the original author or authors.
+ * Copyright 2012-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,7 @@
 package org.springframework.boot.devtools.filewatch;
 
 import java.io.File;
+import java.nio.file.attribute.BasicFileAttributes;
 
 import org.springframework.util.Assert;
 
@@ -44,6 +45,15 @@ class FileSnapshot {
 		this.lastModified = file.lastModified();
 	}
 
+	FileSnapshot(File file, BasicFileAttributes attributes) {
+		Assert.notNull(file, "File must not be null");
+		Assert.isTrue(attributes.isRegularFile(), "File must not be a folder");
+		this.file = file;
+		this.exists = true;
+		this.length = attributes.size();
+		this.lastModified = attributes.lastModifiedTime().toMillis();
+	}
+
 	public File getFile() {
 		return this.file;
 	}
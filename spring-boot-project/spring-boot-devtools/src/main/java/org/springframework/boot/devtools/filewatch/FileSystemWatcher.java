@@ -54,6 +54,8 @@ public class FileSystemWatcher {
 
 	private final long quietPeriod;
 
+	private final boolean useWatchService;
+
 	private final AtomicInteger remainingScans = new AtomicInteger(-1);
 
 	private final Map<File, FolderSnapshot> folders = new HashMap<>();
@@ -80,6 +82,23 @@ public class FileSystemWatcher {
 	 */
 	public FileSystemWatcher(boolean daemon, Duration pollInterval,
 			Duration quietPeriod) {
+		this(daemon, pollInterval, quietPeriod, false);
+	}
+
+	/**
+	 * Create a new {@link FileSystemWatcher} instance.
+	 * @param daemon if a daemon thread used to monitor changes
+	 * @param pollInterval the amount of time to wait between checking for changes
+	 * @param quietPeriod the amount of time required after a change has been detected to
+	 * ensure that updates have completed
+	 * @param useWatchService if the file system's {@link java.nio.file.WatchService
+	 * WatchService} should be used to detect changes. Polling is used if the watch
+	 * service is not backed by native file system events or the folders cannot be
+	 * registered with it
+	 * @since 2.1.0
+	 */
+	public FileSystemWatcher(boolean daemon, Duration pollInterval,
+			Duration quietPeriod, boolean useWatchService) {
 		Assert.notNull(pollInterval, "PollInterval must not be null");
 		Assert.notNull(quietPeriod, "QuietPeriod must not be null");
 		Assert.isTrue(pollInterval.toMillis() > 0, "PollInterval must be positive");
@@ -89,6 +108,7 @@ public class FileSystemWatcher {
 		this.daemon = daemon;
 		this.pollInterval = pollInterval.toMillis();
 		this.quietPeriod = quietPeriod.toMillis();
+		this.useWatchService = useWatchService;
 	}
 
 	/**
@@ -154,13 +174,8 @@ public class FileSystemWatcher {
 	 */
 	public void start() {
 		synchronized (this.monitor) {
-			saveInitialSnapshots();
 			if (this.watchThread == null) {
-				Map<File, FolderSnapshot> localFolders = new HashMap<>();
-				localFolders.putAll(this.folders);
-				this.watchThread = new Thread(new Watcher(this.remainingScans,
-						new ArrayList<>(this.listeners), this.triggerFilter,
-						this.pollInterval, this.quietPeriod, localFolders));
+				this.watchThread = new Thread(createWatcher());
 				this.watchThread.setName("File Watcher");
 				this.watchThread.setDaemon(this.daemon);
 				this.watchThread.start();
@@ -168,6 +183,23 @@ public class FileSystemWatcher {
 		}
 	}
 
+	private Runnable createWatcher() {
+		List<FileChangeListener> listeners = new ArrayList<>(this.listeners);
+		if (this.useWatchService) {
+			Runnable watcher = WatchServiceWatcher.create(this.remainingScans, listeners,
+					this.triggerFilter, this.pollInterval, this.quietPeriod,
+					this.folders.keySet());
+			if (watcher != null) {
+				return watcher;
+			}
+		}
+		saveInitialSnapshots();
+		Map<File, FolderSnapshot> localFolders = new HashMap<>();
+		localFolders.putAll(this.folders);
+		return new Watcher(this.remainingScans, listeners, this.triggerFilter,
+				this.pollInterval, this.quietPeriod, localFolders);
+	}
+
 	private void saveInitialSnapshots() {
 		for (File folder : this.folders.keySet()) {
 			this.folders.put(folder, new FolderSnapshot(folder));
@@ -0,0 +1,431 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.devtools.filewatch;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.boot.devtools.filewatch.ChangedFile.Type;
+
+/**
+ * Watcher used by {@link FileSystemWatcher} to detect changes using the file system's
+ * {@link WatchService}. Rather than taking a complete snapshot of every source folder
+ * on each scan, only the files that the watch service reports as changed are checked.
+ * A source folder that does not exist or that is deleted, for example by a
+ * {@code clean} build, is checked for on each scan and is watched again once it has
+ * been recreated. Until then, or if it cannot be watched, its files are checked on
+ * every scan.
+ *
+ * @author Local Agent
+ * @see FileSystemWatcher
+ */
+final class WatchServiceWatcher implements Runnable {
+
+	private static final Log logger = LogFactory.getLog(WatchServiceWatcher.class);
+
+	private static final String POLLING_WATCH_SERVICE = "sun.nio.fs.PollingWatchService";
+
+	private final AtomicInteger remainingScans;
+
+	private final List<FileChangeListener> listeners;
+
+	private final FileFilter triggerFilter;
+
+	private final long pollInterval;
+
+	private final long quietPeriod;
+
+	private final WatchService watchService;
+
+	private final Map<WatchKey, WatchedFolder> watchedFolders = new HashMap<>();
+
+	private final Map<File, Map<File, FileSnapshot>> snapshots = new LinkedHashMap<>();
+
+	private final Map<File, Set<File>> pending = new LinkedHashMap<>();
+
+	private final Set<File> unwatchedRoots = new LinkedHashSet<>();
+
+	private WatchServiceWatcher(AtomicInteger remainingScans,
+			List<FileChangeListener> listeners, FileFilter triggerFilter,
+			long pollInterval, long quietPeriod, WatchService watchService) {
+		this.remainingScans = remainingScans;
+		this.listeners = listeners;
+		this.triggerFilter = triggerFilter;
+		this.pollInterval = pollInterval;
+		this.quietPeriod = quietPeriod;
+		this.watchService = watchService;
+	}
+
+	private void watch(File root) throws IOException {
+		Map<File, FileSnapshot> files = new LinkedHashMap<>();
+		this.snapshots.put(root, files);
+		this.pending.put(root, new LinkedHashSet<>());
+		if (!Files.isDirectory(root.toPath())) {
+			this.unwatchedRoots.add(root);
+			return;
+		}
+		register(root, root.toPath(),
+				(snapshot) -> files.put(snapshot.getFile(), snapshot));
+	}
+
+	private void register(File root, Path folder, Consumer<FileSnapshot> consumer)
+			throws IOException {
+		Files.walkFileTree(folder, new SimpleFileVisitor<Path>() {
+
+			@Override
+			public FileVisitResult preVisitDirectory(Path dir,
+					BasicFileAttributes attributes) throws IOException {
+				WatchKey key = dir.register(WatchServiceWatcher.this.watchService,
+						StandardWatchEventKinds.ENTRY_CREATE,
+						StandardWatchEventKinds.ENTRY_DELETE,
+						StandardWatchEventKinds.ENTRY_MODIFY);
+				WatchServiceWatcher.this.watchedFolders.put(key,
+						new WatchedFolder(root, dir));
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+				if (attributes.isRegularFile()) {
+					consumer.accept(new FileSnapshot(file.toFile(), attributes));
+				}
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult visitFileFailed(Path file, IOException ex) {
+				return FileVisitResult.CONTINUE;
+			}
+
+		});
+	}
+
+	@Override
+	public void run() {
+		try {
+			int remainingScans = this.remainingScans.get();
+			while (remainingScans > 0 || remainingScans == -1) {
+				try {
+					if (remainingScans > 0) {
+						this.remainingScans.decrementAndGet();
+					}
+					scan();
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+				catch (ClosedWatchServiceException ex) {
+					return;
+				}
+				remainingScans = this.remainingScans.get();
+			}
+		}
+		finally {
+			close();
+		}
+	}
+
+	private void scan() throws InterruptedException {
+		WatchKey key = this.watchService.poll(this.pollInterval, TimeUnit.MILLISECONDS);
+		while (key != null) {
+			processEvents(key);
+			key = this.watchService.poll(this.quietPeriod, TimeUnit.MILLISECONDS);
+		}
+		checkUnwatchedRoots();
+		updateSnapshots();
+	}
+
+	private void processEvents(WatchKey key) {
+		WatchedFolder watchedFolder = this.watchedFolders.get(key);
+		if (watchedFolder == null) {
+			key.cancel();
+			return;
+		}
+		Set<File> pendingFiles = this.pending.get(watchedFolder.getRoot());
+		for (WatchEvent<?> event : key.pollEvents()) {
+			if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+				rescan(watchedFolder.getRoot(), pendingFiles);
+			}
+			else {
+				Path path = watchedFolder.getFolder().resolve((Path) event.context());
+				pendingFiles.add(path.toFile());
+				if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE
+						&& Files.isDirectory(path)) {
+					registerCreatedFolder(watchedFolder.getRoot(), path, pendingFiles);
+				}
+			}
+		}
+		if (!key.reset()) {
+			this.watchedFolders.remove(key);
+			if (watchedFolder.getFolder().equals(watchedFolder.getRoot().toPath())) {
+				this.unwatchedRoots.add(watchedFolder.getRoot());
+			}
+		}
+	}
+
+	private void checkUnwatchedRoots() {
+		Iterator<File> iterator = this.unwatchedRoots.iterator();
+		while (iterator.hasNext()) {
+			File root = iterator.next();
+			Set<File> pendingFiles = this.pending.get(root);
+			pendingFiles.addAll(this.snapshots.get(root).keySet());
+			if (Files.isDirectory(root.toPath())) {
+				try {
+					register(root, root.toPath(),
+							(snapshot) -> pendingFiles.add(snapshot.getFile()));
+					iterator.remove();
+				}
+				catch (IOException ex) {
+					logger.debug("Unable to watch " + root
+							+ ". Checking all of its files until it can be watched", ex);
+					addFiles(root.toPath(), pendingFiles);
+				}
+			}
+		}
+	}
+
+	private void addFiles(Path folder, Set<File> pendingFiles) {
+		try {
+			Files.walkFileTree(folder, new SimpleFileVisitor<Path>() {
+
+				@Override
+				public FileVisitResult visitFile(Path file,
+						BasicFileAttributes attributes) {
+					if (attributes.isRegularFile()) {
+						pendingFiles.add(file.toFile());
+					}
+					return FileVisitResult.CONTINUE;
+				}
+
+				@Override
+				public FileVisitResult visitFileFailed(Path file, IOException ex) {
+					return FileVisitResult.CONTINUE;
+				}
+
+			});
+		}
+		catch (IOException ex) {
+			logger.debug("Unable to check the files in " + folder, ex);
+		}
+	}
+
+	private void registerCreatedFolder(File root, Path folder, Set<File> pendingFiles) {
+		try {
+			register(root, folder, (snapshot) -> pendingFiles.add(snapshot.getFile()));
+		}
+		catch (IOException ex) {
+			logger.debug("Unable to watch " + folder + ". Checking all files in " + root,
+					ex);
+			rescan(root, pendingFiles);
+		}
+	}
+
+	private void rescan(File root, Set<File> pendingFiles) {
+		pendingFiles.addAll(this.snapshots.get(root).keySet());
+		try {
+			register(root, root.toPath(),
+					(snapshot) -> pendingFiles.add(snapshot.getFile()));
+		}
+		catch (IOException ex) {
+			logger.debug("Unable to rescan " + root, ex);
+		}
+	}
+
+	private void updateSnapshots() {
+		Set<ChangedFiles> changeSet = new LinkedHashSet<>();
+		boolean triggered = (this.triggerFilter == null);
+		Map<File, Set<ChangedFile>> changes = new LinkedHashMap<>();
+		for (Map.Entry<File, Set<File>> entry : this.pending.entrySet()) {
+			Set<ChangedFile> rootChanges = getChanges(entry.getKey(), entry.getValue());
+			for (ChangedFile change : rootChanges) {
+				triggered = triggered || this.triggerFilter.accept(change.getFile());
+			}
+			changes.put(entry.getKey(), rootChanges);
+		}
+		if (!triggered) {
+			return;
+		}
+		changes.forEach((root, rootChanges) -> {
+			Map<File, FileSnapshot> files = this.snapshots.get(root);
+			Set<ChangedFile> accepted = new LinkedHashSet<>();
+			for (ChangedFile change : rootChanges) {
+				File file = change.getFile();
+				if (change.getType() == Type.DELETE) {
+					files.remove(file);
+				}
+				else {
+					files.put(file, new FileSnapshot(file));
+				}
+				if (this.triggerFilter == null || !this.triggerFilter.accept(file)) {
+					accepted.add(change);
+				}
+			}
+			this.pending.get(root).clear();
+			if (!accepted.isEmpty()) {
+				changeSet.add(new ChangedFiles(root, accepted));
+			}
+		});
+		if (!changeSet.isEmpty()) {
+			fireListeners(Collections.unmodifiableSet(changeSet));
+		}
+	}
+
+	private Set<ChangedFile> getChanges(File root, Set<File> pendingFiles) {
+		Map<File, FileSnapshot> files = this.snapshots.get(root);
+		Set<ChangedFile> changes = new LinkedHashSet<>();
+		for (File file : pendingFiles) {
+			FileSnapshot previous = files.get(file);
+			FileSnapshot current = (file.isFile() ? new FileSnapshot(file) : null);
+			if (previous == null && current != null) {
+				changes.add(new ChangedFile(root, file, Type.ADD));
+			}
+			else if (previous != null && current == null) {
+				changes.add(new ChangedFile(root, file, Type.DELETE));
+			}
+			else if (previous != null && !previous.equals(current)) {
+				changes.add(new ChangedFile(root, file, Type.MODIFY));
+			}
+			else if (previous == null && !file.exists()) {
+				addDeletedFolderContents(root, file, files, changes);
+			}
+		}
+		return changes;
+	}
+
+	private void addDeletedFolderContents(File root, File folder,
+			Map<File, FileSnapshot> files, Set<ChangedFile> changes) {
+		String prefix = folder.getPath() + File.separator;
+		for (File file : files.keySet()) {
+			if (file.getPath().startsWith(prefix) && !file.exists()) {
+				changes.add(new ChangedFile(root, file, Type.DELETE));
+			}
+		}
+	}
+
+	private void fireListeners(Set<ChangedFiles> changeSet) {
+		for (FileChangeListener listener : this.listeners) {
+			listener.onChange(changeSet);
+		}
+	}
+
+	private void close() {
+		try {
+			this.watchService.close();
+		}
+		catch (IOException ex) {
+			logger.debug("Unable to close watch service", ex);
+		}
+	}
+
+	/**
+	 * Create a new {@link WatchServiceWatcher} for the given folders.
+	 * @param remainingScans the number of remaining scans
+	 * @param listeners the listeners to notify of changes
+	 * @param triggerFilter the trigger filter or {@code null}
+	 * @param pollInterval the maximum amount of time to wait for a change before
+	 * checking if the watcher has been stopped
+	 * @param quietPeriod the amount of time required after a change has been detected
+	 * to ensure that updates have completed
+	 * @param folders the folders to watch
+	 * @return the watcher or {@code null} if the folders cannot be watched efficiently
+	 * using a {@link WatchService}
+	 */
+	static WatchServiceWatcher create(AtomicInteger remainingScans,
+			List<FileChangeListener> listeners, FileFilter triggerFilter,
+			long pollInterval, long quietPeriod, Collection<File> folders) {
+		WatchService watchService = null;
+		try {
+			watchService = FileSystems.getDefault().newWatchService();
+			if (POLLING_WATCH_SERVICE.equals(watchService.getClass().getName())) {
+				logger.debug("Watch service is not backed by native file system events. "
+						+ "Falling back to polling");
+				watchService.close();
+				return null;
+			}
+			WatchServiceWatcher watcher = new WatchServiceWatcher(remainingScans,
+					listeners, triggerFilter, pollInterval, quietPeriod, watchService);
+			for (File folder : folders) {
+				watcher.watch(folder);
+			}
+			return watcher;
+		}
+		catch (IOException | RuntimeException ex) {
+			logger.debug("Unable to use watch service. Falling back to polling", ex);
+			if (watchService != null) {
+				try {
+					watchService.close();
+				}
+				catch (IOException closeEx) {
+					// Ignore
+				}
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * A folder that has been registered with the watch service.
+	 */
+	private static final class WatchedFolder {
+
+		private final File root;
+
+		private final Path folder;
+
+		WatchedFolder(File root, Path folder) {
+			this.root = root;
+			this.folder = folder;
+		}
+
+		File getRoot() {
+			return this.root;
+		}
+
+		Path getFolder() {
+			return this.folder;
+		}
+
+	}
+
+}
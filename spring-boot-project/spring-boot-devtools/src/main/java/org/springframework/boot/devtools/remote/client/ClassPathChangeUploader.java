@@ -26,6 +26,8 @@ import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.Collections;
 import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import org.apache.commons.logging.Log;
@@ -37,6 +39,9 @@ import org.springframework.boot.devtools.filewatch.ChangedFiles;
 import org.springframework.boot.devtools.restart.classloader.ClassLoaderFile;
 import org.springframework.boot.devtools.restart.classloader.ClassLoaderFile.Kind;
 import org.springframework.boot.devtools.restart.classloader.ClassLoaderFiles;
+import org.springframework.boot.devtools.restart.classloader.ClassLoaderFiles.SourceFolder;
+import org.springframework.boot.devtools.restart.server.ClassLoaderFilesProtocol;
+import org.springframework.boot.devtools.restart.server.ClassLoaderFilesProtocol.Requirements;
 import org.springframework.context.ApplicationListener;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -49,7 +54,10 @@ import org.springframework.util.Assert;
 import org.springframework.util.FileCopyUtils;
 
 /**
- * Listens and pushes any classpath updates to a remote endpoint.
+ * Listens and pushes any classpath updates to a remote endpoint. Updates are uploaded
+ * using the {@link ClassLoaderFilesProtocol} so that only contents that the remote
+ * application does not already have are sent, falling back to Java serialization if the
+ * remote application does not support the protocol.
  *
  * @author Phillip Webb
  * @author Andy Wilkinson
@@ -75,6 +83,15 @@ public class ClassPathChangeUploader
 
 	private final ClientHttpRequestFactory requestFactory;
 
+	private static final long MAX_UPLOADED_CONTENTS_SIZE = 16 * 1024 * 1024;
+
+	private final Map<String, byte[]> uploadedContents = new LinkedHashMap<>(16, 0.75f,
+			true);
+
+	private long uploadedContentsSize;
+
+	private volatile boolean protocolSupported = true;
+
 	public ClassPathChangeUploader(String url, ClientHttpRequestFactory requestFactory) {
 		Assert.hasLength(url, "URL must not be empty");
 		Assert.notNull(requestFactory, "RequestFactory must not be null");
@@ -91,16 +108,92 @@ public class ClassPathChangeUploader
 	public void onApplicationEvent(ClassPathChangedEvent event) {
 		try {
 			ClassLoaderFiles classLoaderFiles = getClassLoaderFiles(event);
-			byte[] bytes = serialize(classLoaderFiles);
-			performUpload(classLoaderFiles, bytes);
+			if (!this.protocolSupported || !uploadUsingProtocol(classLoaderFiles)) {
+				performUpload(classLoaderFiles, serialize(classLoaderFiles));
+			}
 		}
 		catch (IOException ex) {
 			throw new IllegalStateException(ex);
 		}
 	}
 
+	private boolean uploadUsingProtocol(ClassLoaderFiles classLoaderFiles)
+			throws IOException {
+		Requirements requirements = getRequirements(classLoaderFiles);
+		if (requirements == null) {
+			logger.debug("Remote application does not support binary uploads");
+			this.protocolSupported = false;
+			return false;
+		}
+		byte[] bytes = ClassLoaderFilesProtocol.encodeUpload(classLoaderFiles,
+				requirements, this.uploadedContents);
+		try (ClientHttpResponse response = execute(bytes)) {
+			if (response.getStatusCode() != HttpStatus.OK) {
+				logger.debug("Binary upload failed with " + response.getStatusCode()
+						+ " response");
+				this.uploadedContents.clear();
+				this.uploadedContentsSize = 0;
+				return false;
+			}
+		}
+		updateUploadedContents(classLoaderFiles);
+		if (logger.isDebugEnabled()) {
+			logger.debug("Uploaded " + bytes.length + " bytes. "
+					+ requirements.getExistingCount() + " of " + requirements.size()
+					+ " files were already present");
+		}
+		logUpload(classLoaderFiles);
+		return true;
+	}
+
+	private Requirements getRequirements(ClassLoaderFiles classLoaderFiles)
+			throws IOException {
+		try (ClientHttpResponse response = execute(
+				ClassLoaderFilesProtocol.encodeManifest(classLoaderFiles))) {
+			if (response.getStatusCode() != HttpStatus.OK) {
+				return null;
+			}
+			try {
+				return ClassLoaderFilesProtocol.decodeRequirements(response.getBody());
+			}
+			catch (IOException | IllegalStateException ex) {
+				logger.debug("Unable to read requirements of remote application", ex);
+				return null;
+			}
+		}
+	}
+
+	private void updateUploadedContents(ClassLoaderFiles classLoaderFiles) {
+		for (SourceFolder folder : classLoaderFiles.getSourceFolders()) {
+			for (Map.Entry<String, ClassLoaderFile> entry : folder.getFilesEntrySet()) {
+				byte[] contents = entry.getValue().getContents();
+				byte[] previous = (contents != null
+						? this.uploadedContents.put(entry.getKey(), contents)
+						: this.uploadedContents.remove(entry.getKey()));
+				this.uploadedContentsSize += (contents != null ? contents.length : 0)
+						- (previous != null ? previous.length : 0);
+			}
+		}
+		Iterator<byte[]> iterator = this.uploadedContents.values().iterator();
+		while (this.uploadedContentsSize > MAX_UPLOADED_CONTENTS_SIZE
+				&& iterator.hasNext()) {
+			this.uploadedContentsSize -= iterator.next().length;
+			iterator.remove();
+		}
+	}
+
 	private void performUpload(ClassLoaderFiles classLoaderFiles, byte[] bytes)
 			throws IOException {
+		try (ClientHttpResponse response = execute(bytes)) {
+			HttpStatus statusCode = response.getStatusCode();
+			Assert.state(statusCode == HttpStatus.OK, () -> "Unexpected " + statusCode
+					+ " response uploading class files");
+		}
+		updateUploadedContents(classLoaderFiles);
+		logUpload(classLoaderFiles);
+	}
+
+	private ClientHttpResponse execute(byte[] bytes) throws IOException {
 		try {
 			while (true) {
 				try {
@@ -110,12 +203,7 @@ public class ClassPathChangeUploader
 					headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
 					headers.setContentLength(bytes.length);
 					FileCopyUtils.copy(bytes, request.getBody());
-					ClientHttpResponse response = request.execute();
-					HttpStatus statusCode = response.getStatusCode();
-					Assert.state(statusCode == HttpStatus.OK, () -> "Unexpected "
-							+ statusCode + " response uploading class files");
-					logUpload(classLoaderFiles);
-					return;
+					return request.execute();
 				}
 				catch (ConnectException ex) {
 					logger.warn("Failed to connect when uploading to " + this.uri
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2017 the original author or authors.
+ * Copyright 2012-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,14 +16,21 @@
 
 package org.springframework.boot.devtools.restart;
 
+import java.lang.instrument.Instrumentation;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.Set;
 
+import org.springframework.boot.devtools.filewatch.ChangedFiles;
 import org.springframework.util.ClassUtils;
 
 /**
  * Utility to determine if an Java agent based reloader (e.g. JRebel) is being used.
+ * <p>
+ * Can also be used as a Java agent itself (for example
+ * {@code -javaagent:spring-boot-devtools.jar}) in which case changes that only affect
+ * the bodies of methods in classes that have already been loaded are
+ * {@link #reload(Set) reloaded} in place rather than requiring a restart.
  *
  * @author Phillip Webb
  * @since 1.3.0
@@ -40,9 +47,39 @@ public abstract class AgentReloader {
 		AGENT_CLASSES = Collections.unmodifiableSet(agentClasses);
 	}
 
+	private static volatile ClassRedefiner redefiner;
+
 	private AgentReloader() {
 	}
 
+	/**
+	 * Entry point used when devtools is attached as a Java agent at startup.
+	 * @param args the agent arguments
+	 * @param instrumentation the instrumentation
+	 * @since 2.1.0
+	 */
+	public static void premain(String args, Instrumentation instrumentation) {
+		install(instrumentation);
+	}
+
+	/**
+	 * Entry point used when devtools is attached as a Java agent to a running JVM.
+	 * @param args the agent arguments
+	 * @param instrumentation the instrumentation
+	 * @since 2.1.0
+	 */
+	public static void agentmain(String args, Instrumentation instrumentation) {
+		install(instrumentation);
+	}
+
+	private static synchronized void install(Instrumentation instrumentation) {
+		if (redefiner == null && instrumentation.isRedefineClassesSupported()) {
+			ClassRedefiner classRedefiner = new ClassRedefiner(instrumentation);
+			instrumentation.addTransformer(classRedefiner);
+			redefiner = classRedefiner;
+		}
+	}
+
 	/**
 	 * Determine if any agent reloader is active.
 	 * @return true if agent reloading is active
@@ -61,4 +98,19 @@ public abstract class AgentReloader {
 		return false;
 	}
 
+	/**
+	 * Attempt to reload the given changes in the running application using
+	 * instrumentation. Only possible when devtools has been attached as a Java agent and
+	 * every changed class has already been loaded and only the bodies of its methods
+	 * have changed.
+	 * @param changeSet the changes to reload
+	 * @return {@code true} if the changes have been reloaded or {@code false} if a
+	 * restart is required
+	 * @since 2.1.0
+	 */
+	public static boolean reload(Set<ChangedFiles> changeSet) {
+		ClassRedefiner classRedefiner = redefiner;
+		return (classRedefiner != null && classRedefiner.redefine(changeSet));
+	}
+
 }
@@ -0,0 +1,353 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.devtools.restart;
+
+import java.io.IOException;
+import java.lang.instrument.ClassDefinition;
+import java.lang.instrument.ClassFileTransformer;
+import java.lang.instrument.Instrumentation;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.ProtectionDomain;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.asm.AnnotationVisitor;
+import org.springframework.asm.ClassReader;
+import org.springframework.asm.ClassVisitor;
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.FieldVisitor;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.SpringAsmInfo;
+import org.springframework.boot.devtools.filewatch.ChangedFile;
+import org.springframework.boot.devtools.filewatch.ChangedFile.Type;
+import org.springframework.boot.devtools.filewatch.ChangedFiles;
+import org.springframework.boot.devtools.restart.classloader.RestartClassLoader;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.ObjectUtils;
+import org.springframework.util.StopWatch;
+
+/**
+ * Uses {@link Instrumentation} to redefine classes that have been loaded by the current
+ * {@link RestartClassLoader} so that changes to method bodies can be applied without
+ * restarting the application. The structure of each class (its hierarchy, fields,
+ * method signatures, annotations and initializers) is recorded as it is loaded and a
+ * change is only redefined when that structure is unchanged. Changes to configuration classes always
+ * require a restart as bean definitions would otherwise be out of date.
+ *
+ * @author Local Agent
+ * @see AgentReloader
+ */
+final class ClassRedefiner implements ClassFileTransformer {
+
+	private static final Log logger = LogFactory.getLog(ClassRedefiner.class);
+
+	private static final String CLASS_SUFFIX = ".class";
+
+	private static final String CONFIGURATION_ANNOTATION = "org.springframework.context.annotation.Configuration";
+
+	private static final String BEAN_ANNOTATION = "org.springframework.context.annotation.Bean";
+
+	private final Instrumentation instrumentation;
+
+	private final Map<String, String> structures = new ConcurrentHashMap<>();
+
+	private volatile WeakReference<ClassLoader> classLoader = new WeakReference<>(null);
+
+	ClassRedefiner(Instrumentation instrumentation) {
+		this.instrumentation = instrumentation;
+	}
+
+	@Override
+	public byte[] transform(ClassLoader loader, String className,
+			Class<?> classBeingRedefined, ProtectionDomain protectionDomain,
+			byte[] classfileBuffer) {
+		if (loader instanceof RestartClassLoader && className != null) {
+			try {
+				if (this.classLoader.get() != loader) {
+					this.structures.clear();
+					this.classLoader = new WeakReference<>(loader);
+				}
+				this.structures.put(className, getStructure(classfileBuffer));
+			}
+			catch (RuntimeException ex) {
+				this.structures.remove(className);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Attempt to redefine the classes in the given change set. Any change that is not a
+	 * modification of a class file requires a restart.
+	 * @param changeSet the changes
+	 * @return {@code true} if all changes have been applied to the running application
+	 * or {@code false} if a restart is required
+	 */
+	boolean redefine(Set<ChangedFiles> changeSet) {
+		StopWatch stopWatch = new StopWatch();
+		stopWatch.start();
+		ClassLoader loader = this.classLoader.get();
+		if (loader == null) {
+			return false;
+		}
+		List<ClassDefinition> definitions = new ArrayList<>();
+		for (ChangedFiles changedFiles : changeSet) {
+			for (ChangedFile changedFile : changedFiles) {
+				ClassDefinition definition = getDefinition(loader, changedFile);
+				if (definition == null) {
+					return false;
+				}
+				definitions.add(definition);
+			}
+		}
+		if (definitions.isEmpty()) {
+			return false;
+		}
+		try {
+			this.instrumentation
+					.redefineClasses(definitions.toArray(new ClassDefinition[0]));
+		}
+		catch (Exception | LinkageError ex) {
+			logger.debug("Unable to redefine classes, a restart is required", ex);
+			return false;
+		}
+		stopWatch.stop();
+		logger.info("Reloaded " + definitions.size() + " class"
+				+ ((definitions.size() != 1) ? "es" : "") + " in "
+				+ stopWatch.getTotalTimeMillis() + "ms");
+		return true;
+	}
+
+	private ClassDefinition getDefinition(ClassLoader loader, ChangedFile changedFile) {
+		if (!changedFile.getFile().getName().endsWith(CLASS_SUFFIX)) {
+			logger.debug("Restart required as " + changedFile + " is not a class");
+			return null;
+		}
+		if (changedFile.getType() != Type.MODIFY) {
+			logger.debug("Restart required as " + changedFile + " has been "
+					+ changedFile.getType().toString().toLowerCase());
+			return null;
+		}
+		String relativeName = changedFile.getRelativeName();
+		String className = relativeName.substring(0,
+				relativeName.length() - CLASS_SUFFIX.length());
+		String previous = this.structures.get(className);
+		if (previous == null) {
+			logger.debug("Restart required as " + className + " has not been loaded");
+			return null;
+		}
+		try {
+			byte[] bytes = Files.readAllBytes(changedFile.getFile().toPath());
+			if (!previous.equals(getStructure(bytes))) {
+				logger.debug("Restart required as the structure of " + className
+						+ " has changed");
+				return null;
+			}
+			Class<?> type = Class.forName(className.replace('/', '.'), false, loader);
+			if (type.getClassLoader() != loader || isConfiguration(type)) {
+				logger.debug("Restart required as " + className
+						+ " cannot be redefined");
+				return null;
+			}
+			return new ClassDefinition(type, bytes);
+		}
+		catch (IOException | ClassNotFoundException | LinkageError
+				| RuntimeException ex) {
+			logger.debug("Restart required as " + className + " cannot be read", ex);
+			return null;
+		}
+	}
+
+	private boolean isConfiguration(Class<?> type) {
+		if (AnnotatedElementUtils.isAnnotated(type, CONFIGURATION_ANNOTATION)) {
+			return true;
+		}
+		for (Method method : type.getDeclaredMethods()) {
+			if (AnnotatedElementUtils.isAnnotated(method, BEAN_ANNOTATION)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Return a digest of the structure of the given class bytes. The digest covers
+	 * everything apart from the code of the methods other than constructors and static
+	 * initializers so it only changes when a redefinition would be rejected or would not
+	 * be noticed by the running application. Redefining a class does not run its
+	 * initializers again, so a change to them, including a change to a field's
+	 * initial value, is treated as a change to the structure.
+	 * @param bytes the class bytes
+	 * @return the structure digest
+	 */
+	static String getStructure(byte[] bytes) {
+		StructureVisitor visitor = new StructureVisitor();
+		new ClassReader(bytes).accept(visitor,
+				ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+		return DigestUtils.md5DigestAsHex(
+				visitor.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * {@link ClassVisitor} that builds a description of a class's structure.
+	 */
+	private static class StructureVisitor extends ClassVisitor {
+
+		private final StringBuilder structure = new StringBuilder();
+
+		private final ClassWriter initializers = new ClassWriter(0);
+
+		StructureVisitor() {
+			super(SpringAsmInfo.ASM_VERSION);
+			this.initializers.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC, "Initializers",
+					null, "java/lang/Object", null);
+		}
+
+		@Override
+		public void visit(int version, int access, String name, String signature,
+				String superName, String[] interfaces) {
+			append("class", access, name, signature, superName);
+			if (interfaces != null) {
+				append((Object[]) interfaces);
+			}
+		}
+
+		@Override
+		public void visitInnerClass(String name, String outerName, String innerName,
+				int access) {
+			append("inner", name, outerName, innerName, access);
+		}
+
+		@Override
+		public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
+			return visitAnnotation("annotation", descriptor);
+		}
+
+		@Override
+		public FieldVisitor visitField(int access, String name, String descriptor,
+				String signature, Object value) {
+			append("field", access, name, descriptor, signature, value);
+			return new FieldVisitor(SpringAsmInfo.ASM_VERSION) {
+
+				@Override
+				public AnnotationVisitor visitAnnotation(String annotation,
+						boolean visible) {
+					return StructureVisitor.this.visitAnnotation("annotation",
+							annotation);
+				}
+
+			};
+		}
+
+		@Override
+		public MethodVisitor visitMethod(int access, String name, String descriptor,
+				String signature, String[] exceptions) {
+			append("method", access, name, descriptor, signature);
+			if (exceptions != null) {
+				append((Object[]) exceptions);
+			}
+			MethodVisitor code = (isInitializer(name) ? this.initializers
+					.visitMethod(access, name, descriptor, signature, exceptions) : null);
+			return new MethodVisitor(SpringAsmInfo.ASM_VERSION, code) {
+
+				@Override
+				public AnnotationVisitor visitAnnotation(String annotation,
+						boolean visible) {
+					return StructureVisitor.this.visitAnnotation("annotation",
+							annotation);
+				}
+
+				@Override
+				public AnnotationVisitor visitParameterAnnotation(int parameter,
+						String annotation, boolean visible) {
+					return StructureVisitor.this
+							.visitAnnotation("parameter-annotation", annotation);
+				}
+
+				@Override
+				public AnnotationVisitor visitAnnotationDefault() {
+					return StructureVisitor.this.visitAnnotation("default", null);
+				}
+
+			};
+		}
+
+		private boolean isInitializer(String name) {
+			return "<init>".equals(name) || "<clinit>".equals(name);
+		}
+
+		private AnnotationVisitor visitAnnotation(String kind, String descriptor) {
+			append(kind, descriptor);
+			return new AnnotationVisitor(SpringAsmInfo.ASM_VERSION) {
+
+				@Override
+				public void visit(String name, Object value) {
+					append("value", name, ObjectUtils.nullSafeToString(value));
+				}
+
+				@Override
+				public void visitEnum(String name, String descriptor, String value) {
+					append("enum", name, descriptor, value);
+				}
+
+				@Override
+				public AnnotationVisitor visitAnnotation(String name,
+						String descriptor) {
+					return StructureVisitor.this.visitAnnotation("nested", descriptor);
+				}
+
+				@Override
+				public AnnotationVisitor visitArray(String name) {
+					append("array", name);
+					return this;
+				}
+
+				@Override
+				public void visitEnd() {
+					append("end");
+				}
+
+			};
+		}
+
+		private void append(Object... values) {
+			for (Object value : values) {
+				this.structure.append(value).append(' ');
+			}
+			this.structure.append('\n');
+		}
+
+		@Override
+		public String toString() {
+			return this.structure.toString()
+					+ DigestUtils.md5DigestAsHex(this.initializers.toByteArray());
+		}
+
+	}
+
+}
@@ -55,6 +55,7 @@ import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.util.Assert;
 import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StopWatch;
 
 /**
  * Allows a running application to be restarted with an updated classpath. The restarter
@@ -247,8 +248,17 @@ public class Restarter {
 		}
 		this.logger.debug("Restarting application");
 		getLeakSafeThread().call(() -> {
+			StopWatch stopWatch = new StopWatch();
+			stopWatch.start();
 			Restarter.this.stop();
+			stopWatch.stop();
+			long stopTime = stopWatch.getLastTaskTimeMillis();
+			stopWatch.start();
 			Restarter.this.start(failureHandler);
+			stopWatch.stop();
+			Restarter.this.logger.info("Restarted application in "
+					+ stopWatch.getTotalTimeMillis() + "ms (stop " + stopTime
+					+ "ms, start " + stopWatch.getLastTaskTimeMillis() + "ms)");
 			return null;
 		});
 	}
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.devtools.restart.server;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Creates and applies binary deltas. A delta is the length of the target followed by a
+ * sequence of instructions that either copy a range of bytes from the source or insert
+ * literal bytes. Copies are found by
+ * indexing fixed size blocks of the source and extending each match as far as possible
+ * in both directions.
+ *
+ * @author Local Agent
+ */
+final class BinaryDelta {
+
+	private static final int BLOCK_SIZE = 16;
+
+	private static final int COPY = 0;
+
+	private static final int INSERT = 1;
+
+	private BinaryDelta() {
+	}
+
+	/**
+	 * Create a delta that will turn the given source into the given target.
+	 * @param source the source bytes
+	 * @param target the target bytes
+	 * @return the delta
+	 * @throws IOException if the delta cannot be written
+	 */
+	static byte[] create(byte[] source, byte[] target) throws IOException {
+		Map<Integer, Integer> blocks = new HashMap<>();
+		for (int i = 0; i + BLOCK_SIZE <= source.length; i += BLOCK_SIZE) {
+			blocks.putIfAbsent(hash(source, i), i);
+		}
+		ByteArrayOutputStream delta = new ByteArrayOutputStream();
+		writeVarInt(delta, target.length);
+		int literalStart = 0;
+		int position = 0;
+		while (position + BLOCK_SIZE <= target.length) {
+			Integer match = blocks.get(hash(target, position));
+			if (match != null && matches(source, match, target, position)) {
+				int sourceStart = match;
+				int targetStart = position;
+				while (sourceStart > 0 && targetStart > literalStart
+						&& source[sourceStart - 1] == target[targetStart - 1]) {
+					sourceStart--;
+					targetStart--;
+				}
+				int length = position - targetStart + BLOCK_SIZE;
+				while (sourceStart + length < source.length
+						&& targetStart + length < target.length
+						&& source[sourceStart + length] == target[targetStart + length]) {
+					length++;
+				}
+				writeInsert(delta, target, literalStart, targetStart);
+				writeVarInt(delta, (length << 1) | COPY);
+				writeVarInt(delta, sourceStart);
+				position = targetStart + length;
+				literalStart = position;
+			}
+			else {
+				position++;
+			}
+		}
+		writeInsert(delta, target, literalStart, target.length);
+		return delta.toByteArray();
+	}
+
+	/**
+	 * Apply the given delta to the given source.
+	 * @param source the source bytes
+	 * @param delta the delta
+	 * @return the target bytes
+	 * @throws IOException if the delta is malformed
+	 */
+	static byte[] apply(byte[] source, byte[] delta) throws IOException {
+		InputStream inputStream = new ByteArrayInputStream(delta);
+		int targetLength = readVarInt(inputStream);
+		ByteArrayOutputStream target = new ByteArrayOutputStream(
+				Math.min(targetLength, source.length + delta.length));
+		while (inputStream.available() > 0) {
+			int instruction = readVarInt(inputStream);
+			int length = instruction >>> 1;
+			if (length > targetLength - target.size()) {
+				throw new IOException("Instruction for " + length + " bytes at "
+						+ target.size() + " is beyond the target length of "
+						+ targetLength + " bytes");
+			}
+			if ((instruction & 1) == COPY) {
+				int offset = readVarInt(inputStream);
+				if (offset > source.length - length) {
+					throw new IOException("Copy of " + length + " bytes from " + offset
+							+ " is outside of the source of " + source.length + " bytes");
+				}
+				target.write(source, offset, length);
+			}
+			else {
+				if (length > inputStream.available()) {
+					throw new IOException("Insert of " + length
+							+ " bytes is longer than the remaining "
+							+ inputStream.available() + " bytes of the delta");
+				}
+				byte[] literal = new byte[length];
+				inputStream.read(literal, 0, length);
+				target.write(literal, 0, length);
+			}
+		}
+		if (target.size() != targetLength) {
+			throw new IOException("Delta produced " + target.size()
+					+ " bytes rather than the expected " + targetLength + " bytes");
+		}
+		return target.toByteArray();
+	}
+
+	private static void writeInsert(ByteArrayOutputStream delta, byte[] target,
+			int start, int end) throws IOException {
+		if (end > start) {
+			writeVarInt(delta, ((end - start) << 1) | INSERT);
+			delta.write(target, start, end - start);
+		}
+	}
+
+	private static boolean matches(byte[] source, int sourceStart, byte[] target,
+			int targetStart) {
+		for (int i = 0; i < BLOCK_SIZE; i++) {
+			if (source[sourceStart + i] != target[targetStart + i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static int hash(byte[] bytes, int start) {
+		int hash = 1;
+		for (int i = start; i < start + BLOCK_SIZE; i++) {
+			hash = 31 * hash + bytes[i];
+		}
+		return hash;
+	}
+
+	/**
+	 * Write a non-negative int using a variable number of bytes.
+	 * @param outputStream the stream to write to
+	 * @param value the value to write
+	 * @throws IOException if the value cannot be written
+	 */
+	static void writeVarInt(OutputStream outputStream, int value) throws IOException {
+		int remaining = value;
+		while ((remaining & ~0x7F) != 0) {
+			outputStream.write((remaining & 0x7F) | 0x80);
+			remaining >>>= 7;
+		}
+		outputStream.write(remaining);
+	}
+
+	/**
+	 * Read an int that was written by {@link #writeVarInt(OutputStream, int)}.
+	 * @param inputStream the stream to read from
+	 * @return the value
+	 * @throws IOException if the value cannot be read or is not a non-negative int
+	 */
+	static int readVarInt(InputStream inputStream) throws IOException {
+		long value = 0;
+		for (int shift = 0; shift < 35; shift += 7) {
+			int b = inputStream.read();
+			if (b == -1) {
+				throw new EOFException();
+			}
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				if (value > Integer.MAX_VALUE) {
+					throw new IOException(
+							"Variable length int " + value + " is out of range");
+				}
+				return (int) value;
+			}
+		}
+		throw new IOException("Malformed variable length int");
+	}
+
+}
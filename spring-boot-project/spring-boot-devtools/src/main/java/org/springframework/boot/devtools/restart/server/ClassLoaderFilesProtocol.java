@@ -0,0 +1,450 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.devtools.restart.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.springframework.boot.devtools.restart.classloader.ClassLoaderFile;
+import org.springframework.boot.devtools.restart.classloader.ClassLoaderFile.Kind;
+import org.springframework.boot.devtools.restart.classloader.ClassLoaderFiles;
+import org.springframework.boot.devtools.restart.classloader.ClassLoaderFiles.SourceFolder;
+import org.springframework.util.Assert;
+
+/**
+ * Compact binary protocol used to upload {@link ClassLoaderFiles} to a
+ * {@link HttpRestartServer}.
+ * <p>
+ * An upload takes two requests. The client first sends a manifest that describes each
+ * file using a hash of its contents. For each file, the server replies with whether it
+ * already has those contents and, if it does not, the hash of the contents that it
+ * currently has. The client then uploads the files, leaving out contents that the server
+ * already has and sending a delta when it still holds the contents that the server
+ * currently has. The body of every message is compressed.
+ *
+ * @author Local Agent
+ * @since 2.1.0
+ */
+public final class ClassLoaderFilesProtocol {
+
+	/**
+	 * The bytes that start every message ({@code SBDT}).
+	 */
+	private static final int MAGIC = 0x53424454;
+
+	private static final int VERSION = 1;
+
+	private static final int MANIFEST = 1;
+
+	private static final int REQUIREMENTS = 2;
+
+	private static final int UPLOAD = 3;
+
+	private static final int CONTENTS_EXISTING = 0;
+
+	private static final int CONTENTS_FULL = 1;
+
+	private static final int CONTENTS_DELTA = 2;
+
+	private static final int HASH_LENGTH = 20;
+
+	private static final Kind[] KINDS = Kind.values();
+
+	private ClassLoaderFilesProtocol() {
+	}
+
+	/**
+	 * Encode a manifest that describes the given files.
+	 * @param files the files
+	 * @return the encoded manifest
+	 * @throws IOException if the manifest cannot be encoded
+	 */
+	public static byte[] encodeManifest(ClassLoaderFiles files) throws IOException {
+		List<Entry> entries = getEntries(files);
+		return encode(MANIFEST, (output) -> {
+			BinaryDelta.writeVarInt(output, entries.size());
+			for (Entry entry : entries) {
+				entry.writeDescription(output);
+			}
+		});
+	}
+
+	/**
+	 * Decode the {@link Requirements} that a server sent in response to a manifest.
+	 * @param inputStream the stream containing the server's response
+	 * @return the requirements
+	 * @throws IOException if the requirements cannot be decoded
+	 */
+	public static Requirements decodeRequirements(InputStream inputStream)
+			throws IOException {
+		DataInputStream input = decode(inputStream, REQUIREMENTS);
+		int count = BinaryDelta.readVarInt(input);
+		List<Boolean> existing = new ArrayList<>(count);
+		List<byte[]> currentHashes = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			existing.add(input.readBoolean());
+			currentHashes.add(input.readBoolean() ? readHash(input) : null);
+		}
+		return new Requirements(existing, currentHashes);
+	}
+
+	/**
+	 * Encode an upload of the given files.
+	 * @param files the files to upload
+	 * @param requirements the requirements that the server sent in response to the
+	 * manifest of the files
+	 * @param previousContents the contents of files that have previously been uploaded,
+	 * keyed by name, that can be used as the source of a delta
+	 * @return the encoded upload
+	 * @throws IOException if the upload cannot be encoded
+	 */
+	public static byte[] encodeUpload(ClassLoaderFiles files, Requirements requirements,
+			Map<String, byte[]> previousContents) throws IOException {
+		List<Entry> entries = getEntries(files);
+		Assert.isTrue(entries.size() == requirements.size(),
+				"Requirements do not match files");
+		return encode(UPLOAD, (output) -> {
+			BinaryDelta.writeVarInt(output, entries.size());
+			for (int i = 0; i < entries.size(); i++) {
+				Entry entry = entries.get(i);
+				entry.writeDescription(output);
+				if (entry.kind != Kind.DELETED) {
+					entry.writeContents(output, requirements.isExisting(i),
+							requirements.getCurrentHash(i),
+							previousContents.get(entry.name));
+				}
+			}
+		});
+	}
+
+	/**
+	 * Return if the given stream contains a message of this protocol. The stream must
+	 * support {@link InputStream#mark(int) mark} and is reset before returning.
+	 * @param inputStream the stream
+	 * @return {@code true} if the stream contains a message of this protocol
+	 * @throws IOException if the stream cannot be read
+	 */
+	static boolean isProtocolMessage(InputStream inputStream) throws IOException {
+		Assert.isTrue(inputStream.markSupported(), "InputStream must support mark");
+		inputStream.mark(4);
+		try {
+			return new DataInputStream(inputStream).readInt() == MAGIC;
+		}
+		catch (IOException ex) {
+			return false;
+		}
+		finally {
+			inputStream.reset();
+		}
+	}
+
+	/**
+	 * Handle a message received by the server.
+	 * @param inputStream the stream containing the message
+	 * @param outputStream the stream to which any response is written
+	 * @param contents function used to get the contents of a file that the server
+	 * currently has
+	 * @return the uploaded files or {@code null} if the message was not an upload
+	 * @throws IOException if the message cannot be handled
+	 */
+	static ClassLoaderFiles handle(InputStream inputStream, OutputStream outputStream,
+			Function<String, byte[]> contents) throws IOException {
+		DataInputStream input = new DataInputStream(inputStream);
+		int type = readHeader(input);
+		input = new DataInputStream(new InflaterInputStream(input));
+		if (type == MANIFEST) {
+			writeRequirements(readEntries(input, false), outputStream, contents);
+			return null;
+		}
+		Assert.state(type == UPLOAD, () -> "Unexpected message type " + type);
+		ClassLoaderFiles files = new ClassLoaderFiles();
+		for (Entry entry : readEntries(input, true)) {
+			files.addFile(entry.folder, entry.name, entry.resolve(contents));
+		}
+		return files;
+	}
+
+	private static void writeRequirements(List<Entry> entries,
+			OutputStream outputStream, Function<String, byte[]> contents)
+			throws IOException {
+		outputStream.write(encode(REQUIREMENTS, (output) -> {
+			BinaryDelta.writeVarInt(output, entries.size());
+			for (Entry entry : entries) {
+				byte[] current = (entry.kind != Kind.DELETED
+						? contents.apply(entry.name) : null);
+				byte[] currentHash = (current != null ? hash(current) : null);
+				output.writeBoolean(entry.kind == Kind.DELETED
+						|| Arrays.equals(currentHash, entry.hash));
+				output.writeBoolean(currentHash != null);
+				if (currentHash != null) {
+					output.write(currentHash);
+				}
+			}
+		}));
+	}
+
+	private static List<Entry> readEntries(DataInputStream input, boolean withContents)
+			throws IOException {
+		int count = BinaryDelta.readVarInt(input);
+		List<Entry> entries = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			entries.add(Entry.read(input, withContents));
+		}
+		return entries;
+	}
+
+	private static List<Entry> getEntries(ClassLoaderFiles files) {
+		List<Entry> entries = new ArrayList<>();
+		for (SourceFolder folder : files.getSourceFolders()) {
+			for (Map.Entry<String, ClassLoaderFile> file : folder.getFilesEntrySet()) {
+				entries.add(new Entry(folder.getName(), file.getKey(), file.getValue()));
+			}
+		}
+		return entries;
+	}
+
+	private static byte[] encode(int type, MessageWriter writer) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream header = new DataOutputStream(bytes);
+		header.writeInt(MAGIC);
+		header.writeByte(VERSION);
+		header.writeByte(type);
+		Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+		try (DataOutputStream output = new DataOutputStream(
+				new DeflaterOutputStream(bytes, deflater))) {
+			writer.write(output);
+		}
+		finally {
+			deflater.end();
+		}
+		return bytes.toByteArray();
+	}
+
+	private static DataInputStream decode(InputStream inputStream, int expectedType)
+			throws IOException {
+		DataInputStream input = new DataInputStream(inputStream);
+		int type = readHeader(input);
+		Assert.state(type == expectedType, () -> "Unexpected message type " + type);
+		return new DataInputStream(new InflaterInputStream(input));
+	}
+
+	private static int readHeader(DataInputStream input) throws IOException {
+		Assert.state(input.readInt() == MAGIC, "Not a class loader files message");
+		int version = input.readUnsignedByte();
+		Assert.state(version == VERSION, () -> "Unsupported version " + version);
+		return input.readUnsignedByte();
+	}
+
+	private static void writeBytes(DataOutputStream output, byte[] bytes)
+			throws IOException {
+		BinaryDelta.writeVarInt(output, bytes.length);
+		output.write(bytes);
+	}
+
+	private static byte[] readBytes(DataInputStream input) throws IOException {
+		byte[] bytes = new byte[BinaryDelta.readVarInt(input)];
+		input.readFully(bytes);
+		return bytes;
+	}
+
+	private static byte[] readHash(DataInputStream input) throws IOException {
+		byte[] hash = new byte[HASH_LENGTH];
+		input.readFully(hash);
+		return hash;
+	}
+
+	private static byte[] hash(byte[] bytes) {
+		try {
+			return MessageDigest.getInstance("SHA-1").digest(bytes);
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	/**
+	 * The requirements of a server for each of the files in a manifest.
+	 */
+	public static final class Requirements {
+
+		private final List<Boolean> existing;
+
+		private final List<byte[]> currentHashes;
+
+		private Requirements(List<Boolean> existing, List<byte[]> currentHashes) {
+			this.existing = existing;
+			this.currentHashes = currentHashes;
+		}
+
+		/**
+		 * Return the number of files.
+		 * @return the number of files
+		 */
+		public int size() {
+			return this.existing.size();
+		}
+
+		/**
+		 * Return the number of files whose contents the server already has.
+		 * @return the number of existing files
+		 */
+		public int getExistingCount() {
+			return Collections.frequency(this.existing, Boolean.TRUE);
+		}
+
+		boolean isExisting(int index) {
+			return this.existing.get(index);
+		}
+
+		byte[] getCurrentHash(int index) {
+			return this.currentHashes.get(index);
+		}
+
+	}
+
+	/**
+	 * Callback used to write the body of a message.
+	 */
+	@FunctionalInterface
+	private interface MessageWriter {
+
+		void write(DataOutputStream output) throws IOException;
+
+	}
+
+	/**
+	 * A single file in a message.
+	 */
+	private static final class Entry {
+
+		private final String folder;
+
+		private final String name;
+
+		private final Kind kind;
+
+		private final long lastModified;
+
+		private final byte[] hash;
+
+		private byte[] contents;
+
+		private int contentsType = CONTENTS_FULL;
+
+		private byte[] sourceHash;
+
+		private Entry(String folder, String name, ClassLoaderFile file) {
+			this(folder, name, file.getKind(), file.getLastModified(),
+					(file.getContents() != null ? hash(file.getContents()) : null));
+			this.contents = file.getContents();
+		}
+
+		private Entry(String folder, String name, Kind kind, long lastModified,
+				byte[] hash) {
+			this.folder = folder;
+			this.name = name;
+			this.kind = kind;
+			this.lastModified = lastModified;
+			this.hash = hash;
+		}
+
+		void writeDescription(DataOutputStream output) throws IOException {
+			output.writeUTF(this.folder);
+			output.writeUTF(this.name);
+			output.writeByte(this.kind.ordinal());
+			output.writeLong(this.lastModified);
+			if (this.kind != Kind.DELETED) {
+				output.write(this.hash);
+			}
+		}
+
+		void writeContents(DataOutputStream output, boolean existing,
+				byte[] currentHash, byte[] previous) throws IOException {
+			if (existing) {
+				output.writeByte(CONTENTS_EXISTING);
+			}
+			else if (currentHash != null && previous != null
+					&& Arrays.equals(currentHash, hash(previous))) {
+				output.writeByte(CONTENTS_DELTA);
+				output.write(currentHash);
+				writeBytes(output, BinaryDelta.create(previous, this.contents));
+			}
+			else {
+				output.writeByte(CONTENTS_FULL);
+				writeBytes(output, this.contents);
+			}
+		}
+
+		ClassLoaderFile resolve(Function<String, byte[]> currentContents)
+				throws IOException {
+			if (this.kind == Kind.DELETED) {
+				return new ClassLoaderFile(this.kind, this.lastModified, null);
+			}
+			byte[] resolved = this.contents;
+			if (this.contentsType != CONTENTS_FULL) {
+				byte[] current = currentContents.apply(this.name);
+				byte[] expectedHash = (this.contentsType != CONTENTS_EXISTING
+						? this.sourceHash : this.hash);
+				Assert.state(
+						current != null && Arrays.equals(hash(current), expectedHash),
+						() -> "Current contents of " + this.name + " have changed");
+				resolved = (this.contentsType != CONTENTS_EXISTING
+						? BinaryDelta.apply(current, this.contents) : current);
+			}
+			Assert.state(Arrays.equals(hash(resolved), this.hash),
+					() -> "Contents of " + this.name + " do not match their hash");
+			return new ClassLoaderFile(this.kind, this.lastModified, resolved);
+		}
+
+		static Entry read(DataInputStream input, boolean withContents)
+				throws IOException {
+			String folder = input.readUTF();
+			String name = input.readUTF();
+			Kind kind = KINDS[input.readUnsignedByte()];
+			long lastModified = input.readLong();
+			byte[] hash = (kind != Kind.DELETED ? readHash(input) : null);
+			Entry entry = new Entry(folder, name, kind, lastModified, hash);
+			if (withContents && kind != Kind.DELETED) {
+				entry.contentsType = input.readUnsignedByte();
+				if (entry.contentsType == CONTENTS_DELTA) {
+					entry.sourceHash = readHash(input);
+				}
+				if (entry.contentsType != CONTENTS_EXISTING) {
+					entry.contents = readBytes(input);
+				}
+			}
+			return entry;
+		}
+
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2017 the original author or authors.
+ * Copyright 2012-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,7 +16,10 @@
 
 package org.springframework.boot.devtools.restart.server;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.ObjectInputStream;
 
 import org.apache.commons.logging.Log;
@@ -24,13 +27,15 @@ import org.apache.commons.logging.LogFactory;
 
 import org.springframework.boot.devtools.restart.classloader.ClassLoaderFiles;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.server.ServerHttpRequest;
 import org.springframework.http.server.ServerHttpResponse;
 import org.springframework.util.Assert;
 
 /**
  * A HTTP server that can be used to upload updated {@link ClassLoaderFiles} and trigger
- * restarts.
+ * restarts. Uploads can use either the {@link ClassLoaderFilesProtocol} or Java
+ * serialization.
  *
  * @author Phillip Webb
  * @since 1.3.0
@@ -71,8 +76,12 @@ public class HttpRestartServer {
 			throws IOException {
 		try {
 			Assert.state(request.getHeaders().getContentLength() > 0, "No content");
-			ObjectInputStream objectInputStream = new ObjectInputStream(
-					request.getBody());
+			InputStream body = new BufferedInputStream(request.getBody());
+			if (ClassLoaderFilesProtocol.isProtocolMessage(body)) {
+				handleProtocolMessage(body, response);
+				return;
+			}
+			ObjectInputStream objectInputStream = new ObjectInputStream(body);
 			ClassLoaderFiles files = (ClassLoaderFiles) objectInputStream.readObject();
 			objectInputStream.close();
 			this.server.updateAndRestart(files);
@@ -84,4 +93,20 @@ public class HttpRestartServer {
 		}
 	}
 
+	private void handleProtocolMessage(InputStream body, ServerHttpResponse response)
+			throws IOException {
+		ByteArrayOutputStream responseBody = new ByteArrayOutputStream();
+		ClassLoaderFiles files = ClassLoaderFilesProtocol.handle(body, responseBody,
+				this.server::getCurrentContents);
+		if (files != null) {
+			this.server.updateAndRestart(files);
+		}
+		response.setStatusCode(HttpStatus.OK);
+		if (responseBody.size() > 0) {
+			response.getHeaders().setContentType(MediaType.APPLICATION_OCTET_STREAM);
+			response.getHeaders().setContentLength(responseBody.size());
+			response.getBody().write(responseBody.toByteArray());
+		}
+	}
+
 }
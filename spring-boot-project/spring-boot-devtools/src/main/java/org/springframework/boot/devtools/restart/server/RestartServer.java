@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2017 the original author or authors.
+ * Copyright 2012-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,7 @@ package org.springframework.boot.devtools.restart.server;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.Collections;
@@ -167,6 +168,23 @@ public class RestartServer {
 		}
 	}
 
+	/**
+	 * Return the current contents of the resource with the given name, including any
+	 * updates that have already been applied.
+	 * @param name the name of the resource
+	 * @return the contents or {@code null} if the resource does not exist or cannot be
+	 * read
+	 */
+	byte[] getCurrentContents(String name) {
+		try (InputStream inputStream = this.classLoader.getResourceAsStream(name)) {
+			return (inputStream != null ? FileCopyUtils.copyToByteArray(inputStream)
+					: null);
+		}
+		catch (IOException ex) {
+			return null;
+		}
+	}
+
 	/**
 	 * Called to restart the application.
 	 * @param urls the updated URLs
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2017 the original author or authors.
+ * Copyright 2012-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -49,7 +49,7 @@ public class FileSystemWatcherTests {
 	@Rule
 	public ExpectedException thrown = ExpectedException.none();
 
-	private FileSystemWatcher watcher;
+	protected FileSystemWatcher watcher;
 
 	private List<Set<ChangedFiles>> changes = Collections
 			.synchronizedList(new ArrayList<Set<ChangedFiles>>());
@@ -271,32 +271,47 @@ public class FileSystemWatcherTests {
 		assertThat(actual).isEqualTo(expected);
 	}
 
+	protected FileSystemWatcher createWatcher(Duration pollInterval,
+			Duration quietPeriod) {
+		return new FileSystemWatcher(false, pollInterval, quietPeriod);
+	}
+
 	private void setupWatcher(long pollingInterval, long quietPeriod) {
-		this.watcher = new FileSystemWatcher(false, Duration.ofMillis(pollingInterval),
+		this.watcher = createWatcher(Duration.ofMillis(pollingInterval),
 				Duration.ofMillis(quietPeriod));
 		this.watcher.addListener(
 				(changeSet) -> FileSystemWatcherTests.this.changes.add(changeSet));
 	}
 
-	private File startWithNewFolder() throws IOException {
+	protected final File startWithNewFolder() throws IOException {
 		File folder = this.temp.newFolder();
 		this.watcher.addSourceFolder(folder);
 		this.watcher.start();
 		return folder;
 	}
 
-	private ChangedFiles getSingleChangedFiles() {
+	protected final ChangedFiles getSingleChangedFiles() {
 		Set<ChangedFiles> singleChange = getSingleOnChange();
 		assertThat(singleChange.size()).isEqualTo(1);
 		return singleChange.iterator().next();
 	}
 
+	protected final List<ChangedFile> getAllChangedFiles() {
+		List<ChangedFile> changedFiles = new ArrayList<>();
+		for (Set<ChangedFiles> changeSet : this.changes) {
+			for (ChangedFiles files : changeSet) {
+				changedFiles.addAll(files.getFiles());
+			}
+		}
+		return changedFiles;
+	}
+
 	private Set<ChangedFiles> getSingleOnChange() {
 		assertThat(this.changes.size()).isEqualTo(1);
 		return this.changes.get(0);
 	}
 
-	private File touch(File file) throws IOException {
+	protected final File touch(File file) throws IOException {
 		file.getParentFile().mkdirs();
 		FileOutputStream fileOutputStream = new FileOutputStream(file);
 		fileOutputStream.close();
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.devtools.filewatch;
+
+import java.io.File;
+import java.time.Duration;
+
+import org.junit.Test;
+
+import org.springframework.boot.devtools.filewatch.ChangedFile.Type;
+import org.springframework.util.FileSystemUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link FileSystemWatcher} when using a
+ * {@link java.nio.file.WatchService WatchService}.
+ */
+public class WatchServiceFileSystemWatcherTests extends FileSystemWatcherTests {
+
+	@Override
+	protected FileSystemWatcher createWatcher(Duration pollInterval,
+			Duration quietPeriod) {
+		return new FileSystemWatcher(false, pollInterval, quietPeriod, true);
+	}
+
+	@Test
+	public void deleteNestedFolder() throws Exception {
+		File folder = this.temp.newFolder();
+		File sub = new File(folder, "sub");
+		File file = touch(new File(new File(sub, "nested"), "test.txt"));
+		this.watcher.addSourceFolder(folder);
+		this.watcher.start();
+		FileSystemUtils.deleteRecursively(sub);
+		this.watcher.stopAfter(1);
+		ChangedFiles changedFiles = getSingleChangedFiles();
+		assertThat(changedFiles.getFiles())
+				.containsOnly(new ChangedFile(folder, file, Type.DELETE));
+	}
+
+	@Test
+	public void addFileToNewNestedFolder() throws Exception {
+		File folder = startWithNewFolder();
+		File sub = new File(folder, "sub");
+		sub.mkdirs();
+		Thread.sleep(50);
+		File file = touch(new File(new File(sub, "nested"), "test.txt"));
+		this.watcher.stopAfter(1);
+		ChangedFiles changedFiles = getSingleChangedFiles();
+		assertThat(changedFiles.getFiles())
+				.containsOnly(new ChangedFile(folder, file, Type.ADD));
+	}
+
+	@Test
+	public void deletedRootFolderIsWatchedAgainOnceRecreated() throws Exception {
+		File folder = this.temp.newFolder();
+		File deleted = touch(new File(folder, "deleted.txt"));
+		this.watcher.addSourceFolder(folder);
+		this.watcher.start();
+		FileSystemUtils.deleteRecursively(folder);
+		Thread.sleep(200);
+		File added = touch(new File(folder, "added.txt"));
+		Thread.sleep(200);
+		File later = touch(new File(folder, "later.txt"));
+		this.watcher.stopAfter(1);
+		assertThat(getAllChangedFiles()).containsExactly(
+				new ChangedFile(folder, deleted, Type.DELETE),
+				new ChangedFile(folder, added, Type.ADD),
+				new ChangedFile(folder, later, Type.ADD));
+	}
+
+}
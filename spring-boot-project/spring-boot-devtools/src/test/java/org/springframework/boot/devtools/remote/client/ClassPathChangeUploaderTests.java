@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2017 the original author or authors.
+ * Copyright 2012-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -101,26 +101,53 @@ public class ClassPathChangeUploaderTests {
 	}
 
 	@Test
-	public void sendsClassLoaderFiles() throws Exception {
+	public void sendsManifestFirst() throws Exception {
 		File sourceFolder = this.temp.newFolder();
 		ClassPathChangedEvent event = createClassPathChangedEvent(sourceFolder);
+		this.requestFactory.willRespond(HttpStatus.INTERNAL_SERVER_ERROR);
 		this.requestFactory.willRespond(HttpStatus.OK);
 		this.uploader.onApplicationEvent(event);
-		assertThat(this.requestFactory.getExecutedRequests()).hasSize(1);
 		MockClientHttpRequest request = this.requestFactory.getExecutedRequests().get(0);
+		assertThat(request.getBodyAsBytes()).startsWith("SBDT".getBytes());
+	}
+
+	@Test
+	public void sendsClassLoaderFilesWhenProtocolIsNotSupported() throws Exception {
+		File sourceFolder = this.temp.newFolder();
+		ClassPathChangedEvent event = createClassPathChangedEvent(sourceFolder);
+		this.requestFactory.willRespond(HttpStatus.INTERNAL_SERVER_ERROR);
+		this.requestFactory.willRespond(HttpStatus.OK);
+		this.uploader.onApplicationEvent(event);
+		assertThat(this.requestFactory.getExecutedRequests()).hasSize(2);
+		MockClientHttpRequest request = this.requestFactory.getExecutedRequests().get(1);
 		verifyUploadRequest(sourceFolder, request);
 	}
 
+	@Test
+	public void sendsClassLoaderFilesWithoutManifestOnceProtocolIsNotSupported()
+			throws Exception {
+		File sourceFolder = this.temp.newFolder();
+		ClassPathChangedEvent event = createClassPathChangedEvent(sourceFolder);
+		this.requestFactory.willRespond(HttpStatus.INTERNAL_SERVER_ERROR);
+		this.requestFactory.willRespond(HttpStatus.OK, HttpStatus.OK);
+		this.uploader.onApplicationEvent(event);
+		this.uploader.onApplicationEvent(event);
+		assertThat(this.requestFactory.getExecutedRequests()).hasSize(3);
+		verifyUploadRequest(sourceFolder,
+				this.requestFactory.getExecutedRequests().get(2));
+	}
+
 	@Test
 	public void retriesOnConnectException() throws Exception {
 		File sourceFolder = this.temp.newFolder();
 		ClassPathChangedEvent event = createClassPathChangedEvent(sourceFolder);
 		this.requestFactory.willRespond(new ConnectException());
+		this.requestFactory.willRespond(HttpStatus.INTERNAL_SERVER_ERROR);
 		this.requestFactory.willRespond(HttpStatus.OK);
 		this.uploader.onApplicationEvent(event);
-		assertThat(this.requestFactory.getExecutedRequests()).hasSize(2);
+		assertThat(this.requestFactory.getExecutedRequests()).hasSize(3);
 		verifyUploadRequest(sourceFolder,
-				this.requestFactory.getExecutedRequests().get(1));
+				this.requestFactory.getExecutedRequests().get(2));
 	}
 
 	private void verifyUploadRequest(File sourceFolder, MockClientHttpRequest request)
@@ -0,0 +1,251 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.devtools.restart;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.instrument.ClassDefinition;
+import java.lang.instrument.Instrumentation;
+import java.net.URL;
+import java.util.Collections;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.boot.devtools.filewatch.ChangedFile;
+import org.springframework.boot.devtools.filewatch.ChangedFile.Type;
+import org.springframework.boot.devtools.filewatch.ChangedFiles;
+import org.springframework.boot.devtools.restart.classloader.RestartClassLoader;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.FileCopyUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+/**
+ * Tests for {@link ClassRedefiner}.
+ */
+public class ClassRedefinerTests {
+
+	@Rule
+	public TemporaryFolder temp = new TemporaryFolder();
+
+	private final Instrumentation instrumentation = mock(Instrumentation.class);
+
+	private final ClassRedefiner redefiner = new ClassRedefiner(this.instrumentation);
+
+	private File classes;
+
+	private RestartClassLoader classLoader;
+
+	@Before
+	public void setup() throws IOException {
+		this.classes = this.temp.newFolder();
+		this.classLoader = new RestartClassLoader(getClass().getClassLoader(),
+				new URL[] { this.classes.toURI().toURL() });
+	}
+
+	@Test
+	public void classWithUnchangedStructureIsRedefined() throws Exception {
+		Class<?> type = load(Example.class);
+		ChangedFile changedFile = write(Example.class, Type.MODIFY);
+		assertThat(this.redefiner.redefine(changeSet(changedFile))).isTrue();
+		ArgumentCaptor<ClassDefinition> definition = ArgumentCaptor
+				.forClass(ClassDefinition.class);
+		verify(this.instrumentation).redefineClasses(definition.capture());
+		assertThat(definition.getValue().getDefinitionClass()).isEqualTo(type);
+		assertThat(type.getClassLoader()).isEqualTo(this.classLoader);
+	}
+
+	@Test
+	public void classWithChangedStructureRequiresRestart() throws Exception {
+		load(Example.class);
+		File file = new File(this.classes, getPath(Example.class));
+		FileCopyUtils.copy(getBytes(OtherExample.class), file);
+		ChangedFile changedFile = new ChangedFile(this.classes, file, Type.MODIFY);
+		assertThat(this.redefiner.redefine(changeSet(changedFile))).isFalse();
+		verifyZeroInteractions(this.instrumentation);
+	}
+
+	@Test
+	public void configurationClassRequiresRestart() throws Exception {
+		load(ExampleConfiguration.class);
+		ChangedFile changedFile = write(ExampleConfiguration.class, Type.MODIFY);
+		assertThat(this.redefiner.redefine(changeSet(changedFile))).isFalse();
+		verifyZeroInteractions(this.instrumentation);
+	}
+
+	@Test
+	public void addedClassRequiresRestart() throws Exception {
+		load(Example.class);
+		ChangedFile changedFile = write(OtherExample.class, Type.ADD);
+		assertThat(this.redefiner.redefine(changeSet(changedFile))).isFalse();
+		verifyZeroInteractions(this.instrumentation);
+	}
+
+	@Test
+	public void classThatHasNotBeenLoadedRequiresRestart() throws Exception {
+		load(Example.class);
+		ChangedFile changedFile = write(OtherExample.class, Type.MODIFY);
+		assertThat(this.redefiner.redefine(changeSet(changedFile))).isFalse();
+		verifyZeroInteractions(this.instrumentation);
+	}
+
+	@Test
+	public void changedResourceRequiresRestart() throws Exception {
+		load(Example.class);
+		File file = new File(this.classes, "application.properties");
+		FileCopyUtils.copy(new byte[0], file);
+		ChangedFile changedFile = new ChangedFile(this.classes, file, Type.MODIFY);
+		assertThat(this.redefiner.redefine(changeSet(changedFile))).isFalse();
+		verifyZeroInteractions(this.instrumentation);
+	}
+
+	@Test
+	public void failedRedefinitionRequiresRestart() throws Exception {
+		load(Example.class);
+		willThrow(new UnsupportedOperationException()).given(this.instrumentation)
+				.redefineClasses(any());
+		ChangedFile changedFile = write(Example.class, Type.MODIFY);
+		assertThat(this.redefiner.redefine(changeSet(changedFile))).isFalse();
+	}
+
+	@Test
+	public void structureIsIndependentOfLoading() throws Exception {
+		assertThat(ClassRedefiner.getStructure(getBytes(Example.class)))
+				.isEqualTo(ClassRedefiner.getStructure(getBytes(Example.class)))
+				.isNotEqualTo(ClassRedefiner.getStructure(getBytes(OtherExample.class)));
+	}
+
+	@Test
+	public void structureIncludesInitializers() {
+		String structure = ClassRedefiner.getStructure(generate("a", "b", "c"));
+		assertThat(ClassRedefiner.getStructure(generate("a", "b", "changed")))
+				.isEqualTo(structure);
+		assertThat(ClassRedefiner.getStructure(generate("changed", "b", "c")))
+				.isNotEqualTo(structure);
+		assertThat(ClassRedefiner.getStructure(generate("a", "changed", "c")))
+				.isNotEqualTo(structure);
+	}
+
+	private byte[] generate(String fieldValue, String staticFieldValue,
+			String message) {
+		String name = "com/example/Generated";
+		ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+		writer.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC, name, null, "java/lang/Object",
+				null);
+		writer.visitField(Opcodes.ACC_PRIVATE, "field", "Ljava/lang/String;", null,
+				null).visitEnd();
+		writer.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC, "staticField",
+				"Ljava/lang/String;", null, null).visitEnd();
+		MethodVisitor constructor = writer.visitMethod(Opcodes.ACC_PUBLIC, "<init>",
+				"()V", null, null);
+		constructor.visitCode();
+		constructor.visitVarInsn(Opcodes.ALOAD, 0);
+		constructor.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object",
+				"<init>", "()V", false);
+		constructor.visitVarInsn(Opcodes.ALOAD, 0);
+		constructor.visitLdcInsn(fieldValue);
+		constructor.visitFieldInsn(Opcodes.PUTFIELD, name, "field",
+				"Ljava/lang/String;");
+		constructor.visitInsn(Opcodes.RETURN);
+		constructor.visitMaxs(0, 0);
+		constructor.visitEnd();
+		MethodVisitor staticInitializer = writer.visitMethod(Opcodes.ACC_STATIC,
+				"<clinit>", "()V", null, null);
+		staticInitializer.visitCode();
+		staticInitializer.visitLdcInsn(staticFieldValue);
+		staticInitializer.visitFieldInsn(Opcodes.PUTSTATIC, name, "staticField",
+				"Ljava/lang/String;");
+		staticInitializer.visitInsn(Opcodes.RETURN);
+		staticInitializer.visitMaxs(0, 0);
+		staticInitializer.visitEnd();
+		MethodVisitor method = writer.visitMethod(Opcodes.ACC_PUBLIC, "getMessage",
+				"()Ljava/lang/String;", null, null);
+		method.visitCode();
+		method.visitLdcInsn(message);
+		method.visitInsn(Opcodes.ARETURN);
+		method.visitMaxs(0, 0);
+		method.visitEnd();
+		writer.visitEnd();
+		return writer.toByteArray();
+	}
+
+	private Class<?> load(Class<?> type) throws Exception {
+		write(type, Type.ADD);
+		this.redefiner.transform(this.classLoader, getPath(type).replace(".class", ""),
+				null, null, getBytes(type));
+		return this.classLoader.loadClass(type.getName());
+	}
+
+	private ChangedFile write(Class<?> type, Type changeType) throws IOException {
+		File file = new File(this.classes, getPath(type));
+		file.getParentFile().mkdirs();
+		FileCopyUtils.copy(getBytes(type), file);
+		return new ChangedFile(this.classes, file, changeType);
+	}
+
+	private Set<ChangedFiles> changeSet(ChangedFile changedFile) {
+		return Collections.singleton(new ChangedFiles(this.classes,
+				Collections.singleton(changedFile)));
+	}
+
+	private String getPath(Class<?> type) {
+		return type.getName().replace('.', '/') + ".class";
+	}
+
+	private byte[] getBytes(Class<?> type) throws IOException {
+		try (InputStream inputStream = getClass().getClassLoader()
+				.getResourceAsStream(getPath(type))) {
+			return FileCopyUtils.copyToByteArray(inputStream);
+		}
+	}
+
+	public static class Example {
+
+		public String getMessage() {
+			return "Hello";
+		}
+
+	}
+
+	public static class OtherExample {
+
+		public String getMessage() {
+			return "World";
+		}
+
+	}
+
+	@Configuration
+	public static class ExampleConfiguration {
+
+	}
+
+}
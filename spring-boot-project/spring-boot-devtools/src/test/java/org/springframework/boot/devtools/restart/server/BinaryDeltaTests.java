@@ -0,0 +1,131 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.devtools.restart.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIOException;
+
+/**
+ * Tests for {@link BinaryDelta}.
+ */
+public class BinaryDeltaTests {
+
+	private final Random random = new Random(42);
+
+	@Test
+	public void identicalContents() throws Exception {
+		byte[] source = randomBytes(4096);
+		byte[] delta = BinaryDelta.create(source, source);
+		assertThat(delta.length).isLessThan(8);
+		assertThat(BinaryDelta.apply(source, delta)).isEqualTo(source);
+	}
+
+	@Test
+	public void smallChangesProduceSmallDelta() throws Exception {
+		byte[] source = randomBytes(8192);
+		byte[] target = Arrays.copyOf(source, source.length + 10);
+		System.arraycopy(source, 100, target, 110, source.length - 100);
+		for (int i = 100; i < 110; i++) {
+			target[i] = (byte) i;
+		}
+		target[5000] ^= 0xFF;
+		byte[] delta = BinaryDelta.create(source, target);
+		assertThat(delta.length).isLessThan(64);
+		assertThat(BinaryDelta.apply(source, delta)).isEqualTo(target);
+	}
+
+	@Test
+	public void unrelatedContents() throws Exception {
+		byte[] source = randomBytes(1000);
+		byte[] target = randomBytes(1500);
+		assertThat(BinaryDelta.apply(source, BinaryDelta.create(source, target)))
+				.isEqualTo(target);
+	}
+
+	@Test
+	public void emptyContents() throws Exception {
+		byte[] source = randomBytes(100);
+		assertThat(BinaryDelta.apply(source, BinaryDelta.create(source, new byte[0])))
+				.isEmpty();
+		byte[] target = randomBytes(10);
+		assertThat(BinaryDelta.apply(new byte[0],
+				BinaryDelta.create(new byte[0], target))).isEqualTo(target);
+	}
+
+	@Test
+	public void copyOutsideOfSourceFails() throws Exception {
+		byte[] delta = delta(10, (10 << 1), 95);
+		assertThatIOException()
+				.isThrownBy(() -> BinaryDelta.apply(randomBytes(100), delta))
+				.withMessageContaining("outside of the source");
+	}
+
+	@Test
+	public void insertLongerThanDeltaFails() throws Exception {
+		byte[] delta = delta(10, (10 << 1) | 1, 1, 2, 3);
+		assertThatIOException()
+				.isThrownBy(() -> BinaryDelta.apply(randomBytes(100), delta))
+				.withMessageContaining("remaining 3 bytes of the delta");
+	}
+
+	@Test
+	public void instructionBeyondTargetLengthFails() throws Exception {
+		byte[] delta = delta(10, (20 << 1), 0);
+		assertThatIOException()
+				.isThrownBy(() -> BinaryDelta.apply(randomBytes(100), delta))
+				.withMessageContaining("beyond the target length");
+	}
+
+	@Test
+	public void deltaShorterThanTargetLengthFails() throws Exception {
+		byte[] delta = delta(20, (10 << 1), 0);
+		assertThatIOException()
+				.isThrownBy(() -> BinaryDelta.apply(randomBytes(100), delta))
+				.withMessageContaining("rather than the expected 20 bytes");
+	}
+
+	@Test
+	public void outOfRangeVarIntFails() {
+		byte[] delta = new byte[] { (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF,
+				0x0F };
+		assertThatIOException()
+				.isThrownBy(() -> BinaryDelta.apply(randomBytes(100), delta))
+				.withMessageContaining("out of range");
+	}
+
+	private byte[] delta(int... values) throws IOException {
+		ByteArrayOutputStream delta = new ByteArrayOutputStream();
+		for (int value : values) {
+			BinaryDelta.writeVarInt(delta, value);
+		}
+		return delta.toByteArray();
+	}
+
+	private byte[] randomBytes(int length) {
+		byte[] bytes = new byte[length];
+		this.random.nextBytes(bytes);
+		return bytes;
+	}
+
+}
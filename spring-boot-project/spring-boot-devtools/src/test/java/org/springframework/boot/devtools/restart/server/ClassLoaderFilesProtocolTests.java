@@ -0,0 +1,158 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.devtools.restart.server;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import org.springframework.boot.devtools.restart.classloader.ClassLoaderFile;
+import org.springframework.boot.devtools.restart.classloader.ClassLoaderFile.Kind;
+import org.springframework.boot.devtools.restart.classloader.ClassLoaderFiles;
+import org.springframework.boot.devtools.restart.server.ClassLoaderFilesProtocol.Requirements;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link ClassLoaderFilesProtocol}.
+ */
+public class ClassLoaderFilesProtocolTests {
+
+	private final Map<String, byte[]> serverContents = new HashMap<>();
+
+	@Test
+	public void isProtocolMessage() throws Exception {
+		byte[] manifest = ClassLoaderFilesProtocol.encodeManifest(new ClassLoaderFiles());
+		assertThat(ClassLoaderFilesProtocol
+				.isProtocolMessage(new ByteArrayInputStream(manifest))).isTrue();
+		assertThat(ClassLoaderFilesProtocol
+				.isProtocolMessage(new ByteArrayInputStream(new byte[] { 1, 2 })))
+						.isFalse();
+	}
+
+	@Test
+	public void uploadOfNewFilesSendsFullContents() throws Exception {
+		ClassLoaderFiles files = new ClassLoaderFiles();
+		files.addFile("folder", "a.txt", file(Kind.ADDED, "a"));
+		files.addFile("folder", "b.txt", new ClassLoaderFile(Kind.DELETED, 1, null));
+		Requirements requirements = getRequirements(files);
+		assertThat(requirements.size()).isEqualTo(2);
+		assertThat(requirements.getExistingCount()).isEqualTo(1);
+		ClassLoaderFiles uploaded = upload(files, requirements,
+				Collections.emptyMap());
+		assertThat(uploaded.getSourceFolders()).hasSize(1);
+		assertThat(uploaded.getFile("a.txt").getContents())
+				.isEqualTo(bytes("a"));
+		assertThat(uploaded.getFile("a.txt").getKind()).isEqualTo(Kind.ADDED);
+		assertThat(uploaded.getFile("b.txt").getKind()).isEqualTo(Kind.DELETED);
+		assertThat(uploaded.getFile("b.txt").getLastModified()).isEqualTo(1);
+	}
+
+	@Test
+	public void uploadOfContentsThatServerHasOmitsContents() throws Exception {
+		this.serverContents.put("a.txt", bytes("same"));
+		ClassLoaderFiles files = new ClassLoaderFiles();
+		files.addFile("folder", "a.txt", file(Kind.MODIFIED, "same"));
+		Requirements requirements = getRequirements(files);
+		assertThat(requirements.getExistingCount()).isEqualTo(1);
+		byte[] upload = ClassLoaderFilesProtocol.encodeUpload(files, requirements,
+				Collections.emptyMap());
+		ClassLoaderFiles uploaded = handle(upload);
+		assertThat(uploaded.getFile("a.txt").getContents()).isEqualTo(bytes("same"));
+	}
+
+	@Test
+	public void uploadOfChangedContentsSendsDelta() throws Exception {
+		String previous = randomString(2000);
+		String current = previous + "0123456789";
+		this.serverContents.put("a.txt", bytes(previous));
+		ClassLoaderFiles files = new ClassLoaderFiles();
+		files.addFile("folder", "a.txt", file(Kind.MODIFIED, current));
+		Requirements requirements = getRequirements(files);
+		assertThat(requirements.getExistingCount()).isEqualTo(0);
+		byte[] full = ClassLoaderFilesProtocol.encodeUpload(files, requirements,
+				Collections.emptyMap());
+		byte[] delta = ClassLoaderFilesProtocol.encodeUpload(files, requirements,
+				Collections.singletonMap("a.txt", bytes(previous)));
+		assertThat(delta.length).isLessThan(full.length);
+		assertThat(handle(delta).getFile("a.txt").getContents())
+				.isEqualTo(bytes(current));
+	}
+
+	@Test
+	public void uploadWhenServerContentsHaveChangedFails() throws Exception {
+		this.serverContents.put("a.txt", bytes("same"));
+		ClassLoaderFiles files = new ClassLoaderFiles();
+		files.addFile("folder", "a.txt", file(Kind.MODIFIED, "same"));
+		Requirements requirements = getRequirements(files);
+		byte[] upload = ClassLoaderFilesProtocol.encodeUpload(files, requirements,
+				Collections.emptyMap());
+		this.serverContents.put("a.txt", bytes("different"));
+		assertThatIllegalStateException().isThrownBy(() -> handle(upload))
+				.withMessageContaining("have changed");
+	}
+
+	private Requirements getRequirements(ClassLoaderFiles files) throws IOException {
+		ByteArrayOutputStream response = new ByteArrayOutputStream();
+		ClassLoaderFiles result = ClassLoaderFilesProtocol.handle(
+				new ByteArrayInputStream(ClassLoaderFilesProtocol.encodeManifest(files)),
+				response, this.serverContents::get);
+		assertThat(result).isNull();
+		return ClassLoaderFilesProtocol
+				.decodeRequirements(new ByteArrayInputStream(response.toByteArray()));
+	}
+
+	private ClassLoaderFiles upload(ClassLoaderFiles files, Requirements requirements,
+			Map<String, byte[]> previousContents) throws IOException {
+		return handle(ClassLoaderFilesProtocol.encodeUpload(files, requirements,
+				previousContents));
+	}
+
+	private ClassLoaderFiles handle(byte[] upload) throws IOException {
+		ByteArrayOutputStream response = new ByteArrayOutputStream();
+		ClassLoaderFiles files = ClassLoaderFilesProtocol.handle(
+				new ByteArrayInputStream(upload), response, this.serverContents::get);
+		assertThat(response.size()).isEqualTo(0);
+		return files;
+	}
+
+	private ClassLoaderFile file(Kind kind, String contents) {
+		return new ClassLoaderFile(kind, bytes(contents));
+	}
+
+	private byte[] bytes(String contents) {
+		return contents.getBytes(StandardCharsets.UTF_8);
+	}
+
+	private String randomString(int length) {
+		Random random = new Random(42);
+		StringBuilder result = new StringBuilder();
+		for (int i = 0; i < length; i++) {
+			result.append(Integer.toHexString(random.nextInt(16)));
+		}
+		return result.toString();
+	}
+
+}
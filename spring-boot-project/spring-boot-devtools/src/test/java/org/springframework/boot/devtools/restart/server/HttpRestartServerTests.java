@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2017 the original author or authors.
+ * Copyright 2012-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,9 +16,11 @@
 
 package org.springframework.boot.devtools.restart.server;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.ObjectOutputStream;
+import java.util.Collections;
 
 import org.junit.Before;
 import org.junit.Rule;
@@ -32,6 +34,7 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.boot.devtools.restart.classloader.ClassLoaderFile;
 import org.springframework.boot.devtools.restart.classloader.ClassLoaderFile.Kind;
 import org.springframework.boot.devtools.restart.classloader.ClassLoaderFiles;
+import org.springframework.boot.devtools.restart.server.ClassLoaderFilesProtocol.Requirements;
 import org.springframework.http.server.ServletServerHttpRequest;
 import org.springframework.http.server.ServletServerHttpResponse;
 import org.springframework.mock.web.MockHttpServletRequest;
@@ -94,6 +97,31 @@ public class HttpRestartServerTests {
 		assertThat(response.getStatus()).isEqualTo(200);
 	}
 
+	@Test
+	public void sendClassLoaderFilesUsingProtocol() throws Exception {
+		ClassLoaderFiles files = new ClassLoaderFiles();
+		files.addFile("name", new ClassLoaderFile(Kind.ADDED, new byte[] { 1 }));
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		request.setContent(ClassLoaderFilesProtocol.encodeManifest(files));
+		this.server.handle(new ServletServerHttpRequest(request),
+				new ServletServerHttpResponse(response));
+		assertThat(response.getStatus()).isEqualTo(200);
+		Requirements requirements = ClassLoaderFilesProtocol.decodeRequirements(
+				new ByteArrayInputStream(response.getContentAsByteArray()));
+		assertThat(requirements.getExistingCount()).isEqualTo(0);
+		request = new MockHttpServletRequest();
+		response = new MockHttpServletResponse();
+		request.setContent(ClassLoaderFilesProtocol.encodeUpload(files, requirements,
+				Collections.emptyMap()));
+		this.server.handle(new ServletServerHttpRequest(request),
+				new ServletServerHttpResponse(response));
+		verify(this.delegate).updateAndRestart(this.filesCaptor.capture());
+		assertThat(this.filesCaptor.getValue().getFile("name").getContents())
+				.containsExactly(1);
+		assertThat(response.getStatus()).isEqualTo(200);
+	}
+
 	@Test
 	public void sendNoContent() throws Exception {
 		MockHttpServletRequest request = new MockHttpServletRequest();
@@ -16,10 +16,13 @@
 
 package org.springframework.boot.gradle.tasks.bundling;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Calendar;
 import java.util.GregorianCalendar;
 import java.util.HashSet;
@@ -43,7 +46,6 @@ import org.gradle.api.specs.Specs;
 import org.gradle.api.tasks.WorkResult;
 
 import org.springframework.boot.loader.tools.DefaultLaunchScript;
-import org.springframework.boot.loader.tools.FileUtils;
 
 /**
  * A {@link CopyAction} for creating a Spring Boot zip archive (typically a jar or war).
@@ -262,25 +264,41 @@ class BootZipCopyAction implements CopyAction {
 			archiveEntry.setTime(getTime(details));
 			ZipCompression compression = this.compressionType.apply(details);
 			if (compression == ZipCompression.STORED) {
-				prepareStoredEntry(details, archiveEntry);
+				writeStoredEntry(details, archiveEntry);
+				return;
 			}
 			this.zipStream.putArchiveEntry(archiveEntry);
 			details.copyTo(this.zipStream);
 			this.zipStream.closeArchiveEntry();
 		}
 
-		private void prepareStoredEntry(FileCopyDetailsInternal details,
+		/**
+		 * Write a stored entry. A stored entry's size and CRC must be known before it is
+		 * written, so its content is read once to checksum it, and to hash it if it
+		 * requires unpacking, while being buffered. Content that is too large to buffer
+		 * is read again from its source when it is written.
+		 * @param details the details of the file to write
+		 * @param archiveEntry the entry to write
+		 * @throws IOException if the entry cannot be written
+		 */
+		private void writeStoredEntry(FileCopyDetailsInternal details,
 				ZipArchiveEntry archiveEntry) throws IOException {
+			boolean requiresUnpack = this.requiresUnpack.isSatisfiedBy(details);
+			StoredContentOutputStream content = new StoredContentOutputStream(
+					details.getSize(), requiresUnpack);
+			details.copyTo(content);
 			archiveEntry.setMethod(java.util.zip.ZipEntry.STORED);
 			archiveEntry.setSize(details.getSize());
 			archiveEntry.setCompressedSize(details.getSize());
-			Crc32OutputStream crcStream = new Crc32OutputStream();
-			details.copyTo(crcStream);
-			archiveEntry.setCrc(crcStream.getCrc());
-			if (this.requiresUnpack.isSatisfiedBy(details)) {
-				archiveEntry
-						.setComment("UNPACK:" + FileUtils.sha1Hash(details.getFile()));
+			archiveEntry.setCrc(content.getCrc());
+			if (requiresUnpack) {
+				archiveEntry.setComment("UNPACK:" + content.getSha1Hash());
+			}
+			this.zipStream.putArchiveEntry(archiveEntry);
+			if (!content.writeBufferTo(this.zipStream)) {
+				details.copyTo(this.zipStream);
 			}
+			this.zipStream.closeArchiveEntry();
 		}
 
 		private long getTime(FileCopyDetails details) {
@@ -291,31 +309,70 @@ class BootZipCopyAction implements CopyAction {
 	}
 
 	/**
-	 * An {@code OutputStream} that provides a CRC-32 of the data that is written to it.
+	 * An {@code OutputStream} that provides a CRC-32 and, optionally, a SHA-1 hash of the
+	 * data that is written to it. The data is also buffered when it is small enough.
 	 */
-	private static final class Crc32OutputStream extends OutputStream {
+	private static final class StoredContentOutputStream extends OutputStream {
+
+		private static final long MAX_BUFFERED_SIZE = 16 * 1024 * 1024;
 
 		private final CRC32 crc32 = new CRC32();
 
-		@Override
-		public void write(int b) throws IOException {
-			this.crc32.update(b);
+		private final MessageDigest sha1;
+
+		private final ByteArrayOutputStream buffer;
+
+		private StoredContentOutputStream(long size, boolean hash) {
+			this.sha1 = (hash ? getSha1Digest() : null);
+			this.buffer = (size <= MAX_BUFFERED_SIZE
+					? new ByteArrayOutputStream((int) size) : null);
+		}
+
+		private static MessageDigest getSha1Digest() {
+			try {
+				return MessageDigest.getInstance("SHA-1");
+			}
+			catch (NoSuchAlgorithmException ex) {
+				throw new IllegalStateException(ex);
+			}
 		}
 
 		@Override
-		public void write(byte[] b) throws IOException {
-			this.crc32.update(b);
+		public void write(int b) throws IOException {
+			write(new byte[] { (byte) b }, 0, 1);
 		}
 
 		@Override
 		public void write(byte[] b, int off, int len) throws IOException {
 			this.crc32.update(b, off, len);
+			if (this.sha1 != null) {
+				this.sha1.update(b, off, len);
+			}
+			if (this.buffer != null) {
+				this.buffer.write(b, off, len);
+			}
 		}
 
 		private long getCrc() {
 			return this.crc32.getValue();
 		}
 
+		private String getSha1Hash() {
+			StringBuilder hex = new StringBuilder();
+			for (byte b : this.sha1.digest()) {
+				hex.append(String.format("%02x", b));
+			}
+			return hex.toString();
+		}
+
+		private boolean writeBufferTo(OutputStream out) throws IOException {
+			if (this.buffer == null) {
+				return false;
+			}
+			this.buffer.writeTo(out);
+			return true;
+		}
+
 	}
 
 }
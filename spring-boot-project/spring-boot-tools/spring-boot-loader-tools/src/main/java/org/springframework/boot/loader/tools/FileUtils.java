@@ -16,9 +16,11 @@
 
 package org.springframework.boot.loader.tools;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
@@ -63,9 +65,24 @@ public abstract class FileUtils {
 	 * @throws IOException if the file cannot be read
 	 */
 	public static String sha1Hash(File file) throws IOException {
+		try (InputStream inputStream = new FileInputStream(file)) {
+			return sha1Hash(inputStream);
+		}
+	}
+
+	static String sha1Hash(byte[] bytes) {
+		try {
+			return sha1Hash(new ByteArrayInputStream(bytes));
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private static String sha1Hash(InputStream source) throws IOException {
 		try {
-			try (DigestInputStream inputStream = new DigestInputStream(
-					new FileInputStream(file), MessageDigest.getInstance("SHA-1"))) {
+			try (DigestInputStream inputStream = new DigestInputStream(source,
+					MessageDigest.getInstance("SHA-1"))) {
 				byte[] buffer = new byte[4098];
 				while (inputStream.read(buffer) != -1) {
 					// Read the entire stream
@@ -26,15 +26,26 @@ import java.io.FileOutputStream;
 import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.attribute.PosixFilePermission;
+import java.util.ArrayDeque;
 import java.util.Arrays;
+import java.util.Deque;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.jar.JarInputStream;
@@ -45,6 +56,8 @@ import java.util.zip.ZipEntry;
 import org.apache.commons.compress.archivers.jar.JarArchiveEntry;
 import org.apache.commons.compress.archivers.jar.JarArchiveOutputStream;
 import org.apache.commons.compress.archivers.zip.UnixStat;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipFile;
 
 /**
  * Writes JAR content, ensuring valid directory entries are always created and duplicate
@@ -61,10 +74,18 @@ public class JarWriter implements LoaderClassesWriter, AutoCloseable {
 
 	private static final int BUFFER_SIZE = 32 * 1024;
 
+	private static final long MAX_BUFFERED_LIBRARIES_SIZE = 64 * 1024 * 1024;
+
 	private final JarArchiveOutputStream jarOutput;
 
 	private final Set<String> writtenEntries = new HashSet<>();
 
+	private ZipFile previousJar;
+
+	private final Map<String, ZipArchiveEntry> previousEntries = new HashMap<>();
+
+	private final AtomicLong bufferedLibrariesSize = new AtomicLong();
+
 	/**
 	 * Create a new {@link JarWriter} instance.
 	 * @param file the file to write
@@ -106,6 +127,25 @@ public class JarWriter implements LoaderClassesWriter, AutoCloseable {
 		}
 	}
 
+	/**
+	 * Reuse the entries of a jar that was previously written by a {@link JarWriter}.
+	 * Entries whose name, compression method and content are unchanged are copied from
+	 * the previous jar as they are, rather than being compressed again.
+	 * @param previousJar the previously written jar
+	 * @throws IOException if the previous jar cannot be read
+	 * @since 2.1.0
+	 */
+	public void reuseEntriesFrom(File previousJar) throws IOException {
+		this.previousJar = new ZipFile(previousJar);
+		Enumeration<ZipArchiveEntry> entries = this.previousJar.getEntries();
+		while (entries.hasMoreElements()) {
+			ZipArchiveEntry entry = entries.nextElement();
+			if (!entry.isDirectory()) {
+				this.previousEntries.put(entry.getName(), entry);
+			}
+		}
+	}
+
 	/**
 	 * Write the specified manifest.
 	 * @param manifest the manifest to write
@@ -135,17 +175,83 @@ public class JarWriter implements LoaderClassesWriter, AutoCloseable {
 		while (entries.hasMoreElements()) {
 			JarArchiveEntry entry = new JarArchiveEntry(entries.nextElement());
 			setUpStoredEntryIfNecessary(jarFile, entry);
-			try (ZipHeaderPeekInputStream inputStream = new ZipHeaderPeekInputStream(
-					jarFile.getInputStream(entry))) {
-				EntryWriter entryWriter = new InputStreamEntryWriter(inputStream, true);
-				JarArchiveEntry transformedEntry = entryTransformer.transform(entry);
-				if (transformedEntry != null) {
+			JarArchiveEntry transformedEntry = entryTransformer.transform(entry);
+			if (transformedEntry == null) {
+				continue;
+			}
+			ZipArchiveEntry previousEntry = getPreviousEntry(jarFile, entry,
+					transformedEntry, unpackHandler);
+			if (previousEntry != null) {
+				writeEntry(transformedEntry,
+						new PreviousEntryWriter(this.previousJar, previousEntry),
+						unpackHandler);
+			}
+			else {
+				try (ZipHeaderPeekInputStream inputStream = new ZipHeaderPeekInputStream(
+						jarFile.getInputStream(entry))) {
+					EntryWriter entryWriter = new InputStreamEntryWriter(inputStream,
+							true);
 					writeEntry(transformedEntry, entryWriter, unpackHandler);
 				}
 			}
 		}
 	}
 
+	private ZipArchiveEntry getPreviousEntry(JarFile jarFile, JarArchiveEntry entry,
+			JarArchiveEntry transformedEntry, UnpackHandler unpackHandler)
+			throws IOException {
+		if (transformedEntry.isDirectory()
+				|| unpackHandler.requiresUnpack(transformedEntry.getName())) {
+			return null;
+		}
+		ZipArchiveEntry previousEntry = this.previousEntries
+				.get(transformedEntry.getName());
+		if (previousEntry == null || transformedEntry.getCrc() == -1
+				|| previousEntry.getMethod() != transformedEntry.getMethod()
+				|| previousEntry.getCrc() != transformedEntry.getCrc()
+				|| previousEntry.getSize() != transformedEntry.getSize()) {
+			return null;
+		}
+		try (InputStream content = jarFile.getInputStream(entry);
+				InputStream previousContent = this.previousJar
+						.getInputStream(previousEntry)) {
+			return (contentEquals(content, previousContent) ? previousEntry : null);
+		}
+	}
+
+	private boolean contentEquals(InputStream content, InputStream previousContent)
+			throws IOException {
+		byte[] buffer = new byte[BUFFER_SIZE];
+		byte[] previousBuffer = new byte[BUFFER_SIZE];
+		while (true) {
+			int read = readFully(content, buffer);
+			int previousRead = readFully(previousContent, previousBuffer);
+			if (read != previousRead) {
+				return false;
+			}
+			if (read == 0) {
+				return true;
+			}
+			for (int i = 0; i < read; i++) {
+				if (buffer[i] != previousBuffer[i]) {
+					return false;
+				}
+			}
+		}
+	}
+
+	private int readFully(InputStream inputStream, byte[] buffer) throws IOException {
+		int total = 0;
+		while (total < buffer.length) {
+			int bytesRead = inputStream.read(buffer, total, buffer.length - total);
+			if (bytesRead == -1) {
+				break;
+			}
+			total += bytesRead;
+		}
+		return total;
+	}
+
 	private void setUpStoredEntryIfNecessary(JarFile jarFile, JarArchiveEntry entry)
 			throws IOException {
 		try (ZipHeaderPeekInputStream inputStream = new ZipHeaderPeekInputStream(
@@ -176,15 +282,104 @@ public class JarWriter implements LoaderClassesWriter, AutoCloseable {
 	 */
 	public void writeNestedLibrary(String destination, Library library)
 			throws IOException {
-		File file = library.getFile();
-		JarArchiveEntry entry = new JarArchiveEntry(destination + library.getName());
-		entry.setTime(getNestedLibraryTime(file));
-		new CrcAndSize(file).setupStoredEntry(entry);
-		writeEntry(entry, new InputStreamEntryWriter(new FileInputStream(file), true),
-				new LibraryUnpackHandler(library));
+		writeNestedLibrary(readNestedLibrary(destination + library.getName(), library));
 	}
 
-	private long getNestedLibraryTime(File file) {
+	/**
+	 * Write nested libraries. Libraries are read and checksummed in parallel and, while
+	 * the total size of the libraries that are waiting to be written is not too large,
+	 * are only read once. They are always written in the iteration
+	 * order of the given map so the resulting jar is the same as if each library had been
+	 * {@link #writeNestedLibrary(String, Library) written} in turn.
+	 * @param libraries the libraries to write keyed by the name of their entry, for
+	 * example {@code BOOT-INF/lib/example.jar}
+	 * @throws IOException if the write fails
+	 * @since 2.1.0
+	 */
+	public void writeNestedLibraries(Map<String, Library> libraries) throws IOException {
+		int threads = Math.min(libraries.size(),
+				Runtime.getRuntime().availableProcessors());
+		if (threads <= 1) {
+			for (Map.Entry<String, Library> entry : libraries.entrySet()) {
+				writeNestedLibrary(readNestedLibrary(entry.getKey(), entry.getValue()));
+			}
+			return;
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			Iterator<Map.Entry<String, Library>> iterator = libraries.entrySet()
+					.iterator();
+			Deque<Future<NestedLibrary>> pending = new ArrayDeque<>();
+			while (iterator.hasNext() || !pending.isEmpty()) {
+				while (iterator.hasNext() && pending.size() < threads * 2) {
+					Map.Entry<String, Library> entry = iterator.next();
+					pending.add(executor.submit(
+							() -> readNestedLibrary(entry.getKey(), entry.getValue())));
+				}
+				writeNestedLibrary(getNestedLibrary(pending.remove()));
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private NestedLibrary readNestedLibrary(String name, Library library)
+			throws IOException {
+		long size = library.getFile().length();
+		long bufferedSize = (reserveBuffer(size) ? size : 0);
+		try {
+			return new NestedLibrary(name, library, bufferedSize);
+		}
+		catch (IOException | RuntimeException ex) {
+			this.bufferedLibrariesSize.addAndGet(-bufferedSize);
+			throw ex;
+		}
+	}
+
+	private boolean reserveBuffer(long size) {
+		while (true) {
+			long current = this.bufferedLibrariesSize.get();
+			if (current + size > MAX_BUFFERED_LIBRARIES_SIZE) {
+				return false;
+			}
+			if (this.bufferedLibrariesSize.compareAndSet(current, current + size)) {
+				return true;
+			}
+		}
+	}
+
+	private NestedLibrary getNestedLibrary(Future<NestedLibrary> future)
+			throws IOException {
+		try {
+			return future.get();
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while reading library");
+		}
+		catch (ExecutionException ex) {
+			Throwable cause = ex.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			throw new IllegalStateException(cause);
+		}
+	}
+
+	private void writeNestedLibrary(NestedLibrary library) throws IOException {
+		try {
+			JarArchiveEntry entry = new JarArchiveEntry(library.getName());
+			entry.setTime(library.getTime());
+			library.getCrcAndSize().setupStoredEntry(entry);
+			writeEntry(entry, library.getEntryWriter(), library);
+		}
+		finally {
+			this.bufferedLibrariesSize.addAndGet(-library.getBufferedSize());
+		}
+	}
+
+	private static long getNestedLibraryTime(File file) {
 		try {
 			try (JarFile jarFile = new JarFile(file)) {
 				Enumeration<JarEntry> entries = jarFile.entries();
@@ -238,7 +433,14 @@ public class JarWriter implements LoaderClassesWriter, AutoCloseable {
 	 */
 	@Override
 	public void close() throws IOException {
-		this.jarOutput.close();
+		try {
+			this.jarOutput.close();
+		}
+		finally {
+			if (this.previousJar != null) {
+				this.previousJar.close();
+			}
+		}
 	}
 
 	private void writeEntry(JarArchiveEntry entry, EntryWriter entryWriter)
@@ -273,11 +475,13 @@ public class JarWriter implements LoaderClassesWriter, AutoCloseable {
 
 		if (this.writtenEntries.add(entry.getName())) {
 			entryWriter = addUnpackCommentIfNecessary(entry, entryWriter, unpackHandler);
-			this.jarOutput.putArchiveEntry(entry);
 			if (entryWriter != null) {
-				entryWriter.write(this.jarOutput);
+				entryWriter.write(this.jarOutput, entry);
+			}
+			else {
+				this.jarOutput.putArchiveEntry(entry);
+				this.jarOutput.closeArchiveEntry();
 			}
-			this.jarOutput.closeArchiveEntry();
 		}
 	}
 
@@ -305,6 +509,20 @@ public class JarWriter implements LoaderClassesWriter, AutoCloseable {
 		 */
 		void write(OutputStream outputStream) throws IOException;
 
+		/**
+		 * Write the specified entry, including its data, to the specified jar output
+		 * stream.
+		 * @param jarOutput the destination for the entry
+		 * @param entry the entry to write
+		 * @throws IOException in case of I/O errors
+		 */
+		default void write(JarArchiveOutputStream jarOutput, JarArchiveEntry entry)
+				throws IOException {
+			jarOutput.putArchiveEntry(entry);
+			write(jarOutput);
+			jarOutput.closeArchiveEntry();
+		}
+
 	}
 
 	/**
@@ -336,6 +554,120 @@ public class JarWriter implements LoaderClassesWriter, AutoCloseable {
 
 	}
 
+	/**
+	 * {@link EntryWriter} that copies the compressed data of an entry of a previously
+	 * written jar.
+	 */
+	private static class PreviousEntryWriter implements EntryWriter {
+
+		private final ZipFile previousJar;
+
+		private final ZipArchiveEntry previousEntry;
+
+		PreviousEntryWriter(ZipFile previousJar, ZipArchiveEntry previousEntry) {
+			this.previousJar = previousJar;
+			this.previousEntry = previousEntry;
+		}
+
+		@Override
+		public void write(OutputStream outputStream) throws IOException {
+			try (InputStream inputStream = this.previousJar
+					.getInputStream(this.previousEntry)) {
+				new InputStreamEntryWriter(inputStream, false).write(outputStream);
+			}
+		}
+
+		@Override
+		public void write(JarArchiveOutputStream jarOutput, JarArchiveEntry entry)
+				throws IOException {
+			entry.setMethod(this.previousEntry.getMethod());
+			entry.setCrc(this.previousEntry.getCrc());
+			entry.setSize(this.previousEntry.getSize());
+			entry.setCompressedSize(this.previousEntry.getCompressedSize());
+			try (InputStream inputStream = this.previousJar
+					.getRawInputStream(this.previousEntry)) {
+				jarOutput.addRawArchiveEntry(entry, inputStream);
+			}
+		}
+
+	}
+
+	/**
+	 * A nested library that has been read and checksummed, ready to be written. The
+	 * content of a buffered library is held in memory so that it is only read once.
+	 */
+	private static final class NestedLibrary implements UnpackHandler {
+
+		private final String name;
+
+		private final Library library;
+
+		private final long time;
+
+		private final long bufferedSize;
+
+		private final byte[] content;
+
+		private final CrcAndSize crcAndSize;
+
+		private final String sha1Hash;
+
+		NestedLibrary(String name, Library library, long bufferedSize)
+				throws IOException {
+			this.name = name;
+			this.library = library;
+			this.bufferedSize = bufferedSize;
+			File file = library.getFile();
+			this.time = getNestedLibraryTime(file);
+			if (bufferedSize > 0) {
+				this.content = Files.readAllBytes(file.toPath());
+				this.crcAndSize = new CrcAndSize(this.content);
+				this.sha1Hash = (library.isUnpackRequired()
+						? FileUtils.sha1Hash(this.content) : null);
+			}
+			else {
+				this.content = null;
+				this.crcAndSize = new CrcAndSize(file);
+				this.sha1Hash = (library.isUnpackRequired() ? FileUtils.sha1Hash(file)
+						: null);
+			}
+		}
+
+		String getName() {
+			return this.name;
+		}
+
+		long getTime() {
+			return this.time;
+		}
+
+		CrcAndSize getCrcAndSize() {
+			return this.crcAndSize;
+		}
+
+		long getBufferedSize() {
+			return this.bufferedSize;
+		}
+
+		EntryWriter getEntryWriter() throws IOException {
+			InputStream inputStream = (this.content != null
+					? new ByteArrayInputStream(this.content)
+					: new FileInputStream(this.library.getFile()));
+			return new InputStreamEntryWriter(inputStream, true);
+		}
+
+		@Override
+		public boolean requiresUnpack(String name) {
+			return this.library.isUnpackRequired();
+		}
+
+		@Override
+		public String sha1Hash(String name) {
+			return this.sha1Hash;
+		}
+
+	}
+
 	/**
 	 * {@link InputStream} that can peek ahead at zip header bytes.
 	 */
@@ -422,6 +754,11 @@ public class JarWriter implements LoaderClassesWriter, AutoCloseable {
 			load(inputStream);
 		}
 
+		CrcAndSize(byte[] content) {
+			this.crc.update(content);
+			this.size = content.length;
+		}
+
 		private void load(InputStream inputStream) throws IOException {
 			byte[] buffer = new byte[BUFFER_SIZE];
 			int bytesRead;
@@ -488,24 +825,4 @@ public class JarWriter implements LoaderClassesWriter, AutoCloseable {
 
 	}
 
-	private static final class LibraryUnpackHandler implements UnpackHandler {
-
-		private final Library library;
-
-		private LibraryUnpackHandler(Library library) {
-			this.library = library;
-		}
-
-		@Override
-		public boolean requiresUnpack(String name) {
-			return this.library.isUnpackRequired();
-		}
-
-		@Override
-		public String sha1Hash(String name) throws IOException {
-			return FileUtils.sha1Hash(this.library.getFile());
-		}
-
-	}
-
 }
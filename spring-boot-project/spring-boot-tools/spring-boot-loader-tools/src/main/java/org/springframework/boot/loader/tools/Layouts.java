@@ -100,6 +100,20 @@ public final class Layouts {
 
 	}
 
+	/**
+	 * Executable JAR layout that is extracted into a cache directory when it is first
+	 * launched.
+	 * @since 2.1.0
+	 */
+	public static class ExtractingJar extends Jar {
+
+		@Override
+		public String getLauncherClassName() {
+			return "org.springframework.boot.loader.ExtractingJarLauncher";
+		}
+
+	}
+
 	/**
 	 * No layout.
 	 */
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader.tools;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * Index of the packages contained in each of the nested archives of an executable
+ * archive. The index allows the launcher to go straight to the archives that contain a
+ * class or resource. Each nested archive is written as a section, separated by a blank
+ * line, that starts with the name of the archive's entry followed by one line for each
+ * directory that contains at least one entry. Parent directories are always listed so
+ * that a package that only contains other packages can be found.
+ *
+ * @author Local Agent
+ */
+class PackageIndex {
+
+	static final String LOCATION_ATTRIBUTE = "Spring-Boot-Package-Index";
+
+	private static final String FILE_NAME = "package.idx";
+
+	private final Map<String, Set<String>> archives = new LinkedHashMap<>();
+
+	/**
+	 * Add an entry of a nested archive.
+	 * @param archiveName the name of the nested archive's entry, for example
+	 * {@code BOOT-INF/classes/}
+	 * @param entryName the name of the entry relative to the nested archive
+	 */
+	public void addEntry(String archiveName, String entryName) {
+		Set<String> packages = this.archives.computeIfAbsent(archiveName,
+				(key) -> new TreeSet<>());
+		int slash = entryName.indexOf('/');
+		while (slash > 0) {
+			packages.add(entryName.substring(0, slash + 1));
+			slash = entryName.indexOf('/', slash + 1);
+		}
+	}
+
+	/**
+	 * Add all of the entries of a nested library.
+	 * @param archiveName the name of the library's entry, for example
+	 * {@code BOOT-INF/lib/example.jar}
+	 * @param file the library file
+	 * @throws IOException if the library cannot be read
+	 */
+	public void addLibrary(String archiveName, File file) throws IOException {
+		this.archives.computeIfAbsent(archiveName, (key) -> new TreeSet<>());
+		try (JarFile jarFile = new JarFile(file)) {
+			Enumeration<JarEntry> entries = jarFile.entries();
+			while (entries.hasMoreElements()) {
+				addEntry(archiveName, entries.nextElement().getName());
+			}
+		}
+	}
+
+	/**
+	 * Write the index.
+	 * @param writer the writer to use
+	 * @param location the location of the index
+	 * @throws IOException if the index cannot be written
+	 */
+	public void write(JarWriter writer, String location) throws IOException {
+		StringBuilder content = new StringBuilder();
+		this.archives.forEach((archiveName, packages) -> {
+			content.append(archiveName).append('\n');
+			packages.forEach((name) -> content.append(name).append('\n'));
+			content.append('\n');
+		});
+		writer.writeEntry(location, new ByteArrayInputStream(
+				content.toString().getBytes(StandardCharsets.UTF_8)));
+	}
+
+	/**
+	 * Return the location of the index for the given classes location. The index is
+	 * written alongside the classes so that it is never mistaken for a nested archive.
+	 * @param classesLocation the classes location, for example {@code BOOT-INF/classes/}
+	 * @return the location of the index
+	 */
+	static String getLocation(String classesLocation) {
+		String location = classesLocation.substring(0, classesLocation.length() - 1);
+		return location.substring(0, location.lastIndexOf('/') + 1) + FILE_NAME;
+	}
+
+}
@@ -20,12 +20,16 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.Enumeration;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.jar.Manifest;
 
@@ -161,7 +165,10 @@ public class Repackager {
 
 	/**
 	 * Repackage to the given destination so that it can be launched using '
-	 * {@literal java -jar}'.
+	 * {@literal java -jar}'. Unchanged entries of an archive that was previously
+	 * repackaged to the destination are reused. When repackaging in place without a
+	 * launch script, a copy of the result is kept alongside the destination, with a
+	 * {@code .previous} suffix, for reuse by the next repackaging.
 	 * @param destination the destination file (may be the same as the source)
 	 * @param libraries the libraries required to run the archive
 	 * @param launchScript an optional launch script prepended to the front of the jar
@@ -179,29 +186,71 @@ public class Repackager {
 		if (this.layout == null) {
 			this.layout = getLayoutFactory().getLayout(this.source);
 		}
-		if (alreadyRepackaged()) {
+		if (alreadyRepackaged(this.source)) {
 			return;
 		}
 		destination = destination.getAbsoluteFile();
 		File workingSource = this.source;
-		if (this.source.equals(destination)) {
+		boolean inPlace = this.source.equals(destination);
+		if (inPlace) {
 			workingSource = getBackupFile();
 			workingSource.delete();
 			renameFile(this.source, workingSource);
 		}
+		File previous = getPreviousArchive(destination, inPlace);
 		destination.delete();
 		try {
 			try (JarFile jarFileSource = new JarFile(workingSource)) {
-				repackage(jarFileSource, destination, libraries, launchScript);
+				repackage(jarFileSource, destination, libraries, launchScript, previous);
+			}
+			if (inPlace && launchScript == null) {
+				Files.copy(destination.toPath(), getPreviousFile(destination).toPath(),
+						StandardCopyOption.REPLACE_EXISTING);
 			}
 		}
 		finally {
+			if (previous != null && !inPlace) {
+				previous.delete();
+			}
 			if (!this.backupSource && !this.source.equals(workingSource)) {
 				deleteFile(workingSource);
 			}
 		}
 	}
 
+	/**
+	 * Return an archive that was previously repackaged to the destination so that its
+	 * unchanged entries can be reused. When repackaging to a separate destination, the
+	 * destination itself is moved out of the way. When repackaging in place, the
+	 * destination has already been overwritten by the source, so a copy of the archive
+	 * that was kept by the previous in-place repackaging is used instead.
+	 * @param destination the destination
+	 * @param inPlace if the source is being repackaged in place
+	 * @return the previous archive or {@code null}
+	 * @throws IOException if the previous archive cannot be read
+	 */
+	private File getPreviousArchive(File destination, boolean inPlace)
+			throws IOException {
+		File previous = getPreviousFile(destination);
+		if (inPlace) {
+			return (isReusable(previous) ? previous : null);
+		}
+		if (!isReusable(destination)) {
+			return null;
+		}
+		previous.delete();
+		return (destination.renameTo(previous) ? previous : null);
+	}
+
+	private File getPreviousFile(File destination) {
+		return new File(destination.getParentFile(),
+				destination.getName() + ".previous");
+	}
+
+	private boolean isReusable(File file) throws IOException {
+		return file.isFile() && isZip(file) && alreadyRepackaged(file);
+	}
+
 	private LayoutFactory getLayoutFactory() {
 		if (this.layoutFactory != null) {
 			return this.layoutFactory;
@@ -223,8 +272,8 @@ public class Repackager {
 		return new File(this.source.getParentFile(), this.source.getName() + ".original");
 	}
 
-	private boolean alreadyRepackaged() throws IOException {
-		try (JarFile jarFile = new JarFile(this.source)) {
+	private boolean alreadyRepackaged(File file) throws IOException {
+		try (JarFile jarFile = new JarFile(file)) {
 			Manifest manifest = jarFile.getManifest();
 			return (manifest != null && manifest.getMainAttributes()
 					.getValue(BOOT_VERSION_ATTRIBUTE) != null);
@@ -232,21 +281,61 @@ public class Repackager {
 	}
 
 	private void repackage(JarFile sourceJar, File destination, Libraries libraries,
-			LaunchScript launchScript) throws IOException {
+			LaunchScript launchScript, File previous) throws IOException {
 		WritableLibraries writeableLibraries = new WritableLibraries(libraries);
 		try (JarWriter writer = new JarWriter(destination, launchScript)) {
+			if (previous != null) {
+				writer.reuseEntriesFrom(previous);
+			}
 			writer.writeManifest(buildManifest(sourceJar));
 			writeLoaderClasses(writer);
+			EntryTransformer entryTransformer = null;
 			if (this.layout instanceof RepackagingLayout) {
-				writer.writeEntries(sourceJar, new RenamingEntryTransformer(
-						((RepackagingLayout) this.layout).getRepackagedClassesLocation()),
-						writeableLibraries);
+				entryTransformer = new RenamingEntryTransformer(
+						((RepackagingLayout) this.layout).getRepackagedClassesLocation());
+				writer.writeEntries(sourceJar, entryTransformer, writeableLibraries);
 			}
 			else {
 				writer.writeEntries(sourceJar, writeableLibraries);
 			}
 			writeableLibraries.write(writer);
+			if (isPackageIndexed()) {
+				writePackageIndex(writer, sourceJar, entryTransformer,
+						writeableLibraries);
+			}
+		}
+	}
+
+	private boolean isPackageIndexed() {
+		return this.layout.isExecutable()
+				&& StringUtils.hasLength(getClassesLocation());
+	}
+
+	private String getClassesLocation() {
+		if (this.layout instanceof RepackagingLayout) {
+			return ((RepackagingLayout) this.layout).getRepackagedClassesLocation();
 		}
+		return this.layout.getClassesLocation();
+	}
+
+	private void writePackageIndex(JarWriter writer, JarFile sourceJar,
+			EntryTransformer entryTransformer, WritableLibraries libraries)
+			throws IOException {
+		PackageIndex packageIndex = new PackageIndex();
+		String classesLocation = getClassesLocation();
+		Enumeration<JarEntry> entries = sourceJar.entries();
+		while (entries.hasMoreElements()) {
+			JarArchiveEntry entry = new JarArchiveEntry(entries.nextElement());
+			if (entryTransformer != null) {
+				entry = entryTransformer.transform(entry);
+			}
+			if (entry != null && entry.getName().startsWith(classesLocation)) {
+				packageIndex.addEntry(classesLocation,
+						entry.getName().substring(classesLocation.length()));
+			}
+		}
+		libraries.addTo(packageIndex);
+		packageIndex.write(writer, PackageIndex.getLocation(classesLocation));
 	}
 
 	private void writeLoaderClasses(JarWriter writer) throws IOException {
@@ -307,13 +396,15 @@ public class Repackager {
 		String bootVersion = getClass().getPackage().getImplementationVersion();
 		manifest.getMainAttributes().putValue(BOOT_VERSION_ATTRIBUTE, bootVersion);
 		manifest.getMainAttributes().putValue(BOOT_CLASSES_ATTRIBUTE,
-				(this.layout instanceof RepackagingLayout)
-						? ((RepackagingLayout) this.layout).getRepackagedClassesLocation()
-						: this.layout.getClassesLocation());
+				getClassesLocation());
 		String lib = this.layout.getLibraryDestination("", LibraryScope.COMPILE);
 		if (StringUtils.hasLength(lib)) {
 			manifest.getMainAttributes().putValue(BOOT_LIB_ATTRIBUTE, lib);
 		}
+		if (isPackageIndexed()) {
+			manifest.getMainAttributes().putValue(PackageIndex.LOCATION_ATTRIBUTE,
+					PackageIndex.getLocation(getClassesLocation()));
+		}
 		return manifest;
 	}
 
@@ -453,10 +544,12 @@ public class Repackager {
 		}
 
 		private void write(JarWriter writer) throws IOException {
+			writer.writeNestedLibraries(this.libraryEntryNames);
+		}
+
+		private void addTo(PackageIndex packageIndex) throws IOException {
 			for (Entry<String, Library> entry : this.libraryEntryNames.entrySet()) {
-				writer.writeNestedLibrary(
-						entry.getKey().substring(0, entry.getKey().lastIndexOf('/') + 1),
-						entry.getValue());
+				packageIndex.addLibrary(entry.getKey(), entry.getValue().getFile());
 			}
 		}
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2017 the original author or authors.
+ * Copyright 2012-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -73,6 +73,15 @@ public class LayoutsTests {
 				.isEqualTo("BOOT-INF/lib/");
 	}
 
+	@Test
+	public void extractingJarLayout() {
+		Layout layout = new Layouts.ExtractingJar();
+		assertThat(layout.getLauncherClassName())
+				.isEqualTo("org.springframework.boot.loader.ExtractingJarLauncher");
+		assertThat(layout.getLibraryDestination("lib.jar", LibraryScope.COMPILE))
+				.isEqualTo("BOOT-INF/lib/");
+	}
+
 	@Test
 	public void warLayout() {
 		Layout layout = new Layouts.War();
@@ -18,7 +18,9 @@ package org.springframework.boot.loader.tools;
 
 import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.attribute.PosixFilePermission;
 import java.util.ArrayList;
@@ -28,7 +30,10 @@ import java.util.List;
 import java.util.jar.Attributes;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
 import java.util.jar.Manifest;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
 import java.util.zip.ZipEntry;
 
 import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
@@ -43,6 +48,7 @@ import org.zeroturnaround.zip.ZipUtil;
 import org.springframework.boot.loader.tools.sample.ClassWithMainMethod;
 import org.springframework.boot.loader.tools.sample.ClassWithoutMainMethod;
 import org.springframework.util.FileCopyUtils;
+import org.springframework.util.StreamUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -638,6 +644,195 @@ public class RepackagerTests {
 				"META-INF/MANIFEST.MF", "a/", "a/b/", "a/b/C.class");
 	}
 
+	@Test
+	public void packageIndexIsWritten() throws IOException {
+		this.testJarFile.addClass("com/example/Application.class",
+				ClassWithMainMethod.class);
+		File source = this.testJarFile.getFile();
+		File dest = this.temporaryFolder.newFile("dest.jar");
+		File library = createLibrary();
+		Repackager repackager = new Repackager(source);
+		repackager.repackage(dest, (callback) -> callback
+				.library(new Library(library, LibraryScope.COMPILE)));
+		assertThat(getManifest(dest).getMainAttributes()
+				.getValue("Spring-Boot-Package-Index")).isEqualTo("BOOT-INF/package.idx");
+		assertThat(getEntryContent(dest, "BOOT-INF/package.idx")).isEqualTo(
+				"BOOT-INF/classes/\ncom/\ncom/example/\n\nBOOT-INF/lib/"
+						+ library.getName()
+						+ "\ncom/\ncom/example/\ncom/example/library/\n\n");
+	}
+
+	@Test
+	public void packageIndexIsWrittenForWar() throws IOException {
+		this.testJarFile.addClass("WEB-INF/classes/com/example/Application.class",
+				ClassWithMainMethod.class);
+		File source = this.testJarFile.getFile("war");
+		File dest = this.temporaryFolder.newFile("dest.war");
+		File library = createLibrary();
+		Repackager repackager = new Repackager(source);
+		repackager.setLayout(new Layouts.War());
+		repackager.repackage(dest, (callback) -> callback
+				.library(new Library(library, LibraryScope.PROVIDED)));
+		assertThat(getManifest(dest).getMainAttributes()
+				.getValue("Spring-Boot-Package-Index")).isEqualTo("WEB-INF/package.idx");
+		assertThat(getEntryContent(dest, "WEB-INF/package.idx")).isEqualTo(
+				"WEB-INF/classes/\ncom/\ncom/example/\n\nWEB-INF/lib-provided/"
+						+ library.getName()
+						+ "\ncom/\ncom/example/\ncom/example/library/\n\n");
+	}
+
+	@Test
+	public void packageIndexIsNotWrittenForNoneLayout() throws IOException {
+		this.testJarFile.addClass("a/b/C.class", ClassWithoutMainMethod.class);
+		File file = this.testJarFile.getFile();
+		Repackager repackager = new Repackager(file);
+		repackager.setLayout(new Layouts.None());
+		repackager.repackage(NO_LIBRARIES);
+		assertThat(getManifest(file).getMainAttributes()
+				.getValue("Spring-Boot-Package-Index")).isNull();
+		assertThat(getEntryNames(file)).noneMatch((name) -> name.endsWith(".idx"));
+	}
+
+	@Test
+	public void manyLibrariesAreWrittenInOrder() throws IOException {
+		this.testJarFile.addClass("com/example/Application.class",
+				ClassWithMainMethod.class);
+		File source = this.testJarFile.getFile();
+		File dest = this.temporaryFolder.newFile("dest.jar");
+		List<File> libraries = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			libraries.add(createLibrary());
+		}
+		Repackager repackager = new Repackager(source);
+		repackager.repackage(dest, (callback) -> {
+			for (int i = 0; i < libraries.size(); i++) {
+				callback.library(
+						new Library(libraries.get(i), LibraryScope.COMPILE, i % 5 == 0));
+			}
+		});
+		List<String> expectedNames = new ArrayList<>();
+		for (File library : libraries) {
+			expectedNames.add("BOOT-INF/lib/" + library.getName());
+		}
+		assertThat(getEntryNames(dest)).containsSubsequence(expectedNames);
+		for (int i = 0; i < libraries.size(); i++) {
+			JarEntry entry = getEntry(dest, expectedNames.get(i));
+			assertThat(entry.getMethod()).isEqualTo(ZipEntry.STORED);
+			assertThat(entry.getSize()).isEqualTo(libraries.get(i).length());
+			if (i % 5 == 0) {
+				assertThat(entry.getComment()).isEqualTo(
+						"UNPACK:" + FileUtils.sha1Hash(libraries.get(i)));
+			}
+			else {
+				assertThat(entry.getComment()).isNull();
+			}
+		}
+	}
+
+	@Test
+	public void unchangedEntriesAreReusedFromPreviouslyRepackagedDestination()
+			throws IOException {
+		this.testJarFile.addClass("com/example/Application.class",
+				ClassWithMainMethod.class);
+		this.testJarFile.addClass("com/example/Other.class",
+				ClassWithoutMainMethod.class);
+		File source = this.testJarFile.getFile();
+		File dest = this.temporaryFolder.newFile("dest.jar");
+		byte[] content = getClassContent(ClassWithMainMethod.class);
+		writePreviousDestination(dest, content, ZipEntry.DEFLATED);
+		long compressedSize = getEntry(dest,
+				"BOOT-INF/classes/com/example/Application.class").getCompressedSize();
+		assertThat(compressedSize).isGreaterThan(content.length);
+		new Repackager(source).repackage(dest, NO_LIBRARIES);
+		assertThat(getEntry(dest, "BOOT-INF/classes/com/example/Application.class")
+				.getCompressedSize()).isEqualTo(compressedSize);
+		assertThat(getEntry(dest, "BOOT-INF/classes/com/example/Other.class")
+				.getCompressedSize()).isLessThan(
+						getClassContent(ClassWithoutMainMethod.class).length);
+		assertThat(getApplicationClassContent(dest)).isEqualTo(content);
+		assertThat(new File(dest.getParentFile(), dest.getName() + ".previous"))
+				.doesNotExist();
+	}
+
+	@Test
+	public void unchangedEntriesAreReusedWhenRepackagingInPlace() throws IOException {
+		this.testJarFile.addClass("com/example/Application.class",
+				ClassWithMainMethod.class);
+		File source = this.testJarFile.getFile();
+		File previous = new File(source.getParentFile(), source.getName() + ".previous");
+		byte[] content = getClassContent(ClassWithMainMethod.class);
+		writePreviousDestination(previous, content, ZipEntry.DEFLATED);
+		long compressedSize = getEntry(previous,
+				"BOOT-INF/classes/com/example/Application.class").getCompressedSize();
+		new Repackager(source).repackage(NO_LIBRARIES);
+		assertThat(getEntry(source, "BOOT-INF/classes/com/example/Application.class")
+				.getCompressedSize()).isEqualTo(compressedSize);
+		assertThat(getApplicationClassContent(source)).isEqualTo(content);
+		assertThat(previous).hasBinaryContent(Files.readAllBytes(source.toPath()));
+	}
+
+	@Test
+	public void previousEntriesWithDifferentCompressionMethodAreNotReused()
+			throws IOException {
+		this.testJarFile.addClass("com/example/Application.class",
+				ClassWithMainMethod.class);
+		File source = this.testJarFile.getFile();
+		File dest = this.temporaryFolder.newFile("dest.jar");
+		byte[] content = getClassContent(ClassWithMainMethod.class);
+		writePreviousDestination(dest, content, ZipEntry.STORED);
+		new Repackager(source).repackage(dest, NO_LIBRARIES);
+		assertThat(getEntry(dest, "BOOT-INF/classes/com/example/Application.class")
+				.getMethod()).isEqualTo(ZipEntry.DEFLATED);
+		assertThat(getApplicationClassContent(dest)).isEqualTo(content);
+	}
+
+	@Test
+	public void previousEntriesWithDifferentContentAreNotReused() throws IOException {
+		this.testJarFile.addClass("com/example/Application.class",
+				ClassWithMainMethod.class);
+		File source = this.testJarFile.getFile();
+		File dest = this.temporaryFolder.newFile("dest.jar");
+		byte[] content = getClassContent(ClassWithMainMethod.class);
+		byte[] previousContent = content.clone();
+		previousContent[previousContent.length - 1]++;
+		writePreviousDestination(dest, previousContent, ZipEntry.DEFLATED);
+		new Repackager(source).repackage(dest, NO_LIBRARIES);
+		assertThat(getApplicationClassContent(dest)).isEqualTo(content);
+	}
+
+	private byte[] getClassContent(Class<?> type) throws IOException {
+		return StreamUtils.copyToByteArray(getClass()
+				.getResourceAsStream("/" + type.getName().replace('.', '/') + ".class"));
+	}
+
+	private void writePreviousDestination(File dest, byte[] content, int method)
+			throws IOException {
+		Manifest manifest = new Manifest();
+		manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+		manifest.getMainAttributes().putValue("Spring-Boot-Version", "2.1.0");
+		try (JarOutputStream output = new JarOutputStream(new FileOutputStream(dest),
+				manifest)) {
+			output.setLevel(Deflater.NO_COMPRESSION);
+			JarEntry entry = new JarEntry("BOOT-INF/classes/com/example/Application.class");
+			entry.setMethod(method);
+			if (method == ZipEntry.STORED) {
+				entry.setSize(content.length);
+				CRC32 crc = new CRC32();
+				crc.update(content);
+				entry.setCrc(crc.getValue());
+			}
+			output.putNextEntry(entry);
+			output.write(content);
+		}
+	}
+
+	private byte[] getApplicationClassContent(File file) throws IOException {
+		try (JarFile jarFile = new JarFile(file)) {
+			return StreamUtils.copyToByteArray(jarFile.getInputStream(
+					jarFile.getEntry("BOOT-INF/classes/com/example/Application.class")));
+		}
+	}
+
 	private File createLibrary() throws IOException {
 		TestJarFile library = new TestJarFile(this.temporaryFolder);
 		library.addClass("com/example/library/Library.class",
@@ -660,6 +855,14 @@ public class RepackagerTests {
 		}
 	}
 
+	private String getEntryContent(File file, String name) throws IOException {
+		try (JarFile jarFile = new JarFile(file)) {
+			return StreamUtils.copyToString(
+					jarFile.getInputStream(jarFile.getEntry(name)),
+					StandardCharsets.UTF_8);
+		}
+	}
+
 	private Manifest getManifest(File file) throws IOException {
 		try (JarFile jarFile = new JarFile(file)) {
 			return jarFile.getManifest();
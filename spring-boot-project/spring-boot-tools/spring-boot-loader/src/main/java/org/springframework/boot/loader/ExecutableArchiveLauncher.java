@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2017 the original author or authors.
+ * Copyright 2012-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,8 +16,14 @@
 
 package org.springframework.boot.loader;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.jar.JarEntry;
 import java.util.jar.Manifest;
 
@@ -33,6 +39,10 @@ public abstract class ExecutableArchiveLauncher extends Launcher {
 
 	private final Archive archive;
 
+	private final Map<Archive, String> nestedArchiveNames = new HashMap<>();
+
+	private PackageIndex packageIndex;
+
 	public ExecutableArchiveLauncher() {
 		try {
 			this.archive = createArchive();
@@ -66,12 +76,62 @@ public abstract class ExecutableArchiveLauncher extends Launcher {
 
 	@Override
 	protected List<Archive> getClassPathArchives() throws Exception {
+		List<String> names = new ArrayList<>();
 		List<Archive> archives = new ArrayList<>(
-				this.archive.getNestedArchives(this::isNestedArchive));
+				this.archive.getNestedArchives((entry) -> {
+					boolean nested = isNestedArchive(entry);
+					if (nested) {
+						names.add(entry.getName());
+					}
+					return nested;
+				}));
+		for (int i = 0; i < archives.size(); i++) {
+			this.nestedArchiveNames.put(archives.get(i), names.get(i));
+		}
 		postProcessClassPathArchives(archives);
 		return archives;
 	}
 
+	@Override
+	protected ClassLoader createClassLoader(List<Archive> archives) throws Exception {
+		this.packageIndex = getPackageIndex(archives);
+		return super.createClassLoader(archives);
+	}
+
+	@Override
+	protected ClassLoader createClassLoader(URL[] urls) throws Exception {
+		return new LaunchedURLClassLoader(urls, getClass().getClassLoader(),
+				this.packageIndex);
+	}
+
+	private PackageIndex getPackageIndex(List<Archive> archives) {
+		try {
+			Manifest manifest = this.archive.getManifest();
+			String location = (manifest != null
+					? manifest.getMainAttributes().getValue(PackageIndex.LOCATION_ATTRIBUTE)
+					: null);
+			if (location == null) {
+				return null;
+			}
+			Map<String, URL> urls = new LinkedHashMap<>();
+			for (Archive archive : archives) {
+				String name = this.nestedArchiveNames.get(archive);
+				if (name == null) {
+					// Added by post-processing so not covered by the index
+					return null;
+				}
+				urls.put(name, archive.getUrl());
+			}
+			try (InputStream inputStream = new URL(this.archive.getUrl(), location)
+					.openStream()) {
+				return PackageIndex.load(inputStream, urls);
+			}
+		}
+		catch (IOException ex) {
+			return null;
+		}
+	}
+
 	/**
 	 * Determine if the specified {@link JarEntry} is a nested item that should be added
 	 * to the classpath. The method is called once for each entry.
@@ -0,0 +1,386 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.ProtectionDomain;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+
+import org.springframework.boot.loader.archive.Archive;
+import org.springframework.boot.loader.archive.ExplodedArchive;
+import org.springframework.boot.loader.util.SystemPropertyUtils;
+
+/**
+ * {@link Launcher} for JAR based archives that extracts the archive into a cache
+ * directory the first time that it is launched and then launches the application from
+ * the extracted contents. The cache directory is keyed by a hash of the archive's
+ * central directory so later starts of the same archive reuse the extracted contents and
+ * do not need to decode any nested jars. The root of the cache directory can be
+ * configured using the {@code loader.cache.dir} System property or the
+ * {@code LOADER_CACHE_DIR} environment variable and defaults to a
+ * {@code spring-boot-loader-<user name>} directory in {@code java.io.tmpdir}. The root
+ * is created so that only its owner can access it and, as the extracted contents are
+ * trusted when they are found again, it must be owned by the current user and must not
+ * be writable by anyone else.
+ * <p>
+ * Alongside the extracted contents, an {@code application.args} file is written. It can
+ * be passed to {@literal java} (for example {@code java @application.args}) to run the
+ * application using a plain class path, which also allows an AppCDS archive created by a
+ * training run to be used.
+ *
+ * @author Local Agent
+ * @since 2.1.0
+ */
+public class ExtractingJarLauncher extends JarLauncher {
+
+	static final String CACHE_DIR_PROPERTY = "loader.cache.dir";
+
+	static final String ARGS_FILE_NAME = "application.args";
+
+	private static final int BUFFER_SIZE = 32 * 1024;
+
+	private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+
+	private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+
+	private static final int MAXIMUM_COMMENT_SIZE = 0xFFFF;
+
+	public ExtractingJarLauncher() throws IOException {
+		this(new ExplodedArchive(extract(getCodeSourceJar(), getCacheDirectory())));
+	}
+
+	protected ExtractingJarLauncher(Archive archive) {
+		super(archive);
+	}
+
+	private static File getCodeSourceJar() {
+		try {
+			ProtectionDomain protectionDomain = ExtractingJarLauncher.class
+					.getProtectionDomain();
+			CodeSource codeSource = protectionDomain.getCodeSource();
+			URI location = (codeSource != null ? codeSource.getLocation().toURI()
+					: null);
+			String path = (location != null ? location.getSchemeSpecificPart() : null);
+			if (path == null || !new File(path).isFile()) {
+				throw new IllegalStateException(
+						"Unable to determine code source archive from " + path);
+			}
+			return new File(path);
+		}
+		catch (Exception ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private static File getCacheDirectory() {
+		String cacheDirectory = SystemPropertyUtils.getProperty(CACHE_DIR_PROPERTY);
+		if (cacheDirectory != null) {
+			return new File(cacheDirectory);
+		}
+		String user = System.getProperty("user.name", "unknown")
+				.replaceAll("[^A-Za-z0-9._-]", "_");
+		return new File(System.getProperty("java.io.tmpdir"),
+				"spring-boot-loader-" + user);
+	}
+
+	/**
+	 * Extract the given jar into the given cache directory, reusing the result of a
+	 * previous extraction if there is one.
+	 * @param jar the jar to extract
+	 * @param cacheDirectory the root of the cache
+	 * @return the directory containing the extracted jar
+	 * @throws IOException if the jar cannot be extracted
+	 */
+	static File extract(File jar, File cacheDirectory) throws IOException {
+		String name = jar.getName();
+		if (name.toLowerCase().endsWith(".jar")) {
+			name = name.substring(0, name.length() - 4);
+		}
+		cacheDirectory = createCacheDirectory(cacheDirectory.toPath()).toFile();
+		File destination = new File(cacheDirectory, name + "-" + getHash(jar));
+		if (destination.isDirectory()) {
+			return destination;
+		}
+		File temp = new File(cacheDirectory,
+				destination.getName() + "-" + UUID.randomUUID());
+		try {
+			extractTo(jar, temp, destination);
+			if (!temp.renameTo(destination) && !destination.isDirectory()) {
+				throw new IOException("Unable to move extracted jar to " + destination);
+			}
+		}
+		finally {
+			delete(temp);
+		}
+		return destination;
+	}
+
+	/**
+	 * Create the root of the cache, accessible only to its owner, if it does not already
+	 * exist and check that it can be trusted. Another user that can write to the cache
+	 * could replace the extracted contents with their own code.
+	 * @param directory the root of the cache
+	 * @return the real path of the root of the cache
+	 * @throws IOException if the cache cannot be created or cannot be trusted
+	 */
+	private static Path createCacheDirectory(Path directory) throws IOException {
+		boolean posix = directory.getFileSystem().supportedFileAttributeViews()
+				.contains("posix");
+		if (!Files.exists(directory)) {
+			Path parent = directory.toAbsolutePath().getParent();
+			if (parent != null) {
+				Files.createDirectories(parent);
+			}
+			try {
+				if (posix) {
+					Files.createDirectory(directory, PosixFilePermissions
+							.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+				}
+				else {
+					Files.createDirectory(directory);
+				}
+			}
+			catch (FileAlreadyExistsException ex) {
+				// Created concurrently, check that it can be trusted below
+			}
+		}
+		Path realDirectory = directory.toRealPath();
+		if (!Files.isDirectory(realDirectory)) {
+			throw new IOException("Cache directory '" + directory + "' is not a directory");
+		}
+		UserPrincipal owner = Files.getOwner(realDirectory);
+		UserPrincipal user = getCurrentUser(realDirectory);
+		if (!owner.equals(user)) {
+			throw new IOException("Cache directory '" + directory + "' is owned by '"
+					+ owner.getName() + "' rather than by '" + user.getName() + "'");
+		}
+		if (posix) {
+			Set<PosixFilePermission> permissions = Files
+					.getPosixFilePermissions(realDirectory);
+			if (permissions.contains(PosixFilePermission.GROUP_WRITE)
+					|| permissions.contains(PosixFilePermission.OTHERS_WRITE)) {
+				throw new IOException("Cache directory '" + directory
+						+ "' must not be writable by users other than its owner");
+			}
+		}
+		return realDirectory;
+	}
+
+	/**
+	 * Return the user that the current process runs as. The owner of a file that has
+	 * just been created is used as the name of the user may not be known, for example
+	 * when running with an arbitrary user id.
+	 * @param directory the directory in which a temporary file can be created
+	 * @return the current user
+	 * @throws IOException if the temporary file cannot be created
+	 */
+	private static UserPrincipal getCurrentUser(Path directory) throws IOException {
+		Path file = Files.createTempFile(directory, "owner", null);
+		try {
+			return Files.getOwner(file);
+		}
+		finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	/**
+	 * Return a hash of the central directory of the given jar. The central directory
+	 * holds the name, size and CRC of every entry so it changes whenever the content of
+	 * the jar does, but it is much smaller than the jar itself.
+	 * @param jar the jar
+	 * @return the hash
+	 * @throws IOException if the jar cannot be read
+	 */
+	private static String getHash(File jar) throws IOException {
+		try (RandomAccessFile file = new RandomAccessFile(jar, "r")) {
+			MessageDigest digest = MessageDigest.getInstance("SHA-1");
+			long endOfCentralDirectory = findEndOfCentralDirectory(file);
+			if (endOfCentralDirectory != -1) {
+				file.seek(endOfCentralDirectory + 12);
+				long size = readInt(file);
+				long start = endOfCentralDirectory - size;
+				if (size != 0xFFFFFFFFL && start >= 0) {
+					update(digest, file, start, file.length() - start);
+					return toHex(digest.digest());
+				}
+			}
+			update(digest, file, 0, file.length());
+			return toHex(digest.digest());
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private static long findEndOfCentralDirectory(RandomAccessFile file)
+			throws IOException {
+		long length = file.length();
+		long start = Math.max(0,
+				length - END_OF_CENTRAL_DIRECTORY_SIZE - MAXIMUM_COMMENT_SIZE);
+		byte[] tail = new byte[(int) (length - start)];
+		file.seek(start);
+		file.readFully(tail);
+		for (int i = tail.length - END_OF_CENTRAL_DIRECTORY_SIZE; i >= 0; i--) {
+			if (littleEndianInt(tail, i) == END_OF_CENTRAL_DIRECTORY_SIGNATURE) {
+				return start + i;
+			}
+		}
+		return -1;
+	}
+
+	private static long readInt(RandomAccessFile file) throws IOException {
+		byte[] bytes = new byte[4];
+		file.readFully(bytes);
+		return littleEndianInt(bytes, 0) & 0xFFFFFFFFL;
+	}
+
+	private static int littleEndianInt(byte[] bytes, int offset) {
+		return (bytes[offset] & 0xFF) | (bytes[offset + 1] & 0xFF) << 8
+				| (bytes[offset + 2] & 0xFF) << 16 | (bytes[offset + 3] & 0xFF) << 24;
+	}
+
+	private static void update(MessageDigest digest, RandomAccessFile file, long start,
+			long length) throws IOException {
+		byte[] buffer = new byte[BUFFER_SIZE];
+		file.seek(start);
+		long remaining = length;
+		while (remaining > 0) {
+			int read = file.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+			if (read == -1) {
+				break;
+			}
+			digest.update(buffer, 0, read);
+			remaining -= read;
+		}
+	}
+
+	private static String toHex(byte[] bytes) {
+		StringBuilder hex = new StringBuilder();
+		for (byte b : bytes) {
+			hex.append(String.format("%02x", b));
+		}
+		return hex.toString();
+	}
+
+	private static void extractTo(File jar, File destination, File finalDestination)
+			throws IOException {
+		List<String> classPath = new ArrayList<>();
+		String startClass;
+		try (JarFile jarFile = new JarFile(jar)) {
+			Enumeration<JarEntry> entries = jarFile.entries();
+			while (entries.hasMoreElements()) {
+				JarEntry entry = entries.nextElement();
+				File file = new File(destination, entry.getName());
+				if (!file.getCanonicalPath()
+						.startsWith(destination.getCanonicalPath() + File.separator)) {
+					throw new IOException("Entry '" + entry.getName()
+							+ "' is outside of the extraction directory");
+				}
+				if (entry.isDirectory()) {
+					file.mkdirs();
+				}
+				else {
+					file.getParentFile().mkdirs();
+					try (InputStream inputStream = jarFile.getInputStream(entry)) {
+						copy(inputStream, file);
+					}
+					if (entry.getName().startsWith(BOOT_INF_LIB)) {
+						classPath.add(new File(finalDestination, entry.getName())
+								.getAbsolutePath());
+					}
+				}
+			}
+			Manifest manifest = jarFile.getManifest();
+			startClass = (manifest != null
+					? manifest.getMainAttributes().getValue("Start-Class") : null);
+		}
+		classPath.add(0,
+				new File(finalDestination, BOOT_INF_CLASSES).getAbsolutePath());
+		if (startClass != null) {
+			writeArgsFile(new File(destination, ARGS_FILE_NAME), classPath, startClass);
+		}
+	}
+
+	private static void copy(InputStream inputStream, File file) throws IOException {
+		try (OutputStream outputStream = new FileOutputStream(file)) {
+			byte[] buffer = new byte[BUFFER_SIZE];
+			int bytesRead;
+			while ((bytesRead = inputStream.read(buffer)) != -1) {
+				outputStream.write(buffer, 0, bytesRead);
+			}
+		}
+	}
+
+	private static void writeArgsFile(File file, List<String> classPath,
+			String startClass) throws IOException {
+		StringBuilder value = new StringBuilder();
+		for (String entry : classPath) {
+			value.append((value.length() > 0) ? File.pathSeparator : "").append(entry);
+		}
+		try (Writer writer = new OutputStreamWriter(new FileOutputStream(file),
+				StandardCharsets.UTF_8)) {
+			writer.write("-cp\n");
+			writer.write(quote(value.toString()) + "\n");
+			writer.write(startClass + "\n");
+		}
+	}
+
+	private static String quote(String value) {
+		return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+	}
+
+	private static void delete(File file) {
+		File[] children = file.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				delete(child);
+			}
+		}
+		file.delete();
+	}
+
+	public static void main(String[] args) throws Exception {
+		new ExtractingJarLauncher().launch(args);
+	}
+
+}
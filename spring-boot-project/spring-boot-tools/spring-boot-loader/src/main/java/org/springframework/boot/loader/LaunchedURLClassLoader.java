@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2017 the original author or authors.
+ * Copyright 2012-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,15 +16,26 @@
 
 package org.springframework.boot.loader;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.JarURLConnection;
+import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.net.URLConnection;
 import java.security.AccessController;
+import java.security.CodeSource;
+import java.security.PrivilegedActionException;
 import java.security.PrivilegedExceptionAction;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Enumeration;
+import java.util.List;
+import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
+import java.util.jar.Manifest;
 
 import org.springframework.boot.loader.jar.Handler;
 
@@ -41,19 +52,46 @@ public class LaunchedURLClassLoader extends URLClassLoader {
 		ClassLoader.registerAsParallelCapable();
 	}
 
+	private final PackageIndex packageIndex;
+
 	/**
 	 * Create a new {@link LaunchedURLClassLoader} instance.
 	 * @param urls the URLs from which to load classes and resources
 	 * @param parent the parent class loader for delegation
 	 */
 	public LaunchedURLClassLoader(URL[] urls, ClassLoader parent) {
+		this(urls, parent, null);
+	}
+
+	/**
+	 * Create a new {@link LaunchedURLClassLoader} instance.
+	 * @param urls the URLs from which to load classes and resources
+	 * @param parent the parent class loader for delegation
+	 * @param packageIndex an optional index of the packages contained in each of the
+	 * URLs. If provided, classes and resources in packages that are not indexed are not
+	 * searched for.
+	 * @since 2.1.0
+	 */
+	public LaunchedURLClassLoader(URL[] urls, ClassLoader parent,
+			PackageIndex packageIndex) {
 		super(urls, parent);
+		this.packageIndex = packageIndex;
 	}
 
 	@Override
 	public URL findResource(String name) {
+		List<URL> urls = getIndexedUrls(name);
+		if (urls != null && urls.isEmpty()) {
+			return null;
+		}
 		Handler.setUseFastConnectionExceptions(true);
 		try {
+			if (urls != null) {
+				List<URL> resources = findIndexedResources(name, urls, true);
+				if (resources != null) {
+					return (resources.isEmpty() ? null : resources.get(0));
+				}
+			}
 			return super.findResource(name);
 		}
 		finally {
@@ -63,8 +101,18 @@ public class LaunchedURLClassLoader extends URLClassLoader {
 
 	@Override
 	public Enumeration<URL> findResources(String name) throws IOException {
+		List<URL> urls = getIndexedUrls(name);
+		if (urls != null && urls.isEmpty()) {
+			return Collections.emptyEnumeration();
+		}
 		Handler.setUseFastConnectionExceptions(true);
 		try {
+			if (urls != null) {
+				List<URL> resources = findIndexedResources(name, urls, false);
+				if (resources != null) {
+					return Collections.enumeration(resources);
+				}
+			}
 			return new UseFastConnectionExceptionsEnumeration(super.findResources(name));
 		}
 		finally {
@@ -72,6 +120,38 @@ public class LaunchedURLClassLoader extends URLClassLoader {
 		}
 	}
 
+	/**
+	 * Find the resource with the given name in the indexed archives by looking up its
+	 * entry in each archive's jar file rather than searching the whole class path.
+	 * @param name the name of the resource
+	 * @param urls the URLs of the archives that contain the resource's package
+	 * @param first if only the first resource that is found is required
+	 * @return the URLs of the resource or {@code null} if one of the archives is not a
+	 * jar and the class path must be searched instead
+	 */
+	private List<URL> findIndexedResources(String name, List<URL> urls,
+			boolean first) {
+		List<URL> resources = new ArrayList<>(1);
+		for (URL url : urls) {
+			JarFile jarFile = getJarFile(url);
+			if (jarFile == null) {
+				return null;
+			}
+			if (jarFile.getEntry(name) != null) {
+				try {
+					resources.add(new URL(url, name));
+				}
+				catch (MalformedURLException ex) {
+					return null;
+				}
+				if (first) {
+					return resources;
+				}
+			}
+		}
+		return resources;
+	}
+
 	@Override
 	protected Class<?> loadClass(String name, boolean resolve)
 			throws ClassNotFoundException {
@@ -97,6 +177,114 @@ public class LaunchedURLClassLoader extends URLClassLoader {
 		}
 	}
 
+	@Override
+	protected Class<?> findClass(String name) throws ClassNotFoundException {
+		String path = name.replace('.', '/') + ".class";
+		List<URL> urls = getIndexedUrls(path);
+		if (urls != null && urls.isEmpty()) {
+			throw new ClassNotFoundException(name);
+		}
+		if (urls != null) {
+			Class<?> type = findIndexedClass(name, path, urls);
+			if (type != null) {
+				return type;
+			}
+		}
+		return super.findClass(name);
+	}
+
+	/**
+	 * Find and define the class with the given name by reading it from the first of the
+	 * indexed archives whose jar file contains it.
+	 * @param name the name of the class
+	 * @param path the name of the class's entry
+	 * @param urls the URLs of the archives that contain the class's package
+	 * @return the class or {@code null} if the class path must be searched instead
+	 * @throws ClassNotFoundException if none of the indexed archives contain the class
+	 */
+	private Class<?> findIndexedClass(String name, String path, List<URL> urls)
+			throws ClassNotFoundException {
+		try {
+			return AccessController.doPrivileged(
+					(PrivilegedExceptionAction<Class<?>>) () -> {
+						for (URL url : urls) {
+							JarFile jarFile = getJarFile(url);
+							if (jarFile == null) {
+								return null;
+							}
+							JarEntry entry = jarFile.getJarEntry(path);
+							if (entry != null) {
+								return defineClass(name, url, jarFile, entry);
+							}
+						}
+						throw new ClassNotFoundException(name);
+					}, AccessController.getContext());
+		}
+		catch (PrivilegedActionException ex) {
+			Exception cause = ex.getException();
+			if (cause instanceof ClassNotFoundException) {
+				throw (ClassNotFoundException) cause;
+			}
+			throw new ClassNotFoundException(name, cause);
+		}
+	}
+
+	private Class<?> defineClass(String name, URL url, JarFile jarFile,
+			JarEntry entry) throws IOException {
+		byte[] bytes;
+		try (InputStream inputStream = jarFile.getInputStream(entry)) {
+			ByteArrayOutputStream outputStream = new ByteArrayOutputStream(
+					(int) Math.max(entry.getSize(), 0));
+			byte[] buffer = new byte[4096];
+			int read;
+			while ((read = inputStream.read(buffer)) != -1) {
+				outputStream.write(buffer, 0, read);
+			}
+			bytes = outputStream.toByteArray();
+		}
+		int lastDot = name.lastIndexOf('.');
+		if (lastDot >= 0) {
+			definePackageIfNecessary(name.substring(0, lastDot), url, jarFile);
+		}
+		CodeSource codeSource = new CodeSource(url, entry.getCodeSigners());
+		return defineClass(name, bytes, 0, bytes.length, codeSource);
+	}
+
+	private void definePackageIfNecessary(String packageName, URL url, JarFile jarFile)
+			throws IOException {
+		if (getPackage(packageName) == null) {
+			try {
+				Manifest manifest = jarFile.getManifest();
+				if (manifest != null) {
+					definePackage(packageName, manifest, url);
+				}
+				else {
+					definePackage(packageName, null, null, null, null, null, null, null);
+				}
+			}
+			catch (IllegalArgumentException ex) {
+				// Tolerate race condition due to being parallel capable
+			}
+		}
+	}
+
+	private JarFile getJarFile(URL url) {
+		try {
+			URLConnection connection = url.openConnection();
+			if (connection instanceof JarURLConnection) {
+				return ((JarURLConnection) connection).getJarFile();
+			}
+		}
+		catch (IOException ex) {
+			// Ignore
+		}
+		return null;
+	}
+
+	private List<URL> getIndexedUrls(String name) {
+		return (this.packageIndex != null ? this.packageIndex.getUrls(name) : null);
+	}
+
 	/**
 	 * Define a package before a {@code findClass} call is made. This is necessary to
 	 * ensure that the appropriate manifest for nested JARs is associated with the
@@ -131,7 +319,7 @@ public class LaunchedURLClassLoader extends URLClassLoader {
 			AccessController.doPrivileged((PrivilegedExceptionAction<Object>) () -> {
 				String packageEntryName = packageName.replace('.', '/') + "/";
 				String classEntryName = className.replace('.', '/') + ".class";
-				for (URL url : getURLs()) {
+				for (URL url : getPackageURLs(classEntryName)) {
 					try {
 						URLConnection connection = url.openConnection();
 						if (connection instanceof JarURLConnection) {
@@ -152,11 +340,16 @@ public class LaunchedURLClassLoader extends URLClassLoader {
 				return null;
 			}, AccessController.getContext());
 		}
-		catch (java.security.PrivilegedActionException ex) {
+		catch (PrivilegedActionException ex) {
 			// Ignore
 		}
 	}
 
+	private Iterable<URL> getPackageURLs(String name) {
+		List<URL> urls = getIndexedUrls(name);
+		return (urls != null ? urls : Arrays.asList(getURLs()));
+	}
+
 	/**
 	 * Clear URL caches.
 	 */
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of the packages contained in each of the nested archives of an executable
+ * archive. Used by the {@link LaunchedURLClassLoader} to go directly to the archives
+ * that may contain a class or resource and to answer misses without searching any
+ * archive.
+ * <p>
+ * The index is written when the archive is repackaged. It contains a section for each
+ * nested archive, separated by a blank line. The first line of a section is the name of
+ * the nested archive's entry and each subsequent line is the name of a directory, ending
+ * with {@code /}, that contains at least one entry. Parent directories are listed too, so
+ * a lookup of a package that only contains other packages is answered by the index.
+ *
+ * @author Local Agent
+ * @since 2.1.0
+ */
+public final class PackageIndex {
+
+	/**
+	 * The name of the manifest attribute that holds the location of the index.
+	 */
+	public static final String LOCATION_ATTRIBUTE = "Spring-Boot-Package-Index";
+
+	private final Map<String, List<URL>> packages;
+
+	private PackageIndex(Map<String, List<URL>> packages) {
+		this.packages = packages;
+	}
+
+	/**
+	 * Return the URLs of the archives, in class path order, that contain the package of
+	 * the resource with the given name.
+	 * @param name the name of the resource, for example {@code com/example/Foo.class}
+	 * @return the URLs of the archives that contain the package or {@code null} if the
+	 * index does not cover the resource
+	 */
+	public List<URL> getUrls(String name) {
+		int lastSlash = name.lastIndexOf('/');
+		if (lastSlash <= 0 || name.contains("!/")) {
+			return null;
+		}
+		List<URL> urls = this.packages.get(name.substring(0, lastSlash + 1));
+		return (urls != null ? urls : Collections.emptyList());
+	}
+
+	/**
+	 * Load a {@link PackageIndex} for the given archives from the given stream.
+	 * @param inputStream the stream from which the index is read
+	 * @param archives the URLs of the class path archives, in class path order, keyed by
+	 * the name of their entry in the root archive
+	 * @return the index or {@code null} if the index does not cover all of the archives
+	 * @throws IOException if the index cannot be read
+	 */
+	public static PackageIndex load(InputStream inputStream, Map<String, URL> archives)
+			throws IOException {
+		Map<String, List<String>> index = read(inputStream);
+		Map<String, List<URL>> packages = new HashMap<>();
+		for (Map.Entry<String, URL> archive : archives.entrySet()) {
+			List<String> archivePackages = index.get(archive.getKey());
+			if (archivePackages == null) {
+				return null;
+			}
+			for (String archivePackage : archivePackages) {
+				packages.computeIfAbsent(archivePackage, (key) -> new ArrayList<>(1))
+						.add(archive.getValue());
+			}
+		}
+		return new PackageIndex(packages);
+	}
+
+	private static Map<String, List<String>> read(InputStream inputStream)
+			throws IOException {
+		Map<String, List<String>> index = new HashMap<>();
+		BufferedReader reader = new BufferedReader(
+				new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+		List<String> packages = null;
+		String line;
+		while ((line = reader.readLine()) != null) {
+			if (line.isEmpty()) {
+				packages = null;
+			}
+			else if (packages == null) {
+				packages = new ArrayList<>();
+				index.put(line, packages);
+			}
+			else {
+				packages.add(line);
+			}
+		}
+		return index;
+	}
+
+}
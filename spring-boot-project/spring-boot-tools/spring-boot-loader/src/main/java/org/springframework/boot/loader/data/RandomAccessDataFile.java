@@ -22,6 +22,8 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 
 /**
  * {@link RandomAccessData} implementation backed by a {@link RandomAccessFile}.
@@ -117,6 +119,18 @@ public class RandomAccessDataFile implements RandomAccessData {
 		return this.fileAccess.read(bytes, this.offset + position, offset, length);
 	}
 
+	/**
+	 * Map this data into memory. The returned buffer is read-only and remains valid
+	 * after this data has been {@link #close() closed}. Reads from the buffer do not
+	 * need to synchronize on the underlying file.
+	 * @return a read-only buffer of the data
+	 * @throws IOException if the data cannot be mapped
+	 * @since 2.1.0
+	 */
+	public ByteBuffer map() throws IOException {
+		return this.fileAccess.map(this.offset, this.length);
+	}
+
 	@Override
 	public long getSize() {
 		return this.length;
@@ -246,6 +260,13 @@ public class RandomAccessDataFile implements RandomAccessData {
 			}
 		}
 
+		private ByteBuffer map(long position, long length) throws IOException {
+			try (RandomAccessFile mappedFile = new RandomAccessFile(this.file, "r")) {
+				return mappedFile.getChannel().map(FileChannel.MapMode.READ_ONLY,
+						position, length);
+			}
+		}
+
 		private int readByte(long position) throws IOException {
 			synchronized (this.monitor) {
 				openIfNecessary();
@@ -17,6 +17,7 @@
 package org.springframework.boot.loader.jar;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 
@@ -170,6 +171,34 @@ final class CentralDirectoryFileHeader implements FileHeader {
 				this.localHeaderOffset);
 	}
 
+	/**
+	 * Create a {@link CentralDirectoryFileHeader} from the record at the given
+	 * {@code offset} of a buffer containing the central directory. The whole record is
+	 * copied in a single read, without changing the position of the buffer.
+	 * @param buffer the central directory buffer
+	 * @param offset the offset of the record
+	 * @param filter the filter applied to the name of the record or {@code null}
+	 * @return the file header
+	 * @throws IOException on error
+	 */
+	public static CentralDirectoryFileHeader fromByteBuffer(ByteBuffer buffer,
+			int offset, JarEntryFilter filter) throws IOException {
+		int length = 46 + getUnsignedShort(buffer, offset + 28)
+				+ getUnsignedShort(buffer, offset + 30)
+				+ getUnsignedShort(buffer, offset + 32);
+		byte[] bytes = new byte[length];
+		ByteBuffer source = buffer.duplicate();
+		source.position(offset);
+		source.get(bytes);
+		CentralDirectoryFileHeader fileHeader = new CentralDirectoryFileHeader();
+		fileHeader.load(bytes, 0, null, 0, filter);
+		return fileHeader;
+	}
+
+	private static int getUnsignedShort(ByteBuffer buffer, int index) {
+		return (buffer.get(index) & 0xFF) | ((buffer.get(index + 1) & 0xFF) << 8);
+	}
+
 	public static CentralDirectoryFileHeader fromRandomAccessData(RandomAccessData data,
 			int offset, JarEntryFilter filter) throws IOException {
 		CentralDirectoryFileHeader fileHeader = new CentralDirectoryFileHeader();
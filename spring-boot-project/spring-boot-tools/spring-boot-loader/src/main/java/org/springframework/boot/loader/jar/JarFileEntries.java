@@ -16,17 +16,20 @@
 
 package org.springframework.boot.loader.jar;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.zip.ZipEntry;
 
 import org.springframework.boot.loader.data.RandomAccessData;
+import org.springframework.boot.loader.data.RandomAccessDataFile;
 
 /**
  * Provides access to entries from a {@link JarFile}. In order to reduce memory
@@ -38,6 +41,10 @@ import org.springframework.boot.loader.data.RandomAccessData;
  * <p>
  * A typical Spring Boot application will have somewhere in the region of 10,500 entries
  * which should consume about 122K.
+ * <p>
+ * When the jar is backed by a file, the central directory is memory mapped so that
+ * entries can be read without synchronizing on the file. Recently used entries are held
+ * in a small direct-mapped cache that can be read and updated without locking.
  *
  * @author Phillip Webb
  * @author Andy Wilkinson
@@ -50,7 +57,7 @@ class JarFileEntries implements CentralDirectoryVisitor, Iterable<JarEntry> {
 
 	private static final char NO_SUFFIX = 0;
 
-	protected static final int ENTRY_CACHE_SIZE = 25;
+	protected static final int ENTRY_CACHE_SIZE = 64;
 
 	private final JarFile jarFile;
 
@@ -58,6 +65,8 @@ class JarFileEntries implements CentralDirectoryVisitor, Iterable<JarEntry> {
 
 	private RandomAccessData centralDirectoryData;
 
+	private ByteBuffer centralDirectoryBuffer;
+
 	private int size;
 
 	private int[] hashCodes;
@@ -66,19 +75,10 @@ class JarFileEntries implements CentralDirectoryVisitor, Iterable<JarEntry> {
 
 	private int[] positions;
 
-	private final Map<Integer, FileHeader> entriesCache = Collections
-			.synchronizedMap(new LinkedHashMap<Integer, FileHeader>(16, 0.75f, true) {
-
-				@Override
-				protected boolean removeEldestEntry(
-						Map.Entry<Integer, FileHeader> eldest) {
-					if (JarFileEntries.this.jarFile.isSigned()) {
-						return false;
-					}
-					return size() >= ENTRY_CACHE_SIZE;
-				}
+	private final AtomicReferenceArray<CachedEntry> entriesCache = new AtomicReferenceArray<>(
+			ENTRY_CACHE_SIZE);
 
-			});
+	private final Map<Integer, FileHeader> signedEntriesCache = new ConcurrentHashMap<>();
 
 	JarFileEntries(JarFile jarFile, JarEntryFilter filter) {
 		this.jarFile = jarFile;
@@ -90,11 +90,26 @@ class JarFileEntries implements CentralDirectoryVisitor, Iterable<JarEntry> {
 			RandomAccessData centralDirectoryData) {
 		int maxSize = endRecord.getNumberOfRecords();
 		this.centralDirectoryData = centralDirectoryData;
+		this.centralDirectoryBuffer = mapIfPossible(centralDirectoryData);
 		this.hashCodes = new int[maxSize];
 		this.centralDirectoryOffsets = new int[maxSize];
 		this.positions = new int[maxSize];
 	}
 
+	private ByteBuffer mapIfPossible(RandomAccessData data) {
+		// A mapped file cannot be deleted on Windows until the buffer has been
+		// garbage collected
+		if (data instanceof RandomAccessDataFile && File.separatorChar != '\\') {
+			try {
+				return ((RandomAccessDataFile) data).map();
+			}
+			catch (IOException ex) {
+				// Fall back to reading the data
+			}
+		}
+		return null;
+	}
+
 	@Override
 	public void visitFileHeader(CentralDirectoryFileHeader fileHeader, int dataOffset) {
 		AsciiBytes name = applyFilter(fileHeader.getName());
@@ -242,17 +257,14 @@ class JarFileEntries implements CentralDirectoryVisitor, Iterable<JarEntry> {
 	private <T extends FileHeader> T getEntry(int index, Class<T> type,
 			boolean cacheEntry) {
 		try {
-			FileHeader cached = this.entriesCache.get(index);
-			FileHeader entry = (cached != null ? cached
-					: CentralDirectoryFileHeader.fromRandomAccessData(
-							this.centralDirectoryData,
-							this.centralDirectoryOffsets[index], this.filter));
+			FileHeader cached = getCachedEntry(index);
+			FileHeader entry = (cached != null ? cached : readEntry(index));
 			if (CentralDirectoryFileHeader.class.equals(entry.getClass())
 					&& type.equals(JarEntry.class)) {
 				entry = new JarEntry(this.jarFile, (CentralDirectoryFileHeader) entry);
 			}
 			if (cacheEntry && cached != entry) {
-				this.entriesCache.put(index, entry);
+				cacheEntry(index, entry);
 			}
 			return (T) entry;
 		}
@@ -261,6 +273,35 @@ class JarFileEntries implements CentralDirectoryVisitor, Iterable<JarEntry> {
 		}
 	}
 
+	private CentralDirectoryFileHeader readEntry(int index) throws IOException {
+		int offset = this.centralDirectoryOffsets[index];
+		if (this.centralDirectoryBuffer != null) {
+			return CentralDirectoryFileHeader.fromByteBuffer(this.centralDirectoryBuffer,
+					offset, this.filter);
+		}
+		return CentralDirectoryFileHeader.fromRandomAccessData(this.centralDirectoryData,
+				offset, this.filter);
+	}
+
+	private FileHeader getCachedEntry(int index) {
+		if (this.jarFile.isSigned()) {
+			return this.signedEntriesCache.get(index);
+		}
+		CachedEntry cached = this.entriesCache.get(index % ENTRY_CACHE_SIZE);
+		return (cached != null && cached.index == index ? cached.entry : null);
+	}
+
+	private void cacheEntry(int index, FileHeader entry) {
+		if (this.jarFile.isSigned()) {
+			// Signed entries must be retained so that their certificates are kept
+			this.signedEntriesCache.put(index, entry);
+		}
+		else {
+			this.entriesCache.set(index % ENTRY_CACHE_SIZE,
+					new CachedEntry(index, entry));
+		}
+	}
+
 	private int getFirstIndex(int hashCode) {
 		int index = Arrays.binarySearch(this.hashCodes, 0, this.size, hashCode);
 		if (index < 0) {
@@ -273,13 +314,32 @@ class JarFileEntries implements CentralDirectoryVisitor, Iterable<JarEntry> {
 	}
 
 	public void clearCache() {
-		this.entriesCache.clear();
+		for (int i = 0; i < ENTRY_CACHE_SIZE; i++) {
+			this.entriesCache.set(i, null);
+		}
+		this.signedEntriesCache.clear();
 	}
 
 	private AsciiBytes applyFilter(AsciiBytes name) {
 		return (this.filter != null ? this.filter.apply(name) : name);
 	}
 
+	/**
+	 * An entry held in the entries cache along with its index.
+	 */
+	private static final class CachedEntry {
+
+		private final int index;
+
+		private final FileHeader entry;
+
+		CachedEntry(int index, FileHeader entry) {
+			this.index = index;
+			this.entry = entry;
+		}
+
+	}
+
 	/**
 	 * Iterator for contained entries.
 	 */
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.List;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import org.springframework.boot.loader.archive.Archive;
+import org.springframework.boot.loader.archive.ExplodedArchive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIOException;
+
+/**
+ * Tests for {@link ExtractingJarLauncher}.
+ */
+public class ExtractingJarLauncherTests extends AbstractExecutableArchiveLauncherTests {
+
+	@Test
+	public void extractedJarHasBootInfClassesAndContentsOfBootInfLibOnClasspath()
+			throws Exception {
+		File jar = createJarArchive("archive.jar", "BOOT-INF");
+		File extracted = ExtractingJarLauncher.extract(jar, this.temp.newFolder());
+		assertThat(extracted.getName()).startsWith("archive-");
+		assertThat(new File(extracted, "BOOT-INF/lib/foo.jar")).isFile();
+		ExtractingJarLauncher launcher = new ExtractingJarLauncher(
+				new ExplodedArchive(extracted));
+		List<Archive> archives = launcher.getClassPathArchives();
+		assertThat(getUrls(archives)).containsOnly(
+				new File(extracted, "BOOT-INF/classes").toURI().toURL(),
+				new URL("jar:"
+						+ new File(extracted, "BOOT-INF/lib/foo.jar").toURI().toURL()
+						+ "!/"));
+	}
+
+	@Test
+	public void sameJarIsOnlyExtractedOnce() throws Exception {
+		File jar = createJarArchive("archive.jar", "BOOT-INF");
+		File cache = this.temp.newFolder();
+		File extracted = ExtractingJarLauncher.extract(jar, cache);
+		File marker = new File(extracted, "marker");
+		assertThat(marker.createNewFile()).isTrue();
+		assertThat(ExtractingJarLauncher.extract(jar, cache)).isEqualTo(extracted);
+		assertThat(marker).exists();
+		assertThat(cache.listFiles()).hasSize(1);
+	}
+
+	@Test
+	public void changedJarIsExtractedAgain() throws Exception {
+		File cache = this.temp.newFolder();
+		File extracted = ExtractingJarLauncher
+				.extract(createJarArchive("archive.jar", "BOOT-INF"), cache);
+		File changed = createJar("archive.jar", "com.example.Application");
+		assertThat(ExtractingJarLauncher.extract(changed, cache))
+				.isNotEqualTo(extracted);
+		assertThat(cache.listFiles()).hasSize(2);
+	}
+
+	@Test
+	public void argsFileIsWrittenWhenJarHasStartClass() throws Exception {
+		File jar = createJar("app.jar", "com.example.Application");
+		File extracted = ExtractingJarLauncher.extract(jar, this.temp.newFolder());
+		List<String> lines = Files.readAllLines(
+				new File(extracted, ExtractingJarLauncher.ARGS_FILE_NAME).toPath());
+		assertThat(lines).hasSize(3);
+		assertThat(lines.get(0)).isEqualTo("-cp");
+		assertThat(lines.get(1)).isEqualTo("\""
+				+ new File(extracted, "BOOT-INF/classes/").getAbsolutePath()
+				+ File.pathSeparator
+				+ new File(extracted, "BOOT-INF/lib/bar.jar").getAbsolutePath() + "\"");
+		assertThat(lines.get(2)).isEqualTo("com.example.Application");
+	}
+
+	@Test
+	public void cacheDirectoryIsCreatedAccessibleOnlyToItsOwner() throws Exception {
+		assumePosixFileSystem();
+		File jar = createJarArchive("archive.jar", "BOOT-INF");
+		File cache = new File(this.temp.newFolder(), "cache");
+		ExtractingJarLauncher.extract(jar, cache);
+		assertThat(Files.getPosixFilePermissions(cache.toPath()))
+				.isEqualTo(PosixFilePermissions.fromString("rwx------"));
+	}
+
+	@Test
+	public void cacheDirectoryThatIsWritableByOthersIsNotTrusted() throws Exception {
+		assumePosixFileSystem();
+		File jar = createJarArchive("archive.jar", "BOOT-INF");
+		File cache = this.temp.newFolder();
+		Files.setPosixFilePermissions(cache.toPath(),
+				PosixFilePermissions.fromString("rwxrwxrwx"));
+		assertThatIOException()
+				.isThrownBy(() -> ExtractingJarLauncher.extract(jar, cache))
+				.withMessageContaining("must not be writable");
+		assertThat(cache.listFiles()).isEmpty();
+	}
+
+	@Test
+	public void cacheDirectoryIsTrustedWhenUserNameIsUnknown() throws Exception {
+		File jar = createJarArchive("archive.jar", "BOOT-INF");
+		File cache = this.temp.newFolder();
+		String user = System.getProperty("user.name");
+		System.setProperty("user.name", "?");
+		try {
+			File extracted = ExtractingJarLauncher.extract(jar, cache);
+			assertThat(cache.listFiles()).containsExactly(extracted);
+		}
+		finally {
+			System.setProperty("user.name", user);
+		}
+	}
+
+	private void assumePosixFileSystem() {
+		Assume.assumeTrue(FileSystems.getDefault().supportedFileAttributeViews()
+				.contains("posix"));
+	}
+
+	private File createJar(String name, String startClass) throws IOException {
+		File jar = new File(this.temp.newFolder(), name);
+		Manifest manifest = new Manifest();
+		manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+		manifest.getMainAttributes().putValue("Start-Class", startClass);
+		try (JarOutputStream output = new JarOutputStream(new FileOutputStream(jar),
+				manifest)) {
+			output.putNextEntry(new JarEntry("BOOT-INF/classes/"));
+			output.putNextEntry(new JarEntry("BOOT-INF/lib/bar.jar"));
+			output.write("bar".getBytes(StandardCharsets.UTF_8));
+		}
+		return jar;
+	}
+
+}
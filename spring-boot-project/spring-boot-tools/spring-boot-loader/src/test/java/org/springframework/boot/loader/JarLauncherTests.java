@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2017 the original author or authors.
+ * Copyright 2012-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,14 +17,24 @@
 package org.springframework.boot.loader;
 
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
 import java.util.List;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
 
 import org.junit.Test;
 
 import org.springframework.boot.loader.archive.Archive;
 import org.springframework.boot.loader.archive.ExplodedArchive;
 import org.springframework.boot.loader.archive.JarFileArchive;
+import org.springframework.util.StreamUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -61,4 +71,55 @@ public class JarLauncherTests extends AbstractExecutableArchiveLauncherTests {
 				new URL("jar:" + jarRoot.toURI().toURL() + "!/BOOT-INF/lib/foo.jar!/"));
 	}
 
+	@Test
+	public void archivedJarWithPackageIndexUsesIndexToFindResources()
+			throws Exception {
+		File jarRoot = createIndexedJarArchive("BOOT-INF/classes/\nb/\n\n"
+				+ "BOOT-INF/lib/foo.jar\n\n");
+		JarLauncher launcher = new JarLauncher(new JarFileArchive(jarRoot));
+		ClassLoader classLoader = launcher
+				.createClassLoader(launcher.getClassPathArchives());
+		assertThat(classLoader.getResource("a/a.txt")).isNull();
+		assertThat(classLoader.getResource("b/b.txt")).isNotNull();
+	}
+
+	@Test
+	public void archivedJarWithIncompletePackageIndexIgnoresIndex() throws Exception {
+		File jarRoot = createIndexedJarArchive("BOOT-INF/classes/\nb/\n\n");
+		JarLauncher launcher = new JarLauncher(new JarFileArchive(jarRoot));
+		ClassLoader classLoader = launcher
+				.createClassLoader(launcher.getClassPathArchives());
+		assertThat(classLoader.getResource("a/a.txt")).isNotNull();
+		assertThat(classLoader.getResource("b/b.txt")).isNotNull();
+	}
+
+	private File createIndexedJarArchive(String index) throws IOException {
+		File archive = createJarArchive("archive.jar", "BOOT-INF");
+		File indexed = this.temp.newFile("indexed.jar");
+		Manifest manifest = new Manifest();
+		manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+		manifest.getMainAttributes().putValue("Spring-Boot-Package-Index",
+				"BOOT-INF/package.idx");
+		try (JarFile jarFile = new JarFile(archive);
+				JarOutputStream output = new JarOutputStream(
+						new FileOutputStream(indexed), manifest)) {
+			Enumeration<JarEntry> entries = jarFile.entries();
+			while (entries.hasMoreElements()) {
+				JarEntry entry = entries.nextElement();
+				output.putNextEntry(new JarEntry(entry));
+				StreamUtils.copy(jarFile.getInputStream(entry), output);
+			}
+			writeEntry(output, "BOOT-INF/classes/a/a.txt", "a");
+			writeEntry(output, "BOOT-INF/classes/b/b.txt", "b");
+			writeEntry(output, "BOOT-INF/package.idx", index);
+		}
+		return indexed;
+	}
+
+	private void writeEntry(JarOutputStream output, String name, String content)
+			throws IOException {
+		output.putNextEntry(new JarEntry(name));
+		output.write(content.getBytes(StandardCharsets.UTF_8));
+	}
+
 }
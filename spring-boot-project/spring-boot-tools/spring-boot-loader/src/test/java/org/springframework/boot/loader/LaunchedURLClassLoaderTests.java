@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2017 the original author or authors.
+ * Copyright 2012-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,14 +16,25 @@
 
 package org.springframework.boot.loader;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
 
 import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.ExpectedException;
 import org.junit.rules.TemporaryFolder;
 
 import org.springframework.boot.loader.jar.JarFile;
+import org.springframework.util.StreamUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -40,6 +51,9 @@ public class LaunchedURLClassLoaderTests {
 	@Rule
 	public TemporaryFolder temporaryFolder = new TemporaryFolder();
 
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
 	@Test
 	public void resolveResourceFromArchive() throws Exception {
 		LaunchedURLClassLoader loader = new LaunchedURLClassLoader(
@@ -105,4 +119,103 @@ public class LaunchedURLClassLoaderTests {
 		}
 	}
 
+	@Test
+	public void resolveFromPackageIndex() throws Exception {
+		URL url = createTestJarUrl();
+		LaunchedURLClassLoader loader = new LaunchedURLClassLoader(new URL[] { url },
+				null, createPackageIndex(url, "d/"));
+		assertThat(loader.getResource("d/9.dat")).isNotNull();
+		assertThat(loader.getResources("d/9.dat").hasMoreElements()).isTrue();
+		assertThat(loader.getResource("1.dat")).isNotNull();
+		assertThat(loader.getResource("nested.jar!/3.dat")).isNotNull();
+	}
+
+	@Test
+	public void packageMissingFromPackageIndexIsNotSearched() throws Exception {
+		URL url = createTestJarUrl();
+		LaunchedURLClassLoader loader = new LaunchedURLClassLoader(new URL[] { url },
+				null, createPackageIndex(url, "special/"));
+		assertThat(loader.getResource("d/9.dat")).isNull();
+		assertThat(loader.getResources("d/9.dat").hasMoreElements()).isFalse();
+		this.thrown.expect(ClassNotFoundException.class);
+		loader.loadClass("d.Missing");
+	}
+
+	@Test
+	public void resolveParentPackageWithoutFilesFromPackageIndex() throws Exception {
+		File file = this.temporaryFolder.newFile();
+		try (JarOutputStream jarOutputStream = new JarOutputStream(
+				new FileOutputStream(file))) {
+			jarOutputStream.putNextEntry(new JarEntry("com/"));
+			jarOutputStream.putNextEntry(new JarEntry("com/acme/"));
+			jarOutputStream.putNextEntry(new JarEntry("com/acme/sub/"));
+			jarOutputStream.putNextEntry(new JarEntry("com/acme/sub/1.dat"));
+			jarOutputStream.write(1);
+			jarOutputStream.closeEntry();
+		}
+		URL url = new JarFile(file).getUrl();
+		LaunchedURLClassLoader loader = new LaunchedURLClassLoader(new URL[] { url },
+				null, createPackageIndex(url, "com/", "com/acme/", "com/acme/sub/"));
+		assertThat(loader.getResource("com/acme/sub/1.dat")).isNotNull();
+		assertThat(loader.getResources("com/acme/").hasMoreElements()).isTrue();
+		assertThat(loader.getResource("com/acme")).isNotNull();
+	}
+
+	@Test
+	public void resolveOnlyFromIndexedArchives() throws Exception {
+		URL first = createTestJarUrl();
+		URL second = createTestJarUrl();
+		String index = "first.jar\nspecial/\n\nsecond.jar\nd/\n";
+		Map<String, URL> archives = new LinkedHashMap<>();
+		archives.put("first.jar", first);
+		archives.put("second.jar", second);
+		LaunchedURLClassLoader loader = new LaunchedURLClassLoader(
+				new URL[] { first, second }, null,
+				PackageIndex.load(
+						new ByteArrayInputStream(index.getBytes(StandardCharsets.UTF_8)),
+						archives));
+		URL resource = loader.getResource("d/9.dat");
+		assertThat(resource.toString()).isEqualTo(second + "d/9.dat");
+		assertThat(resource.openConnection().getInputStream().read()).isEqualTo(9);
+		assertThat(Collections.list(loader.getResources("d/9.dat")))
+				.containsExactly(resource);
+		assertThat(loader.getResource("special/\u00EB.dat").toString())
+				.startsWith(first.toString());
+	}
+
+	@Test
+	public void loadClassFromPackageIndex() throws Exception {
+		File file = this.temporaryFolder.newFile();
+		String path = TestJarCreator.class.getName().replace('.', '/') + ".class";
+		try (JarOutputStream jarOutputStream = new JarOutputStream(
+				new FileOutputStream(file))) {
+			jarOutputStream.putNextEntry(new JarEntry(path));
+			StreamUtils.copy(getClass().getResourceAsStream("/" + path),
+					jarOutputStream);
+			jarOutputStream.closeEntry();
+		}
+		URL url = new JarFile(file).getUrl();
+		LaunchedURLClassLoader loader = new LaunchedURLClassLoader(new URL[] { url },
+				null, createPackageIndex(url, "org/", "org/springframework/",
+						"org/springframework/boot/", "org/springframework/boot/loader/"));
+		Class<?> type = loader.loadClass(TestJarCreator.class.getName());
+		assertThat(type.getClassLoader()).isSameAs(loader);
+		assertThat(type.getPackage().getName())
+				.isEqualTo(TestJarCreator.class.getPackage().getName());
+	}
+
+	private URL createTestJarUrl() throws Exception {
+		File file = this.temporaryFolder.newFile();
+		TestJarCreator.createTestJar(file);
+		return new JarFile(file).getUrl();
+	}
+
+	private PackageIndex createPackageIndex(URL url, String... packages)
+			throws IOException {
+		String index = "test.jar\n" + String.join("\n", packages) + "\n";
+		return PackageIndex.load(
+				new ByteArrayInputStream(index.getBytes(StandardCharsets.UTF_8)),
+				Collections.singletonMap("test.jar", url));
+	}
+
 }
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PackageIndex}.
+ */
+public class PackageIndexTests {
+
+	private static final String INDEX = "BOOT-INF/classes/\ncom/example/\n\n"
+			+ "BOOT-INF/lib/one.jar\nMETA-INF/\ncom/example/\norg/one/\n\n"
+			+ "BOOT-INF/lib/two.jar\nMETA-INF/\norg/two/\n\n";
+
+	@Test
+	public void getUrlsReturnsArchivesInClassPathOrder() throws Exception {
+		Map<String, URL> archives = new LinkedHashMap<>();
+		archives.put("BOOT-INF/lib/two.jar", new URL("file:two.jar"));
+		archives.put("BOOT-INF/classes/", new URL("file:classes/"));
+		archives.put("BOOT-INF/lib/one.jar", new URL("file:one.jar"));
+		PackageIndex index = load(archives);
+		assertThat(index.getUrls("com/example/Foo.class"))
+				.containsExactly(new URL("file:classes/"), new URL("file:one.jar"));
+		assertThat(index.getUrls("META-INF/spring.factories"))
+				.containsExactly(new URL("file:two.jar"), new URL("file:one.jar"));
+		assertThat(index.getUrls("org/two/Bar.class"))
+				.containsExactly(new URL("file:two.jar"));
+	}
+
+	@Test
+	public void getUrlsForUnknownPackageReturnsEmptyList() throws Exception {
+		PackageIndex index = load(
+				singleArchive("BOOT-INF/lib/one.jar", new URL("file:one.jar")));
+		assertThat(index.getUrls("org/two/Bar.class")).isEmpty();
+		assertThat(index.getUrls("org/one/sub/Bar.class")).isEmpty();
+	}
+
+	@Test
+	public void getUrlsForResourceOutsideOfPackageReturnsNull() throws Exception {
+		PackageIndex index = load(
+				singleArchive("BOOT-INF/lib/one.jar", new URL("file:one.jar")));
+		assertThat(index.getUrls("application.properties")).isNull();
+		assertThat(index.getUrls("nested.jar!/org/one/Foo.class")).isNull();
+	}
+
+	@Test
+	public void loadWhenArchiveIsNotIndexedReturnsNull() throws Exception {
+		assertThat(load(singleArchive("BOOT-INF/lib/three.jar",
+				new URL("file:three.jar")))).isNull();
+	}
+
+	private Map<String, URL> singleArchive(String name, URL url) {
+		Map<String, URL> archives = new LinkedHashMap<>();
+		archives.put(name, url);
+		return archives;
+	}
+
+	private PackageIndex load(Map<String, URL> archives) throws IOException {
+		return PackageIndex.load(
+				new ByteArrayInputStream(INDEX.getBytes(StandardCharsets.UTF_8)),
+				archives);
+	}
+
+}
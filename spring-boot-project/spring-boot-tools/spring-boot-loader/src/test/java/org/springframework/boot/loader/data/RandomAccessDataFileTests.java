@@ -20,6 +20,7 @@ import java.io.EOFException;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -291,6 +292,25 @@ public class RandomAccessDataFileTests {
 		assertThat(this.file.getFile()).isEqualTo(this.tempFile);
 	}
 
+	@Test
+	public void map() throws Exception {
+		ByteBuffer buffer = this.file.map();
+		assertThat(buffer.isReadOnly()).isTrue();
+		assertThat(buffer.remaining()).isEqualTo(256);
+		for (int i = 0; i <= 255; i++) {
+			assertThat(buffer.get(i)).isEqualTo(BYTES[i]);
+		}
+	}
+
+	@Test
+	public void mapSubsection() throws Exception {
+		RandomAccessData subsection = this.file.getSubsection(10, 20);
+		ByteBuffer buffer = ((RandomAccessDataFile) subsection).map();
+		assertThat(buffer.remaining()).isEqualTo(20);
+		assertThat(buffer.get(0)).isEqualTo(BYTES[10]);
+		assertThat(buffer.get(19)).isEqualTo(BYTES[29]);
+	}
+
 	@Test
 	public void concurrentReads() throws Exception {
 		ExecutorService executorService = Executors.newFixedThreadPool(20);
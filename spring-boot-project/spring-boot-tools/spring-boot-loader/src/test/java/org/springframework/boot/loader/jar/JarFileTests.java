@@ -26,7 +26,12 @@ import java.io.InputStream;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.nio.charset.Charset;
+import java.util.ArrayList;
 import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.jar.JarEntry;
 import java.util.jar.JarInputStream;
 import java.util.jar.Manifest;
@@ -503,4 +508,29 @@ public class JarFileTests {
 		}
 	}
 
+	@Test
+	public void concurrentGetEntry() throws Exception {
+		ExecutorService executorService = Executors.newFixedThreadPool(20);
+		try {
+			List<Future<Boolean>> results = new ArrayList<>();
+			for (int i = 0; i < 200; i++) {
+				String name = (i % 2 != 0 ? "d/9.dat" : "1.dat");
+				results.add(executorService.submit(() -> {
+					for (int j = 0; j < 100; j++) {
+						if (!name.equals(this.jarFile.getEntry(name).getName())) {
+							return false;
+						}
+					}
+					return this.jarFile.getEntry("missing.dat") == null;
+				}));
+			}
+			for (Future<Boolean> result : results) {
+				assertThat(result.get()).isTrue();
+			}
+		}
+		finally {
+			executorService.shutdown();
+		}
+	}
+
 }
@@ -32,9 +32,13 @@ import org.springframework.boot.context.properties.source.ConfigurationPropertyN
 import org.springframework.boot.context.properties.source.ConfigurationPropertyState;
 import org.springframework.core.MethodParameter;
 import org.springframework.core.ResolvableType;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ObjectUtils;
 
 /**
- * {@link BeanBinder} for mutable Java Beans.
+ * {@link BeanBinder} for mutable Java Beans. The properties of a bean type are
+ * introspected once and cached so that subsequent binds of the same type only need to
+ * iterate over the already resolved setters, types and annotations.
  *
  * @author Phillip Webb
  * @author Madhura Bhave
@@ -67,11 +71,10 @@ class JavaBeanBinder implements BeanBinder {
 	private <T> boolean bind(BeanSupplier<T> beanSupplier,
 			BeanPropertyBinder propertyBinder, BeanProperty property) {
 		String propertyName = property.getName();
-		ResolvableType type = property.getType();
 		Supplier<Object> value = property.getValue(beanSupplier);
-		Annotation[] annotations = property.getAnnotations();
 		Object bound = propertyBinder.bindProperty(propertyName,
-				Bindable.of(type).withSuppliedValue(value).withAnnotations(annotations));
+				property.getBindable().withSuppliedValue(value)
+						.withAnnotations(property.getAnnotations()));
 		if (bound == null) {
 			return false;
 		}
@@ -90,7 +93,7 @@ class JavaBeanBinder implements BeanBinder {
 	 */
 	private static class Bean<T> {
 
-		private static Bean<?> cached;
+		private static final Map<BeanKey, Bean<?>> cache = new ConcurrentReferenceHashMap<>();
 
 		private final Class<?> type;
 
@@ -102,6 +105,7 @@ class JavaBeanBinder implements BeanBinder {
 			this.resolvableType = resolvableType;
 			this.type = type;
 			putProperties(type);
+			this.properties.values().forEach(BeanProperty::prepare);
 		}
 
 		private void putProperties(Class<?> type) {
@@ -155,10 +159,6 @@ class JavaBeanBinder implements BeanBinder {
 			}
 		}
 
-		public Class<?> getType() {
-			return this.type;
-		}
-
 		public Map<String, BeanProperty> getProperties() {
 			return this.properties;
 		}
@@ -189,12 +189,10 @@ class JavaBeanBinder implements BeanBinder {
 			if (instance == null && !isInstantiable(type)) {
 				return null;
 			}
-			Bean<?> bean = Bean.cached;
-			if (bean == null || !type.equals(bean.getType())) {
-				bean = new Bean<>(bindable.getType(), type);
-				cached = bean;
-			}
-			return (Bean<T>) bean;
+			ResolvableType resolvableType = bindable.getType();
+			Class<?> beanType = type;
+			return (Bean<T>) cache.computeIfAbsent(new BeanKey(resolvableType, beanType),
+					(key) -> new Bean<>(resolvableType, beanType));
 		}
 
 		private static boolean isInstantiable(Class<?> type) {
@@ -212,6 +210,42 @@ class JavaBeanBinder implements BeanBinder {
 
 	}
 
+	/**
+	 * Key used to cache {@link Bean} instances.
+	 */
+	private static final class BeanKey {
+
+		private final ResolvableType resolvableType;
+
+		private final Class<?> type;
+
+		BeanKey(ResolvableType resolvableType, Class<?> type) {
+			this.resolvableType = resolvableType;
+			this.type = type;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj == this) {
+				return true;
+			}
+			if (obj == null || obj.getClass() != getClass()) {
+				return false;
+			}
+			BeanKey other = (BeanKey) obj;
+			return this.type.equals(other.type)
+					&& ObjectUtils.nullSafeEquals(this.resolvableType,
+							other.resolvableType);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * this.type.hashCode()
+					+ ObjectUtils.nullSafeHashCode(this.resolvableType);
+		}
+
+	}
+
 	private static class BeanSupplier<T> implements Supplier<T> {
 
 		private final Supplier<T> factory;
@@ -247,6 +281,10 @@ class JavaBeanBinder implements BeanBinder {
 
 		private Field field;
 
+		private Bindable<Object> bindable;
+
+		private Annotation[] annotations;
+
 		BeanProperty(String name, ResolvableType declaringClassType) {
 			this.name = BeanPropertyName.toDashedForm(name);
 			this.declaringClassType = declaringClassType;
@@ -270,11 +308,28 @@ class JavaBeanBinder implements BeanBinder {
 			}
 		}
 
+		/**
+		 * Resolve the type and annotations of the property once all of its accessors
+		 * have been added.
+		 */
+		public void prepare() {
+			this.bindable = Bindable.of(resolveType());
+			this.annotations = resolveAnnotations();
+		}
+
 		public String getName() {
 			return this.name;
 		}
 
-		public ResolvableType getType() {
+		public Bindable<Object> getBindable() {
+			return this.bindable;
+		}
+
+		public Annotation[] getAnnotations() {
+			return this.annotations;
+		}
+
+		private ResolvableType resolveType() {
 			if (this.setter != null) {
 				MethodParameter methodParameter = new MethodParameter(this.setter, 0);
 				return ResolvableType.forMethodParameter(methodParameter,
@@ -285,7 +340,7 @@ class JavaBeanBinder implements BeanBinder {
 					this.declaringClassType);
 		}
 
-		public Annotation[] getAnnotations() {
+		private Annotation[] resolveAnnotations() {
 			try {
 				return (this.field != null ? this.field.getDeclaredAnnotations() : null);
 			}
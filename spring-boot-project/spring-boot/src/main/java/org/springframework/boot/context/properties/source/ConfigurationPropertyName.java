@@ -24,7 +24,8 @@ import java.util.Map;
 import java.util.function.Function;
 
 import org.springframework.util.Assert;
-import org.springframework.util.ObjectUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ConcurrentReferenceHashMap.ReferenceType;
 
 /**
  * A configuration property name composed of elements separated by dots. User created
@@ -43,6 +44,10 @@ import org.springframework.util.ObjectUtils;
  * <li>{@code server.hosts[0].name}</li>
  * <li>{@code log[org.springboot].level}</li>
  * </ul>
+ * <p>
+ * Names are immutable. Names created from a {@link String} by {@link #of(CharSequence)}
+ * are cached, and names returned by {@link #chop(int)} share the element storage of the
+ * name that they were created from.
  *
  * @author Phillip Webb
  * @author Madhura Bhave
@@ -55,6 +60,11 @@ public final class ConfigurationPropertyName
 
 	private static final String EMPTY_STRING = "";
 
+	private static final int MAX_CACHE_SIZE = 4096;
+
+	private static final Map<String, ConfigurationPropertyName> cache = new ConcurrentReferenceHashMap<>(
+			256, ReferenceType.SOFT);
+
 	/**
 	 * An empty {@link ConfigurationPropertyName}.
 	 */
@@ -63,20 +73,23 @@ public final class ConfigurationPropertyName
 
 	private final CharSequence[] elements;
 
-	private final CharSequence[] uniformElements;
+	private final String[] uniformElements;
 
-	private int[] elementHashCodes;
+	private final int size;
+
+	private int hashCode;
 
 	private String string;
 
 	private ConfigurationPropertyName(CharSequence[] elements) {
-		this(elements, new CharSequence[elements.length]);
+		this(elements, new String[elements.length], elements.length);
 	}
 
-	private ConfigurationPropertyName(CharSequence[] elements,
-			CharSequence[] uniformElements) {
+	private ConfigurationPropertyName(CharSequence[] elements, String[] uniformElements,
+			int size) {
 		this.elements = elements;
 		this.uniformElements = uniformElements;
+		this.size = size;
 	}
 
 	/**
@@ -84,7 +97,7 @@ public final class ConfigurationPropertyName
 	 * @return {@code true} if the name is empty
 	 */
 	public boolean isEmpty() {
-		return this.elements.length == 0;
+		return this.size == 0;
 	}
 
 	/**
@@ -102,6 +115,7 @@ public final class ConfigurationPropertyName
 	 * @return {@code true} if the element is indexed
 	 */
 	boolean isIndexed(int elementIndex) {
+		assertElementIndex(elementIndex);
 		return isIndexed(this.elements[elementIndex]);
 	}
 
@@ -141,6 +155,7 @@ public final class ConfigurationPropertyName
 	 * @return the last element
 	 */
 	public String getElement(int elementIndex, Form form) {
+		assertElementIndex(elementIndex);
 		if (form == Form.ORIGINAL) {
 			CharSequence result = this.elements[elementIndex];
 			if (isIndexed(result)) {
@@ -148,19 +163,29 @@ public final class ConfigurationPropertyName
 			}
 			return result.toString();
 		}
-		CharSequence result = this.uniformElements[elementIndex];
+		String result = this.uniformElements[elementIndex];
 		if (result == null) {
-			result = this.elements[elementIndex];
-			if (isIndexed(result)) {
-				result = result.subSequence(1, result.length() - 1);
+			CharSequence element = this.elements[elementIndex];
+			if (isIndexed(element)) {
+				element = element.subSequence(1, element.length() - 1);
 			}
 			else {
-				result = cleanupCharSequence(result, (c, i) -> c == '-' || c == '_',
+				element = cleanupCharSequence(element, (c, i) -> c == '-' || c == '_',
 						CharProcessor.LOWERCASE);
 			}
+			result = element.toString();
 			this.uniformElements[elementIndex] = result;
 		}
-		return result.toString();
+		return result;
+	}
+
+	private void assertElementIndex(int elementIndex) {
+		// The element arrays can be shared with longer names so they may hold more
+		// elements than this name has
+		if (elementIndex < 0 || elementIndex >= this.size) {
+			throw new IndexOutOfBoundsException("Element index " + elementIndex
+					+ " is out of bounds for a name with " + this.size + " elements");
+		}
 	}
 
 	/**
@@ -168,7 +193,7 @@ public final class ConfigurationPropertyName
 	 * @return the number of elements
 	 */
 	public int getNumberOfElements() {
-		return this.elements.length;
+		return this.size;
 	}
 
 	/**
@@ -189,19 +214,19 @@ public final class ConfigurationPropertyName
 			InvalidConfigurationPropertyNameException.throwIfHasInvalidChars(elementValue,
 					ElementValidator.getInvalidChars(elementValue));
 		}
-		int length = this.elements.length;
-		CharSequence[] elements = new CharSequence[length + 1];
-		System.arraycopy(this.elements, 0, elements, 0, length);
-		elements[length] = elementValue;
-		CharSequence[] uniformElements = new CharSequence[length + 1];
-		System.arraycopy(this.uniformElements, 0, uniformElements, 0, length);
-		return new ConfigurationPropertyName(elements, uniformElements);
+		int size = this.size;
+		CharSequence[] elements = new CharSequence[size + 1];
+		System.arraycopy(this.elements, 0, elements, 0, size);
+		elements[size] = elementValue;
+		String[] uniformElements = new String[size + 1];
+		System.arraycopy(this.uniformElements, 0, uniformElements, 0, size);
+		return new ConfigurationPropertyName(elements, uniformElements, size + 1);
 	}
 
 	/**
 	 * Return a new {@link ConfigurationPropertyName} by chopping this name to the given
 	 * {@code size}. For example, {@code chop(1)} on the name {@code foo.bar} will return
-	 * {@code foo}.
+	 * {@code foo}. The chopped name shares the elements of this name.
 	 * @param size the size to chop
 	 * @return the chopped name
 	 */
@@ -209,11 +234,7 @@ public final class ConfigurationPropertyName
 		if (size >= getNumberOfElements()) {
 			return this;
 		}
-		CharSequence[] elements = new CharSequence[size];
-		System.arraycopy(this.elements, 0, elements, 0, size);
-		CharSequence[] uniformElements = new CharSequence[size];
-		System.arraycopy(this.uniformElements, 0, uniformElements, 0, size);
-		return new ConfigurationPropertyName(elements, uniformElements);
+		return new ConfigurationPropertyName(this.elements, this.uniformElements, size);
 	}
 
 	/**
@@ -240,7 +261,7 @@ public final class ConfigurationPropertyName
 		if (this.getNumberOfElements() >= name.getNumberOfElements()) {
 			return false;
 		}
-		for (int i = 0; i < this.elements.length; i++) {
+		for (int i = 0; i < this.size; i++) {
 			if (!elementEquals(this.elements[i], name.elements[i])) {
 				return false;
 			}
@@ -298,14 +319,15 @@ public final class ConfigurationPropertyName
 	@Override
 	public String toString() {
 		if (this.string == null) {
-			this.string = toString(this.elements);
+			this.string = buildString();
 		}
 		return this.string;
 	}
 
-	private String toString(CharSequence[] elements) {
+	private String buildString() {
 		StringBuilder result = new StringBuilder();
-		for (CharSequence element : elements) {
+		for (int i = 0; i < this.size; i++) {
+			CharSequence element = this.elements[i];
 			boolean indexed = isIndexed(element);
 			if (result.length() > 0 && !indexed) {
 				result.append(".");
@@ -314,8 +336,8 @@ public final class ConfigurationPropertyName
 				result.append(element);
 			}
 			else {
-				for (int i = 0; i < element.length(); i++) {
-					char ch = Character.toLowerCase(element.charAt(i));
+				for (int j = 0; j < element.length(); j++) {
+					char ch = Character.toLowerCase(element.charAt(j));
 					result.append(ch != '_' ? ch : "");
 				}
 			}
@@ -325,18 +347,14 @@ public final class ConfigurationPropertyName
 
 	@Override
 	public int hashCode() {
-		if (this.elementHashCodes == null) {
-			this.elementHashCodes = getElementHashCodes();
-		}
-		return ObjectUtils.nullSafeHashCode(this.elementHashCodes);
-	}
-
-	private int[] getElementHashCodes() {
-		int[] hashCodes = new int[this.elements.length];
-		for (int i = 0; i < this.elements.length; i++) {
-			hashCodes[i] = getElementHashCode(this.elements[i]);
+		int hashCode = this.hashCode;
+		if (hashCode == 0) {
+			for (int i = 0; i < this.size; i++) {
+				hashCode = 31 * hashCode + getElementHashCode(this.elements[i]);
+			}
+			this.hashCode = hashCode;
 		}
-		return hashCodes;
+		return hashCode;
 	}
 
 	private int getElementHashCode(CharSequence element) {
@@ -363,7 +381,7 @@ public final class ConfigurationPropertyName
 		if (getNumberOfElements() != other.getNumberOfElements()) {
 			return false;
 		}
-		for (int i = 0; i < this.elements.length; i++) {
+		for (int i = 0; i < this.size; i++) {
 			if (!elementEquals(this.elements[i], other.elements[i])) {
 				return false;
 			}
@@ -435,13 +453,29 @@ public final class ConfigurationPropertyName
 	}
 
 	/**
-	 * Return a {@link ConfigurationPropertyName} for the specified string.
+	 * Return a {@link ConfigurationPropertyName} for the specified string. Names
+	 * created from a {@link String} are cached so the same instance may be returned
+	 * for subsequent calls.
 	 * @param name the source name
 	 * @return a {@link ConfigurationPropertyName} instance
 	 * @throws InvalidConfigurationPropertyNameException if the name is not valid
 	 */
 	public static ConfigurationPropertyName of(CharSequence name) {
 		Assert.notNull(name, "Name must not be null");
+		if (!(name instanceof String)) {
+			return parse(name);
+		}
+		ConfigurationPropertyName result = cache.get(name);
+		if (result == null) {
+			result = parse(name);
+			if (cache.size() < MAX_CACHE_SIZE) {
+				cache.put((String) name, result);
+			}
+		}
+		return result;
+	}
+
+	private static ConfigurationPropertyName parse(CharSequence name) {
 		if (name.length() >= 1
 				&& (name.charAt(0) == '.' || name.charAt(name.length() - 1) == '.')) {
 			throw new InvalidConfigurationPropertyNameException(name,
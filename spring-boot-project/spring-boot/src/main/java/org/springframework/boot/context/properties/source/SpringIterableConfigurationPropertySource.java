@@ -18,8 +18,12 @@ package org.springframework.boot.context.properties.source;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import org.springframework.core.env.EnumerablePropertySource;
@@ -34,6 +38,12 @@ import org.springframework.util.ObjectUtils;
  * In order to use this adapter the underlying {@link PropertySource} must be fully
  * enumerable. A security restricted {@link SystemEnvironmentPropertySource} cannot be
  * adapted.
+ * <p>
+ * Mappings are cached for as long as the names of the underlying source remain the
+ * same. The cache indexes mappings by {@link ConfigurationPropertyName} and records
+ * every ancestor of a mapped name so that neither lookups nor
+ * {@link #containsDescendantOf(ConfigurationPropertyName) descendant} checks need to
+ * scan all mappings.
  *
  * @author Phillip Webb
  * @author Madhura Bhave
@@ -42,6 +52,8 @@ import org.springframework.util.ObjectUtils;
 class SpringIterableConfigurationPropertySource extends SpringConfigurationPropertySource
 		implements IterableConfigurationPropertySource {
 
+	private static final PropertyMapping[] NO_MAPPINGS = {};
+
 	private volatile Object cacheKey;
 
 	private volatile Cache cache;
@@ -70,7 +82,7 @@ class SpringIterableConfigurationPropertySource extends SpringConfigurationPrope
 		ConfigurationProperty configurationProperty = super.getConfigurationProperty(
 				name);
 		if (configurationProperty == null) {
-			configurationProperty = find(getPropertyMappings(getCache()), name);
+			configurationProperty = find(getPropertyMappings(getCache(), name), name);
 		}
 		return configurationProperty;
 	}
@@ -88,7 +100,25 @@ class SpringIterableConfigurationPropertySource extends SpringConfigurationPrope
 	@Override
 	public ConfigurationPropertyState containsDescendantOf(
 			ConfigurationPropertyName name) {
-		return ConfigurationPropertyState.search(this, name::isAncestorOf);
+		Cache cache = getCache();
+		if (cache == null) {
+			return ConfigurationPropertyState.search(this, name::isAncestorOf);
+		}
+		Set<ConfigurationPropertyName> ancestors = cache.getAncestors();
+		if (ancestors == null) {
+			ancestors = new HashSet<>();
+			for (ConfigurationPropertyName candidate : getConfigurationPropertyNames()) {
+				for (int i = candidate.getNumberOfElements() - 1; i >= 0; i--) {
+					if (!ancestors.add(candidate.chop(i))) {
+						break;
+					}
+				}
+			}
+			ancestors = Collections.unmodifiableSet(ancestors);
+			cache.setAncestors(ancestors);
+		}
+		return (ancestors.contains(name) ? ConfigurationPropertyState.PRESENT
+				: ConfigurationPropertyState.ABSENT);
 	}
 
 	private List<ConfigurationPropertyName> getConfigurationPropertyNames() {
@@ -109,6 +139,25 @@ class SpringIterableConfigurationPropertySource extends SpringConfigurationPrope
 		return names;
 	}
 
+	private PropertyMapping[] getPropertyMappings(Cache cache,
+			ConfigurationPropertyName name) {
+		if (cache == null) {
+			return getPropertyMappings(null);
+		}
+		Map<ConfigurationPropertyName, PropertyMapping[]> mappingsByName = cache
+				.getMappingsByName();
+		if (mappingsByName == null) {
+			mappingsByName = new HashMap<>();
+			for (PropertyMapping mapping : getPropertyMappings(cache)) {
+				mappingsByName.compute(mapping.getConfigurationPropertyName(),
+						(key, mappings) -> ObjectUtils.addObjectToArray(mappings, mapping));
+			}
+			mappingsByName = Collections.unmodifiableMap(mappingsByName);
+			cache.setMappingsByName(mappingsByName);
+		}
+		return mappingsByName.getOrDefault(name, NO_MAPPINGS);
+	}
+
 	private PropertyMapping[] getPropertyMappings(Cache cache) {
 		PropertyMapping[] result = (cache != null ? cache.getMappings() : null);
 		if (result != null) {
@@ -159,6 +208,10 @@ class SpringIterableConfigurationPropertySource extends SpringConfigurationPrope
 
 		private PropertyMapping[] mappings;
 
+		private Map<ConfigurationPropertyName, PropertyMapping[]> mappingsByName;
+
+		private Set<ConfigurationPropertyName> ancestors;
+
 		public List<ConfigurationPropertyName> getNames() {
 			return this.names;
 		}
@@ -175,6 +228,23 @@ class SpringIterableConfigurationPropertySource extends SpringConfigurationPrope
 			this.mappings = mappings;
 		}
 
+		public Map<ConfigurationPropertyName, PropertyMapping[]> getMappingsByName() {
+			return this.mappingsByName;
+		}
+
+		public void setMappingsByName(
+				Map<ConfigurationPropertyName, PropertyMapping[]> mappingsByName) {
+			this.mappingsByName = mappingsByName;
+		}
+
+		public Set<ConfigurationPropertyName> getAncestors() {
+			return this.ancestors;
+		}
+
+		public void setAncestors(Set<ConfigurationPropertyName> ancestors) {
+			this.ancestors = ancestors;
+		}
+
 	}
 
 }
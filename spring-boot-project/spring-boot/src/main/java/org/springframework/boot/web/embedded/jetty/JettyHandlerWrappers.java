@@ -42,6 +42,7 @@ final class JettyHandlerWrappers {
 	static HandlerWrapper createGzipHandlerWrapper(Compression compression) {
 		GzipHandler handler = new GzipHandler();
 		handler.setMinGzipSize(compression.getMinResponseSize());
+		handler.setCompressionLevel(compression.getLevel());
 		handler.setIncludedMimeTypes(compression.getMimeTypes());
 		for (HttpMethod httpMethod : HttpMethod.values()) {
 			handler.addIncludedMethods(httpMethod.name());
@@ -156,6 +156,9 @@ public class JettyReactiveWebServerFactory extends AbstractReactiveWebServerFact
 		if (this.useForwardHeaders) {
 			new ForwardHeadersCustomizer().customize(server);
 		}
+		if (getWebServerAccessLog() != null) {
+			WebServerRequestLog.configure(server, getWebServerAccessLog());
+		}
 		return server;
 	}
 
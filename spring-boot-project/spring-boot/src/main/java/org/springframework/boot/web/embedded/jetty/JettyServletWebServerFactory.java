@@ -28,6 +28,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import org.eclipse.jetty.http.MimeTypes;
 import org.eclipse.jetty.server.AbstractConnector;
@@ -35,6 +36,7 @@ import org.eclipse.jetty.server.ConnectionFactory;
 import org.eclipse.jetty.server.Connector;
 import org.eclipse.jetty.server.Handler;
 import org.eclipse.jetty.server.HttpConfiguration;
+import org.eclipse.jetty.server.HttpConnectionFactory;
 import org.eclipse.jetty.server.Server;
 import org.eclipse.jetty.server.ServerConnector;
 import org.eclipse.jetty.server.handler.ErrorHandler;
@@ -56,6 +58,7 @@ import org.eclipse.jetty.webapp.WebAppContext;
 import org.springframework.boot.web.server.ErrorPage;
 import org.springframework.boot.web.server.MimeMappings;
 import org.springframework.boot.web.server.WebServer;
+import org.springframework.boot.web.server.WebServerExecutor;
 import org.springframework.boot.web.servlet.ServletContextInitializer;
 import org.springframework.boot.web.servlet.server.AbstractServletWebServerFactory;
 import org.springframework.boot.web.servlet.server.ServletWebServerFactory;
@@ -150,6 +153,9 @@ public class JettyServletWebServerFactory extends AbstractServletWebServerFactor
 		if (this.useForwardHeaders) {
 			new ForwardHeadersCustomizer().customize(server);
 		}
+		if (getWebServerAccessLog() != null) {
+			WebServerRequestLog.configure(server, getWebServerAccessLog());
+		}
 		return getJettyWebServer(server);
 	}
 
@@ -160,8 +166,7 @@ public class JettyServletWebServerFactory extends AbstractServletWebServerFactor
 	}
 
 	private AbstractConnector createConnector(InetSocketAddress address, Server server) {
-		ServerConnector connector = new ServerConnector(server, this.acceptors,
-				this.selectors);
+		ServerConnector connector = createServerConnector(server);
 		connector.setHost(address.getHostString());
 		connector.setPort(address.getPort());
 		for (ConnectionFactory connectionFactory : connector.getConnectionFactories()) {
@@ -173,6 +178,32 @@ public class JettyServletWebServerFactory extends AbstractServletWebServerFactor
 		return connector;
 	}
 
+	private ServerConnector createServerConnector(Server server) {
+		Executor executor = getWebServerExecutor();
+		if (executor == null) {
+			return new ServerConnector(server, this.acceptors, this.selectors);
+		}
+		ServerConnector connector = new ServerConnector(server, executor, null, null,
+				this.acceptors, this.selectors, new HttpConnectionFactory());
+		if (executor instanceof WebServerExecutor) {
+			assertSufficientThreads(connector, (WebServerExecutor) executor);
+		}
+		return connector;
+	}
+
+	private void assertSufficientThreads(ServerConnector connector,
+			WebServerExecutor executor) {
+		int reservedThreads = connector.getAcceptors()
+				+ connector.getSelectorManager().getSelectorCount();
+		if (executor.getMaxThreads() != -1
+				&& executor.getMaxThreads() <= reservedThreads) {
+			throw new IllegalStateException("Insufficient threads: the web server "
+					+ "executor has " + executor.getMaxThreads() + " threads but Jetty "
+					+ "permanently uses " + reservedThreads
+					+ " of them for its acceptors and selectors");
+		}
+	}
+
 	private Handler addHandlerWrappers(Handler handler) {
 		if (getCompression() != null && getCompression().getEnabled()) {
 			handler = applyWrapper(handler,
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.web.embedded.jetty;
+
+import org.eclipse.jetty.http.MetaData;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.RequestLog;
+import org.eclipse.jetty.server.Response;
+import org.eclipse.jetty.server.Server;
+
+import org.springframework.boot.web.server.WebServerAccessLog;
+import org.springframework.boot.web.server.WebServerAccessLog.Entry;
+
+/**
+ * {@link RequestLog} that logs requests to a {@link WebServerAccessLog}. A request log
+ * that has already been configured on the server, for example by a
+ * {@link JettyServerCustomizer}, continues to be called.
+ *
+ * @author Local Agent
+ */
+final class WebServerRequestLog implements RequestLog {
+
+	private final WebServerAccessLog accessLog;
+
+	private final RequestLog delegate;
+
+	private WebServerRequestLog(WebServerAccessLog accessLog, RequestLog delegate) {
+		this.accessLog = accessLog;
+		this.delegate = delegate;
+	}
+
+	@Override
+	public void log(Request request, Response response) {
+		if (this.delegate != null) {
+			this.delegate.log(request, response);
+		}
+		this.accessLog.log(request, WebServerRequestLog::populate);
+	}
+
+	private static void populate(Request request, Entry entry) {
+		Response response = request.getResponse();
+		long timestamp = request.getTimeStamp();
+		entry.setTimestamp(timestamp);
+		entry.setDuration(System.currentTimeMillis() - timestamp);
+		entry.setRemoteAddress(request.getRemoteAddr());
+		entry.setMethod(request.getMethod());
+		entry.setUri(request.getRequestURI());
+		entry.setQuery(request.getQueryString());
+		entry.setProtocol(request.getProtocol());
+		entry.setReferer(request.getHeader("Referer"));
+		entry.setUserAgent(request.getHeader("User-Agent"));
+		MetaData.Response committed = response.getCommittedMetaData();
+		entry.setStatus(
+				(committed != null ? committed.getStatus() : response.getStatus()));
+		entry.setBytesSent(response.getHttpChannel().getBytesWritten());
+	}
+
+	/**
+	 * Configure the given server to log requests to the given access log.
+	 * @param server the server
+	 * @param accessLog the access log
+	 */
+	static void configure(Server server, WebServerAccessLog accessLog) {
+		RequestLog existing = server.getRequestLog();
+		server.setRequestLog(new WebServerRequestLog(accessLog, existing));
+		if (existing != null) {
+			server.addBean(existing);
+		}
+	}
+
+}
@@ -22,9 +22,14 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelOption;
 import reactor.ipc.netty.http.server.HttpServer;
 import reactor.ipc.netty.http.server.HttpServerOptions.Builder;
+import reactor.ipc.netty.resources.LoopResources;
 
 import org.springframework.boot.web.reactive.server.AbstractReactiveWebServerFactory;
 import org.springframework.boot.web.reactive.server.ReactiveWebServerFactory;
@@ -41,10 +46,25 @@ import org.springframework.util.Assert;
  */
 public class NettyReactiveWebServerFactory extends AbstractReactiveWebServerFactory {
 
+	/**
+	 * Pooled allocator that prefers heap buffers, shared by every server so that their
+	 * buffers are pooled together as they are with the default allocator.
+	 */
+	private static final PooledByteBufAllocator HEAP_ALLOCATOR = new PooledByteBufAllocator(
+			false);
+
 	private List<NettyServerCustomizer> serverCustomizers = new ArrayList<>();
 
+	private List<Consumer<Channel>> channelInitializers = new ArrayList<>();
+
 	private Duration lifecycleTimeout;
 
+	private Integer ioThreads;
+
+	private Boolean useNativeTransport;
+
+	private Boolean useDirectBuffers;
+
 	public NettyReactiveWebServerFactory() {
 	}
 
@@ -54,10 +74,11 @@ public class NettyReactiveWebServerFactory extends AbstractReactiveWebServerFact
 
 	@Override
 	public WebServer getWebServer(HttpHandler httpHandler) {
-		HttpServer httpServer = createHttpServer();
-		ReactorHttpHandlerAdapter handlerAdapter = new ReactorHttpHandlerAdapter(
-				httpHandler);
-		return new NettyWebServer(httpServer, handlerAdapter, this.lifecycleTimeout);
+		LoopResources loopResources = createLoopResources();
+		HttpServer httpServer = createHttpServer(loopResources);
+		ReactorHttpHandlerAdapter handlerAdapter = createHandlerAdapter(httpHandler);
+		return new NettyWebServer(httpServer, handlerAdapter, this.lifecycleTimeout,
+				loopResources);
 	}
 
 	/**
@@ -89,6 +110,41 @@ public class NettyReactiveWebServerFactory extends AbstractReactiveWebServerFact
 		this.serverCustomizers.addAll(Arrays.asList(serverCustomizers));
 	}
 
+	/**
+	 * Returns a mutable collection of the initializers that will be called with each
+	 * channel that is accepted by the server.
+	 * @return the channel initializers
+	 * @since 2.1.0
+	 */
+	public Collection<Consumer<Channel>> getChannelInitializers() {
+		return this.channelInitializers;
+	}
+
+	/**
+	 * Set the initializers that should be called with each channel that is accepted by
+	 * the server, for example to add handlers to its pipeline. Calling this method will
+	 * replace any existing initializers.
+	 * @param channelInitializers the channel initializers to set
+	 * @since 2.1.0
+	 */
+	public void setChannelInitializers(
+			Collection<? extends Consumer<Channel>> channelInitializers) {
+		Assert.notNull(channelInitializers, "ChannelInitializers must not be null");
+		this.channelInitializers = new ArrayList<>(channelInitializers);
+	}
+
+	/**
+	 * Add an initializer that should be called with each channel that is accepted by the
+	 * server. Unlike {@link Builder#afterChannelInit(Consumer)}, which only holds a
+	 * single callback, any number of initializers can be added.
+	 * @param channelInitializer the channel initializer to add
+	 * @since 2.1.0
+	 */
+	public void addChannelInitializer(Consumer<Channel> channelInitializer) {
+		Assert.notNull(channelInitializer, "ChannelInitializer must not be null");
+		this.channelInitializers.add(channelInitializer);
+	}
+
 	/**
 	 * Set the maximum amount of time that should be waited when starting or stopping the
 	 * server.
@@ -98,9 +154,63 @@ public class NettyReactiveWebServerFactory extends AbstractReactiveWebServerFact
 		this.lifecycleTimeout = lifecycleTimeout;
 	}
 
-	private HttpServer createHttpServer() {
+	/**
+	 * Set the number of I/O threads of the event loop. When not set, the event loop that
+	 * is shared by all Reactor Netty servers is used.
+	 * @param ioThreads the number of I/O threads
+	 * @since 2.1.0
+	 */
+	public void setIoThreads(Integer ioThreads) {
+		this.ioThreads = ioThreads;
+	}
+
+	/**
+	 * Set whether the native transport (epoll) should be used when it is available.
+	 * @param useNativeTransport whether to use the native transport
+	 * @since 2.1.0
+	 */
+	public void setUseNativeTransport(Boolean useNativeTransport) {
+		this.useNativeTransport = useNativeTransport;
+	}
+
+	/**
+	 * Set whether pooled buffers should be allocated outside the Java heap.
+	 * @param useDirectBuffers whether to use direct buffers
+	 * @since 2.1.0
+	 */
+	public void setUseDirectBuffers(Boolean useDirectBuffers) {
+		this.useDirectBuffers = useDirectBuffers;
+	}
+
+	private ReactorHttpHandlerAdapter createHandlerAdapter(HttpHandler httpHandler) {
+		if (getWebServerAccessLog() != null) {
+			return new WebServerAccessLogHandlerAdapter(httpHandler,
+					getWebServerAccessLog());
+		}
+		return new ReactorHttpHandlerAdapter(httpHandler);
+	}
+
+	private LoopResources createLoopResources() {
+		if (this.ioThreads == null) {
+			return null;
+		}
+		return LoopResources.create("reactor-http-server", this.ioThreads, true);
+	}
+
+	private HttpServer createHttpServer(LoopResources loopResources) {
 		return HttpServer.builder().options((options) -> {
 			options.listenAddress(getListenAddress());
+			if (loopResources != null) {
+				options.loopResources(loopResources);
+			}
+			if (this.useNativeTransport != null) {
+				options.preferNative(this.useNativeTransport);
+			}
+			if (this.useDirectBuffers != null) {
+				options.option(ChannelOption.ALLOCATOR,
+						(this.useDirectBuffers ? PooledByteBufAllocator.DEFAULT
+								: HEAP_ALLOCATOR));
+			}
 			if (getSsl() != null && getSsl().isEnabled()) {
 				SslServerCustomizer sslServerCustomizer = new SslServerCustomizer(
 						getSsl(), getSslStoreProvider());
@@ -111,6 +221,12 @@ public class NettyReactiveWebServerFactory extends AbstractReactiveWebServerFact
 						getCompression());
 				compressionCustomizer.customize(options);
 			}
+			if (!this.channelInitializers.isEmpty()) {
+				List<Consumer<Channel>> channelInitializers = new ArrayList<>(
+						this.channelInitializers);
+				options.afterChannelInit((channel) -> channelInitializers
+						.forEach((initializer) -> initializer.accept(channel)));
+			}
 			applyCustomizers(options);
 		}).build();
 	}
@@ -21,10 +21,13 @@ import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.time.Duration;
 
+import io.netty.channel.EventLoopGroup;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import reactor.ipc.netty.http.HttpResources;
 import reactor.ipc.netty.http.server.HttpServer;
+import reactor.ipc.netty.http.server.HttpServerOptions;
+import reactor.ipc.netty.resources.LoopResources;
 import reactor.ipc.netty.tcp.BlockingNettyContext;
 
 import org.springframework.boot.web.server.PortInUseException;
@@ -53,15 +56,43 @@ public class NettyWebServer implements WebServer {
 
 	private final Duration lifecycleTimeout;
 
+	private final LoopResources loopResources;
+
 	private BlockingNettyContext nettyContext;
 
 	public NettyWebServer(HttpServer httpServer, ReactorHttpHandlerAdapter handlerAdapter,
 			Duration lifecycleTimeout) {
+		this(httpServer, handlerAdapter, lifecycleTimeout, null);
+	}
+
+	/**
+	 * Create a new {@link NettyWebServer} instance.
+	 * @param httpServer the HTTP server
+	 * @param handlerAdapter the handler adapter
+	 * @param lifecycleTimeout the lifecycle timeout or {@code null}
+	 * @param loopResources the loop resources that are dedicated to the server and that
+	 * should be disposed when it is stopped or {@code null}
+	 * @since 2.1.0
+	 */
+	public NettyWebServer(HttpServer httpServer, ReactorHttpHandlerAdapter handlerAdapter,
+			Duration lifecycleTimeout, LoopResources loopResources) {
 		Assert.notNull(httpServer, "HttpServer must not be null");
 		Assert.notNull(handlerAdapter, "HandlerAdapter must not be null");
 		this.httpServer = httpServer;
 		this.handlerAdapter = handlerAdapter;
 		this.lifecycleTimeout = lifecycleTimeout;
+		this.loopResources = loopResources;
+	}
+
+	/**
+	 * Return the event loop group that processes the connections of the server, taken
+	 * from the {@link LoopResources} that the server uses.
+	 * @return the event loop group
+	 * @since 2.1.0
+	 */
+	public EventLoopGroup getEventLoopGroup() {
+		HttpServerOptions options = this.httpServer.options();
+		return options.getLoopResources().onServer(options.preferNative());
 	}
 
 	@Override
@@ -126,6 +157,9 @@ public class NettyWebServer implements WebServer {
 					.doOnSuccess((o) -> HttpResources.reset()).block();
 			this.nettyContext = null;
 		}
+		if (this.loopResources != null) {
+			this.loopResources.dispose();
+		}
 	}
 
 	@Override
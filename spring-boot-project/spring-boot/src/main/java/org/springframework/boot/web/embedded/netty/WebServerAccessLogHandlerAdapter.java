@@ -0,0 +1,89 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.web.embedded.netty;
+
+import java.net.InetSocketAddress;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import reactor.core.publisher.Mono;
+import reactor.ipc.netty.http.server.HttpServerRequest;
+import reactor.ipc.netty.http.server.HttpServerResponse;
+
+import org.springframework.boot.web.server.WebServerAccessLog;
+import org.springframework.boot.web.server.WebServerAccessLog.Entry;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+
+/**
+ * {@link ReactorHttpHandlerAdapter} that logs each exchange to a
+ * {@link WebServerAccessLog} once its handling has completed. As Reactor Netty does not
+ * expose the number of bytes written, the response's {@code Content-Length} header is
+ * used when present.
+ *
+ * @author Local Agent
+ */
+class WebServerAccessLogHandlerAdapter extends ReactorHttpHandlerAdapter {
+
+	private final WebServerAccessLog accessLog;
+
+	WebServerAccessLogHandlerAdapter(HttpHandler httpHandler, WebServerAccessLog accessLog) {
+		super(httpHandler);
+		this.accessLog = accessLog;
+	}
+
+	@Override
+	public Mono<Void> apply(HttpServerRequest request, HttpServerResponse response) {
+		long startTime = System.currentTimeMillis();
+		return super.apply(request, response)
+				.doFinally((signal) -> this.accessLog.log(request,
+						(req, entry) -> populate(req, response, startTime, entry)));
+	}
+
+	private static void populate(HttpServerRequest request, HttpServerResponse response,
+			long startTime, Entry entry) {
+		entry.setTimestamp(startTime);
+		entry.setDuration(System.currentTimeMillis() - startTime);
+		InetSocketAddress remoteAddress = request.remoteAddress();
+		if (remoteAddress != null && remoteAddress.getAddress() != null) {
+			entry.setRemoteAddress(remoteAddress.getAddress().getHostAddress());
+		}
+		entry.setMethod(request.method().name());
+		String uri = request.uri();
+		int queryIndex = uri.indexOf('?');
+		entry.setUri((queryIndex != -1 ? uri.substring(0, queryIndex) : uri));
+		entry.setQuery((queryIndex != -1 ? uri.substring(queryIndex + 1) : null));
+		entry.setProtocol(request.version().text());
+		entry.setReferer(request.requestHeaders().get(HttpHeaderNames.REFERER));
+		entry.setUserAgent(request.requestHeaders().get(HttpHeaderNames.USER_AGENT));
+		HttpResponseStatus status = response.status();
+		entry.setStatus((status != null ? status.code() : 0));
+		entry.setBytesSent(getContentLength(response));
+	}
+
+	private static long getContentLength(HttpServerResponse response) {
+		String contentLength = response.responseHeaders()
+				.get(HttpHeaderNames.CONTENT_LENGTH);
+		try {
+			return (contentLength != null ? Long.parseLong(contentLength) : -1);
+		}
+		catch (NumberFormatException ex) {
+			return -1;
+		}
+	}
+
+}
@@ -117,6 +117,10 @@ public class TomcatReactiveWebServerFactory extends AbstractReactiveWebServerFac
 		for (Valve valve : this.engineValves) {
 			engine.getPipeline().addValve(valve);
 		}
+		if (getWebServerAccessLog() != null) {
+			engine.getPipeline()
+					.addValve(new WebServerAccessLogValve(getWebServerAccessLog()));
+		}
 	}
 
 	protected void prepareContext(Host host, TomcatHttpHandlerAdapter servlet) {
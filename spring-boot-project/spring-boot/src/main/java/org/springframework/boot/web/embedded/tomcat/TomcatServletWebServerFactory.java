@@ -179,6 +179,10 @@ public class TomcatServletWebServerFactory extends AbstractServletWebServerFacto
 		for (Valve valve : this.engineValves) {
 			engine.getPipeline().addValve(valve);
 		}
+		if (getWebServerAccessLog() != null) {
+			engine.getPipeline()
+					.addValve(new WebServerAccessLogValve(getWebServerAccessLog()));
+		}
 	}
 
 	protected void prepareContext(Host host, ServletContextInitializer[] initializers) {
@@ -311,6 +315,9 @@ public class TomcatServletWebServerFactory extends AbstractServletWebServerFacto
 		if (getAddress() != null) {
 			protocol.setAddress(getAddress());
 		}
+		if (getWebServerExecutor() != null) {
+			protocol.setExecutor(getWebServerExecutor());
+		}
 	}
 
 	private void customizeSsl(Connector connector) {
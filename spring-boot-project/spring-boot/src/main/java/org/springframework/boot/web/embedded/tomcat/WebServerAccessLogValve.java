@@ -0,0 +1,90 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.web.embedded.tomcat;
+
+import java.io.IOException;
+
+import javax.servlet.ServletException;
+
+import org.apache.catalina.AccessLog;
+import org.apache.catalina.connector.Request;
+import org.apache.catalina.connector.Response;
+import org.apache.catalina.valves.ValveBase;
+
+import org.springframework.boot.web.server.WebServerAccessLog;
+import org.springframework.boot.web.server.WebServerAccessLog.Entry;
+
+/**
+ * {@link AccessLog} valve that logs requests to a {@link WebServerAccessLog}. Tomcat
+ * calls the valve once the response has been completed, including for requests that
+ * were rejected before reaching a context.
+ *
+ * @author Local Agent
+ */
+class WebServerAccessLogValve extends ValveBase implements AccessLog {
+
+	private final WebServerAccessLog accessLog;
+
+	private boolean requestAttributesEnabled;
+
+	WebServerAccessLogValve(WebServerAccessLog accessLog) {
+		super(true);
+		this.accessLog = accessLog;
+	}
+
+	@Override
+	public void invoke(Request request, Response response)
+			throws IOException, ServletException {
+		getNext().invoke(request, response);
+	}
+
+	@Override
+	public void log(Request request, Response response, long time) {
+		this.accessLog.log(request, WebServerAccessLogValve::populate);
+	}
+
+	@Override
+	public void setRequestAttributesEnabled(boolean requestAttributesEnabled) {
+		this.requestAttributesEnabled = requestAttributesEnabled;
+	}
+
+	@Override
+	public boolean getRequestAttributesEnabled() {
+		return this.requestAttributesEnabled;
+	}
+
+	private static void populate(Request request, Entry entry) {
+		Response response = request.getResponse();
+		long now = System.currentTimeMillis();
+		long startTime = request.getCoyoteRequest().getStartTime();
+		long timestamp = (startTime > 0 ? startTime : now);
+		entry.setTimestamp(timestamp);
+		entry.setDuration(now - timestamp);
+		entry.setRemoteAddress(request.getRemoteAddr());
+		entry.setMethod(request.getMethod());
+		entry.setUri(request.getRequestURI());
+		entry.setQuery(request.getQueryString());
+		entry.setProtocol(request.getProtocol());
+		entry.setReferer(request.getHeader("Referer"));
+		entry.setUserAgent(request.getHeader("User-Agent"));
+		if (response != null) {
+			entry.setStatus(response.getStatus());
+			entry.setBytesSent(response.getBytesWritten(false));
+		}
+	}
+
+}
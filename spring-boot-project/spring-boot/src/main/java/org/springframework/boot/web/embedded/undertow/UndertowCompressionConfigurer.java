@@ -58,7 +58,8 @@ final class UndertowCompressionConfigurer {
 			return httpHandler;
 		}
 		ContentEncodingRepository repository = new ContentEncodingRepository();
-		repository.addEncodingHandler("gzip", new GzipEncodingProvider(), 50,
+		repository.addEncodingHandler("gzip",
+				new GzipEncodingProvider(compression.getLevel()), 50,
 				Predicates.and(getCompressionPredicates(compression)));
 		return new EncodingHandler(repository).setNext(httpHandler);
 	}
@@ -121,6 +121,9 @@ public class UndertowReactiveWebServerFactory extends AbstractReactiveWebServerF
 		else {
 			builder.addHttpListener(port, getListenAddress());
 		}
+		if (getWebServerAccessLog() != null) {
+			builder.setServerOption(UndertowOptions.RECORD_REQUEST_START_TIME, true);
+		}
 		for (UndertowBuilderCustomizer customizer : this.builderCustomizers) {
 			customizer.customize(builder);
 		}
@@ -138,6 +141,9 @@ public class UndertowReactiveWebServerFactory extends AbstractReactiveWebServerF
 		if (isAccessLogEnabled()) {
 			handler = createAccessLogHandler(handler);
 		}
+		if (getWebServerAccessLog() != null) {
+			handler = new WebServerAccessLogHandler(handler, getWebServerAccessLog());
+		}
 		return handler;
 	}
 
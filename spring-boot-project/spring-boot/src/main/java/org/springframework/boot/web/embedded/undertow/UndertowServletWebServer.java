@@ -322,6 +322,18 @@ public class UndertowServletWebServer implements WebServer {
 		return ports.get(0).getNumber();
 	}
 
+	/**
+	 * Returns access to the underlying Undertow server. The server is only available
+	 * once this web server has been started.
+	 * @return the Undertow server or {@code null} if the server has not been started
+	 * @since 2.1.0
+	 */
+	public Undertow getUndertow() {
+		synchronized (this.monitor) {
+			return this.undertow;
+		}
+	}
+
 	/**
 	 * An active Undertow port.
 	 */
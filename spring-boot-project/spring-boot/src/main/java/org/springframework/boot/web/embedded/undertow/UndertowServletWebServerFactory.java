@@ -227,6 +227,9 @@ public class UndertowServletWebServerFactory extends AbstractServletWebServerFac
 		else {
 			builder.addHttpListener(port, getListenAddress());
 		}
+		if (getWebServerAccessLog() != null) {
+			builder.setServerOption(UndertowOptions.RECORD_REQUEST_START_TIME, true);
+		}
 		for (UndertowBuilderCustomizer customizer : this.builderCustomizers) {
 			customizer.customize(builder);
 		}
@@ -264,6 +267,9 @@ public class UndertowServletWebServerFactory extends AbstractServletWebServerFac
 		deployment.setServletStackTraces(ServletStackTraces.NONE);
 		deployment.setResourceManager(getDocumentRootResourceManager());
 		deployment.setEagerFilterInit(this.eagerInitFilters);
+		if (getWebServerExecutor() != null) {
+			deployment.setExecutor(getWebServerExecutor());
+		}
 		configureMimeMappings(deployment);
 		for (UndertowDeploymentInfoCustomizer customizer : this.deploymentInfoCustomizers) {
 			customizer.customize(deployment);
@@ -271,6 +277,11 @@ public class UndertowServletWebServerFactory extends AbstractServletWebServerFac
 		if (isAccessLogEnabled()) {
 			configureAccessLog(deployment);
 		}
+		if (getWebServerAccessLog() != null) {
+			deployment.addInitialHandlerChainWrapper(
+					(handler) -> new WebServerAccessLogHandler(handler,
+							getWebServerAccessLog()));
+		}
 		if (getSession().isPersistent()) {
 			File dir = getValidSessionStoreDir();
 			deployment.setSessionPersistenceManager(new FileSessionPersistence(dir));
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.web.embedded.undertow;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+
+import io.undertow.server.ExchangeCompletionListener;
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.Headers;
+
+import org.springframework.boot.web.server.WebServerAccessLog;
+import org.springframework.boot.web.server.WebServerAccessLog.Entry;
+import org.springframework.util.StringUtils;
+
+/**
+ * {@link HttpHandler} that logs completed exchanges to a {@link WebServerAccessLog}.
+ * Durations are only available when the
+ * {@link io.undertow.UndertowOptions#RECORD_REQUEST_START_TIME} option is enabled.
+ *
+ * @author Local Agent
+ */
+class WebServerAccessLogHandler implements HttpHandler, ExchangeCompletionListener {
+
+	private final HttpHandler next;
+
+	private final WebServerAccessLog accessLog;
+
+	WebServerAccessLogHandler(HttpHandler next, WebServerAccessLog accessLog) {
+		this.next = next;
+		this.accessLog = accessLog;
+	}
+
+	@Override
+	public void handleRequest(HttpServerExchange exchange) throws Exception {
+		exchange.addExchangeCompleteListener(this);
+		this.next.handleRequest(exchange);
+	}
+
+	@Override
+	public void exchangeEvent(HttpServerExchange exchange, NextListener nextListener) {
+		try {
+			this.accessLog.log(exchange, WebServerAccessLogHandler::populate);
+		}
+		finally {
+			nextListener.proceed();
+		}
+	}
+
+	private static void populate(HttpServerExchange exchange, Entry entry) {
+		long startTime = exchange.getRequestStartTime();
+		long duration = (startTime > 0 ? TimeUnit.NANOSECONDS
+				.toMillis(System.nanoTime() - startTime) : 0);
+		entry.setTimestamp(System.currentTimeMillis() - duration);
+		entry.setDuration(duration);
+		InetSocketAddress sourceAddress = exchange.getSourceAddress();
+		if (sourceAddress != null && sourceAddress.getAddress() != null) {
+			entry.setRemoteAddress(sourceAddress.getAddress().getHostAddress());
+		}
+		entry.setMethod(exchange.getRequestMethod().toString());
+		entry.setUri(exchange.getRequestURI());
+		String query = exchange.getQueryString();
+		entry.setQuery(StringUtils.hasLength(query) ? query : null);
+		entry.setProtocol(exchange.getProtocol().toString());
+		entry.setReferer(exchange.getRequestHeaders().getFirst(Headers.REFERER));
+		entry.setUserAgent(exchange.getRequestHeaders().getFirst(Headers.USER_AGENT));
+		entry.setStatus(exchange.getStatusCode());
+		entry.setBytesSent(exchange.getResponseBytesSent());
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2017 the original author or authors.
+ * Copyright 2012-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -56,6 +56,8 @@ public abstract class AbstractConfigurableWebServerFactory
 
 	private String serverHeader;
 
+	private WebServerAccessLog webServerAccessLog;
+
 	/**
 	 * Create a new {@link AbstractConfigurableWebServerFactory} instance.
 	 */
@@ -163,6 +165,15 @@ public abstract class AbstractConfigurableWebServerFactory
 		this.serverHeader = serverHeader;
 	}
 
+	public WebServerAccessLog getWebServerAccessLog() {
+		return this.webServerAccessLog;
+	}
+
+	@Override
+	public void setWebServerAccessLog(WebServerAccessLog webServerAccessLog) {
+		this.webServerAccessLog = webServerAccessLog;
+	}
+
 	/**
 	 * Return the absolute temp dir for given web server.
 	 * @param prefix server name
@@ -16,6 +16,8 @@
 
 package org.springframework.boot.web.server;
 
+import org.springframework.util.Assert;
+
 /**
  * Simple server-independent abstraction for compression configuration.
  *
@@ -47,6 +49,12 @@ public class Compression {
 	 */
 	private int minResponseSize = 2048;
 
+	/**
+	 * Compression level, from 0 (no compression) to 9 (smallest responses), or -1 to use
+	 * the default level. Not supported by Tomcat and Reactor Netty.
+	 */
+	private int level = -1;
+
 	public boolean getEnabled() {
 		return this.enabled;
 	}
@@ -71,6 +79,16 @@ public class Compression {
 		this.minResponseSize = minSize;
 	}
 
+	public int getLevel() {
+		return this.level;
+	}
+
+	public void setLevel(int level) {
+		Assert.isTrue(level >= -1 && level <= 9,
+				"Compression level must be between -1 and 9");
+		this.level = level;
+	}
+
 	public String[] getExcludedUserAgents() {
 		return this.excludedUserAgents;
 	}
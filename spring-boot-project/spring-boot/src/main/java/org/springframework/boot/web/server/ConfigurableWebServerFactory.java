@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2017 the original author or authors.
+ * Copyright 2012-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -81,4 +81,14 @@ public interface ConfigurableWebServerFactory
 	 */
 	void setServerHeader(String serverHeader);
 
+	/**
+	 * Sets the access log to which the server should log each request that it has
+	 * processed. The default implementation does nothing so that requests are not
+	 * logged.
+	 * @param webServerAccessLog the access log
+	 * @since 2.1.0
+	 */
+	default void setWebServerAccessLog(WebServerAccessLog webServerAccessLog) {
+	}
+
 }
@@ -0,0 +1,677 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.web.server;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.util.Assert;
+
+/**
+ * Container-neutral access log that can be used by a web server to log the requests that
+ * it has processed. Each request is recorded in a preallocated ring buffer by the thread
+ * that completed it and is written by a background thread that formats entries in
+ * batches. When the buffer is full, entries are dropped rather than blocking the request.
+ * Entries are also dropped when they cannot be populated. Dropped entries are counted
+ * and reported in a warning that is logged at most once a minute.
+ *
+ * @author Local Agent
+ * @since 2.1.0
+ */
+public final class WebServerAccessLog implements Closeable {
+
+	private static final Log logger = LogFactory.getLog(WebServerAccessLog.class);
+
+	/**
+	 * The maximum size of the buffer.
+	 */
+	public static final int MAX_BUFFER_SIZE = 1 << 20;
+
+	private static final int MAX_BATCH_SIZE = 256;
+
+	private static final long IDLE_WAIT_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+	private static final long DROPPED_WARNING_INTERVAL_NANOS = TimeUnit.MINUTES
+			.toNanos(1);
+
+	private final RingBuffer buffer;
+
+	private final Format format;
+
+	private final Writer writer;
+
+	private final Thread writerThread;
+
+	private final AtomicLong droppedCount = new AtomicLong();
+
+	private volatile long writtenCount;
+
+	private volatile RuntimeException lastPopulateFailure;
+
+	private volatile boolean writerWaiting;
+
+	private volatile boolean closed;
+
+	private int batchCount;
+
+	private long reportedDroppedCount;
+
+	private long lastDroppedWarning = System.nanoTime() - DROPPED_WARNING_INTERVAL_NANOS;
+
+	private WebServerAccessLog(Writer writer, Format format, int bufferSize) {
+		Assert.notNull(writer, "Writer must not be null");
+		Assert.notNull(format, "Format must not be null");
+		Assert.isTrue(bufferSize > 0 && bufferSize <= MAX_BUFFER_SIZE,
+				"BufferSize must be between 1 and " + MAX_BUFFER_SIZE);
+		this.buffer = new RingBuffer(bufferSize);
+		this.format = format;
+		this.writer = writer;
+		this.writerThread = new Thread(this::writeEntries, "access-log-writer");
+		this.writerThread.setDaemon(true);
+		this.writerThread.start();
+	}
+
+	/**
+	 * Log a request that has been completed. The given populator is called, on the
+	 * calling thread, to copy the details of the request to a preallocated entry. If the
+	 * populator fails, the entry is dropped.
+	 * @param <T> the type of the request
+	 * @param request the request
+	 * @param populator populates the entry from the request
+	 * @return {@code true} if the request has been logged or {@code false} if the entry
+	 * has been dropped because the buffer was full, the populator failed or the log has
+	 * been closed
+	 */
+	public <T> boolean log(T request, EntryPopulator<? super T> populator) {
+		long sequence = (this.closed ? -1 : this.buffer.claim());
+		if (sequence < 0) {
+			this.droppedCount.incrementAndGet();
+			return false;
+		}
+		Entry entry = this.buffer.get(sequence);
+		boolean populated = false;
+		try {
+			// Check again now that the entry has been claimed as the writer may have
+			// stopped since the log was last seen to be open
+			if (!this.closed) {
+				entry.reset();
+				populator.populate(request, entry);
+				populated = true;
+			}
+		}
+		catch (RuntimeException ex) {
+			this.lastPopulateFailure = ex;
+		}
+		finally {
+			if (!populated) {
+				entry.skip();
+				this.droppedCount.incrementAndGet();
+			}
+			this.buffer.publish(sequence);
+			if (this.writerWaiting) {
+				LockSupport.unpark(this.writerThread);
+			}
+		}
+		return populated;
+	}
+
+	/**
+	 * Return the number of entries that are waiting to be written.
+	 * @return the number of pending entries
+	 */
+	public int getPendingCount() {
+		return this.buffer.size();
+	}
+
+	/**
+	 * Return the number of entries that have been written.
+	 * @return the written count
+	 */
+	public long getWrittenCount() {
+		return this.writtenCount;
+	}
+
+	/**
+	 * Return the number of entries that have been dropped because the buffer was full,
+	 * the populator failed or the log had been closed.
+	 * @return the dropped count
+	 */
+	public long getDroppedCount() {
+		return this.droppedCount.get();
+	}
+
+	/**
+	 * Close the access log. Entries that are pending are written before the underlying
+	 * writer is closed and any subsequent entries are dropped.
+	 */
+	@Override
+	public void close() {
+		if (this.closed) {
+			return;
+		}
+		this.closed = true;
+		LockSupport.unpark(this.writerThread);
+		try {
+			this.writerThread.join(TimeUnit.SECONDS.toMillis(10));
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void writeEntries() {
+		StringBuilder batch = new StringBuilder(MAX_BATCH_SIZE * 128);
+		while (!this.closed || this.buffer.size() > 0) {
+			int count = this.buffer.drain(MAX_BATCH_SIZE,
+					(entry) -> append(entry, batch));
+			if (this.batchCount > 0) {
+				write(batch);
+				this.writtenCount += this.batchCount;
+				this.batchCount = 0;
+				batch.setLength(0);
+			}
+			if (count == 0) {
+				awaitEntries();
+			}
+			warnIfDropped();
+		}
+		try {
+			this.writer.close();
+		}
+		catch (IOException ex) {
+			logger.warn("Failed to close access log", ex);
+		}
+	}
+
+	private void append(Entry entry, StringBuilder batch) {
+		if (!entry.isSkipped()) {
+			this.format.append(entry, batch);
+			this.batchCount++;
+		}
+	}
+
+	private void awaitEntries() {
+		this.writerWaiting = true;
+		if (!this.closed && !this.buffer.hasPublished()) {
+			LockSupport.parkNanos(this, IDLE_WAIT_NANOS);
+		}
+		this.writerWaiting = false;
+	}
+
+	private void warnIfDropped() {
+		long droppedCount = this.droppedCount.get();
+		long now = System.nanoTime();
+		if (droppedCount == this.reportedDroppedCount
+				|| now - this.lastDroppedWarning < DROPPED_WARNING_INTERVAL_NANOS) {
+			return;
+		}
+		logger.warn((droppedCount - this.reportedDroppedCount) + " access log "
+				+ "entries have been dropped because the buffer was full or an entry "
+				+ "could not be populated", this.lastPopulateFailure);
+		this.reportedDroppedCount = droppedCount;
+		this.lastDroppedWarning = now;
+		this.lastPopulateFailure = null;
+	}
+
+	private void write(StringBuilder batch) {
+		try {
+			this.writer.append(batch);
+			this.writer.flush();
+		}
+		catch (IOException ex) {
+			logger.warn("Failed to write access log entries", ex);
+		}
+	}
+
+	/**
+	 * Create a new {@link WebServerAccessLog} that appends to the given file, creating
+	 * it and its parent directories if necessary.
+	 * @param file the file
+	 * @param format the format of the entries
+	 * @param bufferSize the number of entries that can be waiting to be written, rounded
+	 * up to a power of two, at most {@link #MAX_BUFFER_SIZE}
+	 * @return the access log
+	 * @throws IllegalStateException if the file cannot be opened
+	 */
+	public static WebServerAccessLog toFile(File file, Format format, int bufferSize) {
+		Assert.notNull(file, "File must not be null");
+		File directory = file.getAbsoluteFile().getParentFile();
+		if (!directory.isDirectory() && !directory.mkdirs()) {
+			throw new IllegalStateException(
+					"Failed to create access log directory '" + directory + "'");
+		}
+		try {
+			return toWriter(new OutputStreamWriter(new FileOutputStream(file, true),
+					StandardCharsets.UTF_8), format, bufferSize);
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException(
+					"Failed to open access log file '" + file + "'", ex);
+		}
+	}
+
+	/**
+	 * Create a new {@link WebServerAccessLog} that writes to the given writer. The writer
+	 * is closed when the access log is closed.
+	 * @param writer the writer
+	 * @param format the format of the entries
+	 * @param bufferSize the number of entries that can be waiting to be written, rounded
+	 * up to a power of two, at most {@link #MAX_BUFFER_SIZE}
+	 * @return the access log
+	 */
+	public static WebServerAccessLog toWriter(Writer writer, Format format,
+			int bufferSize) {
+		return new WebServerAccessLog(writer, format, bufferSize);
+	}
+
+	/**
+	 * Callback used to populate an {@link Entry} from a request.
+	 *
+	 * @param <T> the type of the request
+	 */
+	@FunctionalInterface
+	public interface EntryPopulator<T> {
+
+		/**
+		 * Populate the given entry from the given request.
+		 * @param request the request
+		 * @param entry the entry to populate
+		 */
+		void populate(T request, Entry entry);
+
+	}
+
+	/**
+	 * Formats in which entries can be written.
+	 */
+	public enum Format {
+
+		/**
+		 * NCSA combined log format followed by the time taken to process the request in
+		 * milliseconds.
+		 */
+		COMBINED {
+
+			private final DateTimeFormatter dateTimeFormatter = DateTimeFormatter
+					.ofPattern("dd/MMM/yyyy:HH:mm:ss Z", Locale.US)
+					.withZone(ZoneId.systemDefault());
+
+			@Override
+			void append(Entry entry, StringBuilder output) {
+				appendOrDash(output, entry.getRemoteAddress()).append(" - - [");
+				this.dateTimeFormatter.formatTo(
+						Instant.ofEpochMilli(entry.getTimestamp()), output);
+				output.append("] \"").append(entry.getMethod()).append(' ');
+				appendUri(entry, output).append(' ').append(entry.getProtocol())
+						.append("\" ").append(entry.getStatus()).append(' ');
+				if (entry.getBytesSent() > 0) {
+					output.append(entry.getBytesSent());
+				}
+				else {
+					output.append('-');
+				}
+				output.append(' ');
+				appendQuoted(output, entry.getReferer()).append(' ');
+				appendQuoted(output, entry.getUserAgent()).append(' ')
+						.append(entry.getDuration()).append('\n');
+			}
+
+			private StringBuilder appendOrDash(StringBuilder output, String value) {
+				return output.append(value != null ? value : "-");
+			}
+
+			private StringBuilder appendQuoted(StringBuilder output, String value) {
+				if (value == null) {
+					return output.append("\"-\"");
+				}
+				output.append('"');
+				for (int i = 0; i < value.length(); i++) {
+					char ch = value.charAt(i);
+					if (ch == '"' || ch == '\\') {
+						output.append('\\');
+					}
+					output.append(ch);
+				}
+				return output.append('"');
+			}
+
+		},
+
+		/**
+		 * One JSON object per line. Attributes that are not known are omitted.
+		 */
+		JSON {
+
+			@Override
+			void append(Entry entry, StringBuilder output) {
+				output.append("{\"timestamp\":\"");
+				DateTimeFormatter.ISO_INSTANT
+						.formatTo(Instant.ofEpochMilli(entry.getTimestamp()), output);
+				output.append('"');
+				appendString(output, "remoteAddress", entry.getRemoteAddress());
+				appendString(output, "method", entry.getMethod());
+				if (entry.getUri() != null) {
+					output.append(",\"uri\":\"");
+					appendEscaped(output, appendUri(entry, new StringBuilder()));
+					output.append('"');
+				}
+				appendString(output, "protocol", entry.getProtocol());
+				output.append(",\"status\":").append(entry.getStatus());
+				if (entry.getBytesSent() >= 0) {
+					output.append(",\"bytesSent\":").append(entry.getBytesSent());
+				}
+				output.append(",\"duration\":").append(entry.getDuration());
+				appendString(output, "referer", entry.getReferer());
+				appendString(output, "userAgent", entry.getUserAgent());
+				output.append("}\n");
+			}
+
+			private void appendString(StringBuilder output, String name, String value) {
+				if (value != null) {
+					output.append(",\"").append(name).append("\":\"");
+					appendEscaped(output, value);
+					output.append('"');
+				}
+			}
+
+			private void appendEscaped(StringBuilder output, CharSequence value) {
+				for (int i = 0; i < value.length(); i++) {
+					char ch = value.charAt(i);
+					if (ch == '"' || ch == '\\') {
+						output.append('\\').append(ch);
+					}
+					else if (ch < 0x20) {
+						output.append(String.format("\\u%04x", (int) ch));
+					}
+					else {
+						output.append(ch);
+					}
+				}
+			}
+
+		};
+
+		abstract void append(Entry entry, StringBuilder output);
+
+		private static StringBuilder appendUri(Entry entry, StringBuilder output) {
+			output.append(entry.getUri());
+			if (entry.getQuery() != null) {
+				output.append('?').append(entry.getQuery());
+			}
+			return output;
+		}
+
+	}
+
+	/**
+	 * The details of a request that has been completed. Entries are reused, a populator
+	 * should only set the attributes of the request that it is logging.
+	 */
+	public static final class Entry {
+
+		private long timestamp;
+
+		private String remoteAddress;
+
+		private String method;
+
+		private String uri;
+
+		private String query;
+
+		private String protocol;
+
+		private int status;
+
+		private long bytesSent;
+
+		private long duration;
+
+		private String referer;
+
+		private String userAgent;
+
+		private boolean skipped;
+
+		Entry() {
+		}
+
+		void reset() {
+			this.skipped = false;
+			this.timestamp = 0;
+			this.remoteAddress = null;
+			this.method = null;
+			this.uri = null;
+			this.query = null;
+			this.protocol = null;
+			this.status = 0;
+			this.bytesSent = -1;
+			this.duration = 0;
+			this.referer = null;
+			this.userAgent = null;
+		}
+
+		void skip() {
+			this.skipped = true;
+		}
+
+		boolean isSkipped() {
+			return this.skipped;
+		}
+
+		/**
+		 * Return the time at which the request was received, in milliseconds since the
+		 * epoch.
+		 * @return the timestamp
+		 */
+		public long getTimestamp() {
+			return this.timestamp;
+		}
+
+		public void setTimestamp(long timestamp) {
+			this.timestamp = timestamp;
+		}
+
+		public String getRemoteAddress() {
+			return this.remoteAddress;
+		}
+
+		public void setRemoteAddress(String remoteAddress) {
+			this.remoteAddress = remoteAddress;
+		}
+
+		public String getMethod() {
+			return this.method;
+		}
+
+		public void setMethod(String method) {
+			this.method = method;
+		}
+
+		/**
+		 * Return the URI of the request, without its query string.
+		 * @return the URI
+		 */
+		public String getUri() {
+			return this.uri;
+		}
+
+		public void setUri(String uri) {
+			this.uri = uri;
+		}
+
+		public String getQuery() {
+			return this.query;
+		}
+
+		public void setQuery(String query) {
+			this.query = query;
+		}
+
+		public String getProtocol() {
+			return this.protocol;
+		}
+
+		public void setProtocol(String protocol) {
+			this.protocol = protocol;
+		}
+
+		public int getStatus() {
+			return this.status;
+		}
+
+		public void setStatus(int status) {
+			this.status = status;
+		}
+
+		/**
+		 * Return the number of bytes that have been sent, {@code -1} if not known.
+		 * @return the number of bytes sent
+		 */
+		public long getBytesSent() {
+			return this.bytesSent;
+		}
+
+		public void setBytesSent(long bytesSent) {
+			this.bytesSent = bytesSent;
+		}
+
+		/**
+		 * Return the time taken to process the request, in milliseconds.
+		 * @return the duration
+		 */
+		public long getDuration() {
+			return this.duration;
+		}
+
+		public void setDuration(long duration) {
+			this.duration = duration;
+		}
+
+		public String getReferer() {
+			return this.referer;
+		}
+
+		public void setReferer(String referer) {
+			this.referer = referer;
+		}
+
+		public String getUserAgent() {
+			return this.userAgent;
+		}
+
+		public void setUserAgent(String userAgent) {
+			this.userAgent = userAgent;
+		}
+
+	}
+
+	/**
+	 * Bounded, lock-free ring buffer of preallocated entries with multiple producers and
+	 * a single consumer. A producer claims a sequence, populates the entry at that
+	 * sequence and then publishes it. The consumer only reads entries that have been
+	 * published, in sequence order.
+	 */
+	private static final class RingBuffer {
+
+		private final Entry[] entries;
+
+		private final AtomicLongArray published;
+
+		private final int mask;
+
+		private final AtomicLong claimed = new AtomicLong();
+
+		private volatile long consumed;
+
+		RingBuffer(int size) {
+			int capacity = (size > 1 ? Integer.highestOneBit(size - 1) << 1 : 1);
+			this.entries = new Entry[capacity];
+			this.published = new AtomicLongArray(capacity);
+			for (int i = 0; i < capacity; i++) {
+				this.entries[i] = new Entry();
+				this.published.set(i, -1);
+			}
+			this.mask = capacity - 1;
+		}
+
+		long claim() {
+			while (true) {
+				long sequence = this.claimed.get();
+				if (sequence - this.consumed >= this.entries.length) {
+					return -1;
+				}
+				if (this.claimed.compareAndSet(sequence, sequence + 1)) {
+					return sequence;
+				}
+			}
+		}
+
+		Entry get(long sequence) {
+			return this.entries[index(sequence)];
+		}
+
+		void publish(long sequence) {
+			this.published.set(index(sequence), sequence);
+		}
+
+		boolean hasPublished() {
+			long sequence = this.consumed;
+			return this.published.get(index(sequence)) == sequence;
+		}
+
+		int drain(int maxEntries, Consumer<Entry> consumer) {
+			long sequence = this.consumed;
+			int count = 0;
+			while (count < maxEntries
+					&& this.published.get(index(sequence)) == sequence) {
+				consumer.accept(get(sequence));
+				sequence++;
+				count++;
+			}
+			this.consumed = sequence;
+			return count;
+		}
+
+		int size() {
+			return (int) (this.claimed.get() - this.consumed);
+		}
+
+		private int index(long sequence) {
+			return (int) (sequence & this.mask);
+		}
+
+	}
+
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.web.server;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Container-neutral {@link Executor} that can be used by a web server to process
+ * requests. Either backed by a bounded pool of platform threads or, on JDKs that support
+ * them, by a new virtual thread per request. Provides the statistics needed to monitor
+ * how saturated the executor is.
+ *
+ * @author Local Agent
+ * @since 2.1.0
+ */
+public final class WebServerExecutor implements Executor {
+
+	private static final String VIRTUAL_THREAD_BUILDER_CLASS = "java.lang.Thread$Builder";
+
+	private final ExecutorService executor;
+
+	private final ThreadPoolExecutor threadPool;
+
+	private final AtomicInteger activeCount = new AtomicInteger();
+
+	private final AtomicLong completedCount = new AtomicLong();
+
+	private final AtomicLong rejectedCount = new AtomicLong();
+
+	private WebServerExecutor(ExecutorService executor) {
+		this.executor = executor;
+		this.threadPool = (executor instanceof ThreadPoolExecutor
+				? (ThreadPoolExecutor) executor : null);
+	}
+
+	@Override
+	public void execute(Runnable command) {
+		Assert.notNull(command, "Command must not be null");
+		try {
+			this.executor.execute(() -> run(command));
+		}
+		catch (RejectedExecutionException ex) {
+			this.rejectedCount.incrementAndGet();
+			throw ex;
+		}
+	}
+
+	private void run(Runnable command) {
+		this.activeCount.incrementAndGet();
+		try {
+			command.run();
+		}
+		finally {
+			this.activeCount.decrementAndGet();
+			this.completedCount.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Return whether requests are processed on virtual threads.
+	 * @return {@code true} if a virtual thread is used per request
+	 */
+	public boolean isVirtual() {
+		return this.threadPool == null;
+	}
+
+	/**
+	 * Return the number of requests that are being processed.
+	 * @return the active count
+	 */
+	public int getActiveCount() {
+		return this.activeCount.get();
+	}
+
+	/**
+	 * Return the number of threads in the pool or, when using virtual threads, the number
+	 * of requests that are being processed.
+	 * @return the number of threads
+	 */
+	public int getPoolSize() {
+		return (this.threadPool != null ? this.threadPool.getPoolSize()
+				: getActiveCount());
+	}
+
+	/**
+	 * Return the maximum number of threads or {@code -1} if the number of threads is not
+	 * bounded.
+	 * @return the maximum number of threads
+	 */
+	public int getMaxThreads() {
+		return (this.threadPool != null ? this.threadPool.getMaximumPoolSize() : -1);
+	}
+
+	/**
+	 * Return the number of requests that are waiting for a thread.
+	 * @return the number of queued requests
+	 */
+	public int getQueueSize() {
+		return (this.threadPool != null ? this.threadPool.getQueue().size() : 0);
+	}
+
+	/**
+	 * Return the number of requests that have been processed.
+	 * @return the completed count
+	 */
+	public long getCompletedCount() {
+		return this.completedCount.get();
+	}
+
+	/**
+	 * Return the number of requests that have been rejected because the executor was
+	 * saturated or shut down.
+	 * @return the rejected count
+	 */
+	public long getRejectedCount() {
+		return this.rejectedCount.get();
+	}
+
+	/**
+	 * Shut down the executor. Requests that are being processed are allowed to complete
+	 * but new requests are rejected.
+	 */
+	public void shutdown() {
+		this.executor.shutdown();
+	}
+
+	/**
+	 * Create a new {@link WebServerExecutor} backed by a bounded pool of daemon threads.
+	 * Threads are created on demand up to {@code maxThreads} before requests are queued
+	 * and are released once they have been idle for a minute.
+	 * @param threadNamePrefix the prefix of the names of the threads
+	 * @param maxThreads the maximum number of threads
+	 * @param queueCapacity the maximum number of queued requests
+	 * @return the executor
+	 */
+	public static WebServerExecutor bounded(String threadNamePrefix, int maxThreads,
+			int queueCapacity) {
+		Assert.isTrue(maxThreads > 0, "MaxThreads must be positive");
+		Assert.isTrue(queueCapacity > 0, "QueueCapacity must be positive");
+		BlockingQueue<Runnable> queue = new LinkedBlockingQueue<>(queueCapacity);
+		ThreadPoolExecutor threadPool = new ThreadPoolExecutor(maxThreads, maxThreads,
+				60, TimeUnit.SECONDS, queue, new DaemonThreadFactory(threadNamePrefix));
+		threadPool.allowCoreThreadTimeOut(true);
+		return new WebServerExecutor(threadPool);
+	}
+
+	/**
+	 * Create a new {@link WebServerExecutor} that processes each request on a new virtual
+	 * thread.
+	 * @param threadNamePrefix the prefix of the names of the threads
+	 * @return the executor
+	 * @throws IllegalStateException if virtual threads are not supported
+	 * @see #isVirtualThreadsSupported()
+	 */
+	public static WebServerExecutor virtual(String threadNamePrefix) {
+		Assert.state(isVirtualThreadsSupported(),
+				"Virtual threads are not supported by this JVM");
+		try {
+			Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+			Class<?> builderClass = ClassUtils.forName(VIRTUAL_THREAD_BUILDER_CLASS,
+					null);
+			if (StringUtils.hasText(threadNamePrefix)) {
+				builder = builderClass.getMethod("name", String.class, long.class)
+						.invoke(builder, threadNamePrefix, 0L);
+			}
+			ThreadFactory threadFactory = (ThreadFactory) builderClass
+					.getMethod("factory").invoke(builder);
+			Method newExecutor = Executors.class
+					.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+			return new WebServerExecutor(
+					(ExecutorService) newExecutor.invoke(null, threadFactory));
+		}
+		catch (Exception ex) {
+			throw new IllegalStateException("Unable to create virtual thread executor",
+					ex);
+		}
+	}
+
+	/**
+	 * Return whether the JVM supports virtual threads.
+	 * @return {@code true} if virtual threads are supported
+	 */
+	public static boolean isVirtualThreadsSupported() {
+		return ReflectionUtils.findMethod(Thread.class, "ofVirtual") != null
+				&& ClassUtils.isPresent(VIRTUAL_THREAD_BUILDER_CLASS, null);
+	}
+
+	/**
+	 * {@link ThreadFactory} that creates daemon threads with a name prefix.
+	 */
+	private static final class DaemonThreadFactory implements ThreadFactory {
+
+		private final String namePrefix;
+
+		private final AtomicInteger threadNumber = new AtomicInteger();
+
+		DaemonThreadFactory(String namePrefix) {
+			this.namePrefix = namePrefix;
+		}
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable,
+					this.namePrefix + this.threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+
+	}
+
+}
@@ -28,6 +28,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 import javax.servlet.ServletContext;
 import javax.servlet.ServletException;
@@ -78,6 +79,8 @@ public abstract class AbstractServletWebServerFactory
 
 	private Map<String, String> initParameters = Collections.emptyMap();
 
+	private Executor webServerExecutor;
+
 	private final DocumentRoot documentRoot = new DocumentRoot(this.logger);
 
 	private final StaticResourceJars staticResourceJars = new StaticResourceJars();
@@ -240,6 +243,21 @@ public abstract class AbstractServletWebServerFactory
 		return this.initParameters;
 	}
 
+	@Override
+	public void setWebServerExecutor(Executor webServerExecutor) {
+		this.webServerExecutor = webServerExecutor;
+	}
+
+	/**
+	 * Return the executor that should be used to process requests.
+	 * @return the executor or {@code null} if the server's own thread pool should be
+	 * used
+	 * @since 2.1.0
+	 */
+	public Executor getWebServerExecutor() {
+		return this.webServerExecutor;
+	}
+
 	/**
 	 * Utility method that can be used by subclasses wishing to combine the specified
 	 * {@link ServletContextInitializer} parameters with those defined in this instance.
@@ -21,11 +21,13 @@ import java.nio.charset.Charset;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 import javax.servlet.ServletContext;
 
 import org.springframework.boot.web.server.ConfigurableWebServerFactory;
 import org.springframework.boot.web.server.MimeMappings;
+import org.springframework.boot.web.server.WebServerExecutor;
 import org.springframework.boot.web.server.WebServerFactoryCustomizer;
 import org.springframework.boot.web.servlet.ServletContextInitializer;
 
@@ -124,4 +126,18 @@ public interface ConfigurableServletWebServerFactory
 	 */
 	void setInitParameters(Map<String, String> initParameters);
 
+	/**
+	 * Sets the executor that should be used to process requests in place of the
+	 * server's own worker thread pool. Any {@link Executor} can be used but a
+	 * {@link WebServerExecutor} also provides the statistics needed to monitor how
+	 * saturated it is. With Jetty, the executor also runs the acceptor and selector
+	 * threads so a bounded executor must have more threads than those need. The default
+	 * implementation does nothing so that the server's own thread pool is used.
+	 * @param webServerExecutor the executor or {@code null} to use the server's own
+	 * thread pool
+	 * @since 2.1.0
+	 */
+	default void setWebServerExecutor(Executor webServerExecutor) {
+	}
+
 }
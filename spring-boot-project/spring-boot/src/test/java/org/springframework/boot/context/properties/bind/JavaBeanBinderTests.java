@@ -282,6 +282,24 @@ public class JavaBeanBinderTests {
 		assertThat(bean.getValueBean().getStringValue()).isEqualTo("foo");
 	}
 
+	@Test
+	public void bindToClassRepeatedlyShouldBindEachTime() {
+		MockConfigurationPropertySource source = new MockConfigurationPropertySource();
+		source.put("foo.int-value", "12");
+		source.put("bar.value-bean.int-value", "123");
+		source.put("bar.value-bean.string-value", "bar");
+		this.sources.add(source);
+		for (int i = 0; i < 2; i++) {
+			ExampleValueBean valueBean = this.binder
+					.bind("foo", Bindable.of(ExampleValueBean.class)).get();
+			assertThat(valueBean.getIntValue()).isEqualTo(12);
+			ExampleNestedBean nestedBean = this.binder
+					.bind("bar", Bindable.of(ExampleNestedBean.class)).get();
+			assertThat(nestedBean.getValueBean().getIntValue()).isEqualTo(123);
+			assertThat(nestedBean.getValueBean().getStringValue()).isEqualTo("bar");
+		}
+	}
+
 	@Test
 	public void bindToClassWhenIterableShouldBindNestedBasedOnInstance() {
 		MockConfigurationPropertySource source = new MockConfigurationPropertySource();
@@ -219,6 +219,21 @@ public class ConfigurationPropertyNameTests {
 		assertThat(name.isIndexed(1)).isTrue();
 	}
 
+	@Test
+	public void ofWhenStringShouldReturnCachedName() {
+		ConfigurationPropertyName name = ConfigurationPropertyName.of("foo.bar-baz");
+		assertThat(ConfigurationPropertyName.of(new String("foo.bar-baz")))
+				.isSameAs(name);
+	}
+
+	@Test
+	public void ofWhenNotStringShouldReturnNewName() {
+		ConfigurationPropertyName name = ConfigurationPropertyName.of("foo.bar");
+		ConfigurationPropertyName other = ConfigurationPropertyName
+				.of(new StringBuilder("foo.bar"));
+		assertThat(other).isEqualTo(name).isNotSameAs(name);
+	}
+
 	@Test
 	public void ofWhenNameIsEmptyShouldReturnEmptyName() {
 		ConfigurationPropertyName name = ConfigurationPropertyName.of("");
@@ -446,6 +461,37 @@ public class ConfigurationPropertyNameTests {
 		assertThat(name.chop(2).toString()).isEqualTo("foo.bar");
 	}
 
+	@Test
+	public void chopThenAppendShouldNotChangeOriginal() {
+		ConfigurationPropertyName name = ConfigurationPropertyName.of("foo.bar.baz");
+		ConfigurationPropertyName chopped = name.chop(1);
+		ConfigurationPropertyName appended = chopped.append("qux");
+		assertThat(chopped.getNumberOfElements()).isEqualTo(1);
+		assertThat(chopped.isAncestorOf(name)).isTrue();
+		assertThat(chopped).isEqualTo(ConfigurationPropertyName.of("foo"));
+		assertThat(chopped.hashCode())
+				.isEqualTo(ConfigurationPropertyName.of("foo").hashCode());
+		assertThat(appended.toString()).isEqualTo("foo.qux");
+		assertThat(name.toString()).isEqualTo("foo.bar.baz");
+	}
+
+	@Test
+	public void getElementOfChoppedNameBeyondItsSizeShouldThrowException() {
+		ConfigurationPropertyName chopped = ConfigurationPropertyName.of("foo.bar.baz")
+				.chop(1);
+		this.thrown.expect(IndexOutOfBoundsException.class);
+		this.thrown.expectMessage("Element index 1 is out of bounds");
+		chopped.getElement(1, Form.ORIGINAL);
+	}
+
+	@Test
+	public void isIndexedOfChoppedNameBeyondItsSizeShouldThrowException() {
+		ConfigurationPropertyName chopped = ConfigurationPropertyName.of("foo.[bar]")
+				.chop(1);
+		this.thrown.expect(IndexOutOfBoundsException.class);
+		chopped.isIndexed(1);
+	}
+
 	@Test
 	public void chopWhenGreaterThanSizeShouldReturnExisting() {
 		ConfigurationPropertyName name = ConfigurationPropertyName.of("foo.bar.baz");
@@ -22,6 +22,9 @@ import java.time.Duration;
 import java.util.Arrays;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.jasper.servlet.JspServlet;
 import org.eclipse.jetty.server.Connector;
@@ -31,6 +34,7 @@ import org.eclipse.jetty.server.ServerConnector;
 import org.eclipse.jetty.server.SslConnectionFactory;
 import org.eclipse.jetty.server.handler.HandlerCollection;
 import org.eclipse.jetty.server.handler.HandlerWrapper;
+import org.eclipse.jetty.server.handler.gzip.GzipHandler;
 import org.eclipse.jetty.servlet.ServletHolder;
 import org.eclipse.jetty.util.thread.QueuedThreadPool;
 import org.eclipse.jetty.util.thread.ThreadPool;
@@ -39,8 +43,10 @@ import org.eclipse.jetty.webapp.WebAppContext;
 import org.junit.Test;
 import org.mockito.InOrder;
 
+import org.springframework.boot.web.server.Compression;
 import org.springframework.boot.web.server.PortInUseException;
 import org.springframework.boot.web.server.Ssl;
+import org.springframework.boot.web.server.WebServerExecutor;
 import org.springframework.boot.web.servlet.server.AbstractServletWebServerFactory;
 import org.springframework.boot.web.servlet.server.AbstractServletWebServerFactoryTests;
 
@@ -221,6 +227,19 @@ public class JettyServletWebServerFactoryTests
 		assertThat(getResponse(getLocalUrl("/hello"))).isEqualTo("Hello World");
 	}
 
+	@Test
+	public void compressionLevelIsApplied() {
+		JettyServletWebServerFactory factory = getFactory();
+		Compression compression = new Compression();
+		compression.setEnabled(true);
+		compression.setLevel(9);
+		factory.setCompression(compression);
+		this.webServer = factory.getWebServer();
+		GzipHandler handler = ((JettyWebServer) this.webServer).getServer()
+				.getChildHandlerByClass(GzipHandler.class);
+		assertThat(handler.getCompressionLevel()).isEqualTo(9);
+	}
+
 	@Test
 	public void basicSslClasspathKeyStore() throws Exception {
 		testBasicSslWithKeyStore("classpath:test.jks");
@@ -265,6 +284,51 @@ public class JettyServletWebServerFactoryTests
 		factory.getWebServer().start();
 	}
 
+	@Test
+	public void webServerExecutorIsUsedForRequests() throws Exception {
+		JettyServletWebServerFactory factory = getFactory();
+		factory.setAcceptors(1);
+		factory.setSelectors(1);
+		WebServerExecutor executor = WebServerExecutor.bounded("test-", 3, 10);
+		factory.setWebServerExecutor(executor);
+		this.webServer = factory.getWebServer(exampleServletRegistration());
+		this.webServer.start();
+		assertThat(getResponse(getLocalUrl("/hello"))).isEqualTo("Hello World");
+		assertThat(executor.getActiveCount()).isGreaterThanOrEqualTo(2);
+	}
+
+	@Test
+	public void customExecutorIsUsedForRequests() throws Exception {
+		JettyServletWebServerFactory factory = getFactory();
+		ExecutorService delegate = Executors.newCachedThreadPool();
+		try {
+			AtomicInteger executed = new AtomicInteger();
+			factory.setWebServerExecutor((command) -> {
+				executed.incrementAndGet();
+				delegate.execute(command);
+			});
+			this.webServer = factory.getWebServer(exampleServletRegistration());
+			this.webServer.start();
+			assertThat(getResponse(getLocalUrl("/hello"))).isEqualTo("Hello World");
+			assertThat(executed.get()).isGreaterThan(0);
+			this.webServer.stop();
+		}
+		finally {
+			delegate.shutdownNow();
+		}
+	}
+
+	@Test
+	public void webServerExecutorWithoutThreadsForRequestsFailsFast() {
+		JettyServletWebServerFactory factory = getFactory();
+		factory.setAcceptors(1);
+		factory.setSelectors(1);
+		factory.setWebServerExecutor(WebServerExecutor.bounded("test-", 2, 10));
+		this.thrown.expect(IllegalStateException.class);
+		this.thrown.expectMessage("acceptors and selectors");
+		factory.getWebServer();
+	}
+
 	@Test
 	public void specificIPAddressNotReverseResolved() throws Exception {
 		JettyServletWebServerFactory factory = getFactory();
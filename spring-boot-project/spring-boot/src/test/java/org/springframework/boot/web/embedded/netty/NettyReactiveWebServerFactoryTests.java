@@ -18,15 +18,24 @@ package org.springframework.boot.web.embedded.netty;
 
 import java.time.Duration;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.EventLoopGroup;
 import org.junit.Test;
 import org.mockito.InOrder;
+import reactor.core.publisher.Mono;
 import reactor.ipc.netty.http.server.HttpServerOptions;
+import reactor.ipc.netty.resources.LoopResources;
 
 import org.springframework.boot.web.reactive.server.AbstractReactiveWebServerFactory;
 import org.springframework.boot.web.reactive.server.AbstractReactiveWebServerFactoryTests;
 import org.springframework.boot.web.server.WebServerException;
+import org.springframework.http.MediaType;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.BodyInserters;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -84,4 +93,73 @@ public class NettyReactiveWebServerFactoryTests
 		assertThat(actualTimeout).isEqualTo(timeout);
 	}
 
+	@Test
+	public void dedicatedLoopResourcesAreDisposedWhenServerIsStopped() {
+		NettyReactiveWebServerFactory factory = getFactory();
+		factory.setIoThreads(2);
+		this.webServer = factory.getWebServer(new EchoHandler());
+		this.webServer.start();
+		LoopResources loopResources = (LoopResources) ReflectionTestUtils
+				.getField(this.webServer, "loopResources");
+		assertThat(loopResources).isNotNull();
+		assertThat(loopResources.isDisposed()).isFalse();
+		this.webServer.stop();
+		assertThat(loopResources.isDisposed()).isTrue();
+	}
+
+	@Test
+	public void eventLoopGroupIsTakenFromDedicatedLoopResources() {
+		NettyReactiveWebServerFactory factory = getFactory();
+		factory.setIoThreads(2);
+		this.webServer = factory.getWebServer(new EchoHandler());
+		this.webServer.start();
+		EventLoopGroup eventLoopGroup = ((NettyWebServer) this.webServer)
+				.getEventLoopGroup();
+		assertThat(eventLoopGroup).hasSize(2);
+	}
+
+	@Test
+	public void sharedLoopResourcesAreUsedByDefault() {
+		this.webServer = getFactory().getWebServer(new EchoHandler());
+		assertThat(ReflectionTestUtils.getField(this.webServer, "loopResources"))
+				.isNull();
+	}
+
+	@Test
+	public void channelInitializersAreCalledWithAcceptedChannels() {
+		NettyReactiveWebServerFactory factory = getFactory();
+		List<String> initialized = new CopyOnWriteArrayList<>();
+		factory.addChannelInitializer((channel) -> initialized.add("first"));
+		factory.addChannelInitializer((channel) -> initialized.add("second"));
+		this.webServer = factory.getWebServer(new EchoHandler());
+		this.webServer.start();
+		Mono<String> result = getWebClient().build().post().uri("/test")
+				.contentType(MediaType.TEXT_PLAIN)
+				.body(BodyInserters.fromObject("Hello World")).exchange()
+				.flatMap((response) -> response.bodyToMono(String.class));
+		assertThat(result.block()).isEqualTo("Hello World");
+		assertThat(initialized).containsExactly("first", "second");
+	}
+
+	@Test
+	public void sharedHeapAllocatorIsUsedWhenDirectBuffersAreDisabled() {
+		NettyReactiveWebServerFactory factory = getFactory();
+		factory.setUseDirectBuffers(false);
+		List<ByteBufAllocator> allocators = new CopyOnWriteArrayList<>();
+		factory.addChannelInitializer(
+				(channel) -> allocators.add(channel.config().getAllocator()));
+		this.webServer = factory.getWebServer(new EchoHandler());
+		this.webServer.start();
+		Mono<String> result = getWebClient().build().post().uri("/test")
+				.contentType(MediaType.TEXT_PLAIN)
+				.body(BodyInserters.fromObject("Hello World")).exchange()
+				.flatMap((response) -> response.bodyToMono(String.class));
+		assertThat(result.block()).isEqualTo("Hello World");
+		assertThat(allocators).containsOnly((ByteBufAllocator) ReflectionTestUtils
+				.getField(NettyReactiveWebServerFactory.class, "HEAP_ALLOCATOR"));
+		ByteBuf buffer = allocators.get(0).buffer();
+		assertThat(buffer.isDirect()).isFalse();
+		buffer.release();
+	}
+
 }
@@ -18,6 +18,7 @@ package org.springframework.boot.web.reactive.server;
 
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.StringWriter;
 import java.net.InetSocketAddress;
 import java.nio.charset.StandardCharsets;
 import java.security.KeyStore;
@@ -47,6 +48,7 @@ import org.springframework.boot.testsupport.rule.OutputCapture;
 import org.springframework.boot.web.server.Compression;
 import org.springframework.boot.web.server.Ssl;
 import org.springframework.boot.web.server.WebServer;
+import org.springframework.boot.web.server.WebServerAccessLog;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.http.HttpStatus;
@@ -106,6 +108,30 @@ public abstract class AbstractReactiveWebServerFactoryTests {
 		assertThat(this.webServer.getPort()).isEqualTo(specificPort);
 	}
 
+	@Test
+	public void webServerAccessLogRecordsCompletedRequests() throws Exception {
+		AbstractReactiveWebServerFactory factory = getFactory();
+		StringWriter output = new StringWriter();
+		WebServerAccessLog accessLog = WebServerAccessLog.toWriter(output,
+				WebServerAccessLog.Format.JSON, 16);
+		factory.setWebServerAccessLog(accessLog);
+		this.webServer = factory.getWebServer(new EchoHandler());
+		this.webServer.start();
+		Mono<String> result = getWebClient().build().post().uri("/test?a=b")
+				.contentType(MediaType.TEXT_PLAIN)
+				.body(BodyInserters.fromObject("Hello World")).exchange()
+				.flatMap((response) -> response.bodyToMono(String.class));
+		assertThat(result.block()).isEqualTo("Hello World");
+		long deadline = System.currentTimeMillis() + 5000;
+		while (accessLog.getWrittenCount() == 0
+				&& System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		accessLog.close();
+		assertThat(output.toString()).contains("\"method\":\"POST\"",
+				"\"uri\":\"/test?a=b\"", "\"status\":200");
+	}
+
 	@Test
 	public void basicSslFromClassPath() {
 		testBasicSslWithKeyStore("classpath:test.jks", "password");
@@ -0,0 +1,270 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.web.server;
+
+import java.io.File;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.springframework.boot.web.server.WebServerAccessLog.Entry;
+import org.springframework.boot.web.server.WebServerAccessLog.Format;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link WebServerAccessLog}.
+ */
+public class WebServerAccessLogTests {
+
+	private static final long TIMESTAMP = 1526378400000L;
+
+	@Rule
+	public final TemporaryFolder temp = new TemporaryFolder();
+
+	private final CountDownLatch release = new CountDownLatch(1);
+
+	private WebServerAccessLog accessLog;
+
+	@After
+	public void close() {
+		this.release.countDown();
+		if (this.accessLog != null) {
+			this.accessLog.close();
+		}
+	}
+
+	@Test
+	public void combinedFormat() {
+		StringWriter output = new StringWriter();
+		this.accessLog = WebServerAccessLog.toWriter(output, Format.COMBINED, 16);
+		this.accessLog.log("/test", this::populate);
+		this.accessLog.close();
+		String date = DateTimeFormatter.ofPattern("dd/MMM/yyyy:HH:mm:ss Z", Locale.US)
+				.withZone(ZoneId.systemDefault()).format(Instant.ofEpochMilli(TIMESTAMP));
+		assertThat(output.toString()).isEqualTo("127.0.0.1 - - [" + date
+				+ "] \"GET /test?a=b HTTP/1.1\" 200 42 \"-\" \"Agent \\\"1\\\"\" 5\n");
+	}
+
+	@Test
+	public void combinedFormatWithUnknownBytesSent() {
+		StringWriter output = new StringWriter();
+		this.accessLog = WebServerAccessLog.toWriter(output, Format.COMBINED, 16);
+		this.accessLog.log("/test", (request, entry) -> {
+			populate(request, entry);
+			entry.setBytesSent(-1);
+		});
+		this.accessLog.close();
+		assertThat(output.toString()).contains("\" 200 - \"");
+	}
+
+	@Test
+	public void jsonFormat() {
+		StringWriter output = new StringWriter();
+		this.accessLog = WebServerAccessLog.toWriter(output, Format.JSON, 16);
+		this.accessLog.log("/test", this::populate);
+		this.accessLog.close();
+		assertThat(output.toString()).isEqualTo("{\"timestamp\":\""
+				+ Instant.ofEpochMilli(TIMESTAMP)
+				+ "\",\"remoteAddress\":\"127.0.0.1\",\"method\":\"GET\","
+				+ "\"uri\":\"/test?a=b\",\"protocol\":\"HTTP/1.1\",\"status\":200,"
+				+ "\"bytesSent\":42,\"duration\":5,\"userAgent\":\"Agent \\\"1\\\"\"}\n");
+	}
+
+	@Test
+	public void jsonFormatEscapesControlCharacters() {
+		StringWriter output = new StringWriter();
+		this.accessLog = WebServerAccessLog.toWriter(output, Format.JSON, 16);
+		this.accessLog.log("/a\\b\n", this::populate);
+		this.accessLog.close();
+		assertThat(output.toString()).contains("\"uri\":\"/a\\\\b\\u000a?a=b\"");
+	}
+
+	@Test
+	public void entriesAreWrittenInOrder() {
+		StringWriter output = new StringWriter();
+		this.accessLog = WebServerAccessLog.toWriter(output, Format.COMBINED, 1024);
+		for (int i = 0; i < 1000; i++) {
+			this.accessLog.log("/" + i, this::populate);
+		}
+		this.accessLog.close();
+		String[] lines = output.toString().split("\n");
+		assertThat(lines).hasSize(1000);
+		for (int i = 0; i < lines.length; i++) {
+			assertThat(lines[i]).contains("\"GET /" + i + "?a=b ");
+		}
+		assertThat(this.accessLog.getWrittenCount()).isEqualTo(1000);
+		assertThat(this.accessLog.getDroppedCount()).isZero();
+	}
+
+	@Test
+	public void entriesAreDroppedAndCountedWhenBufferIsFull() throws Exception {
+		CountDownLatch writing = new CountDownLatch(1);
+		StringWriter output = new StringWriter() {
+
+			@Override
+			public void write(String str) {
+				writing.countDown();
+				awaitRelease();
+				super.write(str);
+			}
+
+		};
+		this.accessLog = WebServerAccessLog.toWriter(output, Format.COMBINED, 2);
+		assertThat(this.accessLog.log("/first", this::populate)).isTrue();
+		assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(this.accessLog.log("/second", this::populate)).isTrue();
+		assertThat(this.accessLog.log("/third", this::populate)).isTrue();
+		assertThat(this.accessLog.log("/fourth", this::populate)).isFalse();
+		assertThat(this.accessLog.getPendingCount()).isEqualTo(2);
+		assertThat(this.accessLog.getDroppedCount()).isEqualTo(1);
+		this.release.countDown();
+		this.accessLog.close();
+		assertThat(this.accessLog.getWrittenCount()).isEqualTo(3);
+		assertThat(output.toString()).contains("/first", "/second", "/third")
+				.doesNotContain("/fourth");
+	}
+
+	@Test
+	public void entriesAreDroppedOnceClosed() {
+		this.accessLog = WebServerAccessLog.toWriter(new StringWriter(), Format.JSON,
+				16);
+		this.accessLog.close();
+		assertThat(this.accessLog.log("/test", this::populate)).isFalse();
+		assertThat(this.accessLog.getDroppedCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void entriesLoggedWhileClosingAreWrittenOrCountedAsDropped()
+			throws Exception {
+		for (int attempt = 0; attempt < 20; attempt++) {
+			this.accessLog = WebServerAccessLog.toWriter(new StringWriter(),
+					Format.COMBINED, 1024);
+			AtomicInteger logged = new AtomicInteger();
+			Thread[] threads = new Thread[4];
+			for (int i = 0; i < threads.length; i++) {
+				threads[i] = new Thread(() -> {
+					for (int j = 0; j < 500; j++) {
+						if (this.accessLog.log("/test", this::populate)) {
+							logged.incrementAndGet();
+						}
+					}
+				});
+				threads[i].start();
+			}
+			this.accessLog.close();
+			for (Thread thread : threads) {
+				thread.join();
+			}
+			assertThat(this.accessLog.getWrittenCount()).isEqualTo(logged.get());
+			assertThat(this.accessLog.getDroppedCount())
+					.isEqualTo(threads.length * 500 - logged.get());
+		}
+	}
+
+	@Test
+	public void entryIsDroppedWhenPopulatorFails() {
+		StringWriter output = new StringWriter();
+		this.accessLog = WebServerAccessLog.toWriter(output, Format.COMBINED, 16);
+		assertThat(this.accessLog.log("/failed", (request, entry) -> {
+			entry.setUri(request);
+			throw new IllegalStateException("Failure");
+		})).isFalse();
+		assertThat(this.accessLog.log("/test", this::populate)).isTrue();
+		this.accessLog.close();
+		assertThat(output.toString()).contains("/test").doesNotContain("/failed");
+		assertThat(this.accessLog.getWrittenCount()).isEqualTo(1);
+		assertThat(this.accessLog.getDroppedCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void idleWriterIsWokenWhenAnEntryIsLogged() throws Exception {
+		StringWriter output = new StringWriter();
+		this.accessLog = WebServerAccessLog.toWriter(output, Format.COMBINED, 16);
+		Thread.sleep(100);
+		this.accessLog.log("/test", this::populate);
+		long deadline = System.currentTimeMillis() + 500;
+		while (this.accessLog.getWrittenCount() == 0
+				&& System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertThat(this.accessLog.getWrittenCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void bufferSizeMustBePositive() {
+		assertThatIllegalArgumentException().isThrownBy(
+				() -> WebServerAccessLog.toWriter(new StringWriter(), Format.JSON, 0))
+				.withMessageContaining("BufferSize");
+	}
+
+	@Test
+	public void bufferSizeMustNotExceedMaximum() {
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> WebServerAccessLog.toWriter(new StringWriter(),
+						Format.JSON, WebServerAccessLog.MAX_BUFFER_SIZE + 1))
+				.withMessageContaining("BufferSize");
+	}
+
+	@Test
+	public void toFileCreatesParentDirectoriesAndAppends() throws Exception {
+		File file = new File(this.temp.getRoot(), "logs/access.log");
+		WebServerAccessLog first = WebServerAccessLog.toFile(file, Format.COMBINED, 16);
+		first.log("/first", this::populate);
+		first.close();
+		this.accessLog = WebServerAccessLog.toFile(file, Format.COMBINED, 16);
+		this.accessLog.log("/second", this::populate);
+		this.accessLog.close();
+		assertThat(Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)).hasSize(2);
+	}
+
+	private void populate(String uri, Entry entry) {
+		entry.setTimestamp(TIMESTAMP);
+		entry.setDuration(5);
+		entry.setRemoteAddress("127.0.0.1");
+		entry.setMethod("GET");
+		entry.setUri(uri);
+		entry.setQuery("a=b");
+		entry.setProtocol("HTTP/1.1");
+		entry.setStatus(200);
+		entry.setBytesSent(42);
+		entry.setUserAgent("Agent \"1\"");
+	}
+
+	private void awaitRelease() {
+		try {
+			this.release.await(5, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
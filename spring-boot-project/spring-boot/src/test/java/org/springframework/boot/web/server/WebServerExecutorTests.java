@@ -0,0 +1,132 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.web.server;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link WebServerExecutor}.
+ */
+public class WebServerExecutorTests {
+
+	private final CountDownLatch release = new CountDownLatch(1);
+
+	private WebServerExecutor executor;
+
+	@After
+	public void shutdown() {
+		this.release.countDown();
+		if (this.executor != null) {
+			this.executor.shutdown();
+		}
+	}
+
+	@Test
+	public void boundedExecutorRunsTasksOnNamedDaemonThreads() throws Exception {
+		this.executor = WebServerExecutor.bounded("test-", 2, 10);
+		AtomicReference<Thread> thread = new AtomicReference<>();
+		CountDownLatch done = new CountDownLatch(1);
+		this.executor.execute(() -> {
+			thread.set(Thread.currentThread());
+			done.countDown();
+		});
+		assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(thread.get().getName()).startsWith("test-");
+		assertThat(thread.get().isDaemon()).isTrue();
+		assertThat(this.executor.isVirtual()).isFalse();
+		assertThat(this.executor.getMaxThreads()).isEqualTo(2);
+	}
+
+	@Test
+	public void boundedExecutorReportsSaturation() throws Exception {
+		this.executor = WebServerExecutor.bounded("test-", 2, 1);
+		CountDownLatch started = new CountDownLatch(2);
+		for (int i = 0; i < 3; i++) {
+			this.executor.execute(() -> {
+				started.countDown();
+				await(this.release);
+			});
+		}
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(this.executor.getActiveCount()).isEqualTo(2);
+		assertThat(this.executor.getPoolSize()).isEqualTo(2);
+		assertThat(this.executor.getQueueSize()).isEqualTo(1);
+		assertThatExceptionOfType(RejectedExecutionException.class)
+				.isThrownBy(() -> this.executor.execute(() -> {
+				}));
+		assertThat(this.executor.getRejectedCount()).isEqualTo(1);
+		this.release.countDown();
+		this.executor.shutdown();
+		assertThat(awaitCompletion(3)).isTrue();
+		assertThat(this.executor.getActiveCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void virtualExecutorWhenNotSupportedThrowsException() {
+		Assume.assumeFalse(WebServerExecutor.isVirtualThreadsSupported());
+		assertThatExceptionOfType(IllegalStateException.class)
+				.isThrownBy(() -> WebServerExecutor.virtual("test-"))
+				.withMessageContaining("Virtual threads are not supported");
+	}
+
+	@Test
+	public void virtualExecutorRunsTasksOnVirtualThreads() throws Exception {
+		Assume.assumeTrue(WebServerExecutor.isVirtualThreadsSupported());
+		this.executor = WebServerExecutor.virtual("test-");
+		AtomicReference<Thread> thread = new AtomicReference<>();
+		CountDownLatch done = new CountDownLatch(1);
+		this.executor.execute(() -> {
+			thread.set(Thread.currentThread());
+			done.countDown();
+		});
+		assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(thread.get().getName()).startsWith("test-");
+		assertThat(this.executor.isVirtual()).isTrue();
+		assertThat(this.executor.getMaxThreads()).isEqualTo(-1);
+	}
+
+	private boolean awaitCompletion(long count) throws InterruptedException {
+		long end = System.currentTimeMillis() + 5000;
+		while (this.executor.getCompletedCount() < count) {
+			if (System.currentTimeMillis() > end) {
+				return false;
+			}
+			Thread.sleep(10);
+		}
+		return true;
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -22,6 +22,7 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.net.InetSocketAddress;
 import java.net.MalformedURLException;
 import java.net.ServerSocket;
@@ -98,6 +99,7 @@ import org.springframework.boot.web.server.Ssl;
 import org.springframework.boot.web.server.Ssl.ClientAuth;
 import org.springframework.boot.web.server.SslStoreProvider;
 import org.springframework.boot.web.server.WebServer;
+import org.springframework.boot.web.server.WebServerAccessLog;
 import org.springframework.boot.web.server.WebServerException;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.boot.web.servlet.ServletContextInitializer;
@@ -220,6 +222,26 @@ public abstract class AbstractServletWebServerFactoryTests {
 		assertThat(getResponse(getLocalUrl("/hello"))).isEqualTo("[Hello World]");
 	}
 
+	@Test
+	public void webServerAccessLogRecordsCompletedRequests() throws Exception {
+		AbstractServletWebServerFactory factory = getFactory();
+		StringWriter output = new StringWriter();
+		WebServerAccessLog accessLog = WebServerAccessLog.toWriter(output,
+				WebServerAccessLog.Format.JSON, 16);
+		factory.setWebServerAccessLog(accessLog);
+		this.webServer = factory.getWebServer(exampleServletRegistration());
+		this.webServer.start();
+		assertThat(getResponse(getLocalUrl("/hello?a=b"))).isEqualTo("Hello World");
+		long deadline = System.currentTimeMillis() + 5000;
+		while (accessLog.getWrittenCount() == 0
+				&& System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		accessLog.close();
+		assertThat(output.toString()).contains("\"method\":\"GET\"",
+				"\"uri\":\"/hello?a=b\"", "\"status\":200", "\"bytesSent\":11");
+	}
+
 	@Test
 	public void startBlocksUntilReadyToServe() {
 		AbstractServletWebServerFactory factory = getFactory();